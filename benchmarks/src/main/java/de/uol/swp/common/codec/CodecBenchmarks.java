@@ -0,0 +1,124 @@
+package de.uol.swp.common.codec;
+
+import de.uol.swp.common.game.board.DevCardEnumMap;
+import de.uol.swp.common.game.board.PieceTypeEnumMap;
+import de.uol.swp.common.game.dto.GameDTO;
+import de.uol.swp.common.game.dto.GameSnapshot;
+import de.uol.swp.common.game.dto.PlayerDTO;
+import de.uol.swp.common.game.message.GameSnapshotMessage;
+import de.uol.swp.common.game.message.InitialBoardMessage;
+import de.uol.swp.common.game.message.UpdateGameSessionMessage;
+import de.uol.swp.server.game.BoardFixture;
+import de.uol.swp.server.game.Player;
+import de.uol.swp.server.game.board.Board;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the binary codec on the largest messages of the protocol, with the Java serialization of
+ * {@link WireFormat#JAVA} as baseline
+ * <p>
+ * The messages describe the board of {@link BoardFixture}, so they have the size they have in a running game. The
+ * encode benchmarks return the number of bytes written, so both formats can also be compared by size. Build
+ * and run with {@code mvn -Pbenchmarks package -DskipTests} and
+ * {@code java -jar benchmarks/target/benchmarks.jar CodecBenchmarks}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CodecBenchmarks {
+
+    /**
+     * The messages measured
+     */
+    public enum Message {
+        INITIAL_BOARD, GAME_SNAPSHOT, UPDATE_GAME_SESSION
+    }
+
+    @Param
+    private Message message;
+
+    private final BinaryMessageCodec codec = new BinaryMessageCodec(MessageTypeRegistry.getDefault());
+    private Object value;
+    private ByteBuf out;
+    private ByteBuf encoded;
+    private ByteBuf javaEncoded;
+    private EmbeddedChannel javaDecoder;
+
+    @Setup
+    public void setUp() {
+        BoardFixture fixture = new BoardFixture(null);
+        Board board = fixture.getBoard();
+        PlayerDTO[] players = Arrays.stream(fixture.getPlayers()).map(Player::createDTO).toArray(PlayerDTO[]::new);
+        switch (message) {
+            case INITIAL_BOARD:
+                value = new InitialBoardMessage("benchmark", board.getHexagonNumbers(), board.getResourceTileMap(),
+                        board.getPorts());
+                break;
+            case GAME_SNAPSHOT:
+                List<GameSnapshot.PlayerState> states = new ArrayList<>();
+                for (Player player : fixture.getPlayers()) {
+                    states.add(new GameSnapshot.PlayerState(player.createDTO(), player.getInventory().getResources(),
+                            player.getNumOfPublicVP(), 0));
+                }
+                value = new GameSnapshotMessage("benchmark", new GameSnapshot(42, board.getHexagonNumbers(),
+                        board.getResourceTileMap(), board.getPorts(), board.getAllPlacedPieces(), board.getRobber().getCoord(),
+                        states, new DevCardEnumMap(0, 1, 0, 0, 0), new PieceTypeEnumMap(13, 4, 3), players[0], null, 24));
+                break;
+            default:
+                value = new UpdateGameSessionMessage("benchmark", new GameDTO("benchmark", false, players));
+        }
+        out = Unpooled.buffer();
+        encoded = Unpooled.buffer();
+        codec.encode(value, encoded);
+        javaEncoded = Unpooled.buffer();
+        WireFormat.JAVA.writeFrame((Serializable) value, javaEncoded);
+        javaDecoder = new EmbeddedChannel();
+        WireFormat.JAVA.addLast(javaDecoder.pipeline());
+    }
+
+    @TearDown
+    public void tearDown() {
+        out.release();
+        encoded.release();
+        javaEncoded.release();
+        javaDecoder.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public int encode() {
+        out.clear();
+        codec.encode(value, out);
+        return out.writerIndex();
+    }
+
+    @Benchmark
+    public Object decode() {
+        encoded.readerIndex(0);
+        return codec.decode(encoded);
+    }
+
+    @Benchmark
+    public int javaEncode() {
+        out.clear();
+        WireFormat.JAVA.writeFrame((Serializable) value, out);
+        return out.writerIndex();
+    }
+
+    @Benchmark
+    public Object javaDecode() {
+        javaDecoder.writeInbound(javaEncoded.retainedDuplicate());
+        return javaDecoder.readInbound();
+    }
+}
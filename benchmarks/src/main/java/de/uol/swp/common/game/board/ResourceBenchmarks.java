@@ -0,0 +1,48 @@
+package de.uol.swp.common.game.board;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the resource map, used for every inventory update, trade and cost check
+ * <p>
+ * Build and run with {@code mvn -Pbenchmarks package -DskipTests} and
+ * {@code java -jar benchmarks/target/benchmarks.jar ResourceBenchmarks}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ResourceBenchmarks {
+
+    private final ResourceEnumMap inventory = new ResourceEnumMap(3, 1, 4, 1, 5);
+    private final ResourceEnumMap cityCost = new ResourceEnumMap(0, 0, 2, 3, 0);
+
+    @Benchmark
+    public ResourceEnumMap construct() {
+        return new ResourceEnumMap(1, 0, 1, 0, 1);
+    }
+
+    @Benchmark
+    public ResourceEnumMap copy() {
+        return inventory.copy();
+    }
+
+    @Benchmark
+    public int sumOfResources() {
+        return inventory.sumOfResources();
+    }
+
+    @Benchmark
+    public boolean hasResources() {
+        return inventory.hasResources(cityCost);
+    }
+
+    @Benchmark
+    public String toChatFormat() {
+        return inventory.toChatFormat();
+    }
+}
@@ -0,0 +1,127 @@
+package de.uol.swp.server.game;
+
+import de.uol.swp.common.game.board.Coord;
+import de.uol.swp.common.game.board.PieceType;
+import de.uol.swp.server.game.board.Board;
+import de.uol.swp.server.game.board.BoardUtils;
+import de.uol.swp.server.game.mapobject.RoadPiece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the board: construction, neighbour queries, the longest road and the rule checks the players and bots
+ * run after every move
+ * <p>
+ * Every query benchmark walks all coordinates of its kind once, so the score is the time for a complete sweep of the
+ * board. Build and run with {@code mvn -Pbenchmarks package -DskipTests} and
+ * {@code java -jar benchmarks/target/benchmarks.jar BoardBenchmarks}, add {@code -prof gc} for the allocated bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BoardBenchmarks {
+
+    private BoardFixture fixture;
+    private Board board;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        fixture = new BoardFixture(null);
+        board = fixture.getBoard();
+        player = fixture.getPlayers()[0];
+    }
+
+    @Benchmark
+    public Board construct() {
+        return new Board(2, new Random(42));
+    }
+
+    @Benchmark
+    public void cornerNeighbours(Blackhole blackhole) {
+        for (Coord corner : fixture.getCorners()) {
+            blackhole.consume(BoardUtils.getCornerNeighboursWithoutWater(board, corner));
+        }
+    }
+
+    @Benchmark
+    public void edgeNeighbours(Blackhole blackhole) {
+        for (Coord edge : fixture.getEdges()) {
+            blackhole.consume(BoardUtils.getEdgeNeighboursWithoutWater(board, edge));
+        }
+    }
+
+    @Benchmark
+    public void hexNeighbours(Blackhole blackhole) {
+        for (Coord hex : fixture.getHexes()) {
+            blackhole.consume(BoardUtils.getHexNeighboursWithoutWater(board, hex));
+        }
+    }
+
+    @Benchmark
+    public void cornerPiecesOfHexes(Blackhole blackhole) {
+        for (Coord hex : fixture.getHexes()) {
+            blackhole.consume(BoardUtils.getCornerPiecesAdjacentToHex(board, hex));
+        }
+    }
+
+    @Benchmark
+    public int settlementsOnAdjacentCorners() {
+        int found = 0;
+        for (Coord corner : fixture.getCorners()) {
+            found += board.containsSettlementOnAdjacentCoords(corner) ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int roadBreaks() {
+        int found = 0;
+        for (Coord edge : fixture.getEdges()) {
+            found += board.hasNoRoadBreakOnAtLeastOneSide(edge, player) ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Player longestRoad() {
+        for (Coord edge : fixture.getEdges()) {
+            RoadPiece road = board.getRoadPiece(edge);
+            if (road != null) {
+                board.findLongestRoadFromEdge(edge, road.getPlayer());
+            }
+        }
+        return board.getPlayerWithLongestRoad();
+    }
+
+    @Benchmark
+    public void longestPlayerRoads(Blackhole blackhole) {
+        for (Player owner : fixture.getPlayers()) {
+            blackhole.consume(board.getLongestPlayerRoad(owner));
+        }
+    }
+
+    @Benchmark
+    public int checkRoadRules() {
+        int legal = 0;
+        for (Coord edge : fixture.getEdges()) {
+            legal += player.checkBoardRules(edge, PieceType.ROAD) ? 1 : 0;
+        }
+        return legal;
+    }
+
+    @Benchmark
+    public int checkSettlementRules() {
+        int legal = 0;
+        for (Coord corner : fixture.getCorners()) {
+            legal += player.checkBoardRules(corner, PieceType.SETTLEMENT) ? 1 : 0;
+        }
+        return legal;
+    }
+}
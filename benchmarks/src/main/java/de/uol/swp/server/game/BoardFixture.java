@@ -0,0 +1,125 @@
+package de.uol.swp.server.game;
+
+import de.uol.swp.common.game.board.Coord;
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.lobby.GameLobby;
+import de.uol.swp.server.game.board.Board;
+import de.uol.swp.server.game.board.BoardUtils;
+import de.uol.swp.server.game.mapobject.RoadPiece;
+import de.uol.swp.server.game.mapobject.SettlementPiece;
+import de.uol.swp.server.game.session.GameSession;
+import de.uol.swp.server.game.state.StateContext;
+
+import java.util.*;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * A board in the middle of a game, shared by the benchmarks
+ * <p>
+ * The board and all placements are derived from fixed seeds, so every run and every fork measures exactly the same
+ * position. Four players own three settlements with a road of up to three segments each. The game session is a stub
+ * only returning the board, the players, the lobby, the state context and the inventory service.
+ */
+public class BoardFixture {
+
+    public static final int PLAYERS = 4;
+
+    private final GameSession gameSession;
+    private final Board board;
+    private final Player[] players;
+    private final Coord[] corners;
+    private final Coord[] edges;
+    private final Coord[] hexes;
+
+    /**
+     * Constructor
+     *
+     * @param inventoryService the inventory service returned by the game session, may be null
+     */
+    public BoardFixture(InventoryService inventoryService) {
+        gameSession = mock(GameSession.class, withSettings().stubOnly());
+        board = new Board(2, new Random(42));
+        when(gameSession.getBoard()).thenReturn(board);
+        when(gameSession.getLobby()).thenReturn(new GameLobby("benchmark", new UserDTO("player0", "", ""), false));
+        when(gameSession.getInventoryService()).thenReturn(inventoryService);
+        when(gameSession.getContext()).thenReturn(new StateContext());
+        players = new Player[PLAYERS];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(gameSession, "player" + i, i, false, new Random(i));
+        }
+        when(gameSession.getPlayers()).thenReturn(players);
+        populate(board, players, new Random(42));
+
+        corners = sorted(board.getAllCornerCoords());
+        hexes = sorted(board.getAllHexagonCoords());
+        edges = Arrays.stream(hexes).flatMap(hex -> Arrays.stream(Coord.getEdgesFromHex(hex))).distinct()
+                .sorted(Comparator.comparing(Coord::toString)).toArray(Coord[]::new);
+    }
+
+    /**
+     * Places three settlements with a road of up to three segments for every player, the first settlements being
+     * placed on shuffled corners without a settlement next to them
+     *
+     * @param board   the board to place the pieces on
+     * @param players the owners of the pieces
+     * @param random  the random source deciding the corners
+     */
+    public static void populate(Board board, Player[] players, Random random) {
+        List<Coord> free = new ArrayList<>(board.getAllCornerCoords());
+        free.sort(Comparator.comparing(Coord::toString));
+        Collections.shuffle(free, random);
+        int placed = 0;
+        for (Coord corner : free) {
+            if (placed == 3 * players.length) {
+                break;
+            }
+            if (!board.containsSettlementOnAdjacentCoords(corner)) {
+                Player owner = players[placed++ % players.length];
+                board.addPiece(corner, new SettlementPiece(owner));
+                Coord road = BoardUtils.getEdgeNeighboursFromCornerWithoutWater(board, corner).stream()
+                        .filter(board::isEmptyCoord).findFirst().orElse(null);
+                for (int length = 0; length < 3 && road != null; length++) {
+                    board.addPiece(road, new RoadPiece(owner));
+                    Coord next = null;
+                    for (Coord neighbour : BoardUtils.getEdgeNeighboursWithoutWater(board, road)) {
+                        if (board.isEmptyCoord(neighbour)) {
+                            next = neighbour;
+                        }
+                    }
+                    road = next;
+                }
+            }
+        }
+    }
+
+    private static Coord[] sorted(Collection<Coord> coords) {
+        return coords.stream().sorted(Comparator.comparing(Coord::toString)).toArray(Coord[]::new);
+    }
+
+    public GameSession getGameSession() {
+        return gameSession;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public Player[] getPlayers() {
+        return players;
+    }
+
+    public Coord[] getCorners() {
+        return corners;
+    }
+
+    public Coord[] getEdges() {
+        return edges;
+    }
+
+    public Coord[] getHexes() {
+        return hexes;
+    }
+}
@@ -0,0 +1,48 @@
+package de.uol.swp.server.game.state;
+
+import com.google.common.eventbus.EventBus;
+import de.uol.swp.server.game.BoardFixture;
+import de.uol.swp.server.game.InventoryService;
+import de.uol.swp.server.game.Player;
+import de.uol.swp.server.game.session.GameSessionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Benchmark of the distribution of resources after a roll of the dice
+ * <p>
+ * Every invocation distributes the resources of all results from 2 to 12 except the robber, including the inventory
+ * updates and the creation of the messages sent to the players. Sending itself is stubbed. Build and run with
+ * {@code mvn -Pbenchmarks package -DskipTests} and {@code java -jar benchmarks/target/benchmarks.jar DiceBenchmarks}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DiceBenchmarks {
+
+    private BoardFixture fixture;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // new inventories for every iteration, so the resources cannot overflow
+        fixture = new BoardFixture(new InventoryService(new EventBus(),
+                mock(GameSessionService.class, withSettings().stubOnly())));
+    }
+
+    @Benchmark
+    public Player[] distributeResources() {
+        for (int diceResult = 2; diceResult <= 12; diceResult++) {
+            if (diceResult != 7) {
+                DiceState.INSTANCE.distributeResources(fixture.getGameSession(), diceResult);
+            }
+        }
+        return fixture.getPlayers();
+    }
+}
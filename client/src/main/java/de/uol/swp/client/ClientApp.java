@@ -137,6 +137,7 @@ public class ClientApp extends Application implements ConnectionListener {
         ClientConnectionFactory connectionFactory = injector.getInstance(ClientConnectionFactory.class);
         clientConnection = connectionFactory.create(host, port);
         clientConnection.addConnectionListener(this);
+        clientConnection.addMessageFilter(gameSessionService::accept);
         // JavaFX Thread should not be blocked to long!
         Thread thread = new Thread(() -> {
             try {
@@ -5,7 +5,10 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
-import de.uol.swp.common.MyObjectDecoder;
+import de.uol.swp.common.codec.ClientCodecNegotiationHandler;
+import de.uol.swp.common.codec.MessageTypeRegistry;
+import de.uol.swp.common.codec.WireFormat;
+import de.uol.swp.common.heartbeat.HeartbeatHandler;
 import de.uol.swp.common.message.*;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
@@ -15,14 +18,13 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectEncoder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 
 /**
  * The ClientConnection Connection class
@@ -41,6 +43,7 @@ public class ClientConnection {
     private final String host;
     private final int port;
     private final List<ConnectionListener> connectionListener = new CopyOnWriteArrayList<>();
+    private final List<Predicate<Message>> messageFilters = new CopyOnWriteArrayList<>();
     private EventLoopGroup group;
     private EventBus eventBus;
     private Channel channel;
@@ -95,9 +98,16 @@ public class ClientConnection {
 
                         @Override
                         protected void initChannel(SocketChannel channel) {
-                            // Add both Encoder and Decoder to send and receive serializable objects
-                            channel.pipeline().addLast(new ObjectEncoder());
-                            channel.pipeline().addLast(new MyObjectDecoder(ClassResolvers.cacheDisabled(null)));
+                            // Add both Encoder and Decoder to send and receive serializable objects,
+                            // the compact format has to be negotiated with the server first
+                            if (WireFormat.configured() == WireFormat.COMPACT) {
+                                channel.pipeline().addLast(ClientCodecNegotiationHandler.NAME,
+                                        new ClientCodecNegotiationHandler(MessageTypeRegistry.getDefault()));
+                            } else {
+                                WireFormat.JAVA.addLast(channel.pipeline());
+                            }
+                            // Answer the pings of the server and close the connection if the server stops answering
+                            HeartbeatHandler.addLast(channel.pipeline(), "client.rttMicros");
                             // Add a client handler
                             channel.pipeline().addLast(new ClientHandler(ClientConnection.this));
                         }
@@ -152,6 +162,17 @@ public class ClientConnection {
         this.connectionListener.add(listener);
     }
 
+    /**
+     * Add a filter deciding which incoming messages are posted on the EventBus
+     * <p>
+     * A message is only posted if all filters accept it.
+     *
+     * @param filter the filter returning false for messages that must be dropped
+     */
+    public void addMessageFilter(Predicate<Message> filter) {
+        this.messageFilters.add(filter);
+    }
+
     /**
      * Processes the incoming messages
      * <p>
@@ -160,7 +181,8 @@ public class ClientConnection {
      * the Message to the LOG if the LOG-Level is set to DEBUG or higher.
      * If it is a different kind of Message, it gets discarded and with LOG-Level
      * set to WARN or higher "Can only process ServerMessage and ResponseMessage.
-     * Received " and the message are written to the LOG.
+     * Received " and the message are written to the LOG. Messages a
+     * {@link #addMessageFilter(Predicate) filter} rejects are dropped.
      *
      * @param inMessage the incoming messages read by the ClientHandler
      * @see de.uol.swp.client.ClientHandler
@@ -168,6 +190,12 @@ public class ClientConnection {
      */
     public void receivedMessage(Message inMessage) {
         if (inMessage instanceof ServerMessage || inMessage instanceof ResponseMessage) {
+            for (Predicate<Message> filter : messageFilters) {
+                if (!filter.test(inMessage)) {
+                    LOG.debug("Dropped message {}", inMessage);
+                    return;
+                }
+            }
             LOG.debug("Received message. Post on event bus {}", inMessage);
             eventBus.post(inMessage);
         } else {
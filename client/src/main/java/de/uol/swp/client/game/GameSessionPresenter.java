@@ -21,6 +21,7 @@ import de.uol.swp.common.game.board.DevCard;
 import de.uol.swp.common.game.board.PieceType;
 import de.uol.swp.common.game.board.ResourceTile;
 import de.uol.swp.common.game.dto.GameDTO;
+import de.uol.swp.common.game.dto.GameSnapshot;
 import de.uol.swp.common.game.dto.PieceDTO;
 import de.uol.swp.common.game.dto.PlayerDTO;
 import de.uol.swp.common.game.message.*;
@@ -675,6 +676,43 @@ public class GameSessionPresenter extends AbstractPresenter {
         pieces.forEach((coord, piece) -> boardViewController.displayNewObject(coord, piece.getPieceType(), piece.getOwner().getColor()));
     }
 
+    /**
+     * Applies the complete state of a game the user has rejoined
+     * <p>
+     * The board, the pieces, the robber, the state of every player, the inventory of the user and the bonuses
+     * are all updated from the same snapshot, in the order the separate messages used to arrive in.
+     *
+     * @param gameName the name of the game session
+     * @param snapshot the state of the game session
+     * @see GameSnapshot
+     */
+    public void applySnapshot(String gameName, GameSnapshot snapshot) {
+        setFieldValues(snapshot.getHexNumbers());
+        setResourceTiles(snapshot.getResourceTiles());
+        drawPiecesToBoard(snapshot.getPlacedPieces());
+        for (GameSnapshot.PlayerState state : snapshot.getPlayers()) {
+            ResourceCardCountMessage resources = new ResourceCardCountMessage(gameName, state.getPlayer(), state.getResources());
+            setResourceInfo(resources);
+            updateInventoryCount(resources);
+            updateVPCount(new VPUpdateMessage(gameName, state.getPlayer(), state.getVictoryPoints()));
+            setDevCardsInfo(new DevCardCountMessage(gameName, state.getPlayer(), state.getDevCardCount()));
+        }
+        updateInventoryDevCardCount(new DevCardDetailedCountMessage(gameName, snapshot.getDevCards()));
+        drawInitialRobber(snapshot.getRobber());
+        if (snapshot.getPlayerWithLargestArmy() != null) {
+            updateKnight(new KnightUpdateMessage(gameName, snapshot.getPlayerWithLargestArmy()));
+        }
+        if (snapshot.getPlayerWithLongestRoad() != null) {
+            updateLongestRoad(snapshot.getPlayerWithLongestRoad());
+        }
+        PlayerDTO self = snapshot.getPlayers().stream().map(GameSnapshot.PlayerState::getPlayer)
+                .filter(player -> player.getPlayerName().equals(userInfo.getLoggedInUser().getUsername())).findFirst().orElse(null);
+        if (self != null) {
+            setBuildableObjectsInfo(new BuildableObjectMessage(gameName, self, snapshot.getAvailablePieces()));
+        }
+        updateDevCardsRemaining(new DevCardRemainingMessage(gameName, snapshot.getDevCardsRemaining()));
+    }
+
     /**
      * Inform the user that their next click in a hexagon will send a RobberPlacingRequest to the server
      *
@@ -29,15 +29,14 @@ import de.uol.swp.common.game.response.build.StartBuildResponse;
 import de.uol.swp.common.game.response.trade.NotEnoughResourcesResponse;
 import de.uol.swp.common.lobby.request.GameEndedRequestLobby;
 import de.uol.swp.common.lobby.request.LeaveLobbyRequest;
+import de.uol.swp.common.message.Message;
 import de.uol.swp.common.user.User;
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 
 /**
  * Manages game requests and responses found on the event bus.
@@ -49,6 +48,8 @@ public class GameSessionService {
     private static final Logger LOG = LogManager.getLogger(GameSessionService.class);
     private final EventBus eventBus;
     private final Map<String, GameSessionPresenter> gameSessions = new HashMap<>();
+    private final Map<String, Long> versions = new HashMap<>();
+    private final Set<String> resyncing = new HashSet<>();
 
     /**
      * Constructor
@@ -102,6 +103,8 @@ public class GameSessionService {
 
     /**
      * Adds a given {@code GameSessionPresenter} instance to the {@link #gameSessions} map.
+     * <p>
+     * The sequence numbers of an earlier game of the same name are forgotten.
      *
      * @param gameSessionName      the key for the gameSessionPresenter
      * @param gameSessionPresenter the {@code GameSessionPresenter} instance added to the map
@@ -109,6 +112,17 @@ public class GameSessionService {
      */
     public void addGameSession(String gameSessionName, GameSessionPresenter gameSessionPresenter) {
         gameSessions.put(gameSessionName, gameSessionPresenter);
+        forgetSequence(gameSessionName);
+    }
+
+    /**
+     * Forgets the last applied sequence number and any pending resync of a game
+     *
+     * @param gameSessionName the name of the game session
+     */
+    private synchronized void forgetSequence(String gameSessionName) {
+        versions.remove(gameSessionName);
+        resyncing.remove(gameSessionName);
     }
 
     /**
@@ -308,6 +322,7 @@ public class GameSessionService {
     @Subscribe
     public void onGameDroppedMessage(GameSessionDroppedMessage message) {
         gameSessions.remove(message.getGameSessionName());
+        forgetSequence(message.getGameSessionName());
     }
 
     /**
@@ -319,6 +334,7 @@ public class GameSessionService {
     @Subscribe
     public void onGameSessionLeftResponse(GameSessionLeftResponse response) {
         gameSessions.remove(response.getGameSessionName());
+        forgetSequence(response.getGameSessionName());
         eventBus.post(new LeaveLobbyRequest(response.getGameSessionName()));
 
     }
@@ -717,6 +733,104 @@ public class GameSessionService {
         opt.ifPresentOrElse(presenter -> presenter.drawPiecesToBoard(message.getPlacedPieces()), logErrorNoPresenter(message.getGameSessionName()));
     }
 
+    /**
+     * Posts a request to resume a game session after messages have been missed, e.g. after a reconnect
+     * <p>
+     * The server sends the missed messages or a snapshot of the game.
+     *
+     * @param gameSessionName the name of the session
+     * @see ResumeGameRequest
+     */
+    public void resumeGame(String gameSessionName) {
+        long knownVersion;
+        synchronized (this) {
+            resyncing.add(gameSessionName);
+            knownVersion = versions.getOrDefault(gameSessionName, ResumeGameRequest.SNAPSHOT);
+        }
+        eventBus.post(new ResumeGameRequest(gameSessionName, knownVersion));
+    }
+
+    /**
+     * Checks the sequence number of a game message received from the server before it is posted on the Eventbus
+     * <p>
+     * Messages announced to all players of a game are numbered without gaps. A message whose number was already
+     * applied is dropped. If a number is skipped, the message is dropped and a snapshot of the game is requested,
+     * which replaces the state built from the incomplete messages. While missed messages or a snapshot are awaited,
+     * all numbered messages of the game are dropped, because the server sends them before the missed messages,
+     * which include them. Messages sent to this player only carry no number and are always applied.
+     *
+     * @param message the message received from the server
+     * @return whether the message is posted on the Eventbus
+     * @see de.uol.swp.client.ClientConnection#addMessageFilter(java.util.function.Predicate)
+     */
+    public boolean accept(Message message) {
+        if (!(message instanceof AbstractGameMessage)) {
+            return true;
+        }
+        long sequence = ((AbstractGameMessage) message).getSequence();
+        String gameSessionName = ((AbstractGameMessage) message).getGameSessionName();
+        synchronized (this) {
+            if (sequence == 0) {
+                return true;
+            }
+            if (resyncing.contains(gameSessionName)) {
+                return false;
+            }
+            Long version = versions.get(gameSessionName);
+            if (version == null || sequence == version + 1) {
+                versions.put(gameSessionName, sequence);
+                return true;
+            }
+            if (sequence <= version) {
+                LOG.debug("Dropping the message {} of {}, which was already applied", sequence, gameSessionName);
+                return false;
+            }
+            LOG.warn("Missed the messages {} to {} of {}, requesting a snapshot", version + 1, sequence - 1, gameSessionName);
+            resyncing.add(gameSessionName);
+        }
+        eventBus.post(new ResumeGameRequest(gameSessionName, ResumeGameRequest.SNAPSHOT));
+        return false;
+    }
+
+    /**
+     * Handles GameUpdatesMessage found on Eventbus and posts the missed messages in their order,
+     * so they are applied like they had been received directly
+     * <p>
+     * Messages that were already applied are skipped.
+     *
+     * @param message the GameUpdatesMessage on Eventbus
+     */
+    @Subscribe
+    public void onGameUpdatesMessage(GameUpdatesMessage message) {
+        synchronized (this) {
+            resyncing.remove(message.getGameSessionName());
+        }
+        for (AbstractGameMessage update : message.getUpdates()) {
+            if (accept(update)) {
+                eventBus.post(update);
+            }
+        }
+    }
+
+    /**
+     * Handles GameSnapshotMessage found on Eventbus and calls the
+     * associated GameSessionPresenter to apply the state of the rejoined game at once
+     * <p>
+     * The version of the snapshot becomes the version the sequence numbers of the following messages are checked against.
+     *
+     * @param message the GameSnapshotMessage on Eventbus
+     */
+    @Subscribe
+    public void onGameSnapshotMessage(GameSnapshotMessage message) {
+        synchronized (this) {
+            resyncing.remove(message.getGameSessionName());
+            versions.put(message.getGameSessionName(), message.getSnapshot().getVersion());
+        }
+        Optional<GameSessionPresenter> opt = getPresenter(message.getGameSessionName());
+        opt.ifPresentOrElse(presenter -> presenter.applySnapshot(message.getGameSessionName(), message.getSnapshot()),
+                logErrorNoPresenter(message.getGameSessionName()));
+    }
+
     /**
      * When a new trade is offered this method shows the trade to all players in the gameSession
      * the offer was created in
@@ -809,6 +923,7 @@ public class GameSessionService {
      */
     @Subscribe
     private void onGameOverMessage(GameOverMessage message) {
+        forgetSequence(message.getGameSessionName());
         Optional<GameSessionPresenter> opt = getPresenter(message.getGameSessionName());
         opt.ifPresentOrElse(presenter -> presenter.endGame(message.getStandings()), logErrorNoPresenter(message.getGameSessionName()));
     }
@@ -7,6 +7,10 @@ import de.uol.swp.client.game.GameSessionPresenter;
 import de.uol.swp.client.game.GameSessionService;
 import de.uol.swp.common.game.board.Coord;
 import de.uol.swp.common.game.board.PieceType;
+import de.uol.swp.common.game.message.DevCardRemainingMessage;
+import de.uol.swp.common.game.message.GameOverMessage;
+import de.uol.swp.common.game.message.GameUpdatesMessage;
+import de.uol.swp.common.game.request.ResumeGameRequest;
 import de.uol.swp.common.game.request.TurnEndRequest;
 import de.uol.swp.common.game.request.build.PlaceObjectRequest;
 import org.apache.logging.log4j.LogManager;
@@ -14,11 +18,15 @@ import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -72,6 +80,76 @@ class GameSessionServiceTest {
         assertEquals(gameSessions.get("test"), gameSessionPresenter);
     }
 
+    DevCardRemainingMessage message(long sequence) {
+        DevCardRemainingMessage message = new DevCardRemainingMessage("test", 20);
+        message.setSequence(sequence);
+        return message;
+    }
+
+    @Test
+    void sequenceGapRequestsSnapshot() {
+        assertTrue(gameSessionService.accept(message(1)));
+        assertTrue(gameSessionService.accept(message(2)));
+        assertFalse(gameSessionService.accept(message(4)));
+        assertTrue(event instanceof ResumeGameRequest);
+        assertEquals(ResumeGameRequest.SNAPSHOT, ((ResumeGameRequest) event).getKnownVersion());
+    }
+
+    @Test
+    void appliedMessageIsDropped() {
+        assertTrue(gameSessionService.accept(message(1)));
+        assertTrue(gameSessionService.accept(message(2)));
+        assertFalse(gameSessionService.accept(message(2)));
+        assertTrue(gameSessionService.accept(message(0)));
+        assertNull(event);
+    }
+
+    @Test
+    void nextGameOfTheSameNameStartsAtTheFirstSequence() {
+        gameSessionService.accept(message(1));
+        gameSessionService.accept(message(2));
+        GameOverMessage gameOver = new GameOverMessage("test", List.of());
+        gameOver.setSequence(3);
+        assertTrue(gameSessionService.accept(gameOver));
+        bus.post(gameOver);
+        assertTrue(gameSessionService.accept(message(1)));
+
+        gameSessionService.accept(message(2));
+        gameSessionService.addGameSession("test", gameSessionPresenter);
+        assertTrue(gameSessionService.accept(message(1)));
+    }
+
+    @Test
+    void resumeGameSendsKnownVersion() {
+        for (long sequence : new long[]{0, 1, 2}) {
+            gameSessionService.accept(message(sequence));
+        }
+        gameSessionService.resumeGame("test");
+        assertTrue(event instanceof ResumeGameRequest);
+        assertEquals(2, ((ResumeGameRequest) event).getKnownVersion());
+    }
+
+    @Test
+    void liveMessagesOverlappingTheUpdatesAreAppliedOnce() {
+        List<Long> applied = new ArrayList<>();
+        bus.register(new Object() {
+            @Subscribe
+            void onDevCardRemainingMessage(DevCardRemainingMessage message) {
+                applied.add(message.getSequence());
+            }
+        });
+        gameSessionService.accept(message(1));
+        gameSessionService.accept(message(2));
+        gameSessionService.resumeGame("test");
+
+        assertFalse(gameSessionService.accept(message(3)));
+        bus.post(new GameUpdatesMessage("test", List.of(message(2), message(3), message(4))));
+
+        assertEquals(List.of(3L, 4L), applied);
+        assertFalse(gameSessionService.accept(message(4)));
+        assertTrue(gameSessionService.accept(message(5)));
+    }
+
     @Test
     void endTurnTest() {
         gameSessionService.endTurn("test");
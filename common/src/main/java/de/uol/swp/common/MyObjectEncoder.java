@@ -21,6 +21,20 @@ public class MyObjectEncoder extends ObjectEncoder {
 
     private static final Logger LOG = LogManager.getLogger(MyObjectEncoder.class);
 
+    /**
+     * Writes a complete frame for the given object to the buffer
+     * <p>
+     * Used to encode a message once outside of a pipeline, e.g. when it is sent to many clients.
+     *
+     * @param msg the object to encode
+     * @param out the buffer the frame is appended to
+     * @throws Exception if the object could not be serialized
+     */
+    @SuppressWarnings("java:S112")
+    public void writeFrame(Serializable msg, ByteBuf out) throws Exception {
+        encode(null, msg, out);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Serializable msg, ByteBuf out) throws Exception {
         if (LOG.isTraceEnabled()) {
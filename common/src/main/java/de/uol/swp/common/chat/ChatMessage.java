@@ -37,6 +37,16 @@ public class ChatMessage extends AbstractServerMessage {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private ChatMessage() {
+        this.lobby = null;
+        this.content = null;
+        this.user = null;
+        this.timestamp = null;
+    }
+
     /**
      * Getter for the lobby name
      *
@@ -31,6 +31,15 @@ public class SendChatMessageRequest extends AbstractRequestMessage {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private SendChatMessageRequest() {
+        this.lobbyName = null;
+        this.content = null;
+        this.timestamp = null;
+    }
+
     /**
      * Getter for the Lobbyname
      *
@@ -26,6 +26,15 @@ public class SystemMessage extends AbstractServerMessage {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private SystemMessage() {
+        this.lobbyName = null;
+        this.content = null;
+        this.timestamp = null;
+    }
+
     /**
      * Returns the name of the lobby this message is sent to
      *
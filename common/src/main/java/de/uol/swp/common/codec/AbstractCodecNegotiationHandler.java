@@ -0,0 +1,124 @@
+package de.uol.swp.common.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.util.ReferenceCountUtil;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Base class of the handlers negotiating the {@link WireFormat} of a connection
+ * <p>
+ * The handler sits at the head of the pipeline and collects the inbound bytes until the subclass has
+ * chosen a format. Messages written before that are held back. Once a format is chosen the handler
+ * installs the matching encoder and decoder, removes itself, writes the held back messages through the
+ * new encoder and passes the remaining bytes on to the new decoder.
+ */
+abstract class AbstractCodecNegotiationHandler extends ChannelDuplexHandler {
+
+    private final Queue<Map.Entry<Object, ChannelPromise>> pendingWrites = new ArrayDeque<>();
+    private ByteBuf cumulation;
+    private boolean finished;
+
+    /**
+     * Inspects the bytes received so far
+     *
+     * @param ctx      the context of this handler
+     * @param received the bytes received so far, bytes that belong to the negotiation are consumed
+     * @return the chosen format or {@code null} if more bytes are needed
+     */
+    protected abstract WireFormat negotiate(ChannelHandlerContext ctx, ByteBuf received);
+
+    /**
+     * Called after the codec of the chosen format has been installed and this handler was removed
+     *
+     * @param pipeline the pipeline of the channel
+     */
+    protected void onFinished(ChannelPipeline pipeline) {
+        // nothing to do by default
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (finished || !(msg instanceof ByteBuf)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        ByteBuf in = (ByteBuf) msg;
+        if (cumulation == null) {
+            cumulation = in;
+        } else {
+            cumulation = ctx.alloc().buffer(cumulation.readableBytes() + in.readableBytes()).writeBytes(cumulation).writeBytes(in);
+            ReferenceCountUtil.release(in);
+        }
+        WireFormat format = negotiate(ctx, cumulation);
+        if (format != null) {
+            finish(ctx, format);
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (finished || msg instanceof ByteBuf) {
+            ctx.write(msg, promise);
+        } else {
+            pendingWrites.add(Map.entry(msg, promise));
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        ctx.flush();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        releaseAll();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        if (!finished) {
+            releaseAll();
+        }
+    }
+
+    private void finish(ChannelHandlerContext ctx, WireFormat format) {
+        finished = true;
+        ChannelPipeline pipeline = ctx.pipeline();
+        format.install(pipeline, ctx.name());
+        ByteBuf remaining = cumulation;
+        cumulation = null;
+        pipeline.remove(this);
+        onFinished(pipeline);
+        Channel channel = ctx.channel();
+        if (!pendingWrites.isEmpty()) {
+            for (Map.Entry<Object, ChannelPromise> pending : pendingWrites) {
+                channel.write(pending.getKey(), pending.getValue());
+            }
+            pendingWrites.clear();
+            channel.flush();
+        }
+        if (remaining.isReadable()) {
+            pipeline.fireChannelRead(remaining);
+        } else {
+            remaining.release();
+        }
+    }
+
+    private void releaseAll() {
+        if (cumulation != null) {
+            cumulation.release();
+            cumulation = null;
+        }
+        Map.Entry<Object, ChannelPromise> pending;
+        while ((pending = pendingWrites.poll()) != null) {
+            ReferenceCountUtil.release(pending.getKey());
+            pending.getValue().tryFailure(new ClosedChannelException());
+        }
+    }
+}
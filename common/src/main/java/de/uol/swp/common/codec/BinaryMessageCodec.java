@@ -0,0 +1,640 @@
+package de.uol.swp.common.codec;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * Schema based binary codec for messages and the values they carry
+ * <p>
+ * Every registered type is written as its {@link MessageTypeRegistry registry} id followed by its fields in
+ * schema order, so no class descriptors are sent. Numbers are written as zig-zag var-ints, strings as UTF-8
+ * and dates, UUIDs, the common JDK collections, {@code EnumMap}, {@code EnumSet} and Guava multimaps natively. Values that
+ * have no binary representation fall back to Java serialization for that value only.
+ *
+ * @see MessageTypeRegistry
+ * @see CompactMessageEncoder
+ * @see CompactMessageDecoder
+ */
+@SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.AvoidLiteralsInIfCondition", "unchecked", "rawtypes", "java:S3776",
+        "java:S1452"})
+public class BinaryMessageCodec {
+
+    private static final int MAX_DEPTH = 64;
+    private static final int STRING_COMPONENT = 0;
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte SHORT = 5;
+    private static final byte BYTE = 6;
+    private static final byte CHAR = 7;
+    private static final byte FLOAT = 8;
+    private static final byte DOUBLE = 9;
+    private static final byte STRING = 10;
+    private static final byte REGISTERED = 11;
+    private static final byte ARRAY_LIST = 12;
+    private static final byte LINKED_LIST = 13;
+    private static final byte HASH_SET = 14;
+    private static final byte LINKED_HASH_SET = 15;
+    private static final byte TREE_SET = 16;
+    private static final byte HASH_MAP = 17;
+    private static final byte LINKED_HASH_MAP = 18;
+    private static final byte TREE_MAP = 19;
+    private static final byte ENUM_MAP = 20;
+    private static final byte ENUM_SET = 21;
+    private static final byte HASH_MULTIMAP = 22;
+    private static final byte ARRAY_LIST_MULTIMAP = 23;
+    private static final byte UUID_VALUE = 24;
+    private static final byte BYTE_ARRAY = 25;
+    private static final byte INT_ARRAY = 26;
+    private static final byte OBJECT_ARRAY = 27;
+    private static final byte SERIALIZED = 28;
+    private static final byte ZONED_DATE_TIME = 29;
+
+    private final MessageTypeRegistry registry;
+
+    /**
+     * Constructor
+     *
+     * @param registry the registry used to resolve type ids
+     */
+    public BinaryMessageCodec(MessageTypeRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Writes a value to the buffer
+     *
+     * @param value the value to write, usually a message
+     * @param out   the buffer to write to
+     * @throws CodecException if the value cannot be written
+     */
+    public void encode(Object value, ByteBuf out) {
+        writeValue(value, out, 0);
+    }
+
+    /**
+     * Reads a value written by {@link #encode(Object, ByteBuf)} from the buffer
+     *
+     * @param in the buffer to read from
+     * @return the decoded value
+     * @throws CodecException if the buffer does not contain a valid value
+     */
+    public Object decode(ByteBuf in) {
+        try {
+            return readValue(in, 0);
+        } catch (IndexOutOfBoundsException e) {
+            throw new CodecException("Truncated frame", e);
+        }
+    }
+
+    // -------------------------------------------------------------------------------
+    // Writing
+    // -------------------------------------------------------------------------------
+
+    private void writeValue(Object value, ByteBuf out, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new CodecException("Value nested too deeply, cyclic references are not supported");
+        }
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString((String) value, out);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            writeVarLong((Integer) value, out);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (!writeRegistered(value, out, depth) && !writeJdkValue(value, out, depth)
+                && !writeContainer(value, out, depth)) {
+            writeSerialized(value, out);
+        }
+    }
+
+    private boolean writeRegistered(Object value, ByteBuf out, int depth) {
+        Class<?> type = value instanceof Enum ? ((Enum<?>) value).getDeclaringClass() : value.getClass();
+        TypeSchema schema = registry.getSchema(type);
+        if (schema == null || schema.getKind() == TypeSchema.Kind.OPAQUE) {
+            return false;
+        }
+        out.writeByte(REGISTERED);
+        writeVarInt(schema.getId(), out);
+        switch (schema.getKind()) {
+            case ENUM:
+                writeVarInt(((Enum<?>) value).ordinal(), out);
+                break;
+            case MAP:
+                writeEntries((Map<?, ?>) value, out, depth);
+                break;
+            case COLLECTION:
+                writeElements((Collection<?>) value, out, depth);
+                break;
+            default:
+                writeFields(schema, value, out, depth);
+        }
+        return true;
+    }
+
+    private void writeFields(TypeSchema schema, Object value, ByteBuf out, int depth) {
+        try {
+            for (Field field : schema.getFields()) {
+                Class<?> fieldType = field.getType();
+                if (fieldType == int.class) {
+                    writeVarLong(field.getInt(value), out);
+                } else if (fieldType == boolean.class) {
+                    out.writeBoolean(field.getBoolean(value));
+                } else if (fieldType == long.class) {
+                    writeVarLong(field.getLong(value), out);
+                } else if (fieldType == double.class) {
+                    out.writeDouble(field.getDouble(value));
+                } else if (fieldType == float.class) {
+                    out.writeFloat(field.getFloat(value));
+                } else if (fieldType == short.class) {
+                    writeVarLong(field.getShort(value), out);
+                } else if (fieldType == byte.class) {
+                    out.writeByte(field.getByte(value));
+                } else if (fieldType == char.class) {
+                    out.writeChar(field.getChar(value));
+                } else {
+                    writeValue(field.get(value), out, depth + 1);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new CodecException("Could not read fields of " + schema.getType().getName(), e);
+        }
+    }
+
+    private boolean writeJdkValue(Object value, ByteBuf out, int depth) {
+        if (value instanceof Long) {
+            out.writeByte(LONG);
+            writeVarLong((Long) value, out);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            writeVarLong((Short) value, out);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE).writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(CHAR).writeChar((Character) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT).writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE).writeDouble((Double) value);
+        } else if (value instanceof UUID) {
+            out.writeByte(UUID_VALUE).writeLong(((UUID) value).getMostSignificantBits())
+                    .writeLong(((UUID) value).getLeastSignificantBits());
+        } else if (value instanceof ZonedDateTime) {
+            ZonedDateTime dateTime = (ZonedDateTime) value;
+            out.writeByte(ZONED_DATE_TIME);
+            writeVarLong(dateTime.toEpochSecond(), out);
+            writeVarInt(dateTime.getNano(), out);
+            writeString(dateTime.getZone().getId(), out);
+        } else if (value instanceof byte[]) {
+            out.writeByte(BYTE_ARRAY);
+            writeVarInt(((byte[]) value).length, out);
+            out.writeBytes((byte[]) value);
+        } else if (value instanceof int[]) {
+            out.writeByte(INT_ARRAY);
+            writeVarInt(((int[]) value).length, out);
+            for (int element : (int[]) value) {
+                writeVarLong(element, out);
+            }
+        } else {
+            return writeObjectArray(value, out, depth);
+        }
+        return true;
+    }
+
+    private boolean writeObjectArray(Object value, ByteBuf out, int depth) {
+        if (!(value instanceof Object[])) {
+            return false;
+        }
+        Class<?> component = value.getClass().getComponentType();
+        int componentId = component == String.class ? STRING_COMPONENT : registry.getId(component);
+        if (componentId == 0 && component != String.class) {
+            return false;
+        }
+        Object[] array = (Object[]) value;
+        out.writeByte(OBJECT_ARRAY);
+        writeVarInt(componentId, out);
+        writeVarInt(array.length, out);
+        for (Object element : array) {
+            writeValue(element, out, depth + 1);
+        }
+        return true;
+    }
+
+    private boolean writeContainer(Object value, ByteBuf out, int depth) {
+        Class<?> type = value.getClass();
+        if (type == ArrayList.class) {
+            writeCollection(ARRAY_LIST, (Collection<?>) value, out, depth);
+        } else if (type == HashSet.class) {
+            writeCollection(HASH_SET, (Collection<?>) value, out, depth);
+        } else if (type == HashMap.class) {
+            writeMap(HASH_MAP, (Map<?, ?>) value, out, depth);
+        } else if (type == LinkedHashMap.class) {
+            writeMap(LINKED_HASH_MAP, (Map<?, ?>) value, out, depth);
+        } else if (type == LinkedHashSet.class) {
+            writeCollection(LINKED_HASH_SET, (Collection<?>) value, out, depth);
+        } else if (type == LinkedList.class) {
+            writeCollection(LINKED_LIST, (Collection<?>) value, out, depth);
+        } else if (type == TreeSet.class && ((TreeSet<?>) value).comparator() == null) {
+            writeCollection(TREE_SET, (Collection<?>) value, out, depth);
+        } else if (type == TreeMap.class && ((TreeMap<?, ?>) value).comparator() == null) {
+            writeMap(TREE_MAP, (Map<?, ?>) value, out, depth);
+        } else if (value instanceof EnumSet) {
+            return writeEnumSet((EnumSet<?>) value, out);
+        } else if (type == EnumMap.class) {
+            return writeEnumMap((EnumMap<?, ?>) value, out, depth);
+        } else if (type == HashMultimap.class) {
+            writeMultimap(HASH_MULTIMAP, (Multimap<?, ?>) value, out, depth);
+        } else if (type == ArrayListMultimap.class) {
+            writeMultimap(ARRAY_LIST_MULTIMAP, (Multimap<?, ?>) value, out, depth);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private boolean writeEnumSet(EnumSet<?> set, ByteBuf out) {
+        EnumSet<?> complement = EnumSet.complementOf((EnumSet) set);
+        Enum<?> sample = set.isEmpty() ? complement.stream().findFirst().orElse(null) : set.iterator().next();
+        int enumId = sample == null ? 0 : registry.getId(sample.getDeclaringClass());
+        if (enumId == 0) {
+            return false;
+        }
+        out.writeByte(ENUM_SET);
+        writeVarInt(enumId, out);
+        writeVarInt(set.size(), out);
+        for (Enum<?> element : set) {
+            writeVarInt(element.ordinal(), out);
+        }
+        return true;
+    }
+
+    private boolean writeEnumMap(EnumMap<?, ?> map, ByteBuf out, int depth) {
+        int enumId = map.isEmpty() ? 0 : registry.getId(map.keySet().iterator().next().getDeclaringClass());
+        if (enumId == 0) {
+            return false;
+        }
+        out.writeByte(ENUM_MAP);
+        writeVarInt(enumId, out);
+        writeVarInt(map.size(), out);
+        for (Map.Entry<? extends Enum<?>, ?> entry : map.entrySet()) {
+            writeVarInt(entry.getKey().ordinal(), out);
+            writeValue(entry.getValue(), out, depth + 1);
+        }
+        return true;
+    }
+
+    private void writeCollection(byte tag, Collection<?> collection, ByteBuf out, int depth) {
+        out.writeByte(tag);
+        writeElements(collection, out, depth);
+    }
+
+    private void writeElements(Collection<?> collection, ByteBuf out, int depth) {
+        writeVarInt(collection.size(), out);
+        for (Object element : collection) {
+            writeValue(element, out, depth + 1);
+        }
+    }
+
+    private void writeMap(byte tag, Map<?, ?> map, ByteBuf out, int depth) {
+        out.writeByte(tag);
+        writeEntries(map, out, depth);
+    }
+
+    private void writeEntries(Map<?, ?> map, ByteBuf out, int depth) {
+        writeVarInt(map.size(), out);
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeValue(entry.getKey(), out, depth + 1);
+            writeValue(entry.getValue(), out, depth + 1);
+        }
+    }
+
+    private void writeMultimap(byte tag, Multimap<?, ?> multimap, ByteBuf out, int depth) {
+        out.writeByte(tag);
+        writeVarInt(multimap.keySet().size(), out);
+        for (Map.Entry<?, ? extends Collection<?>> entry : multimap.asMap().entrySet()) {
+            writeValue(entry.getKey(), out, depth + 1);
+            writeElements(entry.getValue(), out, depth);
+        }
+    }
+
+    private void writeSerialized(Object value, ByteBuf out) {
+        if (!(value instanceof Serializable)) {
+            throw new CodecException("Cannot encode " + value.getClass().getName());
+        }
+        out.writeByte(SERIALIZED);
+        int lengthIndex = out.writerIndex();
+        out.writeInt(0);
+        try (var stream = new ObjectOutputStream(new ByteBufOutputStream(out))) {
+            stream.writeObject(value);
+        } catch (IOException e) {
+            throw new CodecException("Could not serialize " + value.getClass().getName(), e);
+        }
+        out.setInt(lengthIndex, out.writerIndex() - lengthIndex - Integer.BYTES);
+    }
+
+    private static void writeString(String value, ByteBuf out) {
+        writeVarInt(ByteBufUtil.utf8Bytes(value), out);
+        out.writeCharSequence(value, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(int value, ByteBuf out) {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    private static void writeVarLong(long value, ByteBuf out) {
+        long remaining = (value << 1) ^ (value >> 63);
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    // -------------------------------------------------------------------------------
+    // Reading
+    // -------------------------------------------------------------------------------
+
+    private Object readValue(ByteBuf in, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new CodecException("Value nested too deeply");
+        }
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case INT:
+                return (int) readVarLong(in);
+            case LONG:
+                return readVarLong(in);
+            case SHORT:
+                return (short) readVarLong(in);
+            case BYTE:
+                return in.readByte();
+            case CHAR:
+                return in.readChar();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                return readString(in);
+            case REGISTERED:
+                return readRegistered(in, depth);
+            case UUID_VALUE:
+                return new UUID(in.readLong(), in.readLong());
+            case SERIALIZED:
+                return readSerialized(in);
+            case ZONED_DATE_TIME:
+                return readZonedDateTime(in);
+            default:
+                return readContainer(tag, in, depth);
+        }
+    }
+
+    private Object readRegistered(ByteBuf in, int depth) {
+        TypeSchema schema = registry.getSchema(readVarInt(in));
+        switch (schema.getKind()) {
+            case ENUM:
+                return schema.getEnumConstant(readVarInt(in));
+            case MAP:
+                return readEntries((Map) schema.newInstance(), in, depth);
+            case COLLECTION:
+                return readElements((Collection) schema.newInstance(), in, depth);
+            case OBJECT:
+                return readFields(schema, in, depth);
+            default:
+                throw new CodecException(schema.getType().getName() + " is not encoded by schema");
+        }
+    }
+
+    private Object readFields(TypeSchema schema, ByteBuf in, int depth) {
+        Object instance = schema.newInstance();
+        try {
+            for (Field field : schema.getFields()) {
+                Class<?> fieldType = field.getType();
+                if (fieldType == int.class) {
+                    field.setInt(instance, (int) readVarLong(in));
+                } else if (fieldType == boolean.class) {
+                    field.setBoolean(instance, in.readBoolean());
+                } else if (fieldType == long.class) {
+                    field.setLong(instance, readVarLong(in));
+                } else if (fieldType == double.class) {
+                    field.setDouble(instance, in.readDouble());
+                } else if (fieldType == float.class) {
+                    field.setFloat(instance, in.readFloat());
+                } else if (fieldType == short.class) {
+                    field.setShort(instance, (short) readVarLong(in));
+                } else if (fieldType == byte.class) {
+                    field.setByte(instance, in.readByte());
+                } else if (fieldType == char.class) {
+                    field.setChar(instance, in.readChar());
+                } else {
+                    field.set(instance, readValue(in, depth + 1));
+                }
+            }
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            throw new CodecException("Could not set fields of " + schema.getType().getName(), e);
+        }
+        return instance;
+    }
+
+    private Object readContainer(byte tag, ByteBuf in, int depth) {
+        switch (tag) {
+            case ARRAY_LIST:
+                return readElements(new ArrayList<>(), in, depth);
+            case LINKED_LIST:
+                return readElements(new LinkedList<>(), in, depth);
+            case HASH_SET:
+                return readElements(new HashSet<>(), in, depth);
+            case LINKED_HASH_SET:
+                return readElements(new LinkedHashSet<>(), in, depth);
+            case TREE_SET:
+                return readElements(new TreeSet<>(), in, depth);
+            case HASH_MAP:
+                return readEntries(new HashMap<>(), in, depth);
+            case LINKED_HASH_MAP:
+                return readEntries(new LinkedHashMap<>(), in, depth);
+            case TREE_MAP:
+                return readEntries(new TreeMap<>(), in, depth);
+            case ENUM_MAP:
+                return readEnumMap(in, depth);
+            case ENUM_SET:
+                return readEnumSet(in);
+            case HASH_MULTIMAP:
+                return readMultimap(HashMultimap.create(), in, depth);
+            case ARRAY_LIST_MULTIMAP:
+                return readMultimap(ArrayListMultimap.create(), in, depth);
+            default:
+                return readArray(tag, in, depth);
+        }
+    }
+
+    private Object readArray(byte tag, ByteBuf in, int depth) {
+        switch (tag) {
+            case BYTE_ARRAY:
+                byte[] bytes = new byte[checkedLength(in)];
+                in.readBytes(bytes);
+                return bytes;
+            case INT_ARRAY:
+                int[] ints = new int[checkedLength(in)];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = (int) readVarLong(in);
+                }
+                return ints;
+            case OBJECT_ARRAY:
+                int componentId = readVarInt(in);
+                Class<?> component = componentId == STRING_COMPONENT ? String.class : registry.getSchema(componentId).getType();
+                Object[] array = (Object[]) java.lang.reflect.Array.newInstance(component, checkedLength(in));
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readValue(in, depth + 1);
+                }
+                return array;
+            default:
+                throw new CodecException("Unknown tag " + tag);
+        }
+    }
+
+    private Collection<Object> readElements(Collection<Object> collection, ByteBuf in, int depth) {
+        int size = checkedLength(in);
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue(in, depth + 1));
+        }
+        return collection;
+    }
+
+    private Map<Object, Object> readEntries(Map<Object, Object> map, ByteBuf in, int depth) {
+        int size = checkedLength(in);
+        for (int i = 0; i < size; i++) {
+            map.put(readValue(in, depth + 1), readValue(in, depth + 1));
+        }
+        return map;
+    }
+
+    private Multimap<Object, Object> readMultimap(Multimap<Object, Object> multimap, ByteBuf in, int depth) {
+        int size = checkedLength(in);
+        for (int i = 0; i < size; i++) {
+            Object key = readValue(in, depth + 1);
+            multimap.putAll(key, readElements(new ArrayList<>(), in, depth));
+        }
+        return multimap;
+    }
+
+    private Object readEnumMap(ByteBuf in, int depth) {
+        TypeSchema schema = registry.getSchema(readVarInt(in));
+        EnumMap map = new EnumMap(schema.getType());
+        int size = checkedLength(in);
+        for (int i = 0; i < size; i++) {
+            map.put((Enum) schema.getEnumConstant(readVarInt(in)), readValue(in, depth + 1));
+        }
+        return map;
+    }
+
+    private Object readEnumSet(ByteBuf in) {
+        TypeSchema schema = registry.getSchema(readVarInt(in));
+        EnumSet set = EnumSet.noneOf((Class) schema.getType());
+        int size = checkedLength(in);
+        for (int i = 0; i < size; i++) {
+            set.add(schema.getEnumConstant(readVarInt(in)));
+        }
+        return set;
+    }
+
+    private static Object readZonedDateTime(ByteBuf in) {
+        long epochSecond = readVarLong(in);
+        int nanos = readVarInt(in);
+        try {
+            return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nanos), ZoneId.of(readString(in)));
+        } catch (DateTimeException e) {
+            throw new CodecException("Invalid date", e);
+        }
+    }
+
+    private Object readSerialized(ByteBuf in) {
+        int length = in.readInt();
+        try (var stream = new RegistryObjectInputStream(new ByteBufInputStream(in.readSlice(length)))) {
+            return stream.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new CodecException("Could not deserialize value", e);
+        }
+    }
+
+    private static String readString(ByteBuf in) {
+        return in.readCharSequence(checkedLength(in), StandardCharsets.UTF_8).toString();
+    }
+
+    private static int checkedLength(ByteBuf in) {
+        int length = readVarInt(in);
+        if (length < 0 || length > in.readableBytes()) {
+            throw new CodecException("Invalid length " + length);
+        }
+        return length;
+    }
+
+    private static int readVarInt(ByteBuf in) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new CodecException("Malformed var-int");
+    }
+
+    private static long readVarLong(ByteBuf in) {
+        long raw = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            raw |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return (raw >>> 1) ^ -(raw & 1);
+            }
+        }
+        throw new CodecException("Malformed var-long");
+    }
+
+    /**
+     * Object stream resolving classes with the class loader of the common module
+     */
+    private static final class RegistryObjectInputStream extends ObjectInputStream {
+
+        RegistryObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            return Class.forName(desc.getName(), false, BinaryMessageCodec.class.getClassLoader());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package de.uol.swp.common.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.DecoderException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Client side of the codec negotiation
+ * <p>
+ * Sends the hello as soon as the connection is established and holds back the {@code channelActive}
+ * event until the server has answered, so the handlers behind it only see the connection once the
+ * format is settled.
+ *
+ * @see ServerCodecNegotiationHandler
+ */
+public class ClientCodecNegotiationHandler extends AbstractCodecNegotiationHandler {
+
+    public static final String NAME = "codecNegotiation";
+    private static final Logger LOG = LogManager.getLogger(ClientCodecNegotiationHandler.class);
+
+    private final long fingerprint;
+
+    /**
+     * Constructor
+     *
+     * @param registry the registry of the client
+     */
+    public ClientCodecNegotiationHandler(MessageTypeRegistry registry) {
+        this.fingerprint = registry.getFingerprint();
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+        ctx.writeAndFlush(CodecNegotiation.writeHello(ctx.alloc().buffer(CodecNegotiation.HELLO_LENGTH), fingerprint));
+    }
+
+    @Override
+    protected WireFormat negotiate(ChannelHandlerContext ctx, ByteBuf received) {
+        if (received.readableBytes() < CodecNegotiation.ANSWER_LENGTH) {
+            return null;
+        }
+        if (received.readInt() != CodecNegotiation.MAGIC) {
+            throw new DecoderException("Server did not answer the codec negotiation");
+        }
+        byte format = received.readByte();
+        if (format < 0 || format >= WireFormat.values().length) {
+            throw new DecoderException("Unknown wire format " + format);
+        }
+        LOG.debug("Server chose {}", WireFormat.values()[format]);
+        return WireFormat.values()[format];
+    }
+
+    @Override
+    protected void onFinished(ChannelPipeline pipeline) {
+        pipeline.fireChannelActive();
+    }
+}
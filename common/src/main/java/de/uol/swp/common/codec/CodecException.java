@@ -0,0 +1,30 @@
+package de.uol.swp.common.codec;
+
+/**
+ * Exception thrown if a message cannot be written to or read from the binary wire format
+ *
+ * @see BinaryMessageCodec
+ */
+public class CodecException extends RuntimeException {
+
+    private static final long serialVersionUID = 3169470514807385120L;
+
+    /**
+     * Constructor
+     *
+     * @param message the text the Exception should contain
+     */
+    public CodecException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param message the text the Exception should contain
+     * @param cause   the exception that caused this one
+     */
+    public CodecException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
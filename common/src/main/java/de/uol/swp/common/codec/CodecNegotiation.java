@@ -0,0 +1,47 @@
+package de.uol.swp.common.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Constants and frames of the per connection codec negotiation
+ * <p>
+ * A client that wants to use the {@link WireFormat#COMPACT compact format} opens the connection with a hello
+ * containing a magic number and the fingerprint of its {@link MessageTypeRegistry}. The server answers with
+ * the format both sides use from then on. Clients that send Java serialized frames right away are detected
+ * by the missing magic number, so old and new clients can connect to the same server.
+ */
+final class CodecNegotiation {
+
+    /**
+     * "SWPB" - as a frame length this would exceed the maximum frame size of both formats
+     */
+    static final int MAGIC = 0x53575042;
+    static final byte VERSION = 1;
+    static final int HELLO_LENGTH = Integer.BYTES + Byte.BYTES + Long.BYTES;
+    static final int ANSWER_LENGTH = Integer.BYTES + Byte.BYTES;
+
+    private CodecNegotiation() {
+    }
+
+    /**
+     * Writes the hello sent by the client
+     *
+     * @param out         the buffer to write to
+     * @param fingerprint the fingerprint of the client registry
+     * @return the buffer
+     */
+    static ByteBuf writeHello(ByteBuf out, long fingerprint) {
+        return out.writeInt(MAGIC).writeByte(VERSION).writeLong(fingerprint);
+    }
+
+    /**
+     * Writes the answer sent by the server
+     *
+     * @param out    the buffer to write to
+     * @param format the format chosen by the server
+     * @return the buffer
+     */
+    static ByteBuf writeAnswer(ByteBuf out, WireFormat format) {
+        return out.writeInt(MAGIC).writeByte(format.ordinal());
+    }
+}
@@ -0,0 +1,57 @@
+package de.uol.swp.common.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Decoder reading length prefixed frames in the compact binary format
+ *
+ * @see CompactMessageEncoder
+ * @see WireFormat#COMPACT
+ */
+@SuppressWarnings("java:S110")
+public class CompactMessageDecoder extends LengthFieldBasedFrameDecoder {
+
+    private static final Logger LOG = LogManager.getLogger(CompactMessageDecoder.class);
+    private static final int MAX_FRAME_LENGTH = 1048576;
+
+    private final BinaryMessageCodec codec;
+
+    /**
+     * Constructor
+     *
+     * @param codec the codec used to read the frame body
+     */
+    public CompactMessageDecoder(BinaryMessageCodec codec) {
+        super(MAX_FRAME_LENGTH, 0, Integer.BYTES, 0, Integer.BYTES);
+        this.codec = codec;
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+        ByteBuf frame = (ByteBuf) super.decode(ctx, in);
+        if (frame == null) {
+            return null;
+        }
+        try {
+            Object decoded = codec.decode(frame);
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("{} {}", frame, decoded);
+            }
+            return decoded;
+        } catch (CodecException e) {
+            LOG.error("Could not decode frame {}", frame, e);
+            throw e;
+        } finally {
+            frame.release();
+        }
+    }
+
+    @Override
+    protected ByteBuf extractFrame(ChannelHandlerContext ctx, ByteBuf buffer, int index, int length) {
+        return buffer.retainedSlice(index, length);
+    }
+}
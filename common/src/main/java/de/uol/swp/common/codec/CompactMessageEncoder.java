@@ -0,0 +1,62 @@
+package de.uol.swp.common.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Serializable;
+
+/**
+ * Encoder writing objects as length prefixed frames in the compact binary format
+ * <p>
+ * Each frame consists of a four byte length followed by the value written by the {@link BinaryMessageCodec}.
+ *
+ * @see CompactMessageDecoder
+ * @see WireFormat#COMPACT
+ */
+public class CompactMessageEncoder extends MessageToByteEncoder<Serializable> {
+
+    private static final Logger LOG = LogManager.getLogger(CompactMessageEncoder.class);
+
+    private final BinaryMessageCodec codec;
+
+    /**
+     * Constructor
+     *
+     * @param codec the codec used to write the frame body
+     */
+    public CompactMessageEncoder(BinaryMessageCodec codec) {
+        // the codec writes many small values, which is considerably cheaper on heap buffers
+        super(false);
+        this.codec = codec;
+    }
+
+    /**
+     * Writes a complete frame for the given value to the buffer
+     *
+     * @param codec the codec used to write the frame body
+     * @param value the value to write
+     * @param out   the buffer the frame is appended to
+     */
+    public static void writeFrame(BinaryMessageCodec codec, Object value, ByteBuf out) {
+        int lengthIndex = out.writerIndex();
+        out.writeInt(0);
+        codec.encode(value, out);
+        out.setInt(lengthIndex, out.writerIndex() - lengthIndex - Integer.BYTES);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Serializable msg, ByteBuf out) {
+        try {
+            writeFrame(codec, msg, out);
+        } catch (CodecException e) {
+            LOG.error("Could not encode {}", msg, e);
+            throw e;
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("{} {}", msg, out);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package de.uol.swp.common.codec;
+
+import de.uol.swp.common.message.Message;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Registry assigning a compact numeric id to every serializable type in {@code de.uol.swp.common}
+ * <p>
+ * The registry scans the package tree the {@link Message} interface was loaded from, so it covers every
+ * {@code RequestMessage}, {@code ResponseMessage} and {@code ServerMessage} as well as the DTOs and enums
+ * they carry. Ids are assigned in lexicographic order of the class names, which makes them identical on
+ * client and server as long as both run the same common module. The {@link #getFingerprint() fingerprint}
+ * covers names, kinds and field layouts and is exchanged during the codec negotiation to detect
+ * mismatching builds.
+ *
+ * @see BinaryMessageCodec
+ * @see WireFormat
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public final class MessageTypeRegistry {
+
+    private static final Logger LOG = LogManager.getLogger(MessageTypeRegistry.class);
+    private static final String BASE_PACKAGE = "de.uol.swp.common";
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final Map<Class<?>, TypeSchema> schemasByType = new HashMap<>();
+    private final List<TypeSchema> schemasById = new ArrayList<>();
+    private final long fingerprint;
+
+    /**
+     * Constructor
+     *
+     * @param types the types to register, ids are assigned in the order of the collection starting at 1
+     */
+    MessageTypeRegistry(Collection<Class<?>> types) {
+        schemasById.add(null); // id 0 is reserved
+        long hash = 0xcbf29ce484222325L;
+        for (Class<?> type : types) {
+            var schema = new TypeSchema(schemasById.size(), type);
+            schemasById.add(schema);
+            schemasByType.put(type, schema);
+            for (byte b : schema.describe().getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ b) * 0x100000001b3L;
+            }
+        }
+        this.fingerprint = hash;
+    }
+
+    /**
+     * Returns the registry for the common module on the classpath
+     *
+     * @return the shared registry instance
+     */
+    public static MessageTypeRegistry getDefault() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the schema registered for the given type
+     *
+     * @param type the runtime class of a value
+     * @return the schema or {@code null} if the type is not registered
+     */
+    TypeSchema getSchema(Class<?> type) {
+        return schemasByType.get(type);
+    }
+
+    /**
+     * Returns the schema registered under the given id
+     *
+     * @param id the id read from the wire
+     * @return the schema
+     * @throws CodecException if the id is unknown
+     */
+    TypeSchema getSchema(int id) {
+        if (id <= 0 || id >= schemasById.size()) {
+            throw new CodecException("Unknown type id " + id);
+        }
+        return schemasById.get(id);
+    }
+
+    /**
+     * Returns the id of the given type
+     *
+     * @param type the type
+     * @return the id, or {@code 0} if the type is not registered
+     */
+    public int getId(Class<?> type) {
+        TypeSchema schema = schemasByType.get(type);
+        return schema == null ? 0 : schema.getId();
+    }
+
+    /**
+     * Returns all registered types in id order
+     *
+     * @return an unmodifiable list of all registered types
+     */
+    public List<Class<?>> getTypes() {
+        return schemasById.stream().skip(1).map(TypeSchema::getType).collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Returns a hash over the names and layouts of all registered types
+     *
+     * @return the registry fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    private static MessageTypeRegistry scan() {
+        ClassLoader loader = Message.class.getClassLoader();
+        List<Class<?>> types = new ArrayList<>();
+        for (String name : findClassNames()) {
+            try {
+                Class<?> type = Class.forName(name, false, loader);
+                if (isRegistrable(type)) {
+                    types.add(type);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOG.debug("Skipping {}: {}", name, e.getMessage());
+            }
+        }
+        LOG.debug("Registered {} wire types", types.size());
+        return new MessageTypeRegistry(types);
+    }
+
+    private static boolean isRegistrable(Class<?> type) {
+        if (type.isInterface() || type.isAnonymousClass() || type.isLocalClass() || type.isSynthetic()
+                || !Serializable.class.isAssignableFrom(type)) {
+            return false;
+        }
+        if (type.isMemberClass() && !Modifier.isStatic(type.getModifiers())) {
+            return false;
+        }
+        return type.isEnum() || !Modifier.isAbstract(type.getModifiers());
+    }
+
+    private static SortedSet<String> findClassNames() {
+        SortedSet<String> names = new TreeSet<>();
+        String packagePath = BASE_PACKAGE.replace('.', '/');
+        try {
+            Path location = Paths.get(Message.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(location)) {
+                Path root = location.resolve(packagePath);
+                try (Stream<Path> files = Files.walk(root)) {
+                    files.map(location::relativize).map(Path::toString).filter(file -> file.endsWith(CLASS_SUFFIX))
+                            .map(file -> toClassName(file.replace(location.getFileSystem().getSeparator(), "/")))
+                            .forEach(names::add);
+                }
+            } else {
+                try (var jar = new JarFile(location.toFile())) {
+                    jar.stream().map(JarEntry::getName)
+                            .filter(entry -> entry.startsWith(packagePath) && entry.endsWith(CLASS_SUFFIX))
+                            .map(MessageTypeRegistry::toClassName).forEach(names::add);
+                }
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            throw new IllegalStateException("Could not scan " + BASE_PACKAGE + " for wire types", e);
+        }
+        return names;
+    }
+
+    private static String toClassName(String file) {
+        return file.substring(0, file.length() - CLASS_SUFFIX.length()).replace('/', '.');
+    }
+
+    private static final class Holder {
+        private static final MessageTypeRegistry INSTANCE = scan();
+    }
+}
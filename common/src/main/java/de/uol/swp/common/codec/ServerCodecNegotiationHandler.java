@@ -0,0 +1,54 @@
+package de.uol.swp.common.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Server side of the codec negotiation
+ * <p>
+ * If the first bytes of a connection are a hello with a matching registry fingerprint the connection
+ * switches to the {@link WireFormat#COMPACT compact format}. A hello with a different fingerprint is
+ * answered with {@link WireFormat#JAVA} and any other first bytes are treated as a client that does not
+ * negotiate at all and keeps using Java serialization.
+ *
+ * @see ClientCodecNegotiationHandler
+ */
+public class ServerCodecNegotiationHandler extends AbstractCodecNegotiationHandler {
+
+    public static final String NAME = "codecNegotiation";
+    private static final Logger LOG = LogManager.getLogger(ServerCodecNegotiationHandler.class);
+
+    private final long fingerprint;
+
+    /**
+     * Constructor
+     *
+     * @param registry the registry of the server
+     */
+    public ServerCodecNegotiationHandler(MessageTypeRegistry registry) {
+        this.fingerprint = registry.getFingerprint();
+    }
+
+    @Override
+    protected WireFormat negotiate(ChannelHandlerContext ctx, ByteBuf received) {
+        if (received.readableBytes() < Integer.BYTES) {
+            return null;
+        }
+        if (received.getInt(received.readerIndex()) != CodecNegotiation.MAGIC) {
+            LOG.debug("{} did not negotiate, using Java serialization", ctx.channel());
+            return WireFormat.JAVA;
+        }
+        if (received.readableBytes() < CodecNegotiation.HELLO_LENGTH) {
+            return null;
+        }
+        received.skipBytes(Integer.BYTES);
+        byte version = received.readByte();
+        long clientFingerprint = received.readLong();
+        WireFormat format = version == CodecNegotiation.VERSION && clientFingerprint == fingerprint ? WireFormat.COMPACT : WireFormat.JAVA;
+        LOG.debug("{} negotiated {}", ctx.channel(), format);
+        ctx.writeAndFlush(CodecNegotiation.writeAnswer(ctx.alloc().buffer(CodecNegotiation.ANSWER_LENGTH), format));
+        return format;
+    }
+}
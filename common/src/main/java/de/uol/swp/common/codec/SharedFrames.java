@@ -0,0 +1,108 @@
+package de.uol.swp.common.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The encoded frames of a message that is sent to many receivers
+ * <p>
+ * The message is encoded at most once per {@link WireFormat}, the first time a receiver using that format
+ * asks for it. Every receiver gets a retained duplicate of the shared frame, so the bytes are never copied.
+ * The frames also count how many bytes were encoded and how many were sent for the broadcast.
+ * <p>
+ * Must be {@link #close() closed} once the message was handed to every receiver.
+ */
+public class SharedFrames implements AutoCloseable {
+
+    private final Serializable message;
+    private final Map<WireFormat, ByteBuf> frames = new EnumMap<>(WireFormat.class);
+    private long bytesEncoded;
+    private long bytesSent;
+    private int receivers;
+
+    /**
+     * Constructor
+     *
+     * @param message the message that is sent to many receivers
+     */
+    public SharedFrames(Serializable message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns a retained duplicate of the frame in the given format
+     * <p>
+     * The caller takes over the reference, usually by writing the frame to a channel.
+     *
+     * @param format    the format of the receiver
+     * @param allocator the allocator used if the frame has to be encoded
+     * @return the frame ready to be written
+     * @throws CodecException if the message cannot be encoded
+     */
+    public synchronized ByteBuf retainedFrame(WireFormat format, ByteBufAllocator allocator) {
+        ByteBuf frame = frames.get(format);
+        if (frame == null) {
+            frame = allocator.heapBuffer();
+            try {
+                format.writeFrame(message, frame);
+            } catch (CodecException e) {
+                frame.release();
+                throw e;
+            }
+            frames.put(format, frame);
+            bytesEncoded += frame.readableBytes();
+        }
+        bytesSent += frame.readableBytes();
+        receivers++;
+        return frame.retainedDuplicate();
+    }
+
+    /**
+     * Returns the message the frames belong to
+     *
+     * @return the message
+     */
+    public Serializable getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the number of bytes that had to be encoded for the broadcast
+     *
+     * @return the size of all frames encoded so far
+     */
+    public synchronized long getBytesEncoded() {
+        return bytesEncoded;
+    }
+
+    /**
+     * Returns the number of bytes handed to receivers
+     *
+     * @return the size of all frames handed out so far
+     */
+    public synchronized long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Returns the number of receivers that got a frame
+     *
+     * @return the number of frames handed out so far
+     */
+    public synchronized int getReceivers() {
+        return receivers;
+    }
+
+    /**
+     * Releases the shared frames, the duplicates handed out stay valid until they are written
+     */
+    @Override
+    public synchronized void close() {
+        frames.values().forEach(ByteBuf::release);
+        frames.clear();
+    }
+}
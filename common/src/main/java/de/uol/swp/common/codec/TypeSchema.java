@@ -0,0 +1,213 @@
+package de.uol.swp.common.codec;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Wire layout of a single registered type
+ * <p>
+ * Plain data classes are written field by field in a fixed order (superclass fields first, then by name),
+ * enums as their ordinal and subclasses of JDK maps and collections as their entries. Plain data classes need
+ * a no-argument constructor, which may be private, to create the instance the fields are read into. Types
+ * without one, types that rely on custom Java serialization hooks and types that inherit state from
+ * serializable JDK classes are marked {@link Kind#OPAQUE} and fall back to Java serialization for that value
+ * only.
+ *
+ * @see MessageTypeRegistry
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+final class TypeSchema {
+
+    private static final String BASE_PACKAGE = "de.uol.swp.common.";
+    private static final Set<String> SERIALIZATION_HOOKS = Set.of("writeObject", "readObject", "readObjectNoData",
+            "writeReplace", "readResolve");
+
+    private final int id;
+    private final Class<?> type;
+    private final Field[] fields;
+    private final Object[] enumConstants;
+    private final Map<Field, Object> transientDefaults = new LinkedHashMap<>();
+    private Kind kind;
+    private Constructor<?> constructor;
+
+    /**
+     * Constructor
+     *
+     * @param id   the id the type is registered under
+     * @param type the registered type
+     */
+    TypeSchema(int id, Class<?> type) {
+        this.id = id;
+        this.type = type;
+        this.enumConstants = type.isEnum() ? type.getEnumConstants() : null;
+        List<Field> fieldList = new ArrayList<>();
+        try {
+            this.kind = analyze(fieldList);
+        } catch (RuntimeException | NoSuchMethodException e) {
+            this.kind = Kind.OPAQUE;
+            fieldList.clear();
+            transientDefaults.clear();
+        }
+        this.fields = fieldList.toArray(new Field[0]);
+    }
+
+    private static boolean declaresSerializationHooks(Class<?> type) {
+        return Arrays.stream(type.getDeclaredMethods())
+                .anyMatch(method -> !Modifier.isStatic(method.getModifiers()) && SERIALIZATION_HOOKS.contains(method.getName()));
+    }
+
+    private static boolean isPersistent(Field field) {
+        return !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers());
+    }
+
+    private static boolean isTransient(Field field) {
+        return !Modifier.isStatic(field.getModifiers()) && Modifier.isTransient(field.getModifiers());
+    }
+
+    private Kind analyze(List<Field> fieldList) throws NoSuchMethodException {
+        if (type.isEnum()) {
+            return Kind.ENUM;
+        }
+        boolean isMap = Map.class.isAssignableFrom(type);
+        if (isMap || Collection.class.isAssignableFrom(type)) {
+            return analyzeContainer(isMap);
+        }
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        Class<?> current = type;
+        while (Serializable.class.isAssignableFrom(current)) {
+            if (!current.getName().startsWith(BASE_PACKAGE) || declaresSerializationHooks(current)) {
+                return Kind.OPAQUE;
+            }
+            hierarchy.push(current);
+            current = current.getSuperclass();
+        }
+        for (Class<?> declaring : hierarchy) {
+            Arrays.stream(declaring.getDeclaredFields()).filter(TypeSchema::isPersistent)
+                    .sorted(Comparator.comparing(Field::getName)).forEach(fieldList::add);
+            Arrays.stream(declaring.getDeclaredFields()).filter(TypeSchema::isTransient).forEach(field -> transientDefaults.put(
+                    field, field.getType().isPrimitive() ? Array.get(Array.newInstance(field.getType(), 1), 0) : null));
+        }
+        for (Field field : fieldList) {
+            field.setAccessible(true);
+        }
+        for (Field field : transientDefaults.keySet()) {
+            field.setAccessible(true);
+        }
+        this.constructor = type.getDeclaredConstructor();
+        this.constructor.setAccessible(true);
+        return Kind.OBJECT;
+    }
+
+    private Kind analyzeContainer(boolean isMap) throws NoSuchMethodException {
+        for (Class<?> current = type; current.getName().startsWith(BASE_PACKAGE); current = current.getSuperclass()) {
+            if (declaresSerializationHooks(current) || Arrays.stream(current.getDeclaredFields()).anyMatch(TypeSchema::isPersistent)) {
+                return Kind.OPAQUE;
+            }
+        }
+        this.constructor = type.getDeclaredConstructor();
+        this.constructor.setAccessible(true);
+        return isMap ? Kind.MAP : Kind.COLLECTION;
+    }
+
+    /**
+     * Creates a new instance of the type
+     * <p>
+     * Plain data classes are created with their no-argument constructor and their transient fields are reset to
+     * their default values, like Java serialization leaves them. Maps and collections are created with their
+     * no-argument constructor and cleared.
+     *
+     * @return the new, empty instance
+     */
+    Object newInstance() {
+        try {
+            Object instance = constructor.newInstance();
+            for (Map.Entry<Field, Object> transientDefault : transientDefaults.entrySet()) {
+                transientDefault.getKey().set(instance, transientDefault.getValue());
+            }
+            if (kind == Kind.MAP) {
+                ((Map<?, ?>) instance).clear();
+            } else if (kind == Kind.COLLECTION) {
+                ((Collection<?>) instance).clear();
+            }
+            return instance;
+        } catch (ReflectiveOperationException e) {
+            throw new CodecException("Could not instantiate " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Returns a textual description of the layout used for the registry fingerprint
+     *
+     * @return the layout description
+     */
+    String describe() {
+        var builder = new StringBuilder(type.getName()).append(':').append(kind);
+        for (Field field : fields) {
+            builder.append(',').append(field.getName()).append('=').append(field.getType().getName());
+        }
+        if (enumConstants != null) {
+            builder.append(',').append(enumConstants.length);
+        }
+        return builder.append(';').toString();
+    }
+
+    /**
+     * Returns the id the type is registered under
+     *
+     * @return the type id
+     */
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the registered type
+     *
+     * @return the type
+     */
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns how values of the type are written
+     *
+     * @return the kind of the type
+     */
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the persistent fields in wire order
+     *
+     * @return the fields of a {@link Kind#OBJECT} type
+     */
+    Field[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the enum constant with the given ordinal
+     *
+     * @param ordinal the ordinal read from the wire
+     * @return the enum constant
+     */
+    Object getEnumConstant(int ordinal) {
+        if (ordinal < 0 || ordinal >= enumConstants.length) {
+            throw new CodecException("Unknown ordinal " + ordinal + " for " + type.getName());
+        }
+        return enumConstants[ordinal];
+    }
+
+    /**
+     * How the values of a type are written
+     */
+    enum Kind {
+        ENUM, OBJECT, MAP, COLLECTION, OPAQUE
+    }
+}
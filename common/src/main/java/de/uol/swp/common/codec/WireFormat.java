@@ -0,0 +1,140 @@
+package de.uol.swp.common.codec;
+
+import de.uol.swp.common.MyObjectDecoder;
+import de.uol.swp.common.MyObjectEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.serialization.ClassResolvers;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The formats messages can be written in on a connection
+ * <p>
+ * {@link #JAVA} is the Java serialization used by clients that do not negotiate a format,
+ * {@link #COMPACT} the schema based binary format of the {@link BinaryMessageCodec}.
+ *
+ * @see ServerCodecNegotiationHandler
+ * @see ClientCodecNegotiationHandler
+ */
+public enum WireFormat {
+    JAVA {
+        @Override
+        ChannelHandler[] newCodec() {
+            return new ChannelHandler[]{new MyObjectEncoder(), new MyObjectDecoder(ClassResolvers.cacheDisabled(null))};
+        }
+
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        public void writeFrame(Serializable message, ByteBuf out) {
+            try {
+                JAVA_ENCODER.writeFrame(message, out);
+            } catch (Exception e) {
+                throw new CodecException("Could not serialize " + message, e);
+            }
+        }
+    },
+    COMPACT {
+        @Override
+        ChannelHandler[] newCodec() {
+            return new ChannelHandler[]{new CompactMessageEncoder(CodecHolder.CODEC), new CompactMessageDecoder(CodecHolder.CODEC)};
+        }
+
+        @Override
+        public void writeFrame(Serializable message, ByteBuf out) {
+            CompactMessageEncoder.writeFrame(CodecHolder.CODEC, message, out);
+        }
+    };
+
+    /**
+     * Name of the system property selecting the format a client asks for
+     */
+    public static final String PROPERTY = "swp.wireFormat";
+    public static final String ENCODER_NAME = "encoder";
+    public static final String DECODER_NAME = "decoder";
+
+    private static final Logger LOG = LogManager.getLogger(WireFormat.class);
+    private static final MyObjectEncoder JAVA_ENCODER = new MyObjectEncoder();
+
+    /**
+     * Creates a new encoder and decoder for this format
+     *
+     * @return an array containing the encoder at index 0 and the decoder at index 1
+     */
+    abstract ChannelHandler[] newCodec();
+
+    /**
+     * Writes a complete frame in this format, exactly as the encoder of this format would write it
+     *
+     * @param message the message to encode
+     * @param out     the buffer the frame is appended to
+     * @throws CodecException if the message cannot be encoded
+     */
+    public abstract void writeFrame(Serializable message, ByteBuf out);
+
+    /**
+     * Returns the format the given pipeline currently encodes messages with
+     *
+     * @param pipeline the pipeline of a channel
+     * @return the format or an empty Optional if the format is not negotiated yet
+     */
+    public static Optional<WireFormat> of(ChannelPipeline pipeline) {
+        ChannelHandler encoder = pipeline.get(ENCODER_NAME);
+        if (encoder instanceof CompactMessageEncoder) {
+            return Optional.of(COMPACT);
+        } else if (encoder instanceof MyObjectEncoder) {
+            return Optional.of(JAVA);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Adds the encoder and decoder of this format to the pipeline directly behind the given handler
+     *
+     * @param pipeline the pipeline of the channel
+     * @param baseName the name of the handler the codec is added after
+     */
+    public void install(ChannelPipeline pipeline, String baseName) {
+        ChannelHandler[] codec = newCodec();
+        pipeline.addAfter(baseName, DECODER_NAME, codec[1]);
+        pipeline.addAfter(baseName, ENCODER_NAME, codec[0]);
+    }
+
+    /**
+     * Adds the encoder and decoder of this format to the end of the pipeline
+     *
+     * @param pipeline the pipeline of the channel
+     */
+    public void addLast(ChannelPipeline pipeline) {
+        ChannelHandler[] codec = newCodec();
+        pipeline.addLast(ENCODER_NAME, codec[0]);
+        pipeline.addLast(DECODER_NAME, codec[1]);
+    }
+
+    /**
+     * Returns the format configured with the {@value #PROPERTY} system property
+     *
+     * @return the configured format, {@link #COMPACT} if nothing or an unknown format is configured
+     */
+    public static WireFormat configured() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null) {
+            return COMPACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Ignoring the unknown wire format \"{}\" configured with {}", value, PROPERTY);
+            return COMPACT;
+        }
+    }
+
+    private static final class CodecHolder {
+        private static final BinaryMessageCodec CODEC = new BinaryMessageCodec(MessageTypeRegistry.getDefault());
+    }
+}
@@ -5,6 +5,7 @@ import de.uol.swp.common.game.board.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * This class is used to store the number of resource and development cards a player has
@@ -417,13 +418,14 @@ public class Inventory {
      * Remove amount of Random ressources
      *
      * @param amount amount removed
+     * @param random the random source of the game
      * @return the last removed resource
      */
-    public List<ResourceType> removeRandomResources(int amount) {
+    public List<ResourceType> removeRandomResources(int amount, Random random) {
         int amountLeft = amount;
         List<ResourceType> removedResource = new ArrayList<>();
         while (amountLeft > 0) {
-            ResourceType randomType = ResourceType.getRandom();
+            ResourceType randomType = ResourceType.getRandom(random);
             if (hasResource(randomType, 1)) {
                 decreaseResource(randomType, 1);
                 removedResource.add(randomType);
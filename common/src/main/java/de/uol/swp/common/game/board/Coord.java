@@ -11,7 +11,6 @@ import java.util.*;
 @SuppressWarnings({"PMD.ShortVariable", "PMD.CyclomaticComplexity", "PMD.ControlStatementBraces"})
 public class Coord implements Serializable {
 
-    private static final Random RANDOM = new Random();
     private final int x;
     private final int y;
     private final MapNode nodeType;
@@ -44,6 +43,15 @@ public class Coord implements Serializable {
         this.nodeType = nodeType;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private Coord() {
+        this.x = 0;
+        this.y = 0;
+        this.nodeType = null;
+    }
+
     /**
      * Adds two board coordinates by adding their x and y values together, forwarding the direction of the second coordinate
      * and forwarding the node type of the first coordinate
@@ -201,21 +209,22 @@ public class Coord implements Serializable {
     /**
      * Get A random Valid Hex Coordinate
      *
+     * @param random the random source of the game
      * @return a random valid Hex Coordinate
      */
-    public static Coord getRandomHex() {
-        int xCoord = -2 + RANDOM.nextInt(5);
+    public static Coord getRandomHex(Random random) {
+        int xCoord = -2 + random.nextInt(5);
         int yCoord;
         if (xCoord == -2) {
-            yCoord = RANDOM.nextInt(3);
+            yCoord = random.nextInt(3);
         } else if (xCoord == -1) {
-            yCoord = -1 + RANDOM.nextInt(4);
+            yCoord = -1 + random.nextInt(4);
         } else if (xCoord == 0) {
-            yCoord = -2 + RANDOM.nextInt(5);
+            yCoord = -2 + random.nextInt(5);
         } else if (xCoord == 1) {
-            yCoord = -2 + RANDOM.nextInt(4);
+            yCoord = -2 + random.nextInt(4);
         } else {
-            yCoord = -2 + RANDOM.nextInt(3);
+            yCoord = -2 + random.nextInt(3);
         }
         return new Coord(xCoord, yCoord);
     }
@@ -238,7 +247,11 @@ public class Coord implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y, dir);
+        // Like Objects.hash(x, y, dir), but with the ordinal of the direction instead of its identity hash code,
+        // so sets of coords are iterated in the same order in every run and seeded games can be replayed
+        int result = 31 + x;
+        result = 31 * result + y;
+        return 31 * result + (dir == null ? 0 : dir.ordinal() + 1);
     }
 
     @Override
@@ -23,6 +23,14 @@ public class PortCoord implements Serializable {
         this.portEdgeCoord = portEdgeCoord;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PortCoord() {
+        this.portHexCoord = null;
+        this.portEdgeCoord = null;
+    }
+
     /**
      * Returns the {@code Coord} of the <b>Hexagon</b> that the port is on
      *
@@ -13,14 +13,14 @@ public enum ResourceType {
     BRICK;
 
     private static final ResourceType[] VALUES = values();
-    private static final Random RANDOM = new Random();
 
     /**
      * Returns a random resource type
      *
+     * @param random the random source of the game
      * @return a random resource type
      */
-    public static ResourceType getRandom() {
-        return VALUES[RANDOM.nextInt(VALUES.length)];
+    public static ResourceType getRandom(Random random) {
+        return VALUES[random.nextInt(VALUES.length)];
     }
 }
@@ -19,6 +19,13 @@ public abstract class AbstractDebugRequest extends AbstractRequestMessage {
         this.sessionName = sessionName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    protected AbstractDebugRequest() {
+        this.sessionName = null;
+    }
+
     /**
      * Returns the name of the game session that should be changed
      *
@@ -22,6 +22,14 @@ public class SetDevCardsRequest extends AbstractDebugRequest {
         this.playerName = playerName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private SetDevCardsRequest() {
+        this.devCards = null;
+        this.playerName = null;
+    }
+
     /**
      * Returns the dev cards
      *
@@ -19,6 +19,13 @@ public class SetNextDiceRequest extends AbstractDebugRequest {
         this.diceValue = diceValue;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private SetNextDiceRequest() {
+        this.diceValue = 0;
+    }
+
     /**
      * Returns the next dice value
      *
@@ -26,6 +26,15 @@ public class SetResourcesRequest extends AbstractRequestMessage {
         this.playerName = playerName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private SetResourcesRequest() {
+        this.lobbyName = null;
+        this.resourceMap = null;
+        this.playerName = null;
+    }
+
     /**
      * Returns the game session name
      *
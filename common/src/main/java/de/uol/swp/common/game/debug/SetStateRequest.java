@@ -21,6 +21,13 @@ public class SetStateRequest extends AbstractDebugRequest {
         this.state = state;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private SetStateRequest() {
+        this.state = null;
+    }
+
     /**
      * Returns a String representing the new state for the game session
      *
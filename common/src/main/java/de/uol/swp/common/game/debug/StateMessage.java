@@ -1,13 +1,14 @@
 package de.uol.swp.common.game.debug;
 
 import de.uol.swp.common.game.message.AbstractGameMessage;
+import de.uol.swp.common.message.ConflatableMessage;
 
 import java.util.Objects;
 
 /**
  * Message sent to all players in a game session that contains the name of the current state
  */
-public class StateMessage extends AbstractGameMessage {
+public class StateMessage extends AbstractGameMessage implements ConflatableMessage {
     private final String state;
 
     /**
@@ -21,10 +22,22 @@ public class StateMessage extends AbstractGameMessage {
         this.state = state;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private StateMessage() {
+        this.state = null;
+    }
+
     public String getState() {
         return state;
     }
 
+    @Override
+    public Object getConflationKey() {
+        return getGameSessionName();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -24,6 +24,15 @@ public class GameDTO implements Serializable {
         this.players = players.clone();
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameDTO() {
+        this.players = null;
+        this.gameSessionName = null;
+        this.debugEnabled = false;
+    }
+
     /**
      * Returns the players of a game
      *
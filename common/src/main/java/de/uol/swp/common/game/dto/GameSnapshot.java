@@ -0,0 +1,264 @@
+package de.uol.swp.common.game.dto;
+
+import com.google.common.collect.Multimap;
+import de.uol.swp.common.game.board.*;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Objects of this class are used to transfer the complete state of a running game to a client
+ * <p>
+ * A snapshot is taken in one read of the game session and replaces the burst of board, inventory and
+ * bonus messages a rejoining user used to receive. Its version is the state version of the game session
+ * when it was taken, i.e. it contains every change announced to the players up to that version.
+ */
+public class GameSnapshot implements Serializable {
+
+    private final long version;
+    private final Multimap<Integer, Coord> hexNumbers;
+    private final Map<Coord, ResourceTile> resourceTiles;
+    private final Map<PortCoord, Port> ports;
+    private final Map<Coord, PieceDTO> placedPieces;
+    private final Coord robber;
+    private final List<PlayerState> players;
+    private final DevCardEnumMap devCards;
+    private final PieceTypeEnumMap availablePieces;
+    private final PlayerDTO playerWithLargestArmy;
+    private final PlayerDTO playerWithLongestRoad;
+    private final int devCardsRemaining;
+
+    /**
+     * Constructor
+     *
+     * @param version               the state version of the game session the snapshot was taken at
+     * @param hexNumbers            the numbers of the hexagons of the board
+     * @param resourceTiles         the resource tiles of the board
+     * @param ports                 the ports of the board
+     * @param placedPieces          the pieces placed on the board
+     * @param robber                the position of the robber
+     * @param players               the public state of every player
+     * @param devCards              the development cards of the receiving player
+     * @param availablePieces       the pieces the receiving player can still build
+     * @param playerWithLargestArmy the player with the largest army or {@code null}
+     * @param playerWithLongestRoad the player with the longest road or {@code null}
+     * @param devCardsRemaining     the amount of development cards left in the bank
+     */
+    @SuppressWarnings("java:S107")
+    public GameSnapshot(long version, Multimap<Integer, Coord> hexNumbers, Map<Coord, ResourceTile> resourceTiles,
+                        Map<PortCoord, Port> ports, Map<Coord, PieceDTO> placedPieces, Coord robber, List<PlayerState> players,
+                        DevCardEnumMap devCards, PieceTypeEnumMap availablePieces, PlayerDTO playerWithLargestArmy,
+                        PlayerDTO playerWithLongestRoad, int devCardsRemaining) {
+        this.version = version;
+        this.hexNumbers = hexNumbers;
+        this.resourceTiles = resourceTiles;
+        this.ports = ports;
+        this.placedPieces = placedPieces;
+        this.robber = robber;
+        this.players = players;
+        this.devCards = devCards;
+        this.availablePieces = availablePieces;
+        this.playerWithLargestArmy = playerWithLargestArmy;
+        this.playerWithLongestRoad = playerWithLongestRoad;
+        this.devCardsRemaining = devCardsRemaining;
+    }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameSnapshot() {
+        this.version = 0L;
+        this.hexNumbers = null;
+        this.resourceTiles = null;
+        this.ports = null;
+        this.placedPieces = null;
+        this.robber = null;
+        this.players = null;
+        this.devCards = null;
+        this.availablePieces = null;
+        this.playerWithLargestArmy = null;
+        this.playerWithLongestRoad = null;
+        this.devCardsRemaining = 0;
+    }
+
+    /**
+     * Returns the state version of the game session the snapshot was taken at
+     *
+     * @return the state version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the numbers of the hexagons of the board
+     *
+     * @return the numbers and the coordinates of their hexagons
+     */
+    public Multimap<Integer, Coord> getHexNumbers() {
+        return hexNumbers;
+    }
+
+    /**
+     * Returns the resource tiles of the board
+     *
+     * @return the coordinates and resource tiles of the board
+     */
+    public Map<Coord, ResourceTile> getResourceTiles() {
+        return resourceTiles;
+    }
+
+    /**
+     * Returns the ports of the board
+     *
+     * @return the coordinates and ports of the board
+     */
+    public Map<PortCoord, Port> getPorts() {
+        return ports;
+    }
+
+    /**
+     * Returns the pieces placed on the board
+     *
+     * @return the coordinates and pieces placed on the board
+     */
+    public Map<Coord, PieceDTO> getPlacedPieces() {
+        return placedPieces;
+    }
+
+    /**
+     * Returns the position of the robber
+     *
+     * @return the coordinate of the robber
+     */
+    public Coord getRobber() {
+        return robber;
+    }
+
+    /**
+     * Returns the public state of every player
+     *
+     * @return the state of the players in turn order
+     */
+    public List<PlayerState> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Returns the development cards of the receiving player
+     *
+     * @return the development cards of the receiving player
+     */
+    public DevCardEnumMap getDevCards() {
+        return devCards;
+    }
+
+    /**
+     * Returns the pieces the receiving player can still build
+     *
+     * @return the pieces the receiving player can still build
+     */
+    public PieceTypeEnumMap getAvailablePieces() {
+        return availablePieces;
+    }
+
+    /**
+     * Returns the player with the largest army
+     *
+     * @return the player with the largest army or {@code null} if nobody has it
+     */
+    public PlayerDTO getPlayerWithLargestArmy() {
+        return playerWithLargestArmy;
+    }
+
+    /**
+     * Returns the player with the longest road
+     *
+     * @return the player with the longest road or {@code null} if nobody has it
+     */
+    public PlayerDTO getPlayerWithLongestRoad() {
+        return playerWithLongestRoad;
+    }
+
+    /**
+     * Returns the amount of development cards left in the bank
+     *
+     * @return the amount of development cards left in the bank
+     */
+    public int getDevCardsRemaining() {
+        return devCardsRemaining;
+    }
+
+    /**
+     * The state of a player every other player can see
+     */
+    public static class PlayerState implements Serializable {
+
+        private final PlayerDTO player;
+        private final ResourceEnumMap resources;
+        private final int victoryPoints;
+        private final int devCardCount;
+
+        /**
+         * Constructor for decoding, the fields are set by the codec
+         */
+        private PlayerState() {
+            this.player = null;
+            this.resources = null;
+            this.victoryPoints = 0;
+            this.devCardCount = 0;
+        }
+
+        /**
+         * Constructor
+         *
+         * @param player        the player
+         * @param resources     the resources of the player
+         * @param victoryPoints the public victory points of the player
+         * @param devCardCount  the amount of development cards of the player
+         */
+        public PlayerState(PlayerDTO player, ResourceEnumMap resources, int victoryPoints, int devCardCount) {
+            this.player = player;
+            this.resources = resources;
+            this.victoryPoints = victoryPoints;
+            this.devCardCount = devCardCount;
+        }
+
+        /**
+         * Returns the player
+         *
+         * @return the player
+         */
+        public PlayerDTO getPlayer() {
+            return player;
+        }
+
+        /**
+         * Returns the resources of the player
+         *
+         * @return the resources of the player
+         */
+        public ResourceEnumMap getResources() {
+            return resources;
+        }
+
+        /**
+         * Returns the public victory points of the player
+         *
+         * @return the public victory points of the player
+         */
+        public int getVictoryPoints() {
+            return victoryPoints;
+        }
+
+        /**
+         * Returns the amount of development cards of the player
+         *
+         * @return the amount of development cards of the player
+         */
+        public int getDevCardCount() {
+            return devCardCount;
+        }
+    }
+}
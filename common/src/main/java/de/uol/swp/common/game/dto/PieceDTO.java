@@ -23,6 +23,14 @@ public class PieceDTO implements Serializable {
         this.owner = owner;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PieceDTO() {
+        this.pieceType = null;
+        this.owner = null;
+    }
+
     /**
      * Returns the type of the piece
      *
@@ -60,6 +60,15 @@ public class PlayerDTO implements Serializable {
         this.playerId = -1;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PlayerDTO() {
+        this.playerName = null;
+        this.playerId = 0;
+        this.playerColor = null;
+    }
+
     /**
      * Copy Constructor
      *
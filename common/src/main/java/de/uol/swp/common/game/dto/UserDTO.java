@@ -73,6 +73,17 @@ public class UserDTO implements User {
         this.eMail = eMail;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UserDTO() {
+        this.username = null;
+        this.eMail = null;
+        this.hash = null;
+        this.salt = null;
+        this.userId = null;
+    }
+
     /**
      * Copy constructor
      *
@@ -6,10 +6,15 @@ import java.util.Objects;
 
 /**
  * Base Game Message Class
+ * <p>
+ * Messages announced to all players of a game session carry the sequence number the session assigned to them.
+ * The numbers of a session start at 1 and have no gaps, so a client can detect a missed message and fall back to a
+ * {@link GameSnapshotMessage snapshot}. Messages sent to a single player are not sequenced and carry 0.
  */
 public abstract class AbstractGameMessage extends AbstractServerMessage {
 
     private final String gameSessionName;
+    private long sequence;
 
     /**
      * Constructor
@@ -20,6 +25,13 @@ public abstract class AbstractGameMessage extends AbstractServerMessage {
         this.gameSessionName = gameSessionName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    protected AbstractGameMessage() {
+        this.gameSessionName = null;
+    }
+
     /**
      * Returns the name of the game session this message is sent to
      *
@@ -29,6 +41,24 @@ public abstract class AbstractGameMessage extends AbstractServerMessage {
         return gameSessionName;
     }
 
+    /**
+     * Returns the sequence number of this message in its game session
+     *
+     * @return the sequence number, 0 if the message was not announced to all players
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Sets the sequence number of this message in its game session
+     *
+     * @param sequence the sequence number assigned by the game session
+     */
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
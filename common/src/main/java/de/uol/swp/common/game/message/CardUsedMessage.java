@@ -25,6 +25,14 @@ public class CardUsedMessage extends AbstractGameMessage {
         this.devCard = devCard;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private CardUsedMessage() {
+        this.player = null;
+        this.devCard = null;
+    }
+
     /**
      * Returns the player who played the dev card
      *
@@ -1,11 +1,13 @@
 package de.uol.swp.common.game.message;
 
+import de.uol.swp.common.message.ConflatableMessage;
+
 import java.util.Objects;
 
 /**
  * Message sent to all players in a game session containing the total amount of remaining development cards in the bank
  */
-public class DevCardRemainingMessage extends AbstractGameMessage {
+public class DevCardRemainingMessage extends AbstractGameMessage implements ConflatableMessage {
 
     private final int amountOfDevCards;
 
@@ -20,6 +22,13 @@ public class DevCardRemainingMessage extends AbstractGameMessage {
         this.amountOfDevCards = amountOfDevCards;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DevCardRemainingMessage() {
+        this.amountOfDevCards = 0;
+    }
+
 
     /**
      * Returns the amount of dev cards that the bank still has
@@ -30,6 +39,11 @@ public class DevCardRemainingMessage extends AbstractGameMessage {
         return amountOfDevCards;
     }
 
+    @Override
+    public Object getConflationKey() {
+        return getGameSessionName();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -20,6 +20,14 @@ public class DiceResultMessage extends AbstractGameMessage {
         this.diceResult = diceResult;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DiceResultMessage() {
+        this.playerName = null;
+        this.diceResult = 0;
+    }
+
     /**
      * Getter for the player name
      *
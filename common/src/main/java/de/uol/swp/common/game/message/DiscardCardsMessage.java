@@ -23,6 +23,14 @@ public class DiscardCardsMessage extends AbstractGameMessage {
         this.message = reason;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DiscardCardsMessage() {
+        this.successfulDiscard = false;
+        this.message = null;
+    }
+
     /**
      * Getter for the Reason
      *
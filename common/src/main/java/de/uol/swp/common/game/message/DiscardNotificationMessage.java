@@ -19,6 +19,13 @@ public class DiscardNotificationMessage extends AbstractGameMessage {
         this.amount = amount;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DiscardNotificationMessage() {
+        this.amount = 0;
+    }
+
     /**
      * Returns the amount the player needs to discard
      *
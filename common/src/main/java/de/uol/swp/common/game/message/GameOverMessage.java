@@ -26,6 +26,13 @@ public class GameOverMessage extends AbstractGameMessage implements LobbyNotific
         this.standings = standings;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameOverMessage() {
+        this.standings = null;
+    }
+
     @Override
     public String getLobbyName() {
         return getGameSessionName();
@@ -13,4 +13,10 @@ public class GameSessionDroppedMessage extends AbstractGameMessage{
     public GameSessionDroppedMessage(String gameSessionName){
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameSessionDroppedMessage() {
+    }
 }
@@ -0,0 +1,56 @@
+package de.uol.swp.common.game.message;
+
+import de.uol.swp.common.game.dto.GameSnapshot;
+
+import java.util.Objects;
+
+/**
+ * Message sent to a user rejoining a game session that contains the complete state of the game
+ *
+ * @see GameSnapshot
+ */
+public class GameSnapshotMessage extends AbstractGameMessage {
+
+    private final GameSnapshot snapshot;
+
+    /**
+     * Constructor
+     *
+     * @param gameSessionName the name of the game session the user rejoined
+     * @param snapshot        the state of the game session
+     */
+    public GameSnapshotMessage(String gameSessionName, GameSnapshot snapshot) {
+        super(gameSessionName);
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameSnapshotMessage() {
+        this.snapshot = null;
+    }
+
+    /**
+     * Returns the state of the game session
+     *
+     * @return the snapshot of the game session
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        if (!super.equals(obj)) return false;
+        GameSnapshotMessage message = (GameSnapshotMessage) obj;
+        return Objects.equals(snapshot, message.snapshot);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), snapshot);
+    }
+}
@@ -0,0 +1,57 @@
+package de.uol.swp.common.game.message;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Message sent to a player resuming a game session that contains the messages the player has missed
+ * <p>
+ * The messages are in the order of their sequence numbers and have to be applied in that order.
+ *
+ * @see de.uol.swp.common.game.request.ResumeGameRequest
+ */
+public class GameUpdatesMessage extends AbstractGameMessage {
+
+    private final List<AbstractGameMessage> updates;
+
+    /**
+     * Constructor
+     *
+     * @param gameSessionName the name of the game session
+     * @param updates         the missed messages in sequence order
+     */
+    public GameUpdatesMessage(String gameSessionName, List<AbstractGameMessage> updates) {
+        super(gameSessionName);
+        this.updates = updates;
+    }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameUpdatesMessage() {
+        this.updates = null;
+    }
+
+    /**
+     * Returns the missed messages
+     *
+     * @return the missed messages in sequence order
+     */
+    public List<AbstractGameMessage> getUpdates() {
+        return updates;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        if (!super.equals(obj)) return false;
+        GameUpdatesMessage message = (GameUpdatesMessage) obj;
+        return Objects.equals(updates, message.updates);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), updates);
+    }
+}
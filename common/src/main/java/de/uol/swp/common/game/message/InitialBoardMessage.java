@@ -35,6 +35,15 @@ public class InitialBoardMessage extends AbstractGameMessage {
         this.ports = ports;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private InitialBoardMessage() {
+        this.hexNumbers = null;
+        this.resourceTileMap = null;
+        this.ports = null;
+    }
+
     /**
      * Getter for the map containing field values
      *
@@ -24,6 +24,13 @@ public class KnightUpdateMessage extends AbstractGameMessage {
         this.playerWithArmyBonus = playerWithArmyBonus;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private KnightUpdateMessage() {
+        this.playerWithArmyBonus = null;
+    }
+
     /**
      * Getter for Player with largest Army
      *
@@ -22,6 +22,13 @@ public class LongestRoadUpdateMessage extends AbstractGameMessage {
         this.playerWithLongestRoad = playerWithLongestRoad;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LongestRoadUpdateMessage() {
+        this.playerWithLongestRoad = null;
+    }
+
     /**
      * Returns the player with the longest road or {@code null} if no player has the longest road
      *
@@ -23,6 +23,13 @@ public class NextTurnMessage extends AbstractGameMessage implements LobbyNotific
         this.player = player;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private NextTurnMessage() {
+        this.player = null;
+    }
+
     @Override
     public String getLobbyName() {
         return getGameSessionName();
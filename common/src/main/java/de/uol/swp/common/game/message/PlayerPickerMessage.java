@@ -23,6 +23,13 @@ public class PlayerPickerMessage extends AbstractGameMessage {
         this.playersAdjacentToHex = playersAdjacentToHex;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PlayerPickerMessage() {
+        this.playersAdjacentToHex = null;
+    }
+
     /**
      * Returns the list of player that can be robbed
      *
@@ -22,6 +22,13 @@ public class RejoinBoardMessage extends AbstractGameMessage {
         this.placedPieces = placedPieces;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RejoinBoardMessage() {
+        this.placedPieces = null;
+    }
+
     public Map<Coord, PieceDTO> getPlacedPieces() {
         return placedPieces;
     }
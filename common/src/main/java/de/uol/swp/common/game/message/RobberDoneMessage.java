@@ -23,6 +23,14 @@ public class RobberDoneMessage extends AbstractGameMessage {
         this.victim = victim;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RobberDoneMessage() {
+        this.robber = null;
+        this.victim = null;
+    }
+
     /**
      * getter for the name of the robber
      *
@@ -13,4 +13,10 @@ public class RobberPlacingMessage extends AbstractGameMessage {
     public RobberPlacingMessage(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RobberPlacingMessage() {
+    }
 }
@@ -1,13 +1,14 @@
 package de.uol.swp.common.game.message;
 
 import de.uol.swp.common.game.board.Coord;
+import de.uol.swp.common.message.ConflatableMessage;
 
 import java.util.Objects;
 
 /**
  * Message informing the clients about an updated RobberPosition
  */
-public class RobberPositionUpdateMessage extends AbstractGameMessage {
+public class RobberPositionUpdateMessage extends AbstractGameMessage implements ConflatableMessage {
     private final Coord updatedPosition;
 
     /**
@@ -21,6 +22,13 @@ public class RobberPositionUpdateMessage extends AbstractGameMessage {
         this.updatedPosition = updatedPosition;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RobberPositionUpdateMessage() {
+        this.updatedPosition = null;
+    }
+
     /**
      * Returns the new position of the robber
      *
@@ -30,6 +38,11 @@ public class RobberPositionUpdateMessage extends AbstractGameMessage {
         return updatedPosition;
     }
 
+    @Override
+    public Object getConflationKey() {
+        return getGameSessionName();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -12,4 +12,10 @@ public class SetupPhaseStartMessage extends AbstractGameMessage {
     public SetupPhaseStartMessage(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private SetupPhaseStartMessage() {
+    }
 }
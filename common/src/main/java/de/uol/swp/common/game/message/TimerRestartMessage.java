@@ -1,11 +1,13 @@
 package de.uol.swp.common.game.message;
 
+import de.uol.swp.common.message.ConflatableMessage;
+
 import java.util.Objects;
 
 /**
  * Message sent to all players in a game session when the timer restarts
  */
-public class TimerRestartMessage extends AbstractGameMessage {
+public class TimerRestartMessage extends AbstractGameMessage implements ConflatableMessage {
     private final int turnTimer;
 
     /**
@@ -19,6 +21,13 @@ public class TimerRestartMessage extends AbstractGameMessage {
         this.turnTimer = turnTimer;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private TimerRestartMessage() {
+        this.turnTimer = 0;
+    }
+
     /**
      * Returns the duration of the timer in seconds
      *
@@ -28,6 +37,11 @@ public class TimerRestartMessage extends AbstractGameMessage {
         return turnTimer;
     }
 
+    @Override
+    public Object getConflationKey() {
+        return getGameSessionName();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -22,6 +22,13 @@ public class UpdateGameSessionMessage extends AbstractGameMessage{
         this.game = game;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UpdateGameSessionMessage() {
+        this.game = null;
+    }
+
     /**
      * getter for the game
      *
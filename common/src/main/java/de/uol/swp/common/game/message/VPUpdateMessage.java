@@ -1,13 +1,15 @@
 package de.uol.swp.common.game.message;
 
 import de.uol.swp.common.game.dto.PlayerDTO;
+import de.uol.swp.common.message.ConflatableMessage;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Message sent to all players in a game session when a players victory points have been updated
  */
-public class VPUpdateMessage extends AbstractGameMessage {
+public class VPUpdateMessage extends AbstractGameMessage implements ConflatableMessage {
 
     private final PlayerDTO player;
     private final int vps;
@@ -25,6 +27,14 @@ public class VPUpdateMessage extends AbstractGameMessage {
         this.vps = vps;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private VPUpdateMessage() {
+        this.player = null;
+        this.vps = 0;
+    }
+
     /**
      * getter for the victory points
      *
@@ -43,6 +53,11 @@ public class VPUpdateMessage extends AbstractGameMessage {
         return player;
     }
 
+    @Override
+    public Object getConflationKey() {
+        return List.of(getGameSessionName(), player);
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
@@ -16,4 +16,10 @@ public class CancelBuildMessage extends AbstractGameMessage {
     public CancelBuildMessage(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private CancelBuildMessage() {
+    }
 }
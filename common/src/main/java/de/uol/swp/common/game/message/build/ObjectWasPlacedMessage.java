@@ -33,6 +33,15 @@ public class ObjectWasPlacedMessage extends AbstractGameMessage {
         this.coord = coord;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private ObjectWasPlacedMessage() {
+        this.player = null;
+        this.buildingType = null;
+        this.coord = null;
+    }
+
     /**
      * Returns the player who placed the object
      *
@@ -29,6 +29,14 @@ public class SetupLocationMessage extends AbstractGameMessage {
         this.pieceType = pieceType;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private SetupLocationMessage() {
+        this.legalNodes = null;
+        this.pieceType = null;
+    }
+
     /**
      * Returns the legal coordinates for the given piece type
      *
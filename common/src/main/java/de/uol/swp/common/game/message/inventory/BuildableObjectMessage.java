@@ -3,13 +3,15 @@ package de.uol.swp.common.game.message.inventory;
 import de.uol.swp.common.game.board.PieceTypeEnumMap;
 import de.uol.swp.common.game.dto.PlayerDTO;
 import de.uol.swp.common.game.message.AbstractGameMessage;
+import de.uol.swp.common.message.ConflatableMessage;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Message that notifies the client about changes in a player's inventory.
  */
-public class BuildableObjectMessage extends AbstractGameMessage {
+public class BuildableObjectMessage extends AbstractGameMessage implements ConflatableMessage {
 
     private final PlayerDTO player;
     private final PieceTypeEnumMap pieceType;
@@ -29,6 +31,14 @@ public class BuildableObjectMessage extends AbstractGameMessage {
         this.player = player;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private BuildableObjectMessage() {
+        this.player = null;
+        this.pieceType = null;
+    }
+
     /**
      * Returns the pieceTypeEnumMap
      *
@@ -47,6 +57,11 @@ public class BuildableObjectMessage extends AbstractGameMessage {
         return player;
     }
 
+    @Override
+    public Object getConflationKey() {
+        return List.of(getGameSessionName(), player);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
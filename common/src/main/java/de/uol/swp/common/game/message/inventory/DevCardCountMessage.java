@@ -2,13 +2,15 @@ package de.uol.swp.common.game.message.inventory;
 
 import de.uol.swp.common.game.dto.PlayerDTO;
 import de.uol.swp.common.game.message.AbstractGameMessage;
+import de.uol.swp.common.message.ConflatableMessage;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Message sent to all users in a game session to display the total amount of development cards a player has
  */
-public class DevCardCountMessage extends AbstractGameMessage {
+public class DevCardCountMessage extends AbstractGameMessage implements ConflatableMessage {
 
     private final PlayerDTO player;
     private final int count;
@@ -26,6 +28,14 @@ public class DevCardCountMessage extends AbstractGameMessage {
         this.count = count;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DevCardCountMessage() {
+        this.player = null;
+        this.count = 0;
+    }
+
     /**
      * Returns the player who is affected
      *
@@ -44,6 +54,11 @@ public class DevCardCountMessage extends AbstractGameMessage {
         return count;
     }
 
+    @Override
+    public Object getConflationKey() {
+        return List.of(getGameSessionName(), player);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
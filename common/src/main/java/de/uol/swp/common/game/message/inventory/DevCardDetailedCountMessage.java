@@ -2,13 +2,14 @@ package de.uol.swp.common.game.message.inventory;
 
 import de.uol.swp.common.game.board.DevCardEnumMap;
 import de.uol.swp.common.game.message.AbstractGameMessage;
+import de.uol.swp.common.message.ConflatableMessage;
 
 import java.util.Objects;
 
 /**
  * Message sent to a specific player to display the exact amount of development cards that player has
  */
-public class DevCardDetailedCountMessage extends AbstractGameMessage {
+public class DevCardDetailedCountMessage extends AbstractGameMessage implements ConflatableMessage {
 
     private final DevCardEnumMap devCards;
 
@@ -23,6 +24,13 @@ public class DevCardDetailedCountMessage extends AbstractGameMessage {
         this.devCards = devCards;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DevCardDetailedCountMessage() {
+        this.devCards = null;
+    }
+
     /**
      * Getter for devCardEnumMap
      *
@@ -32,6 +40,11 @@ public class DevCardDetailedCountMessage extends AbstractGameMessage {
         return devCards;
     }
 
+    @Override
+    public Object getConflationKey() {
+        return getGameSessionName();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
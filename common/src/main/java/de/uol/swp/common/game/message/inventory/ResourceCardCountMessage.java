@@ -3,13 +3,15 @@ package de.uol.swp.common.game.message.inventory;
 import de.uol.swp.common.game.board.ResourceEnumMap;
 import de.uol.swp.common.game.dto.PlayerDTO;
 import de.uol.swp.common.game.message.AbstractGameMessage;
+import de.uol.swp.common.message.ConflatableMessage;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Message that notifies the client about changes in a player's inventory.
  */
-public class ResourceCardCountMessage extends AbstractGameMessage {
+public class ResourceCardCountMessage extends AbstractGameMessage implements ConflatableMessage {
 
     private final PlayerDTO player;
     private final ResourceEnumMap resourceEnumMap;
@@ -27,6 +29,14 @@ public class ResourceCardCountMessage extends AbstractGameMessage {
         this.player = player;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private ResourceCardCountMessage() {
+        this.player = null;
+        this.resourceEnumMap = null;
+    }
+
     /**
      * Returns the resourceEnumMap
      *
@@ -45,6 +55,11 @@ public class ResourceCardCountMessage extends AbstractGameMessage {
         return player;
     }
 
+    @Override
+    public Object getConflationKey() {
+        return List.of(getGameSessionName(), player);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -22,6 +22,13 @@ public abstract class AbstractTradeMessage extends AbstractGameMessage {
         this.tradeOffer = tradeOffer;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    protected AbstractTradeMessage() {
+        this.tradeOffer = null;
+    }
+
     /**
      * Returns the trade offer associated with the trade
      *
@@ -15,4 +15,10 @@ public class AllTradesCanceledMessage extends AbstractGameMessage {
     public AllTradesCanceledMessage(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private AllTradesCanceledMessage() {
+    }
 }
@@ -18,6 +18,12 @@ public class NewTradeOfferMessage extends AbstractTradeMessage implements LobbyN
         super(gameSessionName, tradeOffer);
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private NewTradeOfferMessage() {
+    }
+
     @Override
     public String getLobbyName() {
         return getGameSessionName();
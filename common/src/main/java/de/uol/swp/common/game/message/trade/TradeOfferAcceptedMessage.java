@@ -23,6 +23,13 @@ public class TradeOfferAcceptedMessage extends AbstractTradeMessage {
         this.tradeReceiver = tradeReceiver;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private TradeOfferAcceptedMessage() {
+        this.tradeReceiver = null;
+    }
+
     /**
      * Returns the player that has been selected by the offering player to receive the resources
      *
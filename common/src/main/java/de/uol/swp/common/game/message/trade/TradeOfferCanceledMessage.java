@@ -15,4 +15,10 @@ public class TradeOfferCanceledMessage extends AbstractTradeMessage {
     public TradeOfferCanceledMessage(String gameSessionName, TradeOffer tradeOffer) {
         super(gameSessionName, tradeOffer);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private TradeOfferCanceledMessage() {
+    }
 }
@@ -21,6 +21,13 @@ public class TradeOfferDeclinedMessage extends AbstractTradeMessage {
         this.declined = declined;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private TradeOfferDeclinedMessage() {
+        this.declined = null;
+    }
+
     /**
      * Returns the receiving player that has declined the trade offer
      *
@@ -28,6 +28,13 @@ public class TradeOfferInterestMessage extends AbstractTradeMessage {
         this.interestedPlayer = interestedPlayer;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private TradeOfferInterestMessage() {
+        this.interestedPlayer = null;
+    }
+
     /**
      * Returns the player that has accepted the trade offer on their end
      *
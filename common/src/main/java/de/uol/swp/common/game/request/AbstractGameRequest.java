@@ -20,6 +20,13 @@ public abstract class AbstractGameRequest extends AbstractRequestMessage {
         this.gameSessionName = gameSessionName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    protected AbstractGameRequest() {
+        this.gameSessionName = null;
+    }
+
 
     /**
      * Returns the name of the game session this request is sent from
@@ -13,4 +13,10 @@ public class BuyDevCardRequest extends AbstractGameRequest {
     public BuyDevCardRequest(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private BuyDevCardRequest() {
+    }
 }
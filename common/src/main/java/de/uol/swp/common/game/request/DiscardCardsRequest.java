@@ -22,6 +22,13 @@ public class DiscardCardsRequest extends AbstractGameRequest {
         this.toDiscard = toDiscard;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DiscardCardsRequest() {
+        this.toDiscard = null;
+    }
+
 
     /**
      * Getter for ResourcesToDiscard
@@ -13,4 +13,10 @@ public class GameEndedRequestGameSession extends AbstractGameRequest{
     public GameEndedRequestGameSession(String gameSessionName){
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameEndedRequestGameSession() {
+    }
 }
@@ -22,6 +22,13 @@ public class IsUsingCardAllowedRequest extends AbstractGameRequest{
         this.devCard = devCard;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private IsUsingCardAllowedRequest() {
+        this.devCard = null;
+    }
+
     /**
      * Getter for the devCard
      *
@@ -13,4 +13,10 @@ public class LeaveGameRequest extends AbstractGameRequest{
     public LeaveGameRequest(String gameSessionName){
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LeaveGameRequest() {
+    }
 }
@@ -12,4 +12,10 @@ public class PlayerFinishedLoadingRequest extends AbstractGameRequest {
     public PlayerFinishedLoadingRequest(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PlayerFinishedLoadingRequest() {
+    }
 }
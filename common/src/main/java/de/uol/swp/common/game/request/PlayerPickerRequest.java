@@ -21,6 +21,12 @@ public class PlayerPickerRequest extends AbstractGameRequest {
         this.selectedPlayer = selectedPlayer;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PlayerPickerRequest() {
+    }
+
 
     /**
      * Getter for the selected Player
@@ -13,4 +13,10 @@ public class RejoinGameSessionRequest extends AbstractGameRequest{
     public RejoinGameSessionRequest(String name){
         super(name);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RejoinGameSessionRequest() {
+    }
 }
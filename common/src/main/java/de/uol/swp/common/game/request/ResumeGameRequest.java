@@ -0,0 +1,63 @@
+package de.uol.swp.common.game.request;
+
+import java.util.Objects;
+
+/**
+ * Request from a player who wants to resume a game session after missing messages, e.g. after a reconnect
+ * <p>
+ * The server answers with the messages announced after the known version if it still has all of them, otherwise
+ * with a snapshot of the game.
+ *
+ * @see de.uol.swp.common.game.message.GameUpdatesMessage
+ * @see de.uol.swp.common.game.message.GameSnapshotMessage
+ */
+public class ResumeGameRequest extends AbstractGameRequest {
+
+    /**
+     * The known version that always requests a snapshot
+     */
+    public static final long SNAPSHOT = -1;
+
+    private final long knownVersion;
+
+    /**
+     * Constructor
+     *
+     * @param gameSessionName the name of the game session
+     * @param knownVersion    the sequence number of the last message the client has applied or {@link #SNAPSHOT}
+     */
+    public ResumeGameRequest(String gameSessionName, long knownVersion) {
+        super(gameSessionName);
+        this.knownVersion = knownVersion;
+    }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private ResumeGameRequest() {
+        this.knownVersion = 0L;
+    }
+
+    /**
+     * Returns the sequence number of the last message the client has applied
+     *
+     * @return the known version or {@link #SNAPSHOT}
+     */
+    public long getKnownVersion() {
+        return knownVersion;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (object == null || getClass() != object.getClass()) return false;
+        if (!super.equals(object)) return false;
+        ResumeGameRequest that = (ResumeGameRequest) object;
+        return knownVersion == that.knownVersion;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), knownVersion);
+    }
+}
@@ -22,6 +22,13 @@ public class RobberPlacingRequest extends AbstractGameRequest {
         this.robberPosition = robberPosition;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RobberPlacingRequest() {
+        this.robberPosition = null;
+    }
+
     /**
      * Getter For coordinates of the robber
      *
@@ -14,4 +14,10 @@ public class RollDiceRequest extends AbstractGameRequest {
         super(gameSessionName);
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RollDiceRequest() {
+    }
+
 }
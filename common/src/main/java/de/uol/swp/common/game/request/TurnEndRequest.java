@@ -13,4 +13,10 @@ public class TurnEndRequest extends AbstractGameRequest {
     public TurnEndRequest(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private TurnEndRequest() {
+    }
 }
@@ -27,6 +27,14 @@ public class UseCardRequest extends AbstractGameRequest {
         this.resources = resources;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UseCardRequest() {
+        this.devCard = null;
+        this.resources = null;
+    }
+
     /**
      * Getter for the devCard
      *
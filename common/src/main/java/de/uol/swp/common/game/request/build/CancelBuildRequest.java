@@ -17,4 +17,10 @@ public class CancelBuildRequest extends AbstractGameRequest {
     public CancelBuildRequest(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private CancelBuildRequest() {
+    }
 }
@@ -27,6 +27,14 @@ public class PlaceObjectRequest extends AbstractGameRequest {
         this.coord = coord;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PlaceObjectRequest() {
+        this.objectToPlace = null;
+        this.coord = null;
+    }
+
     /**
      * Getter for the object
      *
@@ -25,6 +25,13 @@ public class StartBuildRequest extends AbstractGameRequest {
         this.pieceType = pieceType;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private StartBuildRequest() {
+        this.pieceType = null;
+    }
+
     /**
      * Returns the piece type the player wants to place
      *
@@ -22,6 +22,13 @@ public abstract class AbstractTradeRequest extends AbstractGameRequest {
         this.tradeOffer = tradeOffer;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    protected AbstractTradeRequest() {
+        this.tradeOffer = null;
+    }
+
     /**
      * Returns the trade offer associated with the trade
      *
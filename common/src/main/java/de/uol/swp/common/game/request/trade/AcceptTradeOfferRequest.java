@@ -27,6 +27,13 @@ public class AcceptTradeOfferRequest extends AbstractTradeRequest {
         this.tradeReceiver = tradeReceiver;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private AcceptTradeOfferRequest() {
+        this.tradeReceiver = null;
+    }
+
     /**
      * Returns the interested player that has been selected by the offering player to receive the resources
      *
@@ -15,4 +15,10 @@ public class CancelTradeOfferRequest extends AbstractTradeRequest {
     public CancelTradeOfferRequest(String gameSessionName, TradeOffer tradeOffer) {
         super(gameSessionName, tradeOffer);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private CancelTradeOfferRequest() {
+    }
 }
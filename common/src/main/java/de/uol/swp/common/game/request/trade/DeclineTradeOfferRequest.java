@@ -15,4 +15,10 @@ public class DeclineTradeOfferRequest extends AbstractTradeRequest {
     public DeclineTradeOfferRequest(String gameSessionName, TradeOffer tradeOffer) {
         super(gameSessionName, tradeOffer);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DeclineTradeOfferRequest() {
+    }
 }
@@ -19,4 +19,10 @@ public class InterestTradeOfferRequest extends AbstractTradeRequest {
     public InterestTradeOfferRequest(String gameSessionName, TradeOffer tradeOffer) {
         super(gameSessionName, tradeOffer);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private InterestTradeOfferRequest() {
+    }
 }
@@ -20,4 +20,10 @@ public class StartBankTradeRequest extends AbstractTradeRequest {
     public StartBankTradeRequest(String gameSessionName, TradeOffer tradeOffer) {
         super(gameSessionName, tradeOffer);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private StartBankTradeRequest() {
+    }
 }
\ No newline at end of file
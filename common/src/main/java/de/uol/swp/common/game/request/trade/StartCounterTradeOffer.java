@@ -23,6 +23,13 @@ public class StartCounterTradeOffer extends AbstractTradeRequest {
         this.newTradeOffer = newTradeOffer;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private StartCounterTradeOffer() {
+        this.newTradeOffer = null;
+    }
+
     /**
      * Returns the original trade offer
      *
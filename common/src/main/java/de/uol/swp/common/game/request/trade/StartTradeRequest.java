@@ -20,4 +20,10 @@ public class StartTradeRequest extends AbstractTradeRequest {
     public StartTradeRequest(String gameSessionName, TradeOffer tradeOffer) {
         super(gameSessionName, tradeOffer);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private StartTradeRequest() {
+    }
 }
\ No newline at end of file
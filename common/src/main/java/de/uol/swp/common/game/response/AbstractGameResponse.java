@@ -19,6 +19,13 @@ public abstract class AbstractGameResponse extends AbstractResponseMessage {
         this.gameSessionName = gameSessionName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    protected AbstractGameResponse() {
+        this.gameSessionName = null;
+    }
+
     /**
      * Returns the name of the game session this response is sent to
      *
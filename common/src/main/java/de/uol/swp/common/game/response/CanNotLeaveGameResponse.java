@@ -23,6 +23,14 @@ public class CanNotLeaveGameResponse extends AbstractResponseMessage {
         this.reason = reason;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private CanNotLeaveGameResponse() {
+        this.gameSessionName = null;
+        this.reason = null;
+    }
+
     /**
      * getter for gameSession
      *
@@ -24,6 +24,14 @@ public class CanNotRejoinGameResponse extends AbstractResponseMessage {
         this.reason = reason;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private CanNotRejoinGameResponse() {
+        this.lobbyName = null;
+        this.reason = null;
+    }
+
     /**
      * getter for lobbyName
      *
@@ -23,6 +23,14 @@ public class DiscardCardsResponse extends AbstractGameResponse {
         this.message = reason;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DiscardCardsResponse() {
+        this.successfulDiscard = false;
+        this.message = null;
+    }
+
 
     /**
      * Getter for the Reason
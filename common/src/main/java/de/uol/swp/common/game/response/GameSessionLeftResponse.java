@@ -14,4 +14,10 @@ public class GameSessionLeftResponse extends AbstractGameResponse {
     public GameSessionLeftResponse (String gameSessionName){
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameSessionLeftResponse() {
+    }
 }
@@ -28,6 +28,15 @@ public class IsUsingCardAllowedResponse extends AbstractGameResponse {
         this.reason = reason;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private IsUsingCardAllowedResponse() {
+        this.allowed = false;
+        this.reason = null;
+        this.devCard = null;
+    }
+
     /**
      * getter for allowed
      *
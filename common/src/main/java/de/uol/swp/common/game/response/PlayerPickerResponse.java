@@ -12,4 +12,10 @@ public class PlayerPickerResponse extends AbstractGameResponse {
     public PlayerPickerResponse(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PlayerPickerResponse() {
+    }
 }
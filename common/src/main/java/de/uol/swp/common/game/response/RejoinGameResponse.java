@@ -27,6 +27,15 @@ public class RejoinGameResponse extends AbstractResponseMessage {
         this.playerWhoIsOn = player;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RejoinGameResponse() {
+        this.lobbyName = null;
+        this.gameDTO = null;
+        this.playerWhoIsOn = null;
+    }
+
     /**
      * getter for lobbyName
      *
@@ -21,6 +21,13 @@ public class RoadBuildingCardResponse extends AbstractGameResponse {
         this.numOfFreeRoads = numOfFreeRoads;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RoadBuildingCardResponse() {
+        this.numOfFreeRoads = 0;
+    }
+
     /**
      * Returns the amount of free roads the player has to place
      *
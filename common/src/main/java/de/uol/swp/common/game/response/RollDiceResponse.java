@@ -19,6 +19,13 @@ public class RollDiceResponse extends AbstractGameResponse {
         this.numberRolled = numberRolled;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RollDiceResponse() {
+        this.numberRolled = 0;
+    }
+
     /**
      * Returns the number that was rolled
      *
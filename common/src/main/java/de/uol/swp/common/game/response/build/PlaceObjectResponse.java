@@ -33,6 +33,16 @@ public class PlaceObjectResponse extends AbstractGameResponse {
         this.message = message;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PlaceObjectResponse() {
+        this.buildingType = null;
+        this.canBuildObject = false;
+        this.coord = null;
+        this.message = null;
+    }
+
     /**
      * getter for building Type
      *
@@ -29,6 +29,14 @@ public class StartBuildResponse extends AbstractGameResponse {
         this.pieceType = pieceType;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private StartBuildResponse() {
+        this.legalNodes = null;
+        this.pieceType = null;
+    }
+
     /**
      * Returns the positions where the player can place the piece
      *
@@ -11,4 +11,10 @@ public class NotEnoughResourcesResponse extends AbstractGameResponse {
     public NotEnoughResourcesResponse(String gameSessionName) {
         super(gameSessionName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private NotEnoughResourcesResponse() {
+    }
 }
@@ -0,0 +1,152 @@
+package de.uol.swp.common.heartbeat;
+
+import de.uol.swp.common.codec.WireFormat;
+import de.uol.swp.common.metrics.Histogram;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handler keeping a connection alive and reaping it once the peer has stopped answering
+ * <p>
+ * Both the server and the client add this handler behind their codec. Whenever nothing has been read for
+ * {@value #PROPERTY_INTERVAL} seconds, a {@link Ping} is sent, which the other side answers with a {@link Pong}.
+ * Everything read counts as a sign of life, so busy connections are not pinged at all. After
+ * {@value #PROPERTY_MAX_MISSED} unanswered pings the peer is considered dead and the connection is closed, which
+ * triggers the usual disconnect handling. A dead TCP peer is therefore noticed even if the connection was never
+ * closed properly.
+ * <p>
+ * Clients that were built before the heartbeat cannot read a ping. A handler that
+ * {@link #HeartbeatHandler(int, String, boolean) waits for the peer} therefore only pings once the peer has shown
+ * that it knows the heartbeat, either by negotiating the {@link WireFormat#COMPACT compact format}, which requires
+ * the same common module, or by sending a ping or pong itself. Until then an idle connection is neither pinged nor
+ * closed.
+ * <p>
+ * The round trip time of every ping is recorded in microseconds in a histogram and the last round trip time of the
+ * connection is exported as a gauge named after the histogram and the channel.
+ */
+public class HeartbeatHandler extends ChannelInboundHandlerAdapter {
+
+    public static final String NAME = "heartbeat";
+
+    /**
+     * Name of the system property configuring the seconds without reading after which a ping is sent
+     */
+    public static final String PROPERTY_INTERVAL = "swp.pingInterval";
+
+    /**
+     * Name of the system property configuring the unanswered pings after which a connection is closed,
+     * 0 to never close a connection
+     */
+    public static final String PROPERTY_MAX_MISSED = "swp.maxMissedPings";
+
+    private static final Logger LOG = LogManager.getLogger(HeartbeatHandler.class);
+
+    private final int maxMissedPings;
+    private final String metricName;
+    private final Histogram roundTripTimes;
+    private boolean peerKnowsHeartbeat;
+    private int missedPings;
+    private long lastRoundTripTime;
+    private String gaugeName;
+
+    /**
+     * Constructor
+     *
+     * @param maxMissedPings the unanswered pings after which the connection is closed, 0 to never close it
+     * @param metricName     the name of the histogram the round trip times are recorded in
+     */
+    public HeartbeatHandler(int maxMissedPings, String metricName) {
+        this(maxMissedPings, metricName, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxMissedPings the unanswered pings after which the connection is closed, 0 to never close it
+     * @param metricName     the name of the histogram the round trip times are recorded in
+     * @param waitForPeer    whether pings are only sent once the peer has shown that it knows the heartbeat
+     */
+    public HeartbeatHandler(int maxMissedPings, String metricName, boolean waitForPeer) {
+        this.maxMissedPings = maxMissedPings;
+        this.metricName = metricName;
+        this.roundTripTimes = MetricsRegistry.getDefault().histogram(metricName);
+        this.peerKnowsHeartbeat = !waitForPeer;
+    }
+
+    /**
+     * Adds the idle detection and a heartbeat handler configured with the {@value #PROPERTY_INTERVAL} and
+     * {@value #PROPERTY_MAX_MISSED} system properties to the end of the pipeline
+     * <p>
+     * By default a ping is sent after 10 seconds without reading and the connection is closed after 3 unanswered pings.
+     *
+     * @param pipeline   the pipeline of the channel
+     * @param metricName the name of the histogram the round trip times are recorded in
+     */
+    public static void addLast(ChannelPipeline pipeline, String metricName) {
+        addLast(pipeline, metricName, false);
+    }
+
+    /**
+     * Adds the idle detection and a heartbeat handler configured with the {@value #PROPERTY_INTERVAL} and
+     * {@value #PROPERTY_MAX_MISSED} system properties to the end of the pipeline
+     *
+     * @param pipeline    the pipeline of the channel
+     * @param metricName  the name of the histogram the round trip times are recorded in
+     * @param waitForPeer whether pings are only sent once the peer has shown that it knows the heartbeat
+     * @see #addLast(ChannelPipeline, String)
+     */
+    public static void addLast(ChannelPipeline pipeline, String metricName, boolean waitForPeer) {
+        pipeline.addLast(new IdleStateHandler(Integer.getInteger(PROPERTY_INTERVAL, 10), 0, 0, TimeUnit.SECONDS));
+        pipeline.addLast(NAME, new HeartbeatHandler(Integer.getInteger(PROPERTY_MAX_MISSED, 3), metricName, waitForPeer));
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        gaugeName = metricName + "." + ctx.channel().id().asShortText();
+        MetricsRegistry.getDefault().gauge(gaugeName, () -> lastRoundTripTime);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        MetricsRegistry.getDefault().removeGauge(gaugeName);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        missedPings = 0;
+        if (msg instanceof Ping) {
+            peerKnowsHeartbeat = true;
+            ctx.writeAndFlush(new Pong(((Ping) msg).getTimestamp()));
+        } else if (msg instanceof Pong) {
+            peerKnowsHeartbeat = true;
+            lastRoundTripTime = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - ((Pong) msg).getTimestamp());
+            roundTripTimes.record(lastRoundTripTime);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+        if (!(evt instanceof IdleStateEvent) || ((IdleStateEvent) evt).state() != IdleState.READER_IDLE) {
+            ctx.fireUserEventTriggered(evt);
+        } else if (!peerKnowsHeartbeat && WireFormat.of(ctx.pipeline()).orElse(null) != WireFormat.COMPACT) {
+            LOG.trace("{} has not shown that it knows the heartbeat, not pinging it", ctx.channel());
+        } else if (maxMissedPings > 0 && missedPings >= maxMissedPings) {
+            LOG.warn("{} did not answer {} pings, closing the connection", ctx.channel(), missedPings);
+            ctx.close();
+        } else {
+            missedPings++;
+            ctx.writeAndFlush(new Ping(System.nanoTime()));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package de.uol.swp.common.heartbeat;
+
+import java.io.Serializable;
+
+/**
+ * Sent by either side of a connection that has not received anything for a while
+ *
+ * @see HeartbeatHandler
+ */
+public class Ping implements Serializable {
+
+    private final long timestamp;
+
+    /**
+     * Constructor
+     *
+     * @param timestamp the time the ping was sent at, as returned by {@link System#nanoTime()} of the sender
+     */
+    public Ping(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private Ping() {
+        this.timestamp = 0L;
+    }
+
+    /**
+     * Returns the time the ping was sent at
+     *
+     * @return the timestamp in nanoseconds, only comparable to other timestamps of the sender of the ping
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,38 @@
+package de.uol.swp.common.heartbeat;
+
+import java.io.Serializable;
+
+/**
+ * Answer to a {@link Ping}, carrying the timestamp of the ping back to its sender
+ *
+ * @see HeartbeatHandler
+ */
+public class Pong implements Serializable {
+
+    private final long timestamp;
+
+    /**
+     * Constructor
+     *
+     * @param timestamp the timestamp of the ping that is answered
+     */
+    public Pong(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private Pong() {
+        this.timestamp = 0L;
+    }
+
+    /**
+     * Returns the time the ping was sent at
+     *
+     * @return the timestamp in nanoseconds, only comparable to other timestamps of the sender of the ping
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -26,6 +26,7 @@ public final class GameLobby implements Lobby {
     private int lobbySize;
     private int timerDurationInSeconds;
     private int noOfBots = 0;
+    private Long seed = LobbyOptions.SEED.getDefaultValue();
     private boolean lobbyCanBeStarted;
     private boolean gameHasStarted = false;
 
@@ -65,6 +66,13 @@ public final class GameLobby implements Lobby {
         updateTimer(timerDurationInSeconds);
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameLobby() {
+        this.name = null;
+    }
+
     /**
      * Copy constructor for a GameLobby object with the given lobby's option values
      *
@@ -119,6 +127,8 @@ public final class GameLobby implements Lobby {
             updateNumVP((Integer) newValue);
         } else if (option.equals(LobbyOptions.TIMER_DURATION)) {
             updateTimer((Integer) newValue);
+        } else if (option.equals(LobbyOptions.SEED)) {
+            setSeed((Long) newValue);
         }
     }
 
@@ -274,6 +284,26 @@ public final class GameLobby implements Lobby {
         this.debugEnabled = debugEnabled;
     }
 
+    /**
+     * Getter for the {@link LobbyOptions#SEED seed} option's value
+     * <p>
+     * The seed is only used if the debug mode is enabled.
+     *
+     * @return the seed the game should be played with or {@code null} if the server should choose one
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the value of the lobby's {@link LobbyOptions#SEED seed} option
+     *
+     * @param seed the seed the game should be played with or {@code null} to let the server choose one
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
     @Override
     public int getNumVP() {
         return numVP;
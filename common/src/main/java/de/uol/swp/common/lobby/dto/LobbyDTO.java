@@ -68,6 +68,18 @@ public class LobbyDTO implements Lobby {
         this.timerDurationInSeconds = timerDurationInSeconds;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyDTO() {
+        this.name = null;
+        this.privateLobby = false;
+        this.debugEnabled = false;
+        this.numVP = 0;
+        this.lobbySize = 0;
+        this.timerDurationInSeconds = 0;
+    }
+
     /**
      * Copy constructor for a LobbyDTO object with the given lobby's option values
      *
@@ -12,6 +12,7 @@ public class LobbyOptions {
     public static final LobbyOption<Integer> TIMER_DURATION = IntegerOption.TIMER_DURATION;
     public static final LobbyOption<Boolean> PRIVATE_LOBBY = BooleanOption.PRIVATE_LOBBY;
     public static final LobbyOption<Boolean> DEBUG = BooleanOption.DEBUG;
+    public static final LobbyOption<Long> SEED = LongOption.SEED;
 
     /**
      * Clamp Integer values to a given range
@@ -126,4 +127,44 @@ public class LobbyOptions {
                     "}";
         }
     }
+
+    /**
+     * Long lobby options and their default values.
+     * Should be used to communicate a change in a lobby's option.
+     */
+    private enum LongOption implements LobbyOption<Long> {
+        /**
+         * The seed of all random decisions of the game, only used in debug lobbies.
+         * The default value {@code null} lets the server choose a new seed for every game.
+         */
+        SEED(null);
+
+        private final Long defaultValue;
+
+        LongOption(Long defaultValue) {
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public Long getDefaultValue() {
+            return defaultValue;
+        }
+
+        @Override
+        public Long getMin() {
+            return Long.MIN_VALUE;
+        }
+
+        @Override
+        public Long getMax() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public String toString() {
+            return "LongOption:" + this.name() + "{" +
+                    "defaultValue=" + defaultValue +
+                    "}";
+        }
+    }
 }
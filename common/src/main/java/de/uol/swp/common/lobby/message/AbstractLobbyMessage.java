@@ -26,6 +26,13 @@ public abstract class AbstractLobbyMessage extends AbstractServerMessage {
         this.lobbyName = lobbyName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    protected AbstractLobbyMessage() {
+        this.lobbyName = null;
+    }
+
     /**
      * Getter for the name variable
      *
@@ -13,4 +13,10 @@ public class AddedBotToLobbyMessage extends AbstractLobbyMessage {
     public AddedBotToLobbyMessage(String lobbyName) {
         super(lobbyName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private AddedBotToLobbyMessage() {
+    }
 }
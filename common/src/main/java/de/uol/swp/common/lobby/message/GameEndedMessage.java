@@ -14,4 +14,10 @@ public class GameEndedMessage extends AbstractLobbyMessage{
     public GameEndedMessage(String lobbyName){
         super(lobbyName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameEndedMessage() {
+    }
 }
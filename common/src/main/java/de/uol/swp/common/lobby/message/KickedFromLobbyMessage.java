@@ -13,4 +13,10 @@ public class KickedFromLobbyMessage extends AbstractLobbyMessage {
     public KickedFromLobbyMessage(String lobbyName) {
         super(lobbyName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private KickedFromLobbyMessage() {
+    }
 }
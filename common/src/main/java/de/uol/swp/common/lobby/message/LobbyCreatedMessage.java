@@ -22,6 +22,13 @@ public class LobbyCreatedMessage extends AbstractLobbyMessage {
         this.lobby = lobby;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyCreatedMessage() {
+        this.lobby = null;
+    }
+
     /**
      * Returns a dto that mirrors the lobby that was created
      *
@@ -25,6 +25,13 @@ public class LobbyDroppedMessage extends AbstractLobbyMessage {
         this.lobby = lobby;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyDroppedMessage() {
+        this.lobby = null;
+    }
+
     /**
      * Returns a dto that mirrors the lobby that was dropped
      *
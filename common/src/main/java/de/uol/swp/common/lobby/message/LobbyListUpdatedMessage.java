@@ -25,6 +25,13 @@ public class LobbyListUpdatedMessage extends AbstractServerMessage {
         this.lobbies = lobbies;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyListUpdatedMessage() {
+        this.lobbies = null;
+    }
+
     public Set<Lobby> getLobbies() {
         return lobbies;
     }
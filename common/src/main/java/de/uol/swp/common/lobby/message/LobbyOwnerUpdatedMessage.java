@@ -22,6 +22,13 @@ public class LobbyOwnerUpdatedMessage extends AbstractLobbyMessage {
         this.newOwner = newOwner;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyOwnerUpdatedMessage() {
+        this.newOwner = null;
+    }
+
     /**
      * Getter for the new owner of the lobby
      *
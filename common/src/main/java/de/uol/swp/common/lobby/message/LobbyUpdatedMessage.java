@@ -28,6 +28,14 @@ public class LobbyUpdatedMessage<T extends Serializable> extends AbstractLobbyMe
         this.newValue = newValue;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyUpdatedMessage() {
+        this.option = null;
+        this.newValue = null;
+    }
+
     /**
      * Getter for the {@code LobbyOption} that was changed
      *
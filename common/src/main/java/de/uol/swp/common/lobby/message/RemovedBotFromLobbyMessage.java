@@ -13,4 +13,10 @@ public class RemovedBotFromLobbyMessage extends AbstractLobbyMessage {
     public RemovedBotFromLobbyMessage(String lobbyName) {
         super(lobbyName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RemovedBotFromLobbyMessage() {
+    }
 }
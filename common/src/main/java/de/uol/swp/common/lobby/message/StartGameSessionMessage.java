@@ -23,6 +23,14 @@ public class StartGameSessionMessage extends AbstractLobbyMessage implements Lob
         this.gameDTO = gameDTO;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private StartGameSessionMessage() {
+        this.gameDTO = null;
+        this.lobby = null;
+    }
+
     /**
      * Returns a dto that contains import information about the game session that was started
      *
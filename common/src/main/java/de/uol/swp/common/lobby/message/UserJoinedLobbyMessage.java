@@ -28,6 +28,13 @@ public class UserJoinedLobbyMessage extends AbstractLobbyMessage implements Lobb
         this.user = user;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UserJoinedLobbyMessage() {
+        this.user = null;
+    }
+
     public UserDTO getUser() {
         return user;
     }
@@ -28,6 +28,13 @@ public class UserLeftLobbyMessage extends AbstractLobbyMessage implements LobbyN
         this.user = user;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UserLeftLobbyMessage() {
+        this.user = null;
+    }
+
     /**
      * Returns the user who left the lobby
      *
@@ -24,6 +24,14 @@ public class UserReadyMessage extends AbstractLobbyMessage {
         this.ready = ready;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UserReadyMessage() {
+        this.user = null;
+        this.ready = false;
+    }
+
     /**
      * Returns the user who is or isn't ready
      *
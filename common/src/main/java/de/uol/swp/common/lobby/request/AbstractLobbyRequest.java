@@ -26,6 +26,13 @@ public abstract class AbstractLobbyRequest extends AbstractRequestMessage {
         this.lobbyName = lobbyName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    protected AbstractLobbyRequest() {
+        this.lobbyName = null;
+    }
+
     /**
      * Getter for the name variable
      *
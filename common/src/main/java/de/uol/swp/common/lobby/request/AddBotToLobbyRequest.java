@@ -12,4 +12,10 @@ public class AddBotToLobbyRequest extends AbstractLobbyRequest {
     public AddBotToLobbyRequest(String lobbyName) {
         super(lobbyName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private AddBotToLobbyRequest() {
+    }
 }
@@ -31,6 +31,14 @@ public class CreateLobbyRequest extends AbstractLobbyRequest {
         this.privateLobby = privateLobby;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private CreateLobbyRequest() {
+        this.privateLobby = false;
+        this.owner = null;
+    }
+
     public UserDTO getOwner() {
         return owner;
     }
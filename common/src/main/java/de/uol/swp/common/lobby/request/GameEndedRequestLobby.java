@@ -13,4 +13,10 @@ public class GameEndedRequestLobby extends AbstractLobbyRequest {
     public GameEndedRequestLobby(String lobbyName) {
         super(lobbyName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private GameEndedRequestLobby() {
+    }
 }
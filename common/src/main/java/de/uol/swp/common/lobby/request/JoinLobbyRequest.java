@@ -20,4 +20,10 @@ public class JoinLobbyRequest extends AbstractLobbyRequest {
         super(lobbyName);
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private JoinLobbyRequest() {
+    }
+
 }
@@ -20,4 +20,10 @@ public class LeaveLobbyRequest extends AbstractLobbyRequest {
         super(lobbyName);
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LeaveLobbyRequest() {
+    }
+
 }
@@ -15,4 +15,10 @@ public class LobbyInformationRequest extends AbstractLobbyRequest {
     public LobbyInformationRequest(String lobbyName) {
         super(lobbyName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyInformationRequest() {
+    }
 }
@@ -22,6 +22,13 @@ public class LobbyKickRequest extends AbstractLobbyRequest {
         this.kickUser = kickUser;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyKickRequest() {
+        this.kickUser = null;
+    }
+
     /**
      * Getter for the user who should be kicked
      *
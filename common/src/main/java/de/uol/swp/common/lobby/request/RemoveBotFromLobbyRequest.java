@@ -12,4 +12,10 @@ public class RemoveBotFromLobbyRequest extends AbstractLobbyRequest {
     public RemoveBotFromLobbyRequest(String lobbyName) {
         super(lobbyName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RemoveBotFromLobbyRequest() {
+    }
 }
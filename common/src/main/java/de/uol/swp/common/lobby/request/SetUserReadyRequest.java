@@ -22,6 +22,13 @@ public class SetUserReadyRequest extends AbstractLobbyRequest {
         this.ready = ready;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private SetUserReadyRequest() {
+        this.ready = false;
+    }
+
     /**
      * Returns if the user is ready
      *
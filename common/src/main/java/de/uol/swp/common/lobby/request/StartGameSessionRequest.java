@@ -15,4 +15,10 @@ public class StartGameSessionRequest extends AbstractLobbyRequest {
     public StartGameSessionRequest(String lobbyName) {
         super(lobbyName);
     }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private StartGameSessionRequest() {
+    }
 }
\ No newline at end of file
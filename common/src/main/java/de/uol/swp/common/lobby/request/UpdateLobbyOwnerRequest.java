@@ -22,6 +22,13 @@ public class UpdateLobbyOwnerRequest extends AbstractLobbyRequest {
         this.newOwner = newOwner;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UpdateLobbyOwnerRequest() {
+        this.newOwner = null;
+    }
+
     /**
      * Getter for the new owner of the lobby
      *
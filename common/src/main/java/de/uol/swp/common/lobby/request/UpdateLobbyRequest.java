@@ -28,6 +28,14 @@ public class UpdateLobbyRequest<T extends Serializable> extends AbstractLobbyReq
         this.newValue = newValue;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UpdateLobbyRequest() {
+        this.option = null;
+        this.newValue = null;
+    }
+
     /**
      * Getter for the {@code LobbyOption} that has to be changed
      *
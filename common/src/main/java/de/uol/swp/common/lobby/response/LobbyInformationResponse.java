@@ -21,6 +21,13 @@ public class LobbyInformationResponse extends AbstractResponseMessage {
         this.lobby = lobby;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyInformationResponse() {
+        this.lobby = null;
+    }
+
     public LobbyDTO getLobby() {
         return lobby;
     }
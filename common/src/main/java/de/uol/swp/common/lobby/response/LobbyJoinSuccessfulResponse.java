@@ -27,6 +27,13 @@ public class LobbyJoinSuccessfulResponse extends AbstractResponseMessage {
         this.lobby = lobby;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyJoinSuccessfulResponse() {
+        this.lobby = null;
+    }
+
     /**
      * Getter for the lobby that the user joined
      *
@@ -26,6 +26,13 @@ public class LobbyLeftSuccessfulResponse extends AbstractResponseMessage {
         this.lobbyName = lobbyName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyLeftSuccessfulResponse() {
+        this.lobbyName = null;
+    }
+
     /**
      * Returns the name of the lobby that was left
      *
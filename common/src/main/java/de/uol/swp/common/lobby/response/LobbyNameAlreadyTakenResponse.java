@@ -20,6 +20,13 @@ public class LobbyNameAlreadyTakenResponse extends AbstractResponseMessage {
         this.lobbyName = lobbyName;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LobbyNameAlreadyTakenResponse() {
+        this.lobbyName = null;
+    }
+
     /**
      * Returns the lobbyname that is already taken
      *
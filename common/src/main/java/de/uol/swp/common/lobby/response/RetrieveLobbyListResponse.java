@@ -24,6 +24,13 @@ public class RetrieveLobbyListResponse extends AbstractResponseMessage {
         this.lobbies = lobbies;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RetrieveLobbyListResponse() {
+        this.lobbies = null;
+    }
+
     public Set<Lobby> getLobbies() {
         return lobbies;
     }
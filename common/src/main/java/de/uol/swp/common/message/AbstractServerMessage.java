@@ -3,6 +3,7 @@ package de.uol.swp.common.message;
 import de.uol.swp.common.user.Session;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -18,6 +19,8 @@ import java.util.Objects;
 public abstract class AbstractServerMessage extends AbstractMessage implements ServerMessage {
 
     private transient List<Session> receiver = new ArrayList<>();
+    private transient String room;
+    private transient Collection<MessageContext> roomChannels;
 
     @Override
     public List<Session> getReceiver() {
@@ -29,6 +32,26 @@ public abstract class AbstractServerMessage extends AbstractMessage implements S
         this.receiver = receiver;
     }
 
+    @Override
+    public String getRoom() {
+        return room;
+    }
+
+    @Override
+    public void setRoom(String room) {
+        this.room = room;
+    }
+
+    @Override
+    public Collection<MessageContext> getRoomChannels() {
+        return roomChannels;
+    }
+
+    @Override
+    public void setRoomChannels(Collection<MessageContext> channels) {
+        this.roomChannels = channels;
+    }
+
     @Override
     public boolean authorizationNeeded() {
         return true;
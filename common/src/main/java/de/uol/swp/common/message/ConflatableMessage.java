@@ -0,0 +1,17 @@
+package de.uol.swp.common.message;
+
+/**
+ * A server message carrying the complete current value of a piece of state
+ * <p>
+ * A newer message of the same class with an equal conflation key supersedes this message. If a client falls behind,
+ * the server only keeps the newest of these messages in the outbound queue of the client.
+ */
+public interface ConflatableMessage extends ServerMessage {
+
+    /**
+     * Returns the key of the state this message carries
+     *
+     * @return the key, messages of the same class with equal keys supersede each other
+     */
+    Object getConflationKey();
+}
@@ -23,6 +23,13 @@ public class ExceptionMessage extends AbstractResponseMessage {
         this.exception = message;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private ExceptionMessage() {
+        this.exception = null;
+    }
+
     /**
      * Getter for the exception message
      *
@@ -1,5 +1,7 @@
 package de.uol.swp.common.message;
 
+import de.uol.swp.common.codec.SharedFrames;
+
 import java.io.Serializable;
 
 /**
@@ -28,4 +30,17 @@ public interface MessageContext extends Serializable {
      * @since 2019-11-20
      */
     void writeAndFlush(ServerMessage message);
+
+    /**
+     * Send a ServerMessage that is sent to several receivers at once
+     * <p>
+     * Implementations can write the frame already encoded for another receiver instead of
+     * encoding the message again. The default implementation simply sends the message.
+     *
+     * @param message the server message that should be sent
+     * @param frames  the frames shared by all receivers of the message
+     */
+    default void writeAndFlush(ServerMessage message, SharedFrames frames) {
+        writeAndFlush(message);
+    }
 }
@@ -2,6 +2,7 @@ package de.uol.swp.common.message;
 
 import de.uol.swp.common.user.Session;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,6 +31,38 @@ public interface ServerMessage extends Message {
      */
     void setReceiver(List<Session> receiver);
 
+    /**
+     * Getter for the room this message is sent to
+     *
+     * @return the name of the room whose members receive this message, {@code null} if the receivers are not a room
+     */
+    String getRoom();
+
+    /**
+     * Sets the room whose members receive this message instead of the receiver list
+     *
+     * @param room the name of the room, {@code null} to send the message to the receivers
+     */
+    void setRoom(String room);
+
+    /**
+     * Getter for the connections of the room this message is sent to
+     *
+     * @return the connections of the members of the room at the time the message was addressed, {@code null} if
+     * they were not resolved then
+     */
+    Collection<MessageContext> getRoomChannels();
+
+    /**
+     * Sets the connections of the members of the room this message is sent to
+     * <p>
+     * The server resolves the members when the message is addressed, so a room closed before the message is
+     * dispatched still receives it.
+     *
+     * @param channels the connections of the members of the room
+     */
+    void setRoomChannels(Collection<MessageContext> channels);
+
     /**
      * Returns whether the receiver of this message need to be logged in to receive it
      *
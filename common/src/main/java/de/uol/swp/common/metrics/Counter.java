@@ -0,0 +1,43 @@
+package de.uol.swp.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing counter that is cheap to update from many threads
+ *
+ * @see MetricsRegistry#counter(String)
+ */
+public class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Increments the counter by one
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Adds the given amount to the counter
+     *
+     * @param amount the amount to add
+     */
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    /**
+     * Returns the current value
+     *
+     * @return the current value of the counter
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
@@ -0,0 +1,91 @@
+package de.uol.swp.common.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of named counters, gauges and histograms
+ * <p>
+ * Metrics are created on first use and shared by everyone asking for the same name, so code can
+ * simply ask for its metrics where it needs them. Names are dot separated, e.g.
+ * {@code broadcast.bytesSent}.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registry shared by the whole application
+     *
+     * @return the default registry
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the counter with the given name
+     *
+     * @param name the name of the counter
+     * @return the counter, created if it did not exist yet
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Registers a gauge reading its value from the given supplier
+     * <p>
+     * A gauge registered earlier under the same name is replaced.
+     *
+     * @param name  the name of the gauge
+     * @param value the supplier of the current value
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Removes the gauge with the given name
+     *
+     * @param name the name of the gauge
+     */
+    public void removeGauge(String name) {
+        gauges.remove(name);
+    }
+
+    /**
+     * Returns the histogram with the given name
+     *
+     * @param name the name of the histogram
+     * @return the histogram, created if it did not exist yet
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Returns the current value of all metrics sorted by name
+     *
+     * @return a map from metric name to its current value
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.get()));
+        gauges.forEach((name, gauge) -> snapshot.put(name, gauge.getAsLong()));
+        histograms.forEach((name, histogram) -> snapshot.put(name, histogram));
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
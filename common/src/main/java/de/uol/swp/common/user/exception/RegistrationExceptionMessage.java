@@ -25,6 +25,13 @@ public class RegistrationExceptionMessage extends AbstractResponseMessage {
         this.message = message;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RegistrationExceptionMessage() {
+        this.message = null;
+    }
+
     @Override
     public String toString() {
         return "RegistrationExceptionMessage " + message;
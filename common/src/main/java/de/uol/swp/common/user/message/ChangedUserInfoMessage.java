@@ -28,6 +28,14 @@ public class ChangedUserInfoMessage extends AbstractServerMessage {
         this.oldUsername = oldUsername;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private ChangedUserInfoMessage() {
+        this.userDTO = null;
+        this.oldUsername = null;
+    }
+
     /**
      * Getter for the updated user
      *
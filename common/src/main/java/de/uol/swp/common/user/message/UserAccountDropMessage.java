@@ -25,6 +25,13 @@ public class UserAccountDropMessage extends AbstractServerMessage {
         this.username = username;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UserAccountDropMessage() {
+        this.username = null;
+    }
+
     /**
      * Getter for the username
      *
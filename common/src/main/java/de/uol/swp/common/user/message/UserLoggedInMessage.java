@@ -28,6 +28,13 @@ public class UserLoggedInMessage extends AbstractServerMessage {
         this.username = username;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UserLoggedInMessage() {
+        this.username = null;
+    }
+
     /**
      * Getter for the username
      *
@@ -28,6 +28,13 @@ public class UserLoggedOutMessage extends AbstractServerMessage {
         this.username = username;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UserLoggedOutMessage() {
+        this.username = null;
+    }
+
     /**
      * Getter for the username
      *
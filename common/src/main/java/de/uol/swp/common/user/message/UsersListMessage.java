@@ -27,6 +27,13 @@ public class UsersListMessage extends AbstractServerMessage {
         this.users = new ArrayList<>(users);
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private UsersListMessage() {
+        this.users = null;
+    }
+
     /**
      * Getter for the List containing all users currently logged in
      *
@@ -33,6 +33,17 @@ public class PlayerProfile implements Serializable {
         ratio = (int) Math.round((playerWon / result) * 100) + "%";
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PlayerProfile() {
+        this.playerName = null;
+        this.email = null;
+        this.won = null;
+        this.loss = null;
+        this.ratio = null;
+    }
+
     /**
      * Returns the name of the player
      *
@@ -49,6 +49,15 @@ public class ChangeUserInfoRequest extends AbstractRequestMessage {
         this.newValue = newValue;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private ChangeUserInfoRequest() {
+        this.infoType = null;
+        this.oldValue = null;
+        this.newValue = null;
+    }
+
     /**
      * Getter for the old value. Can be null if {@link #getInfoType() infoType} is
      * {@link InfoType#PASSWORD InfoType.PASSWORD}.
@@ -22,6 +22,13 @@ public class DropAccountUserRequest extends AbstractRequestMessage {
         this.confirmPassword = password;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DropAccountUserRequest() {
+        this.confirmPassword = null;
+    }
+
     /**
      * Getter for the password variable
      *
@@ -29,6 +29,14 @@ public class LoginRequest extends AbstractRequestMessage {
         this.password = password;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LoginRequest() {
+        this.username = null;
+        this.password = null;
+    }
+
     @Override
     public boolean authorizationNeeded() {
         return false;
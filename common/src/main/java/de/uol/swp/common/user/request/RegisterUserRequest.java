@@ -26,6 +26,13 @@ public class RegisterUserRequest extends AbstractRequestMessage {
         this.toCreate = user;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private RegisterUserRequest() {
+        this.toCreate = null;
+    }
+
     @Override
     public boolean authorizationNeeded() {
         return false;
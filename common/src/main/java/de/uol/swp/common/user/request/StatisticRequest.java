@@ -2,8 +2,80 @@ package de.uol.swp.common.user.request;
 
 import de.uol.swp.common.message.AbstractRequestMessage;
 
+import java.util.Objects;
+
 /**
- * Request sent to the server when a user wants to see all player statistics
+ * Request sent to the server when a user wants to see the player statistics
+ * <p>
+ * The statistics are ranked by wins and sent page by page.
+ *
+ * @see de.uol.swp.common.user.response.StatisticResponseMessage
  */
 public class StatisticRequest extends AbstractRequestMessage {
+
+    /**
+     * The number of players on a page if not requested otherwise
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final int offset;
+    private final int limit;
+
+    /**
+     * Constructor
+     * <p>
+     * Requests the first {@value #DEFAULT_PAGE_SIZE} players of the ranking.
+     */
+    public StatisticRequest() {
+        this(0, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param offset the number of players ranked before the requested page
+     * @param limit  the maximum number of players on the requested page
+     */
+    public StatisticRequest(int offset, int limit) {
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Getter for the offset
+     *
+     * @return the number of players ranked before the requested page
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Getter for the limit
+     *
+     * @return the maximum number of players on the requested page
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        if (!super.equals(object)) {
+            return false;
+        }
+        StatisticRequest that = (StatisticRequest) object;
+        return offset == that.offset && limit == that.limit;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), offset, limit);
+    }
 }
@@ -43,6 +43,12 @@ public class AllOnlineUsersResponse extends AbstractResponseMessage {
         }
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private AllOnlineUsersResponse() {
+    }
+
     /**
      * Getter for the list of users currently logged in
      *
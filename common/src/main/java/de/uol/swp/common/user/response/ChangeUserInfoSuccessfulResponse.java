@@ -22,6 +22,12 @@ public class ChangeUserInfoSuccessfulResponse extends AbstractResponseMessage {
         this.newUserInfo = newUserInfo;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private ChangeUserInfoSuccessfulResponse() {
+    }
+
     /**
      * Getter for user
      *
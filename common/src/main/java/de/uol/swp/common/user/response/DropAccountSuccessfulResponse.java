@@ -22,6 +22,13 @@ public class DropAccountSuccessfulResponse extends AbstractResponseMessage {
         this.userDTO = user;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private DropAccountSuccessfulResponse() {
+        this.userDTO = null;
+    }
+
     /**
      * Getter for the user variable
      *
@@ -20,6 +20,13 @@ public class EditPasswordResponse extends AbstractResponseMessage {
         this.correctPassword = correctPassword ;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private EditPasswordResponse() {
+        this.correctPassword = false;
+    }
+
     /**
      * Getter for the updated password
      *
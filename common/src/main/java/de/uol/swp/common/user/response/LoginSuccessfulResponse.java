@@ -31,6 +31,13 @@ public class LoginSuccessfulResponse extends AbstractResponseMessage {
         this.user = user;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private LoginSuccessfulResponse() {
+        this.user = null;
+    }
+
     /**
      * Getter for the User variable
      *
@@ -21,6 +21,13 @@ public class PlayerInfoResponseMessage extends AbstractResponseMessage {
         this.profile = profile;
     }
 
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private PlayerInfoResponseMessage() {
+        this.profile = null;
+    }
+
     /**
      * Getter for the player info
      *
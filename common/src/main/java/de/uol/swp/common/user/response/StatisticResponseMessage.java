@@ -8,12 +8,19 @@ import java.util.Objects;
 
 /**
  * A response, that the statistics from player got send
+ * <p>
+ * Contains one page of the players ranked by their wins, the number of all ranked players and the rank of the user
+ * who requested the statistics.
  *
  * @see de.uol.swp.common.message.AbstractResponseMessage
+ * @see de.uol.swp.common.user.request.StatisticRequest
  */
 public class StatisticResponseMessage extends AbstractResponseMessage {
 
     private final List<PlayerProfile> list;
+    private final int offset;
+    private final int total;
+    private final int rank;
 
     /**
      * Constructor
@@ -21,7 +28,32 @@ public class StatisticResponseMessage extends AbstractResponseMessage {
      * @param list a list containing the statistics that should be displayed
      */
     public StatisticResponseMessage(List<PlayerProfile> list) {
+        this(list, 0, list.size(), 0);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param list   a list containing the statistics of one page of the ranking
+     * @param offset the number of players ranked before the page
+     * @param total  the number of all ranked players
+     * @param rank   the rank of the requesting user starting at 1, or 0 if the user is not ranked
+     */
+    public StatisticResponseMessage(List<PlayerProfile> list, int offset, int total, int rank) {
         this.list = list;
+        this.offset = offset;
+        this.total = total;
+        this.rank = rank;
+    }
+
+    /**
+     * Constructor for decoding, the fields are set by the codec
+     */
+    private StatisticResponseMessage() {
+        this.list = null;
+        this.offset = 0;
+        this.total = 0;
+        this.rank = 0;
     }
 
     /**
@@ -33,6 +65,33 @@ public class StatisticResponseMessage extends AbstractResponseMessage {
         return list;
     }
 
+    /**
+     * Getter for the offset
+     *
+     * @return the number of players ranked before the players of the list
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Getter for the total
+     *
+     * @return the number of all ranked players
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Getter for the rank
+     *
+     * @return the rank of the requesting user starting at 1, or 0 if the user is not ranked
+     */
+    public int getRank() {
+        return rank;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) {
@@ -45,11 +104,11 @@ public class StatisticResponseMessage extends AbstractResponseMessage {
             return false;
         }
         StatisticResponseMessage that = (StatisticResponseMessage) object;
-        return Objects.equals(list, that.list);
+        return offset == that.offset && total == that.total && rank == that.rank && Objects.equals(list, that.list);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), list);
+        return Objects.hash(super.hashCode(), list, offset, total, rank);
     }
 }
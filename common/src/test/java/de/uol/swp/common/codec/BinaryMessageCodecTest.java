@@ -0,0 +1,189 @@
+package de.uol.swp.common.codec;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import de.uol.swp.common.SerializationTestHelper;
+import de.uol.swp.common.chat.ChatMessage;
+import de.uol.swp.common.game.PlayerColor;
+import de.uol.swp.common.game.board.*;
+import de.uol.swp.common.game.dto.GameDTO;
+import de.uol.swp.common.game.dto.GameSnapshot;
+import de.uol.swp.common.game.dto.PieceDTO;
+import de.uol.swp.common.game.dto.PlayerDTO;
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.game.message.GameSnapshotMessage;
+import de.uol.swp.common.game.message.InitialBoardMessage;
+import de.uol.swp.common.game.message.RejoinBoardMessage;
+import de.uol.swp.common.game.message.UpdateGameSessionMessage;
+import de.uol.swp.common.game.message.inventory.ResourceCardCountMessage;
+import de.uol.swp.common.game.request.DiscardCardsRequest;
+import de.uol.swp.common.heartbeat.Ping;
+import de.uol.swp.common.heartbeat.Pong;
+import de.uol.swp.common.lobby.request.CreateLobbyRequest;
+import de.uol.swp.common.message.RequestMessage;
+import de.uol.swp.common.message.ResponseMessage;
+import de.uol.swp.common.message.ServerMessage;
+import de.uol.swp.common.user.request.LoginRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "unchecked"})
+class BinaryMessageCodecTest {
+
+    static final UserDTO DEFAULT_USER = new UserDTO("marco", "marco", "marco@grawunder.de");
+    static final PlayerDTO DEFAULT_PLAYER = new PlayerDTO("marco", 1, PlayerColor.values()[0], 3, EnumSet.noneOf(Port.class));
+
+    final MessageTypeRegistry registry = MessageTypeRegistry.getDefault();
+    final BinaryMessageCodec codec = new BinaryMessageCodec(registry);
+
+    <T> T roundTrip(T value) {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            codec.encode(value, buffer);
+            Object decoded = codec.decode(buffer);
+            assertFalse(buffer.isReadable());
+            return (T) decoded;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    void registryCoversAllMessages() {
+        List<Class<?>> types = registry.getTypes();
+        assertTrue(types.contains(LoginRequest.class));
+        assertTrue(types.contains(InitialBoardMessage.class));
+        for (Class<?> type : types) {
+            if (RequestMessage.class.isAssignableFrom(type) || ResponseMessage.class.isAssignableFrom(type)
+                    || ServerMessage.class.isAssignableFrom(type)) {
+                assertEquals(TypeSchema.Kind.OBJECT, registry.getSchema(type).getKind(), type.getName());
+            }
+        }
+    }
+
+    @Test
+    void registryIsDeterministic() {
+        MessageTypeRegistry other = new MessageTypeRegistry(registry.getTypes());
+        assertEquals(registry.getFingerprint(), other.getFingerprint());
+        assertEquals(registry.getId(LoginRequest.class), other.getId(LoginRequest.class));
+    }
+
+    @Test
+    void simpleMessages() {
+        assertEquals(new LoginRequest("marco", "secret"), roundTrip(new LoginRequest("marco", "secret")));
+        CreateLobbyRequest request = new CreateLobbyRequest("test", DEFAULT_USER, true);
+        assertEquals(request, roundTrip(request));
+    }
+
+    @Test
+    void heartbeat() {
+        assertEquals(42, roundTrip(new Ping(42)).getTimestamp());
+        assertEquals(-7, roundTrip(new Pong(-7)).getTimestamp());
+    }
+
+    @Test
+    void boardMessages() throws Exception {
+        Multimap<Integer, Coord> hexNumbers = HashMultimap.create();
+        hexNumbers.put(6, new Coord(0, 0));
+        hexNumbers.put(6, new Coord(1, -1));
+        hexNumbers.put(8, new Coord(-1, 1));
+        Map<Coord, ResourceTile> tiles = new HashMap<>();
+        tiles.put(new Coord(0, 0), ResourceTile.ORE);
+        tiles.put(new Coord(1, -1), ResourceTile.DESERT);
+        var message = new InitialBoardMessage("game", hexNumbers, tiles, new HashMap<>());
+        InitialBoardMessage decoded = roundTrip(message);
+        assertEquals(message.getHexNumbers(), decoded.getHexNumbers());
+        assertEquals(message.getResourceTileMap(), decoded.getResourceTileMap());
+        // transient fields are reset exactly like Java serialization does it
+        assertEquals(SerializationTestHelper.unpickle(SerializationTestHelper.pickle(message), InitialBoardMessage.class), decoded);
+        assertEquals(message.getPorts(), decoded.getPorts());
+
+        Map<Coord, PieceDTO> pieces = new HashMap<>();
+        pieces.put(Coord.newCorner(0, 0, Direction.values()[0]), new PieceDTO(PieceType.values()[0], DEFAULT_PLAYER));
+        RejoinBoardMessage rejoin = roundTrip(new RejoinBoardMessage("game", pieces));
+        assertEquals(pieces, rejoin.getPlacedPieces());
+    }
+
+    @Test
+    void gameSnapshot() {
+        Multimap<Integer, Coord> hexNumbers = HashMultimap.create();
+        hexNumbers.put(6, new Coord(0, 0));
+        Map<Coord, PieceDTO> pieces = new HashMap<>();
+        pieces.put(Coord.newCorner(0, 0, Direction.values()[0]), new PieceDTO(PieceType.values()[0], DEFAULT_PLAYER));
+        var players = List.of(new GameSnapshot.PlayerState(DEFAULT_PLAYER, new ResourceEnumMap(1, 0, 2, 0, 3), 2, 1));
+        var snapshot = new GameSnapshot(42, hexNumbers, Map.of(new Coord(0, 0), ResourceTile.DESERT), new HashMap<>(), pieces,
+                new Coord(0, 0), players, new DevCardEnumMap(0, 1, 0, 0, 0), new PieceTypeEnumMap(13, 4, 3), DEFAULT_PLAYER, null, 24);
+
+        GameSnapshot decoded = roundTrip(new GameSnapshotMessage("game", snapshot)).getSnapshot();
+        assertEquals(42, decoded.getVersion());
+        assertEquals(hexNumbers, decoded.getHexNumbers());
+        assertEquals(pieces, decoded.getPlacedPieces());
+        assertEquals(new Coord(0, 0), decoded.getRobber());
+        assertEquals(new ResourceEnumMap(1, 0, 2, 0, 3), decoded.getPlayers().get(0).getResources());
+        assertEquals(2, decoded.getPlayers().get(0).getVictoryPoints());
+        assertEquals(new PieceTypeEnumMap(13, 4, 3), decoded.getAvailablePieces());
+        assertEquals(DEFAULT_PLAYER, decoded.getPlayerWithLargestArmy());
+        assertNull(decoded.getPlayerWithLongestRoad());
+        assertEquals(24, decoded.getDevCardsRemaining());
+    }
+
+    @Test
+    void playerAndInventoryMessages() {
+        var game = new GameDTO("game", false, DEFAULT_PLAYER, new PlayerDTO("ali", 2, PlayerColor.values()[1], 0,
+                EnumSet.of(Port.values()[0])));
+        UpdateGameSessionMessage update = roundTrip(new UpdateGameSessionMessage("game", game));
+        assertArrayEquals(game.getPlayers(), update.getGame().getPlayers());
+        assertEquals(EnumSet.of(Port.values()[0]), update.getGame().getPlayers()[1].getPorts());
+
+        var resources = new ResourceEnumMap(1, 2, 3, 4, 5);
+        ResourceCardCountMessage count = roundTrip(new ResourceCardCountMessage("game", DEFAULT_PLAYER, resources));
+        assertEquals(resources, count.getResourceEnumMap());
+        assertSame(ResourceEnumMap.class, count.getResourceEnumMap().getClass());
+        DiscardCardsRequest discard = roundTrip(new DiscardCardsRequest("game", new ResourceEnumMap()));
+        assertEquals(0, discard.getToDiscard().sumOfResources());
+    }
+
+    @Test
+    void chatMessage() {
+        ZonedDateTime now = ZonedDateTime.now();
+        ChatMessage decoded = roundTrip(new ChatMessage("lobby", "hello", DEFAULT_USER, now));
+        assertEquals(now, decoded.getTimestamp());
+        assertEquals("hello", decoded.getContent());
+        assertEquals(DEFAULT_USER, decoded.getUser());
+    }
+
+    @Test
+    void transientFieldsAreNotWritten() {
+        LoginRequest decoded = roundTrip(new LoginRequest("marco", "secret"));
+        assertTrue(decoded.getSession().isEmpty());
+        assertTrue(decoded.getMessageContext().isEmpty());
+    }
+
+    @Test
+    void compactIsSmallerThanJavaSerialization() throws Exception {
+        var message = new UpdateGameSessionMessage("game", new GameDTO("game", false, DEFAULT_PLAYER));
+        ByteBuf buffer = Unpooled.buffer();
+        codec.encode(message, buffer);
+        int compact = buffer.readableBytes();
+        buffer.release();
+        assertTrue(compact * 5 < SerializationTestHelper.pickle(message).length);
+    }
+
+    @Test
+    void truncatedFrame() {
+        ByteBuf buffer = Unpooled.buffer();
+        codec.encode(new LoginRequest("marco", "secret"), buffer);
+        ByteBuf truncated = buffer.slice(0, buffer.readableBytes() - 2);
+        assertThrows(CodecException.class, () -> codec.decode(truncated));
+        buffer.release();
+    }
+}
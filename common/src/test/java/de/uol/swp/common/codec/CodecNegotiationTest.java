@@ -0,0 +1,102 @@
+package de.uol.swp.common.codec;
+
+import de.uol.swp.common.MyObjectEncoder;
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.user.message.UserLoggedInMessage;
+import de.uol.swp.common.user.request.LoginRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired"})
+class CodecNegotiationTest {
+
+    final MessageTypeRegistry registry = MessageTypeRegistry.getDefault();
+
+    static void pump(EmbeddedChannel from, EmbeddedChannel to) {
+        Object msg;
+        while ((msg = from.readOutbound()) != null) {
+            to.writeInbound(msg);
+        }
+    }
+
+    @Test
+    void legacyClientUsesJavaSerialization() {
+        var server = new EmbeddedChannel(new ServerCodecNegotiationHandler(registry));
+        var legacyClient = new EmbeddedChannel(new MyObjectEncoder());
+        legacyClient.writeOutbound(new LoginRequest("marco", "secret"));
+
+        pump(legacyClient, server);
+
+        assertEquals(new LoginRequest("marco", "secret"), server.readInbound());
+        assertNotNull(server.pipeline().get(WireFormat.ENCODER_NAME));
+        assertNull(server.pipeline().get(ServerCodecNegotiationHandler.class));
+    }
+
+    @Test
+    void compactFormatIsNegotiated() {
+        var server = new EmbeddedChannel(new ServerCodecNegotiationHandler(registry));
+        var activated = new ActiveRecorder();
+        var client = new EmbeddedChannel(new ClientCodecNegotiationHandler(registry), activated);
+        assertFalse(activated.active);
+
+        // written before the client said hello, must be held back until the format is known
+        var loggedIn = new UserLoggedInMessage("marco");
+        server.writeOutbound(loggedIn);
+        assertNull(server.readOutbound());
+
+        pump(client, server);
+        pump(server, client);
+
+        assertTrue(activated.active);
+        assertTrue(server.pipeline().get(WireFormat.ENCODER_NAME) instanceof CompactMessageEncoder);
+        assertTrue(client.pipeline().get(WireFormat.DECODER_NAME) instanceof CompactMessageDecoder);
+        assertEquals(loggedIn.getUsername(), ((UserLoggedInMessage) client.readInbound()).getUsername());
+
+        client.writeOutbound(new LoginRequest("marco", "secret"));
+        pump(client, server);
+        assertEquals(new LoginRequest("marco", "secret"), server.readInbound());
+    }
+
+    @Test
+    void mismatchingRegistryFallsBackToJava() {
+        var server = new EmbeddedChannel(new ServerCodecNegotiationHandler(registry));
+        var otherRegistry = new MessageTypeRegistry(Collections.singletonList(UserDTO.class));
+        var client = new EmbeddedChannel(new ClientCodecNegotiationHandler(otherRegistry));
+
+        pump(client, server);
+        pump(server, client);
+
+        assertTrue(server.pipeline().get(WireFormat.ENCODER_NAME) instanceof MyObjectEncoder);
+        assertTrue(client.pipeline().get(WireFormat.ENCODER_NAME) instanceof MyObjectEncoder);
+        client.writeOutbound(new LoginRequest("marco", "secret"));
+        pump(client, server);
+        assertEquals(new LoginRequest("marco", "secret"), server.readInbound());
+    }
+
+    @Test
+    void helloMayArriveInPieces() {
+        var server = new EmbeddedChannel(new ServerCodecNegotiationHandler(registry));
+        ByteBuf hello = CodecNegotiation.writeHello(server.alloc().buffer(), registry.getFingerprint());
+        server.writeInbound(hello.readRetainedSlice(3));
+        assertNotNull(server.pipeline().get(ServerCodecNegotiationHandler.class));
+        server.writeInbound(hello);
+        assertTrue(server.pipeline().get(WireFormat.ENCODER_NAME) instanceof CompactMessageEncoder);
+    }
+
+    static class ActiveRecorder extends ChannelInboundHandlerAdapter {
+        boolean active;
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            active = true;
+            ctx.fireChannelActive();
+        }
+    }
+}
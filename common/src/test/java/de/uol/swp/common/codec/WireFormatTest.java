@@ -0,0 +1,34 @@
+package de.uol.swp.common.codec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuppressWarnings({"PMD.CommentRequired"})
+class WireFormatTest {
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(WireFormat.PROPERTY);
+    }
+
+    @Test
+    void configuredFormatIsUsed() {
+        System.setProperty(WireFormat.PROPERTY, " java ");
+
+        assertEquals(WireFormat.JAVA, WireFormat.configured());
+    }
+
+    @Test
+    void unknownFormatFallsBackToCompact() {
+        System.setProperty(WireFormat.PROPERTY, "compakt");
+
+        assertEquals(WireFormat.COMPACT, WireFormat.configured());
+    }
+
+    @Test
+    void nothingConfiguredUsesCompact() {
+        assertEquals(WireFormat.COMPACT, WireFormat.configured());
+    }
+}
@@ -0,0 +1,128 @@
+package de.uol.swp.common.heartbeat;
+
+import de.uol.swp.common.MyObjectEncoder;
+import de.uol.swp.common.codec.ClientCodecNegotiationHandler;
+import de.uol.swp.common.codec.MessageTypeRegistry;
+import de.uol.swp.common.codec.ServerCodecNegotiationHandler;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.common.user.request.LoginRequest;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.timeout.IdleStateEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired"})
+class HeartbeatHandlerTest {
+
+    final EmbeddedChannel channel = new EmbeddedChannel(new HeartbeatHandler(2, "test.rttMicros"));
+
+    static void idle(EmbeddedChannel channel) {
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.READER_IDLE_STATE_EVENT);
+    }
+
+    static void pump(EmbeddedChannel from, EmbeddedChannel to) {
+        Object msg;
+        while ((msg = from.readOutbound()) != null) {
+            to.writeInbound(msg);
+        }
+    }
+
+    void idle() {
+        idle(channel);
+    }
+
+    EmbeddedChannel newServer() {
+        return new EmbeddedChannel(new ServerCodecNegotiationHandler(MessageTypeRegistry.getDefault()),
+                new HeartbeatHandler(2, "test.rttMicros", true));
+    }
+
+    @Test
+    void pingIsAnswered() {
+        channel.writeInbound(new Ping(42));
+
+        Pong pong = channel.readOutbound();
+        assertEquals(42, pong.getTimestamp());
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    void pongRecordsTheRoundTripTime() {
+        long count = MetricsRegistry.getDefault().histogram("test.rttMicros").getCount();
+        idle();
+        Ping ping = channel.readOutbound();
+
+        channel.writeInbound(new Pong(ping.getTimestamp()));
+        assertEquals(count + 1, MetricsRegistry.getDefault().histogram("test.rttMicros").getCount());
+        assertTrue(MetricsRegistry.getDefault().snapshot().containsKey("test.rttMicros." + channel.id().asShortText()));
+    }
+
+    @Test
+    void otherMessagesArePassedOn() {
+        channel.writeInbound("message");
+
+        assertEquals("message", channel.readInbound());
+    }
+
+    @Test
+    void deadPeerIsReaped() {
+        idle();
+        idle();
+        assertTrue(channel.isOpen());
+
+        idle();
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    void answeringPeerIsKept() {
+        idle();
+        idle();
+        channel.writeInbound("message");
+        idle();
+
+        assertTrue(channel.isOpen());
+    }
+
+    @Test
+    void legacyClientIsNeverPinged() {
+        var server = newServer();
+        var legacyClient = new EmbeddedChannel(new MyObjectEncoder());
+        legacyClient.writeOutbound(new LoginRequest("marco", "secret"));
+        pump(legacyClient, server);
+        assertEquals(new LoginRequest("marco", "secret"), server.readInbound());
+
+        idle(server);
+        idle(server);
+        idle(server);
+
+        assertNull(server.readOutbound());
+        assertTrue(server.isOpen());
+    }
+
+    @Test
+    void negotiatingClientIsPinged() {
+        var server = newServer();
+        var client = new EmbeddedChannel(new ClientCodecNegotiationHandler(MessageTypeRegistry.getDefault()));
+        pump(client, server);
+        pump(server, client);
+
+        idle(server);
+        pump(server, client);
+
+        assertTrue(client.readInbound() instanceof Ping);
+    }
+
+    @Test
+    void peerIsPingedOnceItHasPinged() {
+        var waiting = new EmbeddedChannel(new HeartbeatHandler(2, "test.rttMicros", true));
+        idle(waiting);
+        assertNull(waiting.readOutbound());
+
+        waiting.writeInbound(new Ping(42));
+        assertTrue(waiting.readOutbound() instanceof Pong);
+        idle(waiting);
+
+        assertTrue(waiting.readOutbound() instanceof Ping);
+    }
+}
@@ -0,0 +1,44 @@
+package de.uol.swp.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired"})
+class MetricsRegistryTest {
+
+    final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    void countersAreSharedByName() {
+        registry.counter("test.count").increment();
+        registry.counter("test.count").add(2);
+        assertEquals(3, registry.counter("test.count").get());
+        assertEquals(3L, registry.snapshot().get("test.count"));
+    }
+
+    @Test
+    void gaugesAreReadOnSnapshot() {
+        long[] value = {1};
+        registry.gauge("test.gauge", () -> value[0]);
+        value[0] = 5;
+        assertEquals(5L, registry.snapshot().get("test.gauge"));
+        registry.removeGauge("test.gauge");
+        assertFalse(registry.snapshot().containsKey("test.gauge"));
+    }
+
+    @Test
+    void histogramPercentiles() {
+        Histogram histogram = registry.histogram("test.latency");
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-5);
+        assertEquals(101, histogram.getCount());
+        assertEquals(100, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(0.5));
+        assertEquals(63, histogram.getPercentile(50));
+        assertEquals(100, histogram.getPercentile(99));
+        assertTrue(histogram.getMean() > 49 && histogram.getMean() < 51);
+    }
+}
@@ -9,8 +9,11 @@ import de.uol.swp.common.user.message.UsersListMessage;
 import de.uol.swp.common.user.request.LoginRequest;
 import de.uol.swp.common.user.request.LogoutRequest;
 import de.uol.swp.common.user.request.RegisterUserRequest;
+import de.uol.swp.common.user.player.PlayerProfile;
 import de.uol.swp.common.user.request.RetrieveAllOnlineUsersRequest;
+import de.uol.swp.common.user.request.StatisticRequest;
 import de.uol.swp.common.user.response.LoginSuccessfulResponse;
+import de.uol.swp.common.user.response.StatisticResponseMessage;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -51,6 +54,10 @@ class UserMessageSerializableTest {
                 RegisterUserRequest.class));
         assertTrue(SerializationTestHelper.checkSerializableAndDeserializable(new RetrieveAllOnlineUsersRequest(),
                 RetrieveAllOnlineUsersRequest.class));
+        assertTrue(SerializationTestHelper.checkSerializableAndDeserializable(new StatisticRequest(100, 50),
+                StatisticRequest.class));
+        assertTrue(SerializationTestHelper.checkSerializableAndDeserializable(new StatisticResponseMessage(
+                List.of(new PlayerProfile("marco", "", "3", "1")), 100, 250, 7), StatisticResponseMessage.class));
 
     }
 }
@@ -0,0 +1,193 @@
+package de.uol.swp.server.communication;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import de.uol.swp.common.message.MessageContext;
+import de.uol.swp.common.message.ServerMessage;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.common.user.User;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the rooms of the server, i.e. the connections of the users in a lobby or game session
+ * <p>
+ * The services keep the rooms up to date when users join, leave, rejoin or are replaced by a bot, so a message
+ * for everybody in a lobby or game only names its {@link de.uol.swp.common.message.ServerMessage#setRoom(String) room}
+ * and the {@link ServerHandler} writes it to the channels of the room. The receivers do not have to be resolved
+ * by user for every message. A message {@link #address(ServerMessage, String) addressed} to a room carries a copy of
+ * the channels of the room, because the bus delivers messages posted by a subscriber only after the subscriber has
+ * returned, which may be after the room was closed. Bots have no connection and are not part of any room, they receive the messages of their
+ * game session directly.
+ * <p>
+ * Members are stored by user, so a user who has logged out can still be removed from a room. The channels of a room
+ * can be read from any thread, changes are serialized. The number of rooms is exposed as the {@code rooms.open} gauge.
+ */
+@Singleton
+public class RoomRegistry {
+
+    private static final Logger LOG = LogManager.getLogger(RoomRegistry.class);
+
+    private final SessionRegistry sessions;
+    private final Map<String, Map<User, MessageContext>> rooms = new ConcurrentHashMap<>();
+    private final Map<MessageContext, Set<String>> roomsByChannel = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param sessions the registry the connections of the users are looked up in when they join a room
+     */
+    @Inject
+    public RoomRegistry(SessionRegistry sessions) {
+        this.sessions = sessions;
+        MetricsRegistry.getDefault().gauge("rooms.open", rooms::size);
+    }
+
+    /**
+     * Returns the name of the room of a lobby
+     *
+     * @param lobbyName the name of the lobby
+     * @return the name of the room
+     */
+    public static String lobby(String lobbyName) {
+        return "lobby/" + lobbyName;
+    }
+
+    /**
+     * Returns the name of the room of a game session
+     *
+     * @param gameSessionName the name of the game session
+     * @return the name of the room
+     */
+    public static String game(String gameSessionName) {
+        return "game/" + gameSessionName;
+    }
+
+    /**
+     * Adds the connection of a user to a room
+     * <p>
+     * Users without a connection, e.g. users who are not logged in, are ignored.
+     *
+     * @param room the name of the room
+     * @param user the user joining the room
+     */
+    public synchronized void join(String room, User user) {
+        Optional<MessageContext> ctx = sessions.getSession(user).flatMap(sessions::getContext);
+        if (ctx.isEmpty()) {
+            LOG.debug("{} has no connection and does not join {}", user, room);
+            return;
+        }
+        rooms.computeIfAbsent(room, key -> new ConcurrentHashMap<>()).put(user, ctx.get());
+        roomsByChannel.computeIfAbsent(ctx.get(), key -> new HashSet<>()).add(room);
+    }
+
+    /**
+     * Removes a user from a room
+     *
+     * @param room the name of the room
+     * @param user the user leaving the room
+     */
+    public synchronized void leave(String room, User user) {
+        Map<User, MessageContext> members = rooms.get(room);
+        if (members == null) {
+            return;
+        }
+        MessageContext ctx = members.remove(user);
+        if (ctx != null && !members.containsValue(ctx)) {
+            removeRoomOfChannel(ctx, room);
+        }
+        if (members.isEmpty()) {
+            rooms.remove(room);
+        }
+    }
+
+    /**
+     * Replaces a user who has changed the username in a room
+     *
+     * @param room    the name of the room
+     * @param oldUser the user with the old username
+     * @param newUser the user with the new username
+     */
+    public synchronized void rename(String room, User oldUser, User newUser) {
+        Map<User, MessageContext> members = rooms.get(room);
+        if (members != null) {
+            MessageContext ctx = members.remove(oldUser);
+            if (ctx != null) {
+                members.put(newUser, ctx);
+            }
+        }
+    }
+
+    /**
+     * Removes a room and all of its members, e.g. when its lobby or game session is dropped
+     *
+     * @param room the name of the room
+     */
+    public synchronized void close(String room) {
+        Map<User, MessageContext> members = rooms.remove(room);
+        if (members != null) {
+            for (MessageContext ctx : members.values()) {
+                removeRoomOfChannel(ctx, room);
+            }
+        }
+    }
+
+    /**
+     * Removes a connection from all rooms, e.g. when the client has disconnected
+     *
+     * @param ctx the connection of the client
+     */
+    public synchronized void leaveAll(MessageContext ctx) {
+        Set<String> joined = roomsByChannel.remove(ctx);
+        if (joined == null) {
+            return;
+        }
+        for (String room : joined) {
+            Map<User, MessageContext> members = rooms.get(room);
+            if (members != null) {
+                members.values().removeIf(ctx::equals);
+                if (members.isEmpty()) {
+                    rooms.remove(room);
+                }
+            }
+        }
+    }
+
+    /**
+     * Addresses a message to the current members of a room
+     * <p>
+     * The channels of the room are copied into the message, so it reaches them even if the room is closed before
+     * the message is dispatched.
+     *
+     * @param message the message to address
+     * @param room    the name of the room
+     */
+    public void address(ServerMessage message, String room) {
+        message.setRoom(room);
+        message.setRoomChannels(List.copyOf(getChannels(room)));
+    }
+
+    /**
+     * Returns the channels of the members of a room
+     *
+     * @param room the name of the room
+     * @return a live view of the connections in the room, empty if the room does not exist
+     */
+    public Collection<MessageContext> getChannels(String room) {
+        Map<User, MessageContext> members = rooms.get(room);
+        return members == null ? Collections.emptyList() : members.values();
+    }
+
+    private void removeRoomOfChannel(MessageContext ctx, String room) {
+        Set<String> joined = roomsByChannel.get(ctx);
+        if (joined != null) {
+            joined.remove(room);
+            if (joined.isEmpty()) {
+                roomsByChannel.remove(ctx);
+            }
+        }
+    }
+}
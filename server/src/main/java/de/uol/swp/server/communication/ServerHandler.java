@@ -1,14 +1,20 @@
 package de.uol.swp.server.communication;
 
+import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.DeadEvent;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.google.inject.Inject;
+import de.uol.swp.common.codec.SharedFrames;
+import de.uol.swp.common.game.debug.AbstractDebugRequest;
+import de.uol.swp.common.game.debug.SetResourcesRequest;
 import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.game.request.AbstractGameRequest;
 import de.uol.swp.common.lobby.GameLobby;
 import de.uol.swp.common.lobby.request.AbstractLobbyRequest;
 import de.uol.swp.common.message.*;
+import de.uol.swp.common.metrics.Counter;
+import de.uol.swp.common.metrics.MetricsRegistry;
 import de.uol.swp.common.user.Session;
 import de.uol.swp.common.user.User;
 import de.uol.swp.common.user.message.ChangedUserInfoMessage;
@@ -18,6 +24,8 @@ import de.uol.swp.common.user.message.UserLoggedOutMessage;
 import de.uol.swp.common.user.response.ChangeUserInfoSuccessfulResponse;
 import de.uol.swp.common.user.response.DropAccountSuccessfulResponse;
 import de.uol.swp.common.user.response.LoginSuccessfulResponse;
+import de.uol.swp.server.concurrent.GameScheduler;
+import de.uol.swp.server.concurrent.Mailbox;
 import de.uol.swp.server.game.session.GameSession;
 import de.uol.swp.server.game.session.GameSessionManagement;
 import de.uol.swp.server.lobby.LobbyManagement;
@@ -49,7 +57,12 @@ public class ServerHandler implements ServerHandlerDelegate {
     /**
      * Clients with logged in sessions
      */
-    private final Map<MessageContext, Session> activeSessions = new HashMap<>();
+    private final SessionRegistry sessions;
+
+    /**
+     * Connections of the users in lobbies and game sessions
+     */
+    private final RoomRegistry rooms;
 
     /**
      * Event bus (injected)
@@ -59,17 +72,37 @@ public class ServerHandler implements ServerHandlerDelegate {
     private final GameSessionManagement gameSessionManagement;
     private final LobbyManagement lobbyManagement;
 
+    /**
+     * Mailbox for all requests that do not belong to a game session
+     */
+    private final Mailbox serverMailbox;
+
+    private final Counter broadcasts;
+    private final Counter broadcastBytesEncoded;
+    private final Counter broadcastBytesSent;
+
     /**
      * Constructor
      *
-     * @param eventBus the EventBus used throughout the entire server
+     * @param eventBus  the EventBus used throughout the entire server
+     * @param scheduler the scheduler providing the mailboxes incoming requests are processed in
+     * @param sessions  the registry the sessions of the clients are bound to their connections in
+     * @param rooms     the registry of the connections in lobbies and game sessions
      * @see EventBus
      */
     @Inject
-    public ServerHandler(EventBus eventBus, GameSessionManagement gameSessionManagement, LobbyManagement lobbyManagement) {
+    public ServerHandler(EventBus eventBus, GameSessionManagement gameSessionManagement, LobbyManagement lobbyManagement,
+                         GameScheduler scheduler, SessionRegistry sessions, RoomRegistry rooms) {
         this.eventBus = eventBus;
+        this.sessions = sessions;
+        this.rooms = rooms;
         this.gameSessionManagement = gameSessionManagement;
         this.lobbyManagement = lobbyManagement;
+        this.serverMailbox = scheduler.getServerMailbox();
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.broadcasts = metrics.counter("broadcast.count");
+        this.broadcastBytesEncoded = metrics.counter("broadcast.bytesEncoded");
+        this.broadcastBytesSent = metrics.counter("broadcast.bytesSent");
         eventBus.register(this);
     }
 
@@ -154,32 +187,72 @@ public class ServerHandler implements ServerHandlerDelegate {
     @Override
     public void clientDisconnected(MessageContext ctx) {
         LOG.debug("Client disconnected");
-        Session session = this.activeSessions.get(ctx);
-        if (session != null) {
-            ClientDisconnectedMessage msg = new ClientDisconnectedMessage();
-            msg.setSession(session);
-            eventBus.post(msg);
-            removeSession(ctx);
-        }
-        connectedClients.remove(ctx);
+        serverMailbox.execute(() -> {
+            Optional<Session> session = getSession(ctx);
+            if (session.isPresent()) {
+                ClientDisconnectedMessage msg = new ClientDisconnectedMessage();
+                msg.setSession(session.get());
+                eventBus.post(msg);
+                removeSession(ctx);
+            }
+            rooms.leaveAll(ctx);
+            connectedClients.remove(ctx);
+        });
     }
 
+    /**
+     * Hands a request from a client over to the mailbox it is processed in
+     * <p>
+     * Requests addressing a game session are processed in the mailbox of that session, all other requests in
+     * the server mailbox. This method is called on the Netty I/O thread and returns immediately. If the game
+     * session of a request does not exist yet, the request is routed through the server mailbox first, so it
+     * cannot overtake the request that creates the session.
+     *
+     * @param msg the request to process
+     */
     @Override
     public void process(RequestMessage msg) {
         LOG.debug("Received new message from client {}", msg);
         Optional<MessageContext> ctx = msg.getMessageContext();
         if (ctx.isPresent()) {
-            try {
-                checkIfMessageNeedsAuthorization(ctx.get(), msg);
-                checkIfUserNeedsToBeInLobby(msg);
-                eventBus.post(msg);
-            } catch (SecurityException e) {
-                LOG.error("ServerException {} {}", e.getClass().getName(), e.getMessage());
-                sendToClient(ctx.get(), new ExceptionMessage(e.getMessage()));
+            Runnable task = () -> handle(ctx.get(), msg);
+            Optional<String> gameSessionName = getGameSessionName(msg);
+            if (gameSessionName.isEmpty()) {
+                serverMailbox.execute(task);
+                return;
+            }
+            Optional<GameSession> gameSession = gameSessionManagement.getGameSession(gameSessionName.get());
+            if (gameSession.isPresent()) {
+                gameSession.get().execute(task);
+            } else {
+                serverMailbox.execute(() -> gameSessionManagement.getGameSession(gameSessionName.get())
+                        .ifPresentOrElse(session -> session.execute(task), task));
             }
         }
     }
 
+    private void handle(MessageContext ctx, RequestMessage msg) {
+        try {
+            checkIfMessageNeedsAuthorization(ctx, msg);
+            checkIfUserNeedsToBeInLobby(msg);
+            eventBus.post(msg);
+        } catch (SecurityException e) {
+            LOG.error("ServerException {} {}", e.getClass().getName(), e.getMessage());
+            sendToClient(ctx, new ExceptionMessage(e.getMessage()));
+        }
+    }
+
+    private static Optional<String> getGameSessionName(RequestMessage msg) {
+        if (msg instanceof AbstractGameRequest) {
+            return Optional.ofNullable(((AbstractGameRequest) msg).getGameSessionName());
+        } else if (msg instanceof AbstractDebugRequest) {
+            return Optional.ofNullable(((AbstractDebugRequest) msg).getSessionName());
+        } else if (msg instanceof SetResourcesRequest) {
+            return Optional.ofNullable(((SetResourcesRequest) msg).getLobbyName());
+        }
+        return Optional.empty();
+    }
+
     // -------------------------------------------------------------------------------
     // User Management Events (from event bus)
     // -------------------------------------------------------------------------------
@@ -191,6 +264,9 @@ public class ServerHandler implements ServerHandlerDelegate {
      * It gets the MessageContext and then gives it and a new LoginSuccessfulResponse to
      * sendToClient for sending as well as giving a new UserLoggedInMessage to sendMessage
      * for notifying all connected clients.
+     * <p>
+     * If the client has disconnected while its password was hashed, the user is logged out again
+     * like on any other disconnect.
      *
      * @param msg The ClientAuthorizedMessage found on the EventBus
      * @see de.uol.swp.server.communication.ServerHandler#sendToClient(MessageContext, ResponseMessage)
@@ -202,6 +278,13 @@ public class ServerHandler implements ServerHandlerDelegate {
         Optional<MessageContext> ctx = getCtx(msg);
         Optional<Session> session = msg.getSession();
         if (ctx.isPresent() && session.isPresent()) {
+            if (!connectedClients.contains(ctx.get())) {
+                LOG.debug("Client {} disconnected while logging in", ctx.get());
+                ClientDisconnectedMessage disconnected = new ClientDisconnectedMessage();
+                disconnected.setSession(session.get());
+                eventBus.post(disconnected);
+                return;
+            }
             putSession(ctx.get(), session.get());
             sendToClient(ctx.get(), new LoginSuccessfulResponse(msg.getUser()));
             sendMessage(new UserLoggedInMessage(msg.getUser().getUsername()));
@@ -290,6 +373,7 @@ public class ServerHandler implements ServerHandlerDelegate {
      * @since 2019-11-20
      */
     @Subscribe
+    @AllowConcurrentEvents
     private void onResponseMessage(ResponseMessage msg) {
         Optional<MessageContext> ctx = getCtx(msg);
         if (ctx.isPresent()) {
@@ -316,11 +400,13 @@ public class ServerHandler implements ServerHandlerDelegate {
      * @since 2019-11-20
      */
     @Subscribe
+    @AllowConcurrentEvents
     private void onServerMessage(ServerMessage msg) {
         msg.setSession(null);
         msg.setMessageContext(null);
         if (LOG.isDebugEnabled()) {
-            LOG.debug("Send {} to {}", msg, (msg.getReceiver().isEmpty() || msg.getReceiver() == null ? "all" : msg.getReceiver()));
+            LOG.debug("Send {} to {}", msg, msg.getRoom() != null ? msg.getRoom()
+                    : (msg.getReceiver().isEmpty() || msg.getReceiver() == null ? "all" : msg.getReceiver()));
         }
         sendMessage(msg);
     }
@@ -330,24 +416,24 @@ public class ServerHandler implements ServerHandlerDelegate {
     // -------------------------------------------------------------------------------
 
     /**
-     * Adds a new Session to the activeSessions
+     * Binds a new Session to its MessageContext
      *
      * @param ctx        the MessageContext belonging to the Session
      * @param newSession the Session to add
      * @since 2019-11-20
      */
     private void putSession(MessageContext ctx, Session newSession) {
-        activeSessions.put(ctx, newSession);
+        sessions.bind(ctx, newSession);
     }
 
     /**
-     * Removes a Session specified by MessageContext from the activeSessions
+     * Removes the Session bound to a MessageContext
      *
      * @param ctx the MessageContext
      * @since 2019-11-20
      */
     private void removeSession(MessageContext ctx) {
-        activeSessions.remove(ctx);
+        sessions.unbind(ctx);
     }
 
     /**
@@ -360,8 +446,7 @@ public class ServerHandler implements ServerHandlerDelegate {
      * @since 2019-11-20
      */
     private Optional<Session> getSession(MessageContext ctx) {
-        Session session = activeSessions.get(ctx);
-        return session != null ? Optional.of(session) : Optional.empty();
+        return sessions.getSession(ctx);
     }
 
     /**
@@ -394,12 +479,7 @@ public class ServerHandler implements ServerHandlerDelegate {
      * @since 2019-11-20
      */
     private Optional<MessageContext> getCtx(Session session) {
-        for (Map.Entry<MessageContext, Session> e : activeSessions.entrySet()) {
-            if (e.getValue().equals(session)) {
-                return Optional.of(e.getKey());
-            }
-        }
-        return Optional.empty();
+        return sessions.getContext(session);
     }
 
     /**
@@ -412,11 +492,10 @@ public class ServerHandler implements ServerHandlerDelegate {
      * @since 2019-11-20
      */
     private List<MessageContext> getCtx(List<Session> receiver) {
-        List<MessageContext> ctxs = new ArrayList<>();
-        receiver.forEach(r -> {
-            Optional<MessageContext> context = getCtx(r);
-            context.ifPresent(ctxs::add);
-        });
+        List<MessageContext> ctxs = new ArrayList<>(receiver.size());
+        for (Session session : receiver) {
+            getCtx(session).ifPresent(ctxs::add);
+        }
         return ctxs;
     }
 
@@ -440,16 +519,21 @@ public class ServerHandler implements ServerHandlerDelegate {
     }
 
     /**
-     * Sends a ServerMessage to either a specified receiver or all connected clients
+     * Sends a ServerMessage to the members of its room, a specified receiver or all connected clients
      *
      * @param msg the ServerMessage to send
      * @see de.uol.swp.common.message.ServerMessage
+     * @see RoomRegistry
      * @since 2019-11-20
      */
     private void sendMessage(ServerMessage msg) {
-        if (msg.getReceiver() == null || msg.getReceiver().isEmpty()) {
+        if (msg.getRoomChannels() != null) {
+            sendToMany(msg.getRoomChannels(), msg);
+        } else if (msg.getRoom() != null) {
+            sendToMany(rooms.getChannels(msg.getRoom()), msg);
+        } else if (msg.getReceiver() == null || msg.getReceiver().isEmpty()) {
             if (msg.authorizationNeeded()) {
-                sendToMany(connectedClients.stream().filter(activeSessions::containsKey).collect(Collectors.toList()), msg);
+                sendToMany(connectedClients.stream().filter(sessions::isBound).collect(Collectors.toList()), msg);
             } else {
                 sendToMany(connectedClients, msg);
             }
@@ -460,19 +544,32 @@ public class ServerHandler implements ServerHandlerDelegate {
 
     /**
      * Sends a ServerMessage to multiple users specified by a list of MessageContexts
+     * <p>
+     * The message is encoded only once per wire format, all receivers get a duplicate of the
+     * shared frame. The bytes encoded and sent are recorded per broadcast.
      *
-     * @param sendTo the List of MessageContexts to send the message to
+     * @param sendTo the MessageContexts to send the message to
      * @param msg    message to send
      * @see de.uol.swp.common.message.MessageContext
      * @see de.uol.swp.common.message.ServerMessage
+     * @see SharedFrames
      * @since 2019-11-20
      */
-    private void sendToMany(List<MessageContext> sendTo, ServerMessage msg) {
-        for (MessageContext client : sendTo) {
-            try {
-                client.writeAndFlush(msg);
-            } catch (Exception e) {
-                LOG.error(e.getStackTrace());
+    private void sendToMany(Collection<MessageContext> sendTo, ServerMessage msg) {
+        try (var frames = new SharedFrames(msg)) {
+            for (MessageContext client : sendTo) {
+                try {
+                    client.writeAndFlush(msg, frames);
+                } catch (Exception e) {
+                    LOG.error(e.getStackTrace());
+                }
+            }
+            broadcasts.increment();
+            broadcastBytesEncoded.add(frames.getBytesEncoded());
+            broadcastBytesSent.add(frames.getBytesSent());
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Broadcast {} to {} clients: {} bytes encoded, {} bytes sent", msg.getClass().getSimpleName(),
+                        frames.getReceivers(), frames.getBytesEncoded(), frames.getBytesSent());
             }
         }
     }
@@ -0,0 +1,180 @@
+package de.uol.swp.server.communication;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import de.uol.swp.common.message.MessageContext;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.common.user.Session;
+import de.uol.swp.common.user.User;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the logged in users, their sessions and the connections of the sessions
+ * <p>
+ * The {@link de.uol.swp.server.usermanagement.AuthenticationService AuthenticationService} logs sessions in and out,
+ * the {@link ServerHandler} binds them to the connection of their client. Every association is stored in both
+ * directions, so all lookups are constant time, e.g. finding the connections of the receivers of a message no longer
+ * depends on the number of users online.
+ * <p>
+ * Lookups are lock free and can be made from any thread. Changes are serialized, so both directions of an
+ * association are always updated together. The number of users online is exposed as the {@code users.online} gauge.
+ */
+@Singleton
+public class SessionRegistry {
+
+    private final Map<Session, User> users = new ConcurrentHashMap<>();
+    private final Map<User, Session> sessionsByUser = new ConcurrentHashMap<>();
+    private final Map<Session, MessageContext> contexts = new ConcurrentHashMap<>();
+    private final Map<MessageContext, Session> sessionsByContext = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     */
+    @Inject
+    public SessionRegistry() {
+        MetricsRegistry.getDefault().gauge("users.online", users::size);
+    }
+
+    /**
+     * Stores the session of a user who has logged in
+     *
+     * @param session the new session
+     * @param user    the user the session belongs to
+     */
+    public synchronized void login(Session session, User user) {
+        users.put(session, user);
+        sessionsByUser.put(user, session);
+    }
+
+    /**
+     * Replaces the user of a session, e.g. after the user has changed the username
+     *
+     * @param session the session of the user
+     * @param user    the updated user
+     */
+    public synchronized void updateUser(Session session, User user) {
+        User oldUser = users.put(session, user);
+        if (oldUser != null) {
+            sessionsByUser.remove(oldUser, session);
+        }
+        sessionsByUser.put(user, session);
+    }
+
+    /**
+     * Removes the session of a user who has logged out or dropped the account
+     * <p>
+     * The connection stays bound to the session until it is {@link #unbind(MessageContext) unbound}.
+     *
+     * @param session the session to remove
+     * @return the user of the session if it was logged in
+     */
+    public synchronized Optional<User> logout(Session session) {
+        User user = users.remove(session);
+        if (user != null) {
+            sessionsByUser.remove(user, session);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    /**
+     * Binds a session to the connection of its client, replacing previous bindings of both
+     *
+     * @param ctx     the connection of the client
+     * @param session the session the client has logged in with
+     */
+    public synchronized void bind(MessageContext ctx, Session session) {
+        Session oldSession = sessionsByContext.put(ctx, session);
+        if (oldSession != null && !oldSession.equals(session)) {
+            contexts.remove(oldSession, ctx);
+        }
+        MessageContext oldCtx = contexts.put(session, ctx);
+        if (oldCtx != null && !oldCtx.equals(ctx)) {
+            sessionsByContext.remove(oldCtx, session);
+        }
+    }
+
+    /**
+     * Removes the binding of a connection
+     *
+     * @param ctx the connection of the client
+     */
+    public synchronized void unbind(MessageContext ctx) {
+        Session session = sessionsByContext.remove(ctx);
+        if (session != null) {
+            contexts.remove(session, ctx);
+        }
+    }
+
+    /**
+     * Returns the session bound to a connection
+     *
+     * @param ctx the connection of the client
+     * @return the session of the client, empty if it has not logged in
+     */
+    public Optional<Session> getSession(MessageContext ctx) {
+        return Optional.ofNullable(sessionsByContext.get(ctx));
+    }
+
+    /**
+     * Returns the session of a logged in user
+     *
+     * @param user the user
+     * @return the session of the user, empty if the user is not logged in
+     */
+    public Optional<Session> getSession(User user) {
+        return Optional.ofNullable(sessionsByUser.get(user));
+    }
+
+    /**
+     * Returns the connection a session is bound to
+     *
+     * @param session the session
+     * @return the connection of the client of the session, empty if it is not connected
+     */
+    public Optional<MessageContext> getContext(Session session) {
+        return Optional.ofNullable(contexts.get(session));
+    }
+
+    /**
+     * Returns the user of a session
+     *
+     * @param session the session
+     * @return the user, empty if the session is not logged in
+     */
+    public Optional<User> getUser(Session session) {
+        return Optional.ofNullable(users.get(session));
+    }
+
+    /**
+     * Returns whether a session is bound to the connection
+     *
+     * @param ctx the connection of the client
+     * @return {@code true} if the client has logged in on the connection, otherwise {@code false}
+     */
+    public boolean isBound(MessageContext ctx) {
+        return sessionsByContext.containsKey(ctx);
+    }
+
+    /**
+     * Returns all users that are logged in
+     *
+     * @return an unmodifiable live view of the logged in users
+     */
+    public Collection<User> getOnlineUsers() {
+        return Collections.unmodifiableCollection(users.values());
+    }
+
+    /**
+     * Returns the number of users that are logged in
+     *
+     * @return the number of logged in users
+     */
+    public int getOnlineUserCount() {
+        return users.size();
+    }
+}
@@ -0,0 +1,108 @@
+package de.uol.swp.server.communication.netty;
+
+import de.uol.swp.common.metrics.Counter;
+import de.uol.swp.common.metrics.Histogram;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handler coalescing the flushes of a connection
+ * <p>
+ * The services write every message with its own {@code writeAndFlush}, so a single action of a player, e.g. a dice
+ * roll, used to cause a system call for each of the resulting messages. This handler lets the writes pass, but holds
+ * the flushes back: the first flush schedules one flush of the channel at the end of the current event loop tick, or
+ * after the configured maximum delay, and every further flush until then is dropped. A batch reaching
+ * {@value #MAX_BATCH} messages and closing the channel flush at once.
+ * <p>
+ * The flushes are exported as the {@code net.flushes} counter, the flushes that were saved as the
+ * {@code net.flushesSaved} counter and the number of messages written by a flush as the
+ * {@code net.messagesPerFlush} histogram.
+ */
+class FlushCoalescingHandler extends ChannelDuplexHandler {
+
+    public static final String NAME = "flushCoalescing";
+
+    /**
+     * Name of the system property configuring the maximum time in milliseconds a flush is delayed
+     */
+    public static final String PROPERTY = "swp.maxFlushDelay";
+    static final int MAX_BATCH = 64;
+
+    private final long maxDelayMillis;
+    private final Counter flushes = MetricsRegistry.getDefault().counter("net.flushes");
+    private final Counter flushesSaved = MetricsRegistry.getDefault().counter("net.flushesSaved");
+    private final Histogram messagesPerFlush = MetricsRegistry.getDefault().histogram("net.messagesPerFlush");
+
+    private int pendingMessages;
+    private boolean flushScheduled;
+
+    /**
+     * Constructor
+     *
+     * @param maxDelayMillis the maximum time in milliseconds a flush is delayed, 0 to flush at the end of the current
+     *                       event loop tick
+     */
+    FlushCoalescingHandler(long maxDelayMillis) {
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Returns the maximum flush delay configured with the {@value #PROPERTY} system property
+     *
+     * @return the configured delay in milliseconds, 0 if nothing is configured
+     */
+    static long configuredMaxDelay() {
+        return Math.max(0L, Long.getLong(PROPERTY, 0L));
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        pendingMessages++;
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (pendingMessages >= MAX_BATCH) {
+            flushNow(ctx);
+        } else if (flushScheduled) {
+            flushesSaved.increment();
+        } else if (pendingMessages > 0) {
+            flushScheduled = true;
+            Runnable task = () -> flushNow(ctx);
+            if (maxDelayMillis > 0) {
+                ctx.executor().schedule(task, maxDelayMillis, TimeUnit.MILLISECONDS);
+            } else {
+                ctx.executor().execute(task);
+            }
+        } else {
+            ctx.flush();
+        }
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+        flushNow(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        flushNow(ctx);
+    }
+
+    private void flushNow(ChannelHandlerContext ctx) {
+        flushScheduled = false;
+        if (pendingMessages == 0) {
+            return;
+        }
+        flushes.increment();
+        messagesPerFlush.record(pendingMessages);
+        pendingMessages = 0;
+        ctx.flush();
+    }
+}
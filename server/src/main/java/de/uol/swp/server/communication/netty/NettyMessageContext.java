@@ -1,11 +1,14 @@
 package de.uol.swp.server.communication.netty;
 
+import de.uol.swp.common.codec.SharedFrames;
+import de.uol.swp.common.codec.WireFormat;
 import de.uol.swp.common.message.MessageContext;
 import de.uol.swp.common.message.ResponseMessage;
 import de.uol.swp.common.message.ServerMessage;
 import io.netty.channel.ChannelHandlerContext;
 
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * This class is used to encapsulate a netty channel handler context
@@ -50,6 +53,18 @@ class NettyMessageContext implements MessageContext {
         ctx.writeAndFlush(message);
     }
 
+    @Override
+    public void writeAndFlush(ServerMessage message, SharedFrames frames) {
+        Optional<WireFormat> format = WireFormat.of(ctx.pipeline());
+        if (format.isPresent() && ctx.channel().isWritable()) {
+            ctx.writeAndFlush(frames.retainedFrame(format.get(), ctx.alloc()));
+        } else {
+            // format not negotiated yet, the negotiation handler holds the message back, or the client
+            // falls behind and the message is queued as an object, so it can be conflated
+            ctx.writeAndFlush(message);
+        }
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) {
@@ -0,0 +1,194 @@
+package de.uol.swp.server.communication.netty;
+
+import de.uol.swp.common.message.ConflatableMessage;
+import de.uol.swp.common.metrics.Counter;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handler bounding the outbound messages a connection can hold on the heap of the server
+ * <p>
+ * As long as the channel is writable, i.e. below the high {@link #WATER_MARK water mark}, messages pass this handler.
+ * When a client does not read fast enough, further messages are held back in a queue until the channel becomes
+ * writable again. A {@link ConflatableMessage} in the queue is replaced by a newer message carrying the same state;
+ * for sequenced game messages the client notices the missing number and catches up with a snapshot.
+ * <p>
+ * A client whose queue exceeds {@value #PROPERTY_MAX_QUEUE} messages or who stays unwritable for longer than
+ * {@value #PROPERTY_MAX_STALL} milliseconds is disconnected. The usual disconnect handling logs the user out, so a bot
+ * takes over the seat until the user rejoins.
+ * <p>
+ * The queue depth and the messages dropped by conflation or an overflow are exported per connection as the
+ * {@code net.queueDepth.<channel>} and {@code net.dropped.<channel>} gauges, the disconnected clients as the
+ * {@code net.slowClientsDisconnected} counter.
+ */
+class OutboundQueueHandler extends ChannelDuplexHandler {
+
+    public static final String NAME = "outboundQueue";
+
+    /**
+     * Name of the system property configuring the maximum number of messages held back for a connection
+     */
+    public static final String PROPERTY_MAX_QUEUE = "swp.maxOutboundQueue";
+
+    /**
+     * Name of the system property configuring the maximum time in milliseconds a connection may stay unwritable
+     */
+    public static final String PROPERTY_MAX_STALL = "swp.maxStall";
+
+    /**
+     * The water marks of the outbound buffer of every connection
+     */
+    public static final WriteBufferWaterMark WATER_MARK = new WriteBufferWaterMark(32 * 1024, 128 * 1024);
+
+    private static final Logger LOG = LogManager.getLogger(OutboundQueueHandler.class);
+    private static final Counter DISCONNECTED = MetricsRegistry.getDefault().counter("net.slowClientsDisconnected");
+
+    private final int maxQueue;
+    private final long maxStallMillis;
+    private final Deque<Pending> queue = new ArrayDeque<>();
+    private final Map<Object, Pending> conflatable = new HashMap<>();
+    private long dropped;
+    private String channelName;
+    private ScheduledFuture<?> stallCheck;
+
+    /**
+     * Constructor
+     *
+     * @param maxQueue       the maximum number of messages held back for the connection
+     * @param maxStallMillis the maximum time in milliseconds the connection may stay unwritable
+     */
+    OutboundQueueHandler(int maxQueue, long maxStallMillis) {
+        this.maxQueue = maxQueue;
+        this.maxStallMillis = maxStallMillis;
+    }
+
+    /**
+     * Creates a handler with the limits configured with the {@value #PROPERTY_MAX_QUEUE} and
+     * {@value #PROPERTY_MAX_STALL} system properties
+     *
+     * @return a new handler, by default holding back 1024 messages for at most 30 seconds
+     */
+    static OutboundQueueHandler configured() {
+        return new OutboundQueueHandler(Integer.getInteger(PROPERTY_MAX_QUEUE, 1024), Long.getLong(PROPERTY_MAX_STALL, 30_000L));
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        channelName = ctx.channel().id().asShortText();
+        MetricsRegistry.getDefault().gauge("net.queueDepth." + channelName, queue::size);
+        MetricsRegistry.getDefault().gauge("net.dropped." + channelName, () -> dropped);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (queue.isEmpty() && ctx.channel().isWritable()) {
+            ctx.write(msg, promise);
+            return;
+        }
+        Object key = msg instanceof ConflatableMessage
+                ? Map.entry(msg.getClass(), ((ConflatableMessage) msg).getConflationKey()) : null;
+        Pending superseded = key == null ? null : conflatable.remove(key);
+        if (superseded != null) {
+            queue.remove(superseded);
+            ReferenceCountUtil.release(superseded.message);
+            superseded.promise.trySuccess();
+            dropped++;
+        } else if (queue.size() >= maxQueue) {
+            ReferenceCountUtil.release(msg);
+            promise.tryFailure(new IllegalStateException("Outbound queue of " + ctx.channel() + " is full"));
+            dropped++;
+            disconnect(ctx, "has more than " + maxQueue + " messages queued");
+            return;
+        }
+        Pending pending = new Pending(msg, promise);
+        queue.add(pending);
+        if (key != null) {
+            conflatable.put(key, pending);
+        }
+        scheduleStallCheck(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (ctx.channel().isWritable()) {
+            while (!queue.isEmpty() && ctx.channel().isWritable()) {
+                Pending pending = queue.poll();
+                conflatable.values().remove(pending);
+                ctx.write(pending.message, pending.promise);
+            }
+            ctx.flush();
+            if (queue.isEmpty() && stallCheck != null) {
+                stallCheck.cancel(false);
+                stallCheck = null;
+            }
+        } else {
+            scheduleStallCheck(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        releaseAll();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        releaseAll();
+        MetricsRegistry.getDefault().removeGauge("net.queueDepth." + channelName);
+        MetricsRegistry.getDefault().removeGauge("net.dropped." + channelName);
+    }
+
+    private void scheduleStallCheck(ChannelHandlerContext ctx) {
+        if (stallCheck == null) {
+            stallCheck = ctx.executor().schedule(() -> {
+                stallCheck = null;
+                if (!queue.isEmpty() || !ctx.channel().isWritable()) {
+                    disconnect(ctx, "did not read for " + maxStallMillis + " ms");
+                }
+            }, maxStallMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void disconnect(ChannelHandlerContext ctx, String reason) {
+        if (ctx.channel().isOpen()) {
+            LOG.warn("Disconnecting {}, the client {}", ctx.channel(), reason);
+            DISCONNECTED.increment();
+            ctx.close();
+        }
+    }
+
+    private void releaseAll() {
+        if (stallCheck != null) {
+            stallCheck.cancel(false);
+            stallCheck = null;
+        }
+        conflatable.clear();
+        for (Pending pending = queue.poll(); pending != null; pending = queue.poll()) {
+            ReferenceCountUtil.release(pending.message);
+            pending.promise.tryFailure(new ClosedChannelException());
+        }
+    }
+
+    private static final class Pending {
+        private final Object message;
+        private final ChannelPromise promise;
+
+        private Pending(Object message, ChannelPromise promise) {
+            this.message = message;
+            this.promise = promise;
+        }
+    }
+}
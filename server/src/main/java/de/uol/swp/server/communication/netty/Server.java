@@ -1,21 +1,30 @@
 package de.uol.swp.server.communication.netty;
 
-import de.uol.swp.common.MyObjectDecoder;
-import de.uol.swp.common.MyObjectEncoder;
+import de.uol.swp.common.codec.MessageTypeRegistry;
+import de.uol.swp.common.codec.ServerCodecNegotiationHandler;
+import de.uol.swp.common.heartbeat.HeartbeatHandler;
 import io.netty.bootstrap.ServerBootstrap;
-import io.netty.channel.ChannelFuture;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.net.InetSocketAddress;
 
 /**
  * This class handles opening a port clients can connect to.
+ * <p>
+ * The server uses the {@link Transport#configured() configured transport}, i.e. epoll on Linux and NIO elsewhere.
+ * The number of worker threads, {@code TCP_NODELAY}, the socket buffer sizes and the allocator can be configured with
+ * the system properties {@value #PROPERTY_WORKERS}, {@value #PROPERTY_TCP_NO_DELAY}, {@value #PROPERTY_SEND_BUFFER},
+ * {@value #PROPERTY_RECEIVE_BUFFER} and {@value #PROPERTY_POOLED}.
  *
  * @author Marco Grawunder
  * @since 2019-11-20
@@ -23,7 +32,37 @@ import java.net.InetSocketAddress;
 @SuppressWarnings({"PMD.AccessorMethodGeneration"})
 public class Server {
 
+    /**
+     * Name of the system property configuring the number of worker threads, 0 for twice the number of cores
+     */
+    public static final String PROPERTY_WORKERS = "swp.workerThreads";
+
+    /**
+     * Name of the system property configuring whether Nagle's algorithm is disabled, {@code true} by default
+     */
+    public static final String PROPERTY_TCP_NO_DELAY = "swp.tcpNoDelay";
+
+    /**
+     * Name of the system property configuring the send buffer size of a connection in bytes, 0 for the default
+     */
+    public static final String PROPERTY_SEND_BUFFER = "swp.sendBuffer";
+
+    /**
+     * Name of the system property configuring the receive buffer size of a connection in bytes, 0 for the default
+     */
+    public static final String PROPERTY_RECEIVE_BUFFER = "swp.receiveBuffer";
+
+    /**
+     * Name of the system property configuring whether buffers are pooled, {@code true} by default
+     */
+    public static final String PROPERTY_POOLED = "swp.pooledAllocator";
+
+    private static final Logger LOG = LogManager.getLogger(Server.class);
+
     private final ChannelHandler serverHandler;
+    private final Transport transport;
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
 
     /**
      * Constructor
@@ -35,7 +74,18 @@ public class Server {
      * @since 2019-11-20
      */
     public Server(ChannelHandler serverHandler) {
+        this(serverHandler, Transport.configured());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param serverHandler the handler all requests are passed to
+     * @param transport     the transport used for the connections
+     */
+    public Server(ChannelHandler serverHandler, Transport transport) {
         this.serverHandler = serverHandler;
+        this.transport = transport;
     }
 
     /**
@@ -48,33 +98,78 @@ public class Server {
      */
     @SuppressWarnings("java:S112")
     public void start(int port) throws Exception {
-        EventLoopGroup bossGroup = new NioEventLoopGroup(1);
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
         try {
-            ServerBootstrap bootstrap = new ServerBootstrap();
-            bootstrap.group(bossGroup, workerGroup).channel(NioServerSocketChannel.class)
-                    .localAddress(new InetSocketAddress(port)).childHandler(new ChannelInitializer<SocketChannel>() {
+            // Just wait for server shutdown
+            bind(port).closeFuture().sync();
+        } finally {
+            shutdown();
+        }
+    }
+
+    /**
+     * Opens the port without waiting for the server to shut down
+     *
+     * @param port port number the server shall be reachable on, 0 for any free port
+     * @return the channel accepting the connections
+     * @throws InterruptedException if the thread was interrupted while binding
+     */
+    public Channel bind(int port) throws InterruptedException {
+        int sendBuffer = Integer.getInteger(PROPERTY_SEND_BUFFER, 0);
+        int receiveBuffer = Integer.getInteger(PROPERTY_RECEIVE_BUFFER, 0);
+        ByteBufAllocator allocator = Boolean.parseBoolean(System.getProperty(PROPERTY_POOLED, "true"))
+                ? PooledByteBufAllocator.DEFAULT : UnpooledByteBufAllocator.DEFAULT;
+        bossGroup = transport.newEventLoopGroup(1);
+        workerGroup = transport.newEventLoopGroup(Integer.getInteger(PROPERTY_WORKERS, 0));
+        LOG.info("Using the {} transport", transport);
+
+        ServerBootstrap bootstrap = new ServerBootstrap();
+        bootstrap.group(bossGroup, workerGroup).channel(transport.getServerChannelClass())
+                .localAddress(new InetSocketAddress(port))
+                .option(ChannelOption.ALLOCATOR, allocator)
+                .childOption(ChannelOption.ALLOCATOR, allocator)
+                .childOption(ChannelOption.TCP_NODELAY, Boolean.parseBoolean(System.getProperty(PROPERTY_TCP_NO_DELAY, "true")))
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, OutboundQueueHandler.WATER_MARK)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
 
                 @Override
                 protected void initChannel(SocketChannel channel) {
-                    // Encoder and decoder are both needed! Send and
-                    // receive serializable objects
-                    channel.pipeline().addLast(new MyObjectEncoder());
-                    channel.pipeline().addLast(new MyObjectDecoder(ClassResolvers.cacheDisabled(null)));
+                    // Encoder and decoder are both needed! The negotiation handler
+                    // installs them as soon as the client has chosen a wire format
+                    channel.pipeline().addLast(ServerCodecNegotiationHandler.NAME,
+                            new ServerCodecNegotiationHandler(MessageTypeRegistry.getDefault()));
+                    // idle clients are pinged and dead ones are closed, unless they do not know the heartbeat
+                    HeartbeatHandler.addLast(channel.pipeline(), "net.rttMicros", true);
+                    // writes are flushed once per event loop tick instead of once per message
+                    channel.pipeline().addLast(FlushCoalescingHandler.NAME,
+                            new FlushCoalescingHandler(FlushCoalescingHandler.configuredMaxDelay()));
+                    // messages for a client that does not keep up are held back and conflated
+                    channel.pipeline().addLast(OutboundQueueHandler.NAME, OutboundQueueHandler.configured());
                     // must be last in the pipeline else they will not
                     // get encoded/decoded objects but ByteBuf
                     channel.pipeline().addLast(serverHandler);
                 }
 
             });
-            // Just wait for server shutdown
-            ChannelFuture future = bootstrap.bind().sync();
-            future.channel().closeFuture().sync();
-        } finally {
+        if (sendBuffer > 0) {
+            bootstrap.childOption(ChannelOption.SO_SNDBUF, sendBuffer);
+        }
+        if (receiveBuffer > 0) {
+            bootstrap.childOption(ChannelOption.SO_RCVBUF, receiveBuffer);
+        }
+        return bootstrap.bind().sync().channel();
+    }
+
+    /**
+     * Closes all connections and stops the threads of the server
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting for the threads to stop
+     */
+    public void shutdown() throws InterruptedException {
+        if (bossGroup != null) {
             bossGroup.shutdownGracefully().sync();
+        }
+        if (workerGroup != null) {
             workerGroup.shutdownGracefully().sync();
         }
     }
-
-
 }
@@ -0,0 +1,129 @@
+package de.uol.swp.server.communication.netty;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Locale;
+
+/**
+ * The transports the server can use for its connections
+ * <p>
+ * {@link #EPOLL} is the native Linux transport, which needs fewer system calls and produces less garbage than the
+ * portable {@link #NIO} transport. It is only available on Linux with the bundled native library.
+ *
+ * @see Server
+ */
+public enum Transport {
+    EPOLL {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new EpollEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getChannelClass() {
+            return EpollSocketChannel.class;
+        }
+    },
+    NIO {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new NioEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getChannelClass() {
+            return NioSocketChannel.class;
+        }
+    };
+
+    /**
+     * Name of the system property selecting the transport, {@code epoll}, {@code nio} or {@code auto}
+     */
+    public static final String PROPERTY = "swp.transport";
+
+    private static final Logger LOG = LogManager.getLogger(Transport.class);
+
+    /**
+     * Returns whether this transport can be used on this machine
+     *
+     * @return whether this transport is available
+     */
+    public abstract boolean isAvailable();
+
+    /**
+     * Creates a new event loop group of this transport
+     *
+     * @param threads the number of threads, 0 for the default of twice the number of cores
+     * @return the new event loop group
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int threads);
+
+    /**
+     * Returns the class of the channel accepting connections
+     *
+     * @return the server channel class of this transport
+     */
+    public abstract Class<? extends ServerSocketChannel> getServerChannelClass();
+
+    /**
+     * Returns the class of the channel of a connection
+     *
+     * @return the socket channel class of this transport
+     */
+    public abstract Class<? extends SocketChannel> getChannelClass();
+
+    /**
+     * Returns the transport configured with the {@value #PROPERTY} system property
+     * <p>
+     * If nothing is configured, or the configured transport is unknown or not available, {@link #EPOLL} is used
+     * when it is available and {@link #NIO} otherwise.
+     *
+     * @return the transport to use
+     */
+    public static Transport configured() {
+        String value = System.getProperty(PROPERTY, "auto").trim().toUpperCase(Locale.ROOT);
+        if (!"AUTO".equals(value)) {
+            try {
+                Transport transport = valueOf(value);
+                if (transport.isAvailable()) {
+                    return transport;
+                }
+                LOG.warn("The configured transport {} is not available, using the default", transport);
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring the unknown transport \"{}\" configured with {}", value, PROPERTY);
+            }
+        }
+        return EPOLL.isAvailable() ? EPOLL : NIO;
+    }
+}
@@ -0,0 +1,193 @@
+package de.uol.swp.server.concurrent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns the worker threads all game logic of the server runs on
+ * <p>
+ * Every game session and the lobby/user management get their own {@link Mailbox}. The Netty I/O threads
+ * only decode requests and hand them to the matching mailbox, so a slow game never blocks the network
+ * and two requests for the same game are never processed at the same time.
+ * <p>
+ * Delayed work like the thinking time of bots is {@link #schedule(Executor, Runnable, long, TimeUnit) scheduled}
+ * on a single timer thread that only hands the task over to its mailbox once it is due, so waiting never
+ * occupies a worker thread. Turn timeouts, which are restarted and cancelled far more often than they fire,
+ * use a {@link #newTimeout(Executor, Runnable, long, TimeUnit) hashed wheel} shared by all games instead,
+ * where cancelling is constant time and the thread count does not depend on the number of games.
+ *
+ * @see Mailbox
+ */
+@Singleton
+public class GameScheduler {
+
+    private static final Logger LOG = LogManager.getLogger(GameScheduler.class);
+
+    private final Executor workers;
+    private final ScheduledExecutorService delays;
+    private final HashedWheelTimer wheel;
+    private final AtomicLong totalPending;
+    private Mailbox serverMailbox;
+
+    /**
+     * Constructor
+     * <p>
+     * Creates one daemon worker thread per available processor.
+     */
+    @Inject
+    public GameScheduler() {
+        this(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new ThreadFactoryBuilder().setNameFormat("game-worker-%d").setDaemon(true).build()));
+    }
+
+    /**
+     * Constructor
+     * <p>
+     * Creates a daemon timer thread for the delayed tasks.
+     *
+     * @param workers the threads the mailboxes are drained on
+     */
+    public GameScheduler(Executor workers) {
+        this(workers, Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("game-scheduler-%d").setDaemon(true).build()));
+    }
+
+    /**
+     * Constructor
+     * <p>
+     * Uses the hashed wheel shared by all schedulers of this JVM for timeouts.
+     *
+     * @param workers the threads the mailboxes are drained on
+     * @param delays  the timer delayed tasks wait on until they are handed to their mailbox
+     */
+    public GameScheduler(Executor workers, ScheduledExecutorService delays) {
+        this(workers, delays, SharedWheel.INSTANCE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param workers the threads the mailboxes are drained on
+     * @param delays  the timer delayed tasks wait on until they are handed to their mailbox
+     * @param wheel   the wheel timeouts wait on until they are handed to their mailbox
+     */
+    public GameScheduler(Executor workers, ScheduledExecutorService delays, HashedWheelTimer wheel) {
+        this.workers = workers;
+        this.delays = delays;
+        this.wheel = wheel;
+        this.totalPending = new AtomicLong();
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        metrics.gauge("mailbox.pending", totalPending::get);
+        metrics.gauge("timer.pendingTimeouts", wheel::pendingTimeouts);
+    }
+
+    /**
+     * Constructor for schedulers that keep their own time
+     * <p>
+     * Subclasses using this constructor must override {@link #schedule(Executor, Runnable, long, TimeUnit)} and
+     * {@link #newTimeout(Executor, Runnable, long, TimeUnit)}. They do not register metrics, so they can run next to
+     * a server without replacing its gauges.
+     *
+     * @param workers      the threads the mailboxes are drained on
+     * @param totalPending the counter of the tasks pending in all mailboxes of this scheduler
+     * @see de.uol.swp.server.simulation.SimulatedScheduler
+     */
+    protected GameScheduler(Executor workers, AtomicLong totalPending) {
+        this.workers = workers;
+        this.delays = null;
+        this.wheel = null;
+        this.totalPending = totalPending;
+    }
+
+    /**
+     * Creates a new mailbox running on the workers of this scheduler
+     *
+     * @param name the name of the mailbox used in log messages
+     * @return the new mailbox
+     */
+    public Mailbox newMailbox(String name) {
+        LOG.debug("New mailbox {}", name);
+        return new Mailbox(name, workers, totalPending);
+    }
+
+    /**
+     * Returns the mailbox all requests that do not belong to a game session are processed in
+     * <p>
+     * The mailbox is created on the first call and shared by everyone asking for it, so work finished elsewhere
+     * can be handed back to it.
+     *
+     * @return the server mailbox of this scheduler
+     */
+    public synchronized Mailbox getServerMailbox() {
+        if (serverMailbox == null) {
+            serverMailbox = newMailbox("server");
+        }
+        return serverMailbox;
+    }
+
+    /**
+     * Runs a task in the given mailbox after a delay
+     *
+     * @param mailbox the mailbox to run the task in
+     * @param task    the task to run
+     * @param delay   the time to wait before the task is enqueued
+     * @param unit    the time unit of the delay
+     * @return the future that can be used to cancel the task before it is due
+     */
+    public ScheduledFuture<?> schedule(Executor mailbox, Runnable task, long delay, TimeUnit unit) {
+        return delays.schedule(() -> mailbox.execute(task), delay, unit);
+    }
+
+    /**
+     * Runs a task in the given mailbox after a timeout
+     * <p>
+     * The timeout is only as precise as the tick of the wheel (100 milliseconds), which is plenty for turn timers.
+     *
+     * @param mailbox the mailbox to run the task in
+     * @param task    the task to run
+     * @param delay   the time to wait before the task is enqueued
+     * @param unit    the time unit of the delay
+     * @return the timeout that can be used to cancel the task before it is due
+     */
+    public Timeout newTimeout(Executor mailbox, Runnable task, long delay, TimeUnit unit) {
+        return wheel.newTimeout(timeout -> mailbox.execute(task), delay, unit);
+    }
+
+    /**
+     * Returns the number of tasks that are pending in all mailboxes of this scheduler
+     *
+     * @return the number of pending tasks
+     */
+    public long getPending() {
+        return totalPending.get();
+    }
+
+    /**
+     * Stops the worker threads after the pending tasks have been run and drops all delayed tasks
+     */
+    public void shutdown() {
+        if (delays != null) {
+            delays.shutdownNow();
+        }
+        if (wheel != null && wheel != SharedWheel.INSTANCE) {
+            wheel.stop();
+        }
+        if (workers instanceof ExecutorService) {
+            ((ExecutorService) workers).shutdown();
+        }
+    }
+
+    private static final class SharedWheel {
+        private static final HashedWheelTimer INSTANCE = new HashedWheelTimer(
+                new ThreadFactoryBuilder().setNameFormat("game-timer-%d").setDaemon(true).build(), 100, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,147 @@
+package de.uol.swp.server.concurrent;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serial executor that runs its tasks one after another on a shared pool of worker threads
+ * <p>
+ * Tasks submitted to the same mailbox are executed in submission order and never concurrently, so the
+ * state they touch needs no further locking. Different mailboxes are drained in parallel. A mailbox
+ * occupies a worker only while it has pending tasks and gives the worker back after a batch of
+ * {@value #BATCH_SIZE} tasks, so a busy mailbox cannot starve the others.
+ *
+ * @see GameScheduler#newMailbox(String)
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class Mailbox implements Executor {
+
+    private static final Logger LOG = LogManager.getLogger(Mailbox.class);
+    private static final int BATCH_SIZE = 64;
+    private static final ThreadLocal<Mailbox> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final Executor workers;
+    private final AtomicLong totalPending;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    /**
+     * Constructor
+     *
+     * @param name         the name used in log messages
+     * @param workers      the threads the tasks are run on
+     * @param totalPending the counter of pending tasks shared by all mailboxes of a scheduler
+     */
+    Mailbox(String name, Executor workers, AtomicLong totalPending) {
+        this.name = name;
+        this.workers = workers;
+        this.totalPending = totalPending;
+    }
+
+    /**
+     * Enqueues a task
+     * <p>
+     * Tasks submitted after the mailbox has been closed are dropped.
+     *
+     * @param task the task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (closed) {
+            LOG.debug("Mailbox {} is closed, dropping {}", name, task);
+            return;
+        }
+        tasks.add(task);
+        pending.incrementAndGet();
+        totalPending.incrementAndGet();
+        schedule();
+    }
+
+    /**
+     * Stops accepting new tasks
+     * <p>
+     * Tasks that have already been enqueued are still run.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Returns the number of tasks that have been submitted but not yet run
+     *
+     * @return the number of pending tasks
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Returns whether the calling thread is running a task of this mailbox
+     *
+     * @return true if called from within a task of this mailbox
+     */
+    public boolean isCurrent() {
+        return CURRENT.get() == this;
+    }
+
+    /**
+     * Returns the name of the mailbox
+     *
+     * @return the name of the mailbox
+     */
+    public String getName() {
+        return name;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                workers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                LOG.error("Mailbox {} could not be scheduled: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        Runnable task;
+        int executed = 0;
+        Mailbox previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            while (executed < BATCH_SIZE && (task = tasks.poll()) != null) {
+                pending.decrementAndGet();
+                totalPending.decrementAndGet();
+                executed++;
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Task in mailbox {} failed", name, e);
+                }
+            }
+        } finally {
+            CURRENT.set(previous);
+        }
+        scheduled.set(false);
+        if (!tasks.isEmpty()) {
+            schedule();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Mailbox[" + name + ", pending=" + pending.get() + "]";
+    }
+}
@@ -0,0 +1,263 @@
+package de.uol.swp.server.database;
+
+import de.uol.swp.common.metrics.Counter;
+import de.uol.swp.common.metrics.Histogram;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of connections of a data source
+ * <p>
+ * At most {@code maxSize} connections are open at the same time. A caller waits up to the acquire timeout for a
+ * connection to be returned and gets a {@link SQLTransientConnectionException} afterwards. Closing a pooled connection
+ * returns it to the pool, so the usual try-with-resources blocks stay unchanged. The most recently returned connection
+ * is handed out first, so a burst of requests keeps reusing the same warm connections. A connection that has been idle
+ * longer than the validation interval is checked with {@link Connection#isValid(int)} before it is handed out, and is
+ * replaced if the database dropped it in the meantime.
+ * <p>
+ * The time spent acquiring a connection is recorded in microseconds in the histogram {@code db.acquireMicros}. Timeouts
+ * and failed health checks are counted in {@code db.acquireTimeouts} and {@code db.healthCheckFailures}, and the
+ * gauges {@code db.activeConnections} and {@code db.idleConnections} show the state of the pool.
+ *
+ * @see DataBaseConnection
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger LOG = LogManager.getLogger(ConnectionPool.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource dataSource;
+    private final long acquireTimeout;
+    private final long validationInterval;
+    private final Semaphore permits;
+    private final Deque<Idle> idle = new ArrayDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Histogram acquireTimes = MetricsRegistry.getDefault().histogram("db.acquireMicros");
+    private final Counter acquireTimeouts = MetricsRegistry.getDefault().counter("db.acquireTimeouts");
+    private final Counter healthCheckFailures = MetricsRegistry.getDefault().counter("db.healthCheckFailures");
+    private boolean closed;
+
+    /**
+     * Constructor
+     *
+     * @param dataSource         the data source opening the connections
+     * @param maxSize            the maximum number of open connections
+     * @param acquireTimeout     the milliseconds a caller waits for a free connection
+     * @param validationInterval the milliseconds a connection may be idle before it is validated
+     */
+    public ConnectionPool(DataSource dataSource, int maxSize, long acquireTimeout, long validationInterval) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The pool needs at least one connection");
+        }
+        this.dataSource = dataSource;
+        this.acquireTimeout = acquireTimeout;
+        this.validationInterval = validationInterval;
+        this.permits = new Semaphore(maxSize, true);
+        MetricsRegistry.getDefault().gauge("db.activeConnections", active::get);
+        MetricsRegistry.getDefault().gauge("db.idleConnections", this::getIdleCount);
+    }
+
+    /**
+     * Returns a connection of the pool, which is returned to the pool when it is closed
+     *
+     * @return a pooled connection
+     * @throws SQLTransientConnectionException if no connection became free within the acquire timeout
+     * @throws SQLException                    if a new connection could not be opened or the pool is closed
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS)) {
+                acquireTimeouts.increment();
+                throw new SQLTransientConnectionException("No database connection became free within " + acquireTimeout + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+        try {
+            Connection connection = takeIdle();
+            if (connection == null) {
+                connection = dataSource.getConnection();
+            }
+            active.incrementAndGet();
+            acquireTimes.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    new PooledConnection(connection));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the most recently returned connection which is still valid
+     *
+     * @return an idle connection, or {@code null} if a new one has to be opened
+     * @throws SQLException if the pool is closed
+     */
+    private Connection takeIdle() throws SQLException {
+        while (true) {
+            Idle candidate;
+            synchronized (idle) {
+                if (closed) {
+                    throw new SQLException("The connection pool is closed");
+                }
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                return null;
+            }
+            if (System.nanoTime() - candidate.since < TimeUnit.MILLISECONDS.toNanos(validationInterval)
+                    || isValid(candidate.connection)) {
+                return candidate.connection;
+            }
+            healthCheckFailures.increment();
+            LOG.warn("Discarding a database connection which failed its health check");
+            closeQuietly(candidate.connection);
+        }
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Puts a connection back into the pool, or closes it if it is broken or the pool is closed
+     *
+     * @param connection the connection to return
+     */
+    private void release(Connection connection) {
+        active.decrementAndGet();
+        boolean reuse;
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            reuse = !connection.isClosed();
+        } catch (SQLException e) {
+            reuse = false;
+        }
+        synchronized (idle) {
+            reuse &= !closed;
+            if (reuse) {
+                idle.addFirst(new Idle(connection, System.nanoTime()));
+            }
+        }
+        if (!reuse) {
+            closeQuietly(connection);
+        }
+        permits.release();
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOG.debug("Could not close a database connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of open connections waiting in the pool
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /**
+     * Returns the number of connections currently handed out
+     *
+     * @return the number of active connections
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Closes all idle connections, connections still in use are closed when they are returned
+     */
+    @Override
+    public void close() {
+        synchronized (idle) {
+            closed = true;
+            idle.forEach(i -> closeQuietly(i.connection));
+            idle.clear();
+        }
+    }
+
+    private static final class Idle {
+        final Connection connection;
+        final long since;
+
+        Idle(Connection connection, long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+
+    /**
+     * Passes all calls to the real connection except {@code close}, which returns it to the pool
+     */
+    private final class PooledConnection implements InvocationHandler {
+        private final Connection connection;
+        private boolean returned;
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(connection);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + connection;
+                default:
+                    if (returned) {
+                        throw new SQLException("The connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
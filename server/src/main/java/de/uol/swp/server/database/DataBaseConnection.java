@@ -3,18 +3,57 @@ package de.uol.swp.server.database;
 import com.google.inject.Singleton;
 import com.mysql.cj.jdbc.MysqlDataSource;
 import de.uol.swp.server.ServerApp;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 
 /**
- * A DataSource for a Mysql JDBC connection
+ * A pool of Mysql JDBC connections
+ * <p>
+ * The connections are kept open in a {@link ConnectionPool} and reused, so a query does not pay for a new TCP
+ * connection and login. The driver caches the prepared statements of every connection on the server side, so the
+ * queries of the user store are parsed only once per connection, and batches are rewritten into multi-row statements.
+ * The size of the pool, the acquire timeout and the idle time after which a connection is validated can be configured
+ * with the system properties {@value #PROPERTY_POOL_SIZE}, {@value #PROPERTY_ACQUIRE_TIMEOUT} and
+ * {@value #PROPERTY_VALIDATION_INTERVAL}.
  *
  * @see MysqlDataSource
+ * @see ConnectionPool
  */
 @Singleton
-public class DataBaseConnection {
-    private final MysqlDataSource dataSource;
+public class DataBaseConnection implements AutoCloseable {
+
+    /**
+     * Name of the system property configuring the maximum number of open connections, 10 by default
+     */
+    public static final String PROPERTY_POOL_SIZE = "swp.dbPoolSize";
+
+    /**
+     * Name of the system property configuring the milliseconds to wait for a free connection, 5000 by default
+     */
+    public static final String PROPERTY_ACQUIRE_TIMEOUT = "swp.dbAcquireTimeout";
+
+    /**
+     * Name of the system property configuring the milliseconds a connection may be idle before it is validated,
+     * 5000 by default
+     */
+    public static final String PROPERTY_VALIDATION_INTERVAL = "swp.dbValidationInterval";
+
+    private static final Logger LOG = LogManager.getLogger(DataBaseConnection.class);
+
+    private final ConnectionPool pool;
+
+    /**
+     * Constructor
+     * <p>
+     * Connects to the database url of the {@link ServerApp}
+     */
+    public DataBaseConnection() {
+        this(ServerApp.getDataBaseUrl());
+    }
 
     /**
      * Constructor
@@ -22,28 +61,62 @@ public class DataBaseConnection {
      * Sets the database password
      * Sets the database url
      * The variables that are required for the connection to the database are initialized in the constructor
+     *
+     * @param url the JDBC url of the database
      */
+    public DataBaseConnection(String url) {
+        this(createDataSource(url));
+    }
 
-    public DataBaseConnection() {
+    /**
+     * Constructor
+     *
+     * @param dataSource the data source opening the pooled connections
+     */
+    public DataBaseConnection(DataSource dataSource) {
+        pool = new ConnectionPool(dataSource, Integer.getInteger(PROPERTY_POOL_SIZE, 10),
+                Long.getLong(PROPERTY_ACQUIRE_TIMEOUT, 5000), Long.getLong(PROPERTY_VALIDATION_INTERVAL, 5000));
+    }
+
+    private static MysqlDataSource createDataSource(String url) {
         final String databaseuser = "root";
         final String databasepassword = "swp_20I";
-        final String url = ServerApp.getDataBaseUrl();
 
-        dataSource = new MysqlDataSource();
+        MysqlDataSource dataSource = new MysqlDataSource();
         dataSource.setUser(databaseuser);
         dataSource.setPassword(databasepassword);
         dataSource.setUrl(url);
         dataSource.setDatabaseName("catan");
+        try {
+            dataSource.setUseServerPrepStmts(true);
+            dataSource.setCachePrepStmts(true);
+            dataSource.setPrepStmtCacheSize(64);
+            dataSource.setPrepStmtCacheSqlLimit(1024);
+            dataSource.setTcpKeepAlive(true);
+            dataSource.setRewriteBatchedStatements(true);
+        } catch (SQLException e) {
+            LOG.warn("Could not enable the statement cache: {}", e.getMessage());
+        }
+        return dataSource;
     }
 
     /**
-     * Returns a new {@code Connection} to the sql database
+     * Returns a pooled {@code Connection} to the sql database
+     * <p>
+     * Closing the connection returns it to the pool.
      *
-     * @return a new {@code Connection} to the sql database
-     * @throws SQLException if a database access error occurs
+     * @return a pooled {@code Connection} to the sql database
+     * @throws SQLException if a database access error occurs or no connection became free in time
      */
     public Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+        return pool.getConnection();
     }
 
+    /**
+     * Closes all pooled connections
+     */
+    @Override
+    public void close() {
+        pool.close();
+    }
 }
@@ -4,6 +4,7 @@ import com.google.common.eventbus.EventBus;
 import com.google.inject.AbstractModule;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 import de.uol.swp.server.game.session.GameSessionFactory;
+import de.uol.swp.server.usermanagement.store.CachingUserStore;
 import de.uol.swp.server.usermanagement.store.DataBaseUserStore;
 import de.uol.swp.server.usermanagement.store.UserStore;
 
@@ -17,7 +18,7 @@ import de.uol.swp.server.usermanagement.store.UserStore;
 public class ServerModule extends AbstractModule {
 
     private final EventBus bus = new EventBus();
-    private final UserStore store = new DataBaseUserStore(false);
+    private final UserStore store = new CachingUserStore(new DataBaseUserStore(false));
 
     @Override
     protected void configure() {
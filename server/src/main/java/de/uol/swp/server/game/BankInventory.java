@@ -5,6 +5,7 @@ import de.uol.swp.common.game.board.DevCard;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * This class stores the cards of the Bank
@@ -14,8 +15,10 @@ public class BankInventory {
 
     /**
      * Constructs an inventory with a filled and shuffled development cards list
+     *
+     * @param random the random source of the game the development cards are shuffled with
      */
-    public BankInventory() {
+    public BankInventory(Random random) {
         for (int i = 0; i < 5; i++) {
             devCards.add(DevCard.VP);
         }
@@ -31,7 +34,7 @@ public class BankInventory {
         for (int i = 0; i < 2; i++) {
             devCards.add(DevCard.ROAD_BUILDING);
         }
-        Collections.shuffle(devCards);
+        Collections.shuffle(devCards, random);
     }
 
     /**
@@ -222,7 +222,7 @@ public class InventoryService extends AbstractService {
         var inventory = player.getInventory();
         List<ResourceType> removedResource;
         if (inventory.getNumOfResourceCards() >= amount) {
-            removedResource = inventory.removeRandomResources(amount);
+            removedResource = inventory.removeRandomResources(amount, player.getRandom());
             postResourcesToGameSession(player, inventory.getResources());
         } else {
             throw new OverDrawException(
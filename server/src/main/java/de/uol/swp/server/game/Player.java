@@ -25,7 +25,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class Player {
 
     private static final Logger LOG = LogManager.getLogger(Player.class);
-    private final Random rand = new Random();
+    private final Random random;
     private final GameSession gameSession;
     private final Board board;
     private final int playerId;
@@ -53,9 +53,12 @@ public class Player {
      * @param gameSession of the player
      * @param playerName  the name of the player
      * @param playerId    the id of the player
+     * @param bot         whether the player is a bot
+     * @param random      the random source of the game, used for the random moves made for the player
      */
-    public Player(GameSession gameSession, String playerName, int playerId, boolean bot) {
+    public Player(GameSession gameSession, String playerName, int playerId, boolean bot, Random random) {
         this.gameSession = gameSession;
+        this.random = random;
         this.board = gameSession.getBoard();
         this.playerName = playerName;
         this.playerId = playerId;
@@ -65,6 +68,15 @@ public class Player {
         initLegalMovesList();
     }
 
+    /**
+     * Returns the random source used for the random moves made for this player
+     *
+     * @return the random source of the player
+     */
+    public Random getRandom() {
+        return random;
+    }
+
     /**
      * Returns whether this player is a bot
      *
@@ -545,7 +557,7 @@ public class Player {
         if (legalSettlements.isEmpty()) {
             return null;
         }
-        return (Coord) legalSettlements.toArray()[rand.nextInt(legalSettlements.size())];
+        return (Coord) legalSettlements.toArray()[random.nextInt(legalSettlements.size())];
     }
 
     /**
@@ -557,7 +569,7 @@ public class Player {
         if (legalRoads.isEmpty()) {
             return null;
         }
-        return (Coord) legalRoads.toArray()[rand.nextInt(legalRoads.size())];
+        return (Coord) legalRoads.toArray()[random.nextInt(legalRoads.size())];
     }
 
     /**
@@ -569,7 +581,7 @@ public class Player {
         if (legalCities.isEmpty()) {
             return null;
         }
-        return (Coord) legalCities.toArray()[rand.nextInt(legalCities.size())];
+        return (Coord) legalCities.toArray()[random.nextInt(legalCities.size())];
     }
 
     /**
@@ -605,7 +617,7 @@ public class Player {
                 validNeighbors.add(neighbor);
             }
         }
-        return (Coord) validNeighbors.toArray()[rand.nextInt(validNeighbors.size())];
+        return (Coord) validNeighbors.toArray()[random.nextInt(validNeighbors.size())];
 
     }
 
@@ -643,7 +655,7 @@ public class Player {
      * @return a ResourceEnumMap filled with random resources from this players inventory
      */
     public ResourceEnumMap getRandomResources(int amount) {
-        List<ResourceType> resources = inventory.removeRandomResources(amount);
+        List<ResourceType> resources = inventory.removeRandomResources(amount, random);
         ResourceEnumMap returnResources = new ResourceEnumMap();
         for (ResourceType resource : resources) {
             inventory.increaseResource(resource, 1);
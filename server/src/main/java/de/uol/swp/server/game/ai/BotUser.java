@@ -23,11 +23,15 @@ import de.uol.swp.common.message.Message;
 import de.uol.swp.common.message.RequestMessage;
 import de.uol.swp.common.message.ResponseMessage;
 import de.uol.swp.common.message.ServerMessage;
+import de.uol.swp.common.metrics.Histogram;
+import de.uol.swp.common.metrics.MetricsRegistry;
 import de.uol.swp.common.user.Session;
 import de.uol.swp.server.communication.UUIDSession;
+import de.uol.swp.server.concurrent.GameScheduler;
 import de.uol.swp.server.game.Player;
 import de.uol.swp.server.game.board.Board;
-import de.uol.swp.server.game.board.BoardUtils;
+import de.uol.swp.server.game.board.BoardTopology;
+import de.uol.swp.server.game.board.ProductionTable;
 import de.uol.swp.server.game.mapobject.CornerPiece;
 import de.uol.swp.server.game.session.GameSession;
 import de.uol.swp.server.game.state.DiceState;
@@ -37,186 +41,274 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * This class represents the "client" of a bot. It should be started after its creation and be stopped with {@link #terminate()}
+ * This class represents the "client" of a bot. It should be stopped with {@link #terminate()}
  * <p>
- * The bot receives message via {@link #sendMessage(Message)} but only handles instances of {@link ResponseMessage} and {@link ServerMessage}
+ * The bot receives message via {@link #sendMessage(Message)} but only handles instances of {@link ResponseMessage} and {@link ServerMessage}.
+ * Bots do not own a thread: every message is handled in the mailbox of the game session, and the artificial
+ * thinking time between two actions is a {@link GameScheduler#schedule delayed} continuation instead of a sleeping
+ * thread, so a server can run any number of bots on its shared worker threads.
  */
 @SuppressWarnings("UnstableApiUsage")
-public class BotUser extends Thread {
+public class BotUser {
 
     private static final Logger LOG = LogManager.getLogger(BotUser.class);
-    private static final Random RANDOM = new Random();
+    private static final int MAX_PURCHASES_PER_TURN = 15;
+    private static final AtomicLong QUEUED_MESSAGES = new AtomicLong();
+    private static final Histogram DECISION_TIME = MetricsRegistry.getDefault().histogram("bot.decisionMicros");
+
+    static {
+        MetricsRegistry.getDefault().gauge("bot.queueDepth", QUEUED_MESSAGES::get);
+    }
 
     private final Player player;
     private final GameSession gameSession;
     private final EventBus eventBus;
+    private final GameScheduler scheduler;
     private final Session session;
-    private final BlockingQueue<Message> taskQueue = new LinkedBlockingQueue<>();
-    private boolean alive;
+    private final Random random;
+    private final Queue<Message> taskQueue = new ArrayDeque<>();
+    private final Deque<Step> steps = new ArrayDeque<>();
+    private List<Step> addedSteps;
+    private ScheduledFuture<?> pendingStep;
+    private boolean busy;
+    private volatile boolean alive;
     private boolean isCard = false;
 
     /**
-     * Constructs a new bot thread with a unique {@link Session}
+     * Constructs a new bot with a unique {@link Session}
      *
      * @param gameSession the game session this bot is created in
      * @param player      the player object that represents this bot
      * @param eventBus    the EvenBus used throughout the server
+     * @param scheduler   the scheduler the thinking time of the bot is waited on
+     * @param random      the random source of the game all decisions of the bot are made with
      */
-    public BotUser(GameSession gameSession, Player player, EventBus eventBus) {
+    public BotUser(GameSession gameSession, Player player, EventBus eventBus, GameScheduler scheduler, Random random) {
         this.gameSession = gameSession;
+        this.random = random;
         this.player = player;
         this.eventBus = eventBus;
+        this.scheduler = scheduler;
         this.session = UUIDSession.create(new UserDTO(player.getPlayerName(), "", ""));
         alive = true;
     }
 
-    @Override
-    public void run() {
+    /**
+     * Runs the steps of the bot until it has to wait or there is nothing left to do
+     * <p>
+     * Steps without a delay are run right away, a step with a delay is scheduled and continues this loop once
+     * it is due. When all steps of a message are done, the next message from the task queue is handled.
+     */
+    private void runSteps() {
+        busy = false;
         while (alive) {
-            Message message = null;
-            boolean endTurn = false;
-            try {
-                message = taskQueue.take();
-            } catch (InterruptedException exception) {
-                interrupt();
+            if (steps.isEmpty()) {
+                Message message = taskQueue.poll();
+                if (message == null) {
+                    return;
+                }
+                QUEUED_MESSAGES.decrementAndGet();
+                steps.add(new Step(0, () -> handle(message)));
             }
-            if (message instanceof SetupLocationMessage) {
-                waitSomeTime(1, TimeUnit.SECONDS);
-                if (gameSession.getCurrentState() == SetupState.INSTANCE) {
-                    SetupLocationMessage response = (SetupLocationMessage) message;
-                    Coord[] coords = response.getLegalNodes().toArray(Coord[]::new);//Works because same instance on server
-
-                    Coord result;
-                    if (response.getPieceType() == PieceType.SETTLEMENT) {
-                        List<Coord> possible = Arrays.stream(coords).filter(coord -> {
-                            List<Coord> hexagons = Arrays.asList(BoardUtils.getCornerHexagonsWithoutWater(gameSession.getBoard(), coord));
-                            return hexagons.size() == 3 && hexagons.stream().noneMatch(
-                                    hexCoord -> gameSession.getBoard().getRobber().getCoord().equals(hexCoord));
-                        }).collect(Collectors.toList());
-                        if (possible.isEmpty()) {
-                            result = coords[RANDOM.nextInt(coords.length)];
-                        } else {
-                            result = possible.get(RANDOM.nextInt(possible.size()));
-                        }
-                    } else {
-                        result = coords[RANDOM.nextInt(coords.length)];
-                    }
-                    post(new PlaceObjectRequest(gameSession.getGameSessionName(), response.getPieceType(), result));
+            Step step = steps.poll();
+            if (step.delayMillis > 0) {
+                busy = true;
+                pendingStep = scheduler.schedule(gameSession.getMailbox(), () -> {
+                    run(step);
+                    runSteps();
+                }, step.delayMillis, TimeUnit.MILLISECONDS);
+                return;
+            }
+            run(step);
+        }
+    }
+
+    private void run(Step step) {
+        if (!alive) {
+            return;
+        }
+        addedSteps = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            step.action.run();
+        } catch (RuntimeException e) {
+            LOG.error("{}: {} failed to act", gameSession.getGameSessionName(), player.getPlayerName(), e);
+        } finally {
+            DECISION_TIME.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+        for (int i = addedSteps.size() - 1; i >= 0; i--) {
+            steps.addFirst(addedSteps.get(i));
+        }
+        addedSteps = null;
+    }
+
+    /**
+     * Runs the given action after the given time, before any step that was planned earlier
+     *
+     * @param time     the time to wait
+     * @param timeUnit the time unit of the time parameter
+     * @param action   the action to run
+     */
+    private void later(long time, TimeUnit timeUnit, Runnable action) {
+        addedSteps.add(new Step(timeUnit.toMillis(time), action));
+    }
+
+    private void then(Runnable action) {
+        later(0, TimeUnit.MILLISECONDS, action);
+    }
+
+    private void handle(Message message) {
+        if (message instanceof SetupLocationMessage) {
+            later(1, TimeUnit.SECONDS, () -> placeSetupPiece((SetupLocationMessage) message));
+        } else if (message instanceof RoadBuildingCardResponse) {
+            for (int i = 1; i <= ((RoadBuildingCardResponse) message).getNumOfFreeRoads(); i++) {
+                later(2, TimeUnit.SECONDS,
+                        () -> post(new PlaceObjectRequest(gameSession.getGameSessionName(), PieceType.ROAD, player.getRandomLegalRoad())));
+            }
+            endTurn();
+        } else if (message instanceof DiscardNotificationMessage) {
+            int amount = ((DiscardNotificationMessage) message).getAmount();
+            later(1, TimeUnit.SECONDS,
+                    () -> post(new DiscardCardsRequest(gameSession.getGameSessionName(), player.getRandomResources(amount))));
+        } else if (message instanceof RobberPlacingMessage) {
+            later(2, TimeUnit.SECONDS, this::placeRobber);
+        } else if (message instanceof PlayerPickerMessage) {
+            later(1, TimeUnit.SECONDS, () -> pickPlayer((PlayerPickerMessage) message));
+        } else if (message instanceof StateMessage) {
+            if (gameSession.getWhoseTurn().getPlayerId() == player.getPlayerId()) {
+                if (gameSession.getCurrentState() == PlayState.INSTANCE) {
+                    tryToBuyAndPlace(0);
+                    then(this::playCardOrEndTurn);
+                } else if (gameSession.getCurrentState() == DiceState.INSTANCE) {
+                    later(2, TimeUnit.SECONDS, () -> post(new RollDiceRequest(gameSession.getGameSessionName())));
                 }
-            } else if (message instanceof RoadBuildingCardResponse) {
-                for (int i = 1; i <= ((RoadBuildingCardResponse) message).getNumOfFreeRoads(); i++) {
-                    waitSomeTime(2, TimeUnit.SECONDS);
-                    post(new PlaceObjectRequest(gameSession.getGameSessionName(), PieceType.ROAD, player.getRandomLegalRoad()));
+            }
+        } else if (message instanceof IsUsingCardAllowedResponse) {
+            later(3, TimeUnit.SECONDS, () -> {
+                if (useDevCard(((IsUsingCardAllowedResponse) message).getDevCard())) {
+                    endTurn();
                 }
-                endTurn = true;
-            } else if (message instanceof DiscardNotificationMessage) {
-                waitSomeTime(1, TimeUnit.SECONDS);
-                int amount = ((DiscardNotificationMessage) message).getAmount();
-                post(new DiscardCardsRequest(gameSession.getGameSessionName(), player.getRandomResources(amount)));
-            } else if (message instanceof RobberPlacingMessage) {
-                waitSomeTime(2, TimeUnit.SECONDS);
-                Map<Coord, Set<CornerPiece>> possibleHexagons = new HashMap<>();
-                Board board = gameSession.getBoard();
-                Set<Coord> hexagonCoords = board.getAllHexagonCoords();
-                for (Coord hexagonCoord : hexagonCoords) {
-                    Set<CornerPiece> pieces = BoardUtils.getCornerPiecesAdjacentToHex(board, hexagonCoord);
-                    if (pieces.stream().noneMatch(cornerPiece -> cornerPiece.getPlayer().equals(player))) {
-                        possibleHexagons.put(hexagonCoord, pieces);
+            });
+        } else if (message instanceof NewTradeOfferMessage) {
+            later(3, TimeUnit.SECONDS, () -> trade(message));
+        } else if (message instanceof TradeOfferInterestMessage) {
+            TradeOffer tradeOffer = ((TradeOfferInterestMessage) message).getTradeOffer();
+            //Nicht warten damit andere Spieler nicht Interesse zeigen können
+            post(new AcceptTradeOfferRequest(gameSession.getGameSessionName(), tradeOffer, tradeOffer.getReceivingPlayer()));
+            LOG.debug(gameSession.getGameSessionName() + ": " + player.getPlayerName() + " accepted the trade offer.");
+        }
+    }
+
+    private void endTurn() {
+        later(2, TimeUnit.SECONDS, () -> post(new TurnEndRequest(gameSession.getGameSessionName())));
+    }
+
+    private void placeSetupPiece(SetupLocationMessage response) {
+        if (gameSession.getCurrentState() == SetupState.INSTANCE) {
+            Coord[] coords = response.getLegalNodes().toArray(Coord[]::new);//Works because same instance on server
+
+            Coord result;
+            if (response.getPieceType() == PieceType.SETTLEMENT) {
+                BoardTopology topology = gameSession.getBoard().getTopology();
+                int robberHex = topology.hexId(gameSession.getBoard().getRobber().getCoord());
+                List<Coord> possible = new ArrayList<>();
+                for (Coord coord : coords) {
+                    int[] hexagons = topology.cornerHexes(topology.cornerId(coord));
+                    if (hexagons.length == 3 && hexagons[0] != robberHex && hexagons[1] != robberHex && hexagons[2] != robberHex) {
+                        possible.add(coord);
                     }
                 }
-                possibleHexagons.remove(board.getRobber().getCoord());
-                var map = possibleHexagons.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> calcValue(entry.getValue())));
-                var opt = map.entrySet().stream().max(Map.Entry.comparingByValue());
-                Coord robberPos;
-                if (opt.isPresent()) {
-                    robberPos = opt.get().getKey();
+                if (possible.isEmpty()) {
+                    result = coords[random.nextInt(coords.length)];
                 } else {
-                    robberPos = board.getFreeRobberPos();
-                }
-                post(new RobberPlacingRequest(gameSession.getGameSessionName(), robberPos));
-                if (isCard) {
-                    endTurn = true;
-                    isCard = false;
+                    result = possible.get(random.nextInt(possible.size()));
                 }
-            } else if (message instanceof PlayerPickerMessage) {
-                waitSomeTime(1, TimeUnit.SECONDS);
-                var list = ((PlayerPickerMessage) message).getPlayersGettingRobbed();
-                var playerToPick = list.stream().max(
-                        Comparator.comparingInt(playerDTO -> gameSession.getPlayer(playerDTO.getPlayerId()).getInventory().getNumOfResourceCards()));
-                playerToPick.ifPresent(playerDTO -> post(new PlayerPickerRequest(gameSession.getGameSessionName(), playerDTO)));
-            } else if (message instanceof StateMessage) {
-                if (gameSession.getWhoseTurn().getPlayerId() == player.getPlayerId()) {
-                    if (gameSession.getCurrentState() == PlayState.INSTANCE) {
-                        tryToBuyAndPlace();
-                        List<DevCard> devCards = new ArrayList<>();
-                        for (Map.Entry<DevCard, Integer> entry : player.getInventory().getPlayableCards().entrySet()) {
-                            if (entry.getValue() > 0) {
-                                devCards.add(entry.getKey());
-                            }
-                        }
-                        if (!devCards.isEmpty() && RANDOM.nextInt(10) > 6) {
-                            post(new IsUsingCardAllowedRequest(gameSession.getGameSessionName(), devCards.get(RANDOM.nextInt(devCards.size()))));
-                        } else {
-                            endTurn = true;
-                        }
-                    } else if (gameSession.getCurrentState() == DiceState.INSTANCE) {
-                        waitSomeTime(2, TimeUnit.SECONDS);
-                        post(new RollDiceRequest(gameSession.getGameSessionName()));
-                    }
-                }
-            } else if (message instanceof IsUsingCardAllowedResponse) {
-                waitSomeTime(3, TimeUnit.SECONDS);
-                endTurn = useDevCard(((IsUsingCardAllowedResponse) message).getDevCard());
-            } else if (message instanceof NewTradeOfferMessage) {
-                trade(message);
-            } else if (message instanceof TradeOfferInterestMessage) {
-                TradeOffer tradeOffer = ((TradeOfferInterestMessage) message).getTradeOffer();
-                //Nicht warten damit andere Spieler nicht Interesse zeigen können
-                post(new AcceptTradeOfferRequest(gameSession.getGameSessionName(), tradeOffer, tradeOffer.getReceivingPlayer()));
-                LOG.debug(gameSession.getGameSessionName() + ": " + player.getPlayerName() + " accepted the trade offer.");
-            }
-            if (endTurn) {
-                waitSomeTime(2, TimeUnit.SECONDS);
-                post(new TurnEndRequest(gameSession.getGameSessionName()));
+            } else {
+                result = coords[random.nextInt(coords.length)];
             }
+            post(new PlaceObjectRequest(gameSession.getGameSessionName(), response.getPieceType(), result));
         }
     }
 
-    private void tryToBuyAndPlace() {
-        int numberOfAttempts = 0;   //if something goes wrong, this int makes sure, the bot won't be in an endless loop
-        boolean canBuy = true;
-        while (canBuy && numberOfAttempts < 15) {
-            canBuy = false;
-            //Buy Priority
-            if (player.hasEnoughResources(PieceType.CITY) && player.getRandomLegalCity() != null) {
-                post(new PlaceObjectRequest(gameSession.getGameSessionName(), PieceType.CITY, player.getRandomLegalCity()));
-                canBuy = true;
-                waitSomeTime(1, TimeUnit.SECONDS);
-            }
-            if (player.hasEnoughResources(PieceType.SETTLEMENT) && player.getRandomLegalSettlement() != null) {
-                post(new PlaceObjectRequest(gameSession.getGameSessionName(), PieceType.SETTLEMENT,
-                        player.getRandomLegalSettlement()));
-                canBuy = true;
-                waitSomeTime(1, TimeUnit.SECONDS);
+    private void placeRobber() {
+        Board board = gameSession.getBoard();
+        BoardTopology topology = board.getTopology();
+        ProductionTable production = board.getProduction();
+        int robberHex = topology.hexId(board.getRobber().getCoord());
+        int bestHex = -1;
+        int bestValue = -1;
+        for (int hex = 0; hex < topology.hexCount(); hex++) {
+            int value = hex == robberHex ? -1 : calcValue(board, topology.hexCorners(hex));
+            if (value > 0) {
+                value *= ProductionTable.waysToRoll(production.getNumber(hex));
             }
-            if (player.hasResources(DevCard.getCost())) {
-                post(new BuyDevCardRequest(gameSession.getGameSessionName()));
-                canBuy = true;
-                waitSomeTime(1, TimeUnit.SECONDS);
+            if (value > bestValue) {
+                bestHex = hex;
+                bestValue = value;
             }
-            if (player.hasEnoughResources(PieceType.ROAD) && player.getRandomLegalRoad() != null) {
-                post(new PlaceObjectRequest(gameSession.getGameSessionName(), PieceType.ROAD, player.getRandomLegalRoad()));
-                canBuy = true;
-                waitSomeTime(1, TimeUnit.SECONDS);
+        }
+        Coord robberPos;
+        if (bestHex >= 0) {
+            robberPos = topology.hex(bestHex);
+        } else {
+            robberPos = board.getFreeRobberPos();
+        }
+        post(new RobberPlacingRequest(gameSession.getGameSessionName(), robberPos));
+        if (isCard) {
+            endTurn();
+            isCard = false;
+        }
+    }
+
+    private void pickPlayer(PlayerPickerMessage message) {
+        var list = message.getPlayersGettingRobbed();
+        var playerToPick = list.stream().max(
+                Comparator.comparingInt(playerDTO -> gameSession.getPlayer(playerDTO.getPlayerId()).getInventory().getNumOfResourceCards()));
+        playerToPick.ifPresent(playerDTO -> post(new PlayerPickerRequest(gameSession.getGameSessionName(), playerDTO)));
+    }
+
+    private void playCardOrEndTurn() {
+        List<DevCard> devCards = new ArrayList<>();
+        for (Map.Entry<DevCard, Integer> entry : player.getInventory().getPlayableCards().entrySet()) {
+            if (entry.getValue() > 0) {
+                devCards.add(entry.getKey());
             }
-            numberOfAttempts--;
+        }
+        if (!devCards.isEmpty() && random.nextInt(10) > 6) {
+            post(new IsUsingCardAllowedRequest(gameSession.getGameSessionName(), devCards.get(random.nextInt(devCards.size()))));
+        } else {
+            endTurn();
+        }
+    }
+
+    /**
+     * Buys the most valuable affordable object and tries again after a second
+     *
+     * @param purchases the number of objects bought in this turn so far, makes sure the bot won't be in an endless loop
+     */
+    private void tryToBuyAndPlace(int purchases) {
+        if (purchases >= MAX_PURCHASES_PER_TURN) {
+            return;
+        }
+        RequestMessage purchase = null;
+        //Buy Priority
+        if (player.hasEnoughResources(PieceType.CITY) && player.getRandomLegalCity() != null) {
+            purchase = new PlaceObjectRequest(gameSession.getGameSessionName(), PieceType.CITY, player.getRandomLegalCity());
+        } else if (player.hasEnoughResources(PieceType.SETTLEMENT) && player.getRandomLegalSettlement() != null) {
+            purchase = new PlaceObjectRequest(gameSession.getGameSessionName(), PieceType.SETTLEMENT, player.getRandomLegalSettlement());
+        } else if (player.hasResources(DevCard.getCost())) {
+            purchase = new BuyDevCardRequest(gameSession.getGameSessionName());
+        } else if (player.hasEnoughResources(PieceType.ROAD) && player.getRandomLegalRoad() != null) {
+            purchase = new PlaceObjectRequest(gameSession.getGameSessionName(), PieceType.ROAD, player.getRandomLegalRoad());
+        }
+        if (purchase != null) {
+            post(purchase);
+            later(1, TimeUnit.SECONDS, () -> tryToBuyAndPlace(purchases + 1));
         }
     }
 
@@ -235,7 +327,7 @@ public class BotUser extends Thread {
             }
             case MONOPOLY: {
                 ResourceEnumMap resources = new ResourceEnumMap();
-                resources.put(ResourceType.getRandom(), 1);
+                resources.put(ResourceType.getRandom(random), 1);
                 post(new UseCardRequest(gameSession.getGameSessionName(), DevCard.MONOPOLY, resources));
                 endTurn = true;
                 break;
@@ -246,8 +338,8 @@ public class BotUser extends Thread {
             }
             case YEAR_OF_PLENTY: {
                 ResourceEnumMap resources = new ResourceEnumMap();
-                resources.put(ResourceType.getRandom(), 1);
-                ResourceType resource = ResourceType.getRandom();
+                resources.put(ResourceType.getRandom(random), 1);
+                ResourceType resource = ResourceType.getRandom(random);
                 resources.put(resource, resources.getOrDefault(resource, 0) + 1);
                 post(new UseCardRequest(gameSession.getGameSessionName(), DevCard.YEAR_OF_PLENTY, resources));
                 endTurn = true;
@@ -259,29 +351,30 @@ public class BotUser extends Thread {
         return endTurn;
     }
 
-    private long calcValue(Set<CornerPiece> cornerPieces) {
-        return cornerPieces.stream().mapToInt(cornerPiece -> {
-            if (cornerPiece.getPieceType() == PieceType.SETTLEMENT) {
-                return 1;
+    /**
+     * Returns how many resources the other players get from a hexagon, or {@code -1} if this bot gets resources from it
+     */
+    private int calcValue(Board board, int[] corners) {
+        int value = 0;
+        for (int corner : corners) {
+            CornerPiece cornerPiece = board.getCornerPiece(corner);
+            if (cornerPiece == null) {
+                continue;
+            }
+            if (cornerPiece.getPlayerId() == player.getPlayerId()) {
+                return -1;
+            } else if (cornerPiece.getPieceType() == PieceType.SETTLEMENT) {
+                value += 1;
             } else if (cornerPiece.getPieceType() == PieceType.CITY) {
-                return 2;
+                value += 2;
             }
-            return 0;
-        }).sum();
-    }
-
-    private void waitSomeTime(long time, TimeUnit timeUnit) {
-        long millis = timeUnit.toMillis(time);
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException exception) {
-            interrupt();
         }
+        return value;
     }
 
     private void post(RequestMessage request) {
         request.setSession(session);
-        eventBus.post(request);
+        gameSession.execute(() -> eventBus.post(request));
     }
 
     /**
@@ -292,7 +385,6 @@ public class BotUser extends Thread {
      */
     private void trade(Message message) {
         TradeOffer tradeOffer = ((NewTradeOfferMessage) message).getTradeOffer();
-        waitSomeTime(3, TimeUnit.SECONDS);
         boolean wantToTrade = wantToTrade(tradeOffer);
         if (player.hasResources(tradeOffer.getWant()) && wantToTrade) {
             post(new InterestTradeOfferRequest(gameSession.getGameSessionName(), tradeOffer));
@@ -320,7 +412,7 @@ public class BotUser extends Thread {
         int max = 100;
         int min = 0;
         int chance = 60; // chance the bot wants to trade in percentage
-        int rand = ThreadLocalRandom.current().nextInt(min, max);
+        int rand = min + random.nextInt(max - min);
         return rand <= chance;
     }
 
@@ -330,11 +422,11 @@ public class BotUser extends Thread {
      * @return trade offer for a counter trade
      */
     private TradeOffer counterTrade(Player player, TradeOffer oldTradeOffer) {
-        int wantedAmount = RANDOM.nextInt(oldTradeOffer.getWant().sumOfResources()) + 1;
+        int wantedAmount = random.nextInt(oldTradeOffer.getWant().sumOfResources()) + 1;
 
         // trade want
         ResourceEnumMap want = new ResourceEnumMap();
-        want.put(ResourceType.getRandom(), wantedAmount);
+        want.put(ResourceType.getRandom(random), wantedAmount);
 
         // trade offer
         ResourceEnumMap offer = player.getRandomResources(wantedAmount);
@@ -347,6 +439,8 @@ public class BotUser extends Thread {
 
     /**
      * Adds the given {@code Message} to this bots task queue if it is named as a receiver
+     * <p>
+     * The message is handed to the mailbox of the game session, so this method may be called from any thread.
      *
      * @param message the {@code Message} that is sent to the bot
      */
@@ -354,25 +448,48 @@ public class BotUser extends Thread {
         if (message instanceof ResponseMessage) {
             message.getSession().ifPresent(msgSession -> {
                 if (msgSession.equals(session)) {
-                    taskQueue.add(message);
+                    enqueue(message);
                 }
             });
         } else if (message instanceof ServerMessage) {
             ServerMessage serverMessage = (ServerMessage) message;
             if (serverMessage.getReceiver().isEmpty() || serverMessage.getReceiver().contains(session)) {
-                taskQueue.add(message);
+                enqueue(message);
             }
         }
     }
 
+    private void enqueue(Message message) {
+        if (!alive) {
+            return;
+        }
+        gameSession.execute(() -> {
+            if (!alive) {
+                return;
+            }
+            QUEUED_MESSAGES.incrementAndGet();
+            taskQueue.add(message);
+            if (!busy) {
+                runSteps();
+            }
+        });
+    }
+
     /**
      * Terminates this bot
-     *
-     * @implNote it will only be terminated at the start of its next task cycle or if its currently waiting for a task
+     * <p>
+     * A step that is currently waiting is cancelled and all queued messages are dropped.
      */
     public void terminate() {
         alive = false;
-        interrupt();
+        gameSession.execute(() -> {
+            if (pendingStep != null) {
+                pendingStep.cancel(false);
+            }
+            steps.clear();
+            QUEUED_MESSAGES.addAndGet(-taskQueue.size());
+            taskQueue.clear();
+        });
     }
 
     /**
@@ -393,4 +510,17 @@ public class BotUser extends Thread {
     public Session getSession() {
         return session;
     }
+
+    /**
+     * An action of the bot and the thinking time before it
+     */
+    private static final class Step {
+        private final long delayMillis;
+        private final Runnable action;
+
+        private Step(long delayMillis, Runnable action) {
+            this.delayMillis = delayMillis;
+            this.action = action;
+        }
+    }
 }
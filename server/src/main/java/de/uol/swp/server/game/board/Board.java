@@ -24,22 +24,36 @@ import java.util.*;
 public class Board {
 
     private static final Logger LOG = LogManager.getLogger(Board.class);
-    private static final Random RANDOM = new Random();
-
-    private final int mapRadius;
 
     /**
-     * This map is used to quickly check if a given coordinate is at a port
+     * The owner of an empty corner or edge
      */
-    private final Map<Coord, Port> fastPortMap = new HashMap<>();
+    public static final int NO_PLAYER = -1;
+    private static final int NO_NODE = -1;
+
+    private final int mapRadius;
+    private final BoardTopology topology;
+    private final Random random;
+
     private final Map<PortCoord, Port> ports = new HashMap<>();
-    private final Map<Coord, CornerPiece> cornerMap = new HashMap<>();
-    private final Map<Coord, RoadPiece> edgeMap = new HashMap<>();
     private final Map<Coord, ResourceTile> resourceTileMap = new HashMap<>();
+    /*
+    The board state is indexed by the ids of the topology. The owner arrays contain the id of the player
+    who owns the piece or -1 if the node is empty, so the rule checks never have to touch the pieces.
+    */
+    private final CornerPiece[] cornerPieces;
+    private final RoadPiece[] roadPieces;
+    private final int[] cornerOwners;
+    private final int[] roadOwners;
+    private final Port[] cornerPorts;
+    private final ResourceTile[] hexTiles;
+    private final int[] hexNumbers;
     private final Robber robber = new Robber();
     private final Deque<ResourceTile> tiles = new ArrayDeque<>();
     private final Deque<Integer> numbers = new ArrayDeque<>();
-    private final Map<Player, Path> playerRoadMap = new HashMap<>();
+    private final Set<Player> roadBuilders = new HashSet<>();
+    private final LongestRoadTracker longestRoads;
+    private final ProductionTable production;
     private final Multimap<Integer, Coord> hexagonNumbers = HashMultimap.create();
     private Player playerWithLongestRoad;
 
@@ -47,40 +61,32 @@ public class Board {
      * Constructor
      *
      * @param mapRadius the radius of the board
+     * @param random    the random source of the game, used to lay out the tiles and to pick free positions
      */
-    public Board(int mapRadius) {
+    public Board(int mapRadius, Random random) {
         this.mapRadius = mapRadius;
-        initializeMapNodes();
+        this.random = random;
+        this.topology = BoardTopology.forRadius(mapRadius);
+        this.cornerPieces = new CornerPiece[topology.cornerCount()];
+        this.roadPieces = new RoadPiece[topology.edgeCount()];
+        this.cornerOwners = new int[topology.cornerCount()];
+        this.roadOwners = new int[topology.edgeCount()];
+        this.cornerPorts = new Port[topology.cornerCount()];
+        this.hexTiles = new ResourceTile[topology.hexCount()];
+        this.hexNumbers = new int[topology.hexCount()];
+        Arrays.fill(cornerOwners, NO_PLAYER);
+        Arrays.fill(roadOwners, NO_PLAYER);
+        this.longestRoads = new LongestRoadTracker(topology, roadOwners, cornerOwners);
         initializeTiles();
         initializeTileNumbers();
         initializePorts();
+        this.production = new ProductionTable(topology, hexNumbers, hexTiles, cornerPieces, topology.hexId(robber.getCoord()));
     }
 
     // -------------------------------------------------------------------------------
     // Initialization
     // -------------------------------------------------------------------------------
 
-    private void initializeMapNodes() {
-        for (int x = -mapRadius; x <= mapRadius; x++) {
-            int radius1 = Math.max(-mapRadius, -x - mapRadius);
-            int radius2 = Math.min(mapRadius, -x + mapRadius);
-            for (int y = radius1; y <= radius2; y++) {
-                resourceTileMap.put(new Coord(x, y), null);
-
-                Coord[] edges = Coord.getEdgesFromHex(new Coord(x, y));
-                for (Coord edgeCoord : edges) {
-                    edgeMap.put(edgeCoord, null);
-                }
-
-                Coord[] corners = Coord.getCornersFromHex(new Coord(x, y));
-                for (Coord cornerCoord : corners) {
-                    cornerMap.put(cornerCoord, null);
-                }
-            }
-        }
-    }
-
-
     /**
      * Erstellt eine Deque mit den verfügbaren Werten für die Felder in der richtigen Reihenfolge.
      * A = 5 ,B = 2 ,C = 6 ,D = 3 ,E = 8 ,F = 10 ,G = 9 ,H = 12 ,I = 11 ,J = 4 ,K = 8 ,L = 10,
@@ -141,7 +147,9 @@ public class Board {
 
     private void putDiceNumberOnHexagon(Coord coord) {
         if (!ResourceTile.isDesertTile(resourceTileMap.get(coord))) {
-            hexagonNumbers.put(numbers.pop(), coord);
+            int number = numbers.pop();
+            hexagonNumbers.put(number, coord);
+            hexNumbers[topology.hexId(coord)] = number;
         }
     }
 
@@ -161,7 +169,7 @@ public class Board {
         tilesTemp.add(ResourceTile.WOOL);
         tilesTemp.add(ResourceTile.LUMBER);
         tilesTemp.add(ResourceTile.DESERT);
-        Collections.shuffle(tilesTemp);
+        Collections.shuffle(tilesTemp, random);
         tiles.addAll(tilesTemp);
         addResources();
     }
@@ -171,11 +179,13 @@ public class Board {
      * The coordinate of the desert tile gets added to the bandit.
      */
     private void addResources() {
-        for (Coord hexCoord : resourceTileMap.keySet()) {
+        for (int hex = 0; hex < topology.hexCount(); hex++) {
+            Coord hexCoord = topology.hex(hex);
             if (ResourceTile.DESERT.equals(tiles.peek())) {
                 robber.setCoord(hexCoord);
             }
-            resourceTileMap.put(hexCoord, tiles.pop());
+            hexTiles[hex] = tiles.pop();
+            resourceTileMap.put(hexCoord, hexTiles[hex]);
         }
     }
 
@@ -239,9 +249,9 @@ public class Board {
         ports.put(new PortCoord(new Coord(3, 0), Coord.newEdge(3, 0, Direction.WEST)), Port.ANY);
         ports.put(new PortCoord(new Coord(3, -2), Coord.newEdge(3, -2, Direction.SOUTH)), Port.ANY);
         ports.forEach((portCoord, port) -> {
-            Coord[] corners = Coord.getCornersFromEdge(portCoord.getPortEdgeCoord());
-            fastPortMap.put(corners[0], port);
-            fastPortMap.put(corners[1], port);
+            for (int corner : topology.edgeCorners(topology.edgeId(portCoord.getPortEdgeCoord()))) {
+                cornerPorts[corner] = port;
+            }
         });
     }
 
@@ -250,7 +260,7 @@ public class Board {
     // -------------------------------------------------------------------------------
 
     /**
-     * Places a piece on the board by putting it in the corresponding hashmap
+     * Places a piece on the board by putting it in the corresponding array
      *
      * @param coord any {@code Coord} on the board
      * @param piece any {@code BuildablePiece}
@@ -264,45 +274,66 @@ public class Board {
 
         switch (piece.getPieceType()) {
             case ROAD:
-                if (edgeMap.get(coord) != null) {
+                int edge = requireOnMap(topology.edgeId(coord));
+                if (roadPieces[edge] != null) {
                     throw new IllegalArgumentException("Coord for Road must be empty");
                 }
-                edgeMap.put(coord, (RoadPiece) piece);
+                roadPieces[edge] = (RoadPiece) piece;
+                roadOwners[edge] = piece.getPlayerId();
+                roadBuilders.add(piece.getPlayer());
+                longestRoads.roadPlaced(edge);
                 break;
             case SETTLEMENT:
-                if (cornerMap.get(coord) != null) {
+                int corner = requireOnMap(topology.cornerId(coord));
+                if (cornerPieces[corner] != null) {
                     throw new IllegalArgumentException("Coord for settlement must be empty");
                 }
-                if (cornerIsAPort(coord)) {
-                    piece.getPlayer().addPort(getPortFromCoord(coord));
+                if (cornerPorts[corner] != null) {
+                    piece.getPlayer().addPort(cornerPorts[corner]);
                 }
-                cornerMap.put(coord, (SettlementPiece) piece);
+                cornerPieces[corner] = (SettlementPiece) piece;
+                cornerOwners[corner] = piece.getPlayerId();
+                longestRoads.settlementPlaced(corner);
+                production.cornerChanged(corner);
                 break;
             case CITY:
-                if (cornerMap.get(coord) == null) {
+                int cityCorner = requireOnMap(topology.cornerId(coord));
+                if (cornerPieces[cityCorner] == null) {
                     throw new IllegalArgumentException("Coord for City must not be empty");
                 }
-                if (cornerMap.get(coord).getPieceType() != PieceType.SETTLEMENT) {
+                if (cornerPieces[cityCorner].getPieceType() != PieceType.SETTLEMENT) {
                     throw new IllegalArgumentException("Coord for City must contain settlement");
                 }
-                cornerMap.put(coord, (CityPiece) piece);
+                cornerPieces[cityCorner] = (CityPiece) piece;
+                cornerOwners[cityCorner] = piece.getPlayerId();
+                production.cornerChanged(cityCorner);
                 break;
         }
     }
 
+    private static int requireOnMap(int id) {
+        if (id == NO_NODE) {
+            throw new IllegalArgumentException("Coord must be on the map");
+        }
+        return id;
+    }
+
     /**
      * Return whenever a given coordinate is empty in the board map.
-     * Empty coords are null
+     * Coords that are not on the map are never empty
      *
      * @param coord coordinate to test
      * @return true if the coordinate is empty
      */
     public boolean isEmptyCoord(Coord coord) {
+        int id;
         switch (coord.getNodeType()) {
             case CORNER:
-                return cornerMap.get(coord) == null;
+                id = topology.cornerId(coord);
+                return id != NO_NODE && cornerOwners[id] == NO_PLAYER;
             case EDGE:
-                return edgeMap.get(coord) == null;
+                id = topology.edgeId(coord);
+                return id != NO_NODE && roadOwners[id] == NO_PLAYER;
             case HEX:
             default:
                 LOG.error("Coord type wrong");
@@ -318,11 +349,8 @@ public class Board {
      * @return true when the player is the owner
      */
     public boolean hasPlayerSettlementOnCoord(Coord coord, Player player) {
-        CornerPiece cornerPiece = getCornerPiece(coord);
-        if (cornerPiece != null) {
-            return cornerPiece.getPlayerId() == player.getPlayerId();
-        }
-        return false;
+        int corner = cornerIdOf(coord);
+        return corner != NO_NODE && cornerOwners[corner] == player.getPlayerId();
     }
 
     /**
@@ -331,10 +359,23 @@ public class Board {
      * @return a random valid robber position
      */
     public Coord getFreeRobberPos() {
-        Coord[] coords = resourceTileMap.entrySet().stream()
-                .filter(entry -> !ResourceTile.isDesertTile(entry.getValue()) && !robber.getCoord().equals(entry.getKey()))
-                .map(Map.Entry::getKey).toArray(Coord[]::new);
-        return coords[RANDOM.nextInt(coords.length)];
+        int robberHex = topology.hexId(robber.getCoord());
+        int free = 0;
+        for (int hex = 0; hex < hexTiles.length; hex++) {
+            if (isFreeRobberPos(hex, robberHex)) {
+                free++;
+            }
+        }
+        int chosen = random.nextInt(free);
+        for (int hex = 0; ; hex++) {
+            if (isFreeRobberPos(hex, robberHex) && chosen-- == 0) {
+                return topology.hex(hex);
+            }
+        }
+    }
+
+    private boolean isFreeRobberPos(int hex, int robberHex) {
+        return hex != robberHex && !ResourceTile.isDesertTile(hexTiles[hex]);
     }
 
     /**
@@ -343,10 +384,22 @@ public class Board {
      * @return a random valid settlement position
      */
     public Coord getFreeSettlementPos() {
-        Coord[] coords = cornerMap.entrySet().stream()
-                .filter(entry -> entry.getValue() == null && !containsSettlementOnAdjacentCoords(entry.getKey()))
-                .map(Map.Entry::getKey).toArray(Coord[]::new);
-        return coords[RANDOM.nextInt(coords.length)];
+        int free = 0;
+        for (int corner = 0; corner < cornerOwners.length; corner++) {
+            if (isFreeSettlementPos(corner)) {
+                free++;
+            }
+        }
+        int chosen = random.nextInt(free);
+        for (int corner = 0; ; corner++) {
+            if (isFreeSettlementPos(corner) && chosen-- == 0) {
+                return topology.corner(corner);
+            }
+        }
+    }
+
+    private boolean isFreeSettlementPos(int corner) {
+        return cornerOwners[corner] == NO_PLAYER && !containsSettlementOnAdjacentCorners(corner);
     }
 
     /**
@@ -354,6 +407,7 @@ public class Board {
      */
     public void updateRobberPos(Coord newPosition) {
         robber.setCoord(newPosition);
+        production.robberMoved(topology.hexId(newPosition));
     }
 
     /**
@@ -364,10 +418,13 @@ public class Board {
      * @return true if this coord contains other settlements on adjacent coords.
      */
     public boolean containsSettlementOnAdjacentCoords(Coord coord) {
-        Coord[] neighbors = BoardUtils.getCornerNeighboursWithoutWater(this, coord);
+        int corner = topology.cornerId(coord);
+        return corner != NO_NODE && containsSettlementOnAdjacentCorners(corner);
+    }
 
-        for (Coord c : neighbors) {
-            if (getCornerPiece(c) != null) {
+    private boolean containsSettlementOnAdjacentCorners(int corner) {
+        for (int neighbour : topology.cornerNeighbours(corner)) {
+            if (cornerOwners[neighbour] != NO_PLAYER) {
                 return true;
             }
         }
@@ -383,7 +440,16 @@ public class Board {
      * @return true if the corner has a adjacent Road owned by player
      */
     public boolean containsPlayerRoadsAdjacentToCorner(Coord coord, Player player) {
-        return !BoardUtils.getConnectedPlayerRoadsFromCorner(this, coord, player).isEmpty();
+        int corner = topology.cornerId(coord.getX(), coord.getY(), coord.getDir());
+        if (corner == NO_NODE) {
+            return false;
+        }
+        for (int edge : topology.cornerEdges(corner)) {
+            if (roadOwners[edge] == player.getPlayerId()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -395,14 +461,17 @@ public class Board {
      * @return true if the Edge contains an adjacent Road owned by the player.
      */
     public boolean containsPlayerRoadAdjacentToEdge(Coord coord, Player player) {
-        Set<Coord> roads = BoardUtils.getConnectedPlayerRoadsFromEdge(this, coord, player.getPlayerId());
-        if (roads.isEmpty()) {
-            LOG.debug("Adjacent Edges Contain a PlayerRoad {}", false);
-            return false;
-        } else {
-            LOG.debug("Adjacent Edges Contain a PlayerRoad {}", true);
-            return true;
+        int edge = topology.edgeId(coord);
+        if (edge != NO_NODE) {
+            for (int neighbour : topology.edgeNeighbours(edge)) {
+                if (roadOwners[neighbour] == player.getPlayerId()) {
+                    LOG.debug("Adjacent Edges Contain a PlayerRoad {}", true);
+                    return true;
+                }
+            }
         }
+        LOG.debug("Adjacent Edges Contain a PlayerRoad {}", false);
+        return false;
     }
 
 
@@ -414,9 +483,12 @@ public class Board {
      * @return true if the given player owns a settlement or city at one of corners connected by the given edge
      */
     public boolean containsPlayerSettlementAdjacentToEdge(Coord coord, Player player) {
-        var playersFromEdge = BoardUtils.getPlayersFromEdge(this, coord);
-        for (Player edgePlayer : playersFromEdge) {
-            if (edgePlayer.equals(player)) {
+        int edge = topology.edgeId(coord);
+        if (edge == NO_NODE) {
+            return false;
+        }
+        for (int corner : topology.edgeCorners(edge)) {
+            if (cornerOwners[corner] == player.getPlayerId()) {
                 return true;
             }
         }
@@ -432,153 +504,68 @@ public class Board {
      * @return {@code true} if the given Edge has at least one non broken connection to a players road
      */
     public boolean hasNoRoadBreakOnAtLeastOneSide(Coord coord, Player player) {
-        Set<Coord> roads = BoardUtils.getConnectedPlayerRoadsFromEdge(this, coord, player.getPlayerId());
-        return roads.stream().anyMatch(road -> !cornerHasOtherPlayerSettlement(Coord.getCornerFromEdges(coord, road), player.getPlayerId()));
+        int edge = topology.edgeId(coord);
+        if (edge == NO_NODE) {
+            return false;
+        }
+        int playerId = player.getPlayerId();
+        for (int neighbour : topology.edgeNeighbours(edge)) {
+            if (roadOwners[neighbour] == playerId) {
+                int corner = topology.cornerBetween(edge, neighbour);
+                if (cornerOwners[corner] == NO_PLAYER || cornerOwners[corner] == playerId) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
-     * Calculates the longest road of a specific player on the entire board.
-     * Should be used after the players longest has been broken.
+     * Updates the player with the longest road after the longest road of a specific player has been broken
      * <p>
-     * The result will be put into {@link #playerRoadMap} a check is made
-     * if that players longest road is the longest road on the whole board.
+     * The roads of the player are already split by {@link #addPiece(Coord, BuildablePiece)}, so this only
+     * checks if that players longest road is still the longest road on the whole board.
      * The result will be put into {@link #playerWithLongestRoad}
      *
-     * @param player the player whose longest road is being searched
-     * @implNote Uses a depth first search algorithm. Calls {@link #findLongestRoadFromCoord(Coord, Player)} for each road end
+     * @param player the player whose longest road has been broken
      */
+    @SuppressWarnings("PMD.UnusedFormalParameter")
     public void findLongestRoadAfterBreak(Player player) {
-        playerRoadMap.remove(player);
-        Set<Coord> allPlayerRoads = new HashSet<>();
-        for (Map.Entry<Coord, RoadPiece> entry : edgeMap.entrySet()) {
-            if (entry.getValue() != null && entry.getValue().getPlayer().equals(player)) {
-                allPlayerRoads.add(entry.getKey());
-            }
-        }
-        Set<Set<Coord>> roadSets = new HashSet<>();
-        for (Coord roadCoord : allPlayerRoads) {
-            if (roadSets.stream().noneMatch(roadSet -> roadSet.contains(roadCoord))) {
-                roadSets.add(BoardUtils.getAllConnectedPlayerRoads(this, roadCoord, player.getPlayerId()));
-            }
-        }
-        for (Set<Coord> roadSet : roadSets) {
-            Optional<Coord> startCoord = roadSet.stream().findFirst();
-            startCoord.ifPresent(coord -> findLongestRoad(coord, player, roadSet));
-        }
         updateLongestRoad();
     }
 
-
     /**
-     * Calculates the longest road of a specific player around the given edge
+     * Updates the player with the longest road after a road has been placed on the given edge
      * <p>
-     * The result will be put into {@link #playerRoadMap} a check is made
-     * if that players longest road is the longest road on the whole board.
+     * The longest road of the player is already extended by {@link #addPiece(Coord, BuildablePiece)}, so this only
+     * checks if that players longest road is the longest road on the whole board.
      * The result will be put into {@link #playerWithLongestRoad}
-     * <p>
-     * The search will start from all possible road ends if the road is not circular.
      *
-     * @param startCoord the <b>Edge</b> coordinate from which the search is started if the road is circular
-     * @param player     the player whose longest road is being searched
-     * @implNote Uses a depth first search algorithm. Calls {@link #findLongestRoadFromCoord(Coord, Player)} for each road end
+     * @param startCoord the <b>Edge</b> coordinate of the new road
+     * @param player     the player who placed the road
      */
+    @SuppressWarnings("PMD.UnusedFormalParameter")
     public void findLongestRoadFromEdge(Coord startCoord, Player player) {
-        if (edgeMap.get(startCoord) == null) throw new IllegalArgumentException("coord must not be null");
-        int playerId = player.getPlayerId();
-        Set<Coord> allConnectedRoads = BoardUtils.getAllConnectedPlayerRoads(this, startCoord, playerId);
-        findLongestRoad(startCoord, player, allConnectedRoads);
+        if (getRoadPiece(startCoord) == null) throw new IllegalArgumentException("coord must not be null");
         updateLongestRoad();
     }
 
-    private void findLongestRoad(Coord startCoord, Player player, Set<Coord> allConnectedRoads) {
-        Set<Coord> allRoadEnds = new HashSet<>();
-        //Adds all obvious road ends(only 1 connected road) to a set
-        for (Coord coord : allConnectedRoads) {
-            if (BoardUtils.getConnectedPlayerRoadsWithoutBreak(this, coord, player.getPlayerId()).size() == 1) {
-                allRoadEnds.add(coord);
-            }
-        }
-        //If there were no obvious road ends then the road is either circular or only 1 long and so the initial coord is used
-        if (allRoadEnds.isEmpty()) {
-            allRoadEnds.add(startCoord);
-        }
-        for (Coord endCoord : allRoadEnds) {
-            findLongestRoadFromCoord(endCoord, player);
-        }
-    }
-
     /**
-     * Calculates the longest road of a specific player by using a depth first search algorithm
+     * Checks which player has the longest road on the whole board
      * <p>
-     * The result will be put into {@link #playerRoadMap} but no check is made
-     * if that players longest road is the longest road on the whole board.
-     *
-     * @param startCoord the coordinate from which the search is started
-     * @param player     the player whose longest road is being searched
+     * The player who has the longest road keeps it on a tie. The result will be put into {@link #playerWithLongestRoad}
      */
-    private void findLongestRoadFromCoord(Coord startCoord, Player player) {
-        int playerId = player.getPlayerId();
-        Deque<Path> stack = new ArrayDeque<>();
-        /*
-        If a path forks into multiple roads their neighbours are being stored in this map
-        to mark them as separate paths that shouldn't be followed.
-        */
-        Map<SplitInfo, Coord[]> splitPaths = new HashMap<>();
-        //The startCoord will be pushed onto a stack encapsulated in a NodeInfo object
-        stack.push(new Path(startCoord, null, 1, new LinkedHashSet<>()));
-        while (!stack.isEmpty()) {
-            Path curPath = stack.pop();
-            Coord curCoord = curPath.getCurCoord();
-            Coord lastCoord = curPath.getLastCoord();
-            int curPathLength = curPath.getPathLength();
-            //This set contains all the nodes that make up the current path
-            Set<Coord> visited = curPath.getVisited();
-
-            //Removes all nodes that have already been visited
-            Set<Coord> directlyConnectedRoads = BoardUtils.getConnectedPlayerRoadsFromEdge(this, curCoord, playerId);
-            directlyConnectedRoads.removeAll(visited);
-            //The SplitInfo for the fork from the last node to the current node
-            SplitInfo splitLookup = new SplitInfo(curCoord, lastCoord);
-            //Check if there were other outgoing paths from the last node
-            if (splitPaths.get(splitLookup) != null) {
-                //Removes all neighbour nodes that are part of the outgoing paths
-                directlyConnectedRoads.removeAll(Arrays.asList(splitPaths.get(splitLookup)));
-            }
-
-            visited.add(curCoord);
-            //If there are still neighbours left they will be pushed onto the stack
-            for (Coord neighbour : directlyConnectedRoads) {
-                //Check if this road path is being blocked by another players settlement
-                Coord cornerCoord = Coord.getCornerFromEdges(curCoord, neighbour);
-                if (cornerHasOtherPlayerSettlement(cornerCoord, playerId)) {
-                    continue;
-                }
-                //Check if there is a fork in the path
-                if (directlyConnectedRoads.size() >= 2) {
-                    splitPaths.put(new SplitInfo(neighbour, curCoord), directlyConnectedRoads.toArray(new Coord[0]));
-                }
-                stack.push(new Path(neighbour, curCoord, curPathLength + 1, new LinkedHashSet<>(visited)));
-            }
-            //Removes the SplitInfo to allow paths over the same nodes but started on different end nodes to function
-            splitPaths.remove(splitLookup);
-
-            //Check if this is the end of the current path & Update the length of the longest path
-            if (directlyConnectedRoads.isEmpty() && curPathLength > playerRoadMap.getOrDefault(player, new Path()).getPathLength()) {
-                playerRoadMap.put(player, curPath);
-            }
-        }
-    }
-
-    private void updateLongestRoad() {
+    public void updateLongestRoad() {
         int longestRoad = 5;
         List<Player> newLongestRoads = new ArrayList<>();
-        for (Map.Entry<Player, Path> entry : playerRoadMap.entrySet()) {
-            if (entry.getValue().getPathLength() > longestRoad) {
-                longestRoad = entry.getValue().getPathLength();
+        for (Player player : roadBuilders) {
+            int length = longestRoads.longestRoad(player.getPlayerId());
+            if (length > longestRoad) {
+                longestRoad = length;
                 newLongestRoads.clear();
-                newLongestRoads.add(entry.getKey());
-            } else if (longestRoad == entry.getValue().getPathLength()) {
-                newLongestRoads.add(entry.getKey());
+                newLongestRoads.add(player);
+            } else if (longestRoad == length) {
+                newLongestRoads.add(player);
             }
         }
         if (newLongestRoads.isEmpty()) { //No one with road > 4
@@ -612,7 +599,8 @@ public class Board {
      * @return the {@code CornerPiece} object that is at the given coordinate, or {@code null} if no corner piece has been placed there
      */
     public CornerPiece getCornerPiece(Coord cornerCoord) {
-        return cornerMap.get(cornerCoord);
+        int corner = cornerIdOf(cornerCoord);
+        return corner == NO_NODE ? null : cornerPieces[corner];
     }
 
     /**
@@ -622,7 +610,16 @@ public class Board {
      * @return the {@code RoadPiece} object that is at the given coordinate, or {@code null} if no road has been placed there
      */
     public RoadPiece getRoadPiece(Coord coord) {
-        return edgeMap.get(coord);
+        int edge = edgeIdOf(coord);
+        return edge == NO_NODE ? null : roadPieces[edge];
+    }
+
+    private int cornerIdOf(Coord coord) {
+        return coord == null || coord.getNodeType() != MapNode.CORNER ? NO_NODE : topology.cornerId(coord);
+    }
+
+    private int edgeIdOf(Coord coord) {
+        return coord == null || coord.getNodeType() != MapNode.EDGE ? NO_NODE : topology.edgeId(coord);
     }
 
     /**
@@ -633,7 +630,8 @@ public class Board {
      * @return {@code true} if there is a settlement from a different player on the corner, otherwise {@code false}
      */
     public boolean cornerHasOtherPlayerSettlement(Coord cornerCoord, int playerId) {
-        return cornerCoord != null && getCornerPiece(cornerCoord) != null && getCornerPiece(cornerCoord).getPlayerId() != playerId;
+        int corner = cornerIdOf(cornerCoord);
+        return corner != NO_NODE && cornerOwners[corner] != NO_PLAYER && cornerOwners[corner] != playerId;
     }
 
     /**
@@ -643,8 +641,7 @@ public class Board {
      * @return {@code true} if the given edge is on the map, otherwise {@code false}
      */
     public boolean edgeIsOnMap(Coord coord) {
-        if (!coord.getNodeType().equals(MapNode.EDGE)) throw new IllegalArgumentException();
-        return edgeMap.containsKey(coord);
+        return topology.edgeId(coord) != NO_NODE;
     }
 
     /**
@@ -654,8 +651,7 @@ public class Board {
      * @return {@code true} if the given corner is on the map, otherwise {@code false}
      */
     public boolean cornerIsOnMap(Coord coord) {
-        if (!coord.getNodeType().equals(MapNode.CORNER)) throw new IllegalArgumentException();
-        return cornerMap.containsKey(coord);
+        return topology.cornerId(coord) != NO_NODE;
     }
 
     /**
@@ -665,8 +661,7 @@ public class Board {
      * @return {@code true} if the given hexagon is on the map, otherwise {@code false}
      */
     public boolean hexagonIsOnMap(Coord coord) {
-        if (!coord.getNodeType().equals(MapNode.HEX)) throw new IllegalArgumentException();
-        return resourceTileMap.containsKey(coord);
+        return topology.hexId(coord) != NO_NODE;
     }
 
     /**
@@ -676,10 +671,17 @@ public class Board {
      */
     public Map<Coord, PieceDTO> getAllPlacedPieces() {
         Map<Coord, PieceDTO> placed = new HashMap<>();
-        cornerMap.entrySet().stream().filter(ent -> ent.getValue() != null).forEach(
-                ent -> placed.put(ent.getKey(), new PieceDTO(ent.getValue().getPieceType(), ent.getValue().getPlayer().createDTO())));
-        edgeMap.entrySet().stream().filter(ent -> ent.getValue() != null).forEach(
-                ent -> placed.put(ent.getKey(), new PieceDTO(ent.getValue().getPieceType(), ent.getValue().getPlayer().createDTO())));
+        for (int corner = 0; corner < cornerPieces.length; corner++) {
+            if (cornerPieces[corner] != null) {
+                placed.put(topology.corner(corner), new PieceDTO(cornerPieces[corner].getPieceType(),
+                        cornerPieces[corner].getPlayer().createDTO()));
+            }
+        }
+        for (int edge = 0; edge < roadPieces.length; edge++) {
+            if (roadPieces[edge] != null) {
+                placed.put(topology.edge(edge), new PieceDTO(roadPieces[edge].getPieceType(), roadPieces[edge].getPlayer().createDTO()));
+            }
+        }
         return placed;
     }
 
@@ -691,7 +693,7 @@ public class Board {
      */
     public Port getPortFromCoord(Coord coord) {
         if (!cornerIsAPort(coord)) throw new IllegalArgumentException();
-        return fastPortMap.get(coord);
+        return cornerPorts[topology.cornerId(coord)];
     }
 
     /**
@@ -701,8 +703,8 @@ public class Board {
      * @return {@code true} if a port is at the given coordinate, otherwise {@code false}
      */
     public boolean cornerIsAPort(Coord coord) {
-        if (!coord.getNodeType().equals(MapNode.CORNER)) throw new IllegalArgumentException();
-        return fastPortMap.containsKey(coord);
+        int corner = topology.cornerId(coord);
+        return corner != NO_NODE && cornerPorts[corner] != null;
     }
 
     /**
@@ -712,7 +714,16 @@ public class Board {
      * @return the longest road of a player
      */
     public Path getLongestPlayerRoad(Player player) {
-        return playerRoadMap.getOrDefault(player, new Path());
+        int[] edges = longestRoads.longestTrail(player.getPlayerId());
+        if (edges.length == 0) {
+            return new Path();
+        }
+        Set<Coord> visited = new LinkedHashSet<>();
+        for (int edge : edges) {
+            visited.add(topology.edge(edge));
+        }
+        Coord lastCoord = edges.length > 1 ? topology.edge(edges[edges.length - 2]) : null;
+        return new Path(topology.edge(edges[edges.length - 1]), lastCoord, edges.length, visited);
     }
 
     /**
@@ -721,7 +732,11 @@ public class Board {
      * @return a copy of the Set filled with all corner coords on this board
      */
     public Set<Coord> getAllCornerCoords() {
-        return new HashSet<>(cornerMap.keySet());
+        Set<Coord> corners = new HashSet<>();
+        for (int corner = 0; corner < topology.cornerCount(); corner++) {
+            corners.add(topology.corner(corner));
+        }
+        return corners;
     }
 
     /**
@@ -733,43 +748,70 @@ public class Board {
         return new HashSet<>(resourceTileMap.keySet());
     }
 
+    /**
+     * Returns the layout of this board that maps every node to its id
+     *
+     * @return the layout of this board
+     */
+    public BoardTopology getTopology() {
+        return topology;
+    }
 
-// -------------------------------------------------------------------------------
-// Helper Classes
-// -------------------------------------------------------------------------------
+    /**
+     * Returns which player gets which resources for every dice result, kept up to date by
+     * {@link #addPiece(Coord, BuildablePiece)} and {@link #updateRobberPos(Coord)}
+     *
+     * @return the production table of this board
+     */
+    public ProductionTable getProduction() {
+        return production;
+    }
 
     /**
-     * If a path forks into multiple roads this class can be used to store that fork
+     * Returns the id of the player who owns the settlement or city on the given corner
+     *
+     * @param cornerId the id of the corner
+     * @return the id of the owner, or {@link #NO_PLAYER} if the corner is empty
      */
-    private static class SplitInfo {
-        private final Coord nextCoord;
-        private final Coord curCoord;
+    public int getCornerOwner(int cornerId) {
+        return cornerOwners[cornerId];
+    }
 
-        /**
-         * Constructor
-         *
-         * @param nextCoord one of the coordinates that the path splits into
-         * @param curCoord  the coordinate at which the fork is
-         */
-        public SplitInfo(Coord nextCoord, Coord curCoord) {
-            this.nextCoord = nextCoord;
-            this.curCoord = curCoord;
-        }
+    /**
+     * Returns the id of the player who owns the road on the given edge
+     *
+     * @param edgeId the id of the edge
+     * @return the id of the owner, or {@link #NO_PLAYER} if the edge is empty
+     */
+    public int getRoadOwner(int edgeId) {
+        return roadOwners[edgeId];
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(nextCoord, curCoord);
-        }
+    /**
+     * Gets the {@code CornerPiece} object that is at the given corner
+     *
+     * @param cornerId the id of the corner
+     * @return the {@code CornerPiece} object that is at the given corner, or {@code null} if no corner piece has been placed there
+     */
+    public CornerPiece getCornerPiece(int cornerId) {
+        return cornerPieces[cornerId];
+    }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (obj == null || getClass() != obj.getClass()) return false;
-            SplitInfo splitInfo = (SplitInfo) obj;
-            return Objects.equals(nextCoord, splitInfo.nextCoord) && Objects.equals(curCoord, splitInfo.curCoord);
-        }
+    /**
+     * Gets the resource of the given hexagon
+     *
+     * @param hexId the id of the hexagon
+     * @return the resource of the hexagon
+     */
+    public ResourceTile getResourceTile(int hexId) {
+        return hexTiles[hexId];
     }
 
+
+// -------------------------------------------------------------------------------
+// Helper Classes
+// -------------------------------------------------------------------------------
+
     /**
      * An immutable class used to store a path. Contains the current node and all previously visited nodes.
      * Also contains the current path length and the last visited node to reduce access time for common operations.
@@ -0,0 +1,355 @@
+package de.uol.swp.server.game.board;
+
+import de.uol.swp.common.game.board.Coord;
+import de.uol.swp.common.game.board.Direction;
+import de.uol.swp.common.game.dto.MapNode;
+import de.uol.swp.server.game.mapnode.NodeOffsetHelper;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The immutable layout of a board with a given radius
+ * <p>
+ * Every hexagon, corner and edge on the map gets a dense id starting at {@code 0}, and the neighbours of every node
+ * are precomputed as arrays of ids, so the rule checks of the {@link Board} only index into arrays instead of
+ * creating neighbour coordinates and looking them up in hash maps. The ids of a node are found by indexing a
+ * lookup table with the coordinate, which does not allocate or hash either.
+ * <p>
+ * The layout only depends on the radius, so it is built once per radius and shared by all boards.
+ *
+ * @see Board
+ */
+@SuppressWarnings({"PMD.AvoidInstantiatingObjectsInLoops", "PMD.MethodReturnsInternalArray"})
+public final class BoardTopology {
+
+    private static final Map<Integer, BoardTopology> TOPOLOGIES = new ConcurrentHashMap<>();
+    private static final int DIRECTIONS = Direction.values().length;
+
+    private final int mapRadius;
+    private final int gridRadius;
+    private final int gridWidth;
+    private final Coord[] hexes;
+    private final Coord[] corners;
+    private final Coord[] edges;
+    private final int[] hexIds;
+    private final int[] cornerIds;
+    private final int[] edgeIds;
+    private final int[][] hexNeighbours;
+    private final int[][] hexCorners;
+    private final int[][] cornerNeighbours;
+    private final int[][] cornerHexes;
+    private final int[][] cornerEdges;
+    private final int[][] edgeNeighbours;
+    private final int[][] edgeCorners;
+
+    private BoardTopology(int mapRadius) {
+        this.mapRadius = mapRadius;
+        this.gridRadius = mapRadius + 1;
+        this.gridWidth = 2 * gridRadius + 1;
+        int cells = gridWidth * gridWidth * DIRECTIONS;
+        hexIds = filled(cells);
+        cornerIds = filled(cells);
+        edgeIds = filled(cells);
+
+        List<Coord> hexList = new ArrayList<>();
+        Set<Coord> cornerSet = new LinkedHashSet<>();
+        Set<Coord> edgeSet = new LinkedHashSet<>();
+        for (int x = -mapRadius; x <= mapRadius; x++) {
+            int radius1 = Math.max(-mapRadius, -x - mapRadius);
+            int radius2 = Math.min(mapRadius, -x + mapRadius);
+            for (int y = radius1; y <= radius2; y++) {
+                Coord hex = new Coord(x, y);
+                hexList.add(hex);
+                cornerSet.addAll(Arrays.asList(Coord.getCornersFromHex(hex)));
+                edgeSet.addAll(Arrays.asList(Coord.getEdgesFromHex(hex)));
+            }
+        }
+        hexes = hexList.toArray(new Coord[0]);
+        corners = cornerSet.toArray(new Coord[0]);
+        edges = edgeSet.toArray(new Coord[0]);
+        for (int id = 0; id < hexes.length; id++) {
+            hexIds[index(hexes[id])] = id;
+        }
+        for (int id = 0; id < corners.length; id++) {
+            cornerIds[index(corners[id])] = id;
+        }
+        for (int id = 0; id < edges.length; id++) {
+            edgeIds[index(edges[id])] = id;
+        }
+
+        hexNeighbours = new int[hexes.length][];
+        hexCorners = new int[hexes.length][];
+        for (int id = 0; id < hexes.length; id++) {
+            hexNeighbours[id] = ids(hexIds, hexes[id], NodeOffsetHelper.getHexagonNeighbourOffset());
+            hexCorners[id] = ids(cornerIds, Coord.getCornersFromHex(hexes[id]));
+        }
+        cornerNeighbours = new int[corners.length][];
+        cornerHexes = new int[corners.length][];
+        cornerEdges = new int[corners.length][];
+        for (int id = 0; id < corners.length; id++) {
+            Coord corner = corners[id];
+            cornerNeighbours[id] = ids(cornerIds, corner, NodeOffsetHelper.getCornerNeighbourOffset(corner.getDir()));
+            cornerHexes[id] = ids(hexIds, new Coord(corner.getX(), corner.getY()),
+                    NodeOffsetHelper.getHexagonOffsetFromCornerDirection(corner.getDir()));
+            Coord[] offsets = NodeOffsetHelper.getEdgeOffsetFromCornerDirection(corner.getDir());
+            Coord[] edgeCoords = new Coord[offsets.length];
+            for (int i = 0; i < offsets.length; i++) {
+                edgeCoords[i] = Coord.newEdge(corner.getX() + offsets[i].getX(), corner.getY() + offsets[i].getY(), offsets[i].getDir());
+            }
+            cornerEdges[id] = ids(edgeIds, edgeCoords);
+        }
+        edgeNeighbours = new int[edges.length][];
+        edgeCorners = new int[edges.length][];
+        for (int id = 0; id < edges.length; id++) {
+            edgeNeighbours[id] = ids(edgeIds, edges[id], NodeOffsetHelper.getEdgeNeighbourOffset(edges[id].getDir()));
+            edgeCorners[id] = ids(cornerIds, Coord.getCornersFromEdge(edges[id]));
+        }
+    }
+
+    /**
+     * Returns the layout of a board with the given radius
+     *
+     * @param mapRadius the radius of the board
+     * @return the shared layout of a board with the given radius
+     */
+    public static BoardTopology forRadius(int mapRadius) {
+        return TOPOLOGIES.computeIfAbsent(mapRadius, BoardTopology::new);
+    }
+
+    private static int[] filled(int size) {
+        int[] array = new int[size];
+        Arrays.fill(array, -1);
+        return array;
+    }
+
+    private int[] ids(int[] lookup, Coord origin, Coord[] offsets) {
+        Coord[] coords = new Coord[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            coords[i] = Coord.add(origin, offsets[i]);
+        }
+        return ids(lookup, coords);
+    }
+
+    private int[] ids(int[] lookup, Coord[] coords) {
+        return Arrays.stream(coords).mapToInt(coord -> lookup(lookup, coord)).filter(id -> id >= 0).toArray();
+    }
+
+    private int index(Coord coord) {
+        return index(coord.getX(), coord.getY(), coord.getDir() == null ? 0 : coord.getDir().ordinal());
+    }
+
+    private int index(int x, int y, int dir) {
+        int column = x + gridRadius;
+        int row = y + gridRadius;
+        if (column < 0 || row < 0 || column >= gridWidth || row >= gridWidth) {
+            return -1;
+        }
+        return (column * gridWidth + row) * DIRECTIONS + dir;
+    }
+
+    private int lookup(int[] lookup, Coord coord) {
+        int index = index(coord);
+        return index < 0 ? -1 : lookup[index];
+    }
+
+    /**
+     * Returns the radius of the board
+     *
+     * @return the radius of the board
+     */
+    public int getMapRadius() {
+        return mapRadius;
+    }
+
+    /**
+     * Returns the id of a hexagon
+     *
+     * @param coord any <b>Hexagon</b> {@code Coord}
+     * @return the id of the hexagon, or {@code -1} if it is not on the map
+     */
+    public int hexId(Coord coord) {
+        if (coord.getNodeType() != MapNode.HEX) throw new IllegalArgumentException();
+        return lookup(hexIds, coord);
+    }
+
+    /**
+     * Returns the id of a corner
+     *
+     * @param coord any <b>Corner</b> {@code Coord}
+     * @return the id of the corner, or {@code -1} if it is not on the map
+     */
+    public int cornerId(Coord coord) {
+        if (coord.getNodeType() != MapNode.CORNER) throw new IllegalArgumentException();
+        return lookup(cornerIds, coord);
+    }
+
+    /**
+     * Returns the id of the corner with the given position
+     *
+     * @param x   the horizontal coordinate of the parent hexagon
+     * @param y   the diagonal coordinate of the parent hexagon
+     * @param dir the direction of the corner relative to the parent hexagon
+     * @return the id of the corner, or {@code -1} if it is not on the map
+     */
+    public int cornerId(int x, int y, Direction dir) {
+        int index = dir == null ? -1 : index(x, y, dir.ordinal());
+        return index < 0 ? -1 : cornerIds[index];
+    }
+
+    /**
+     * Returns the id of an edge
+     *
+     * @param coord any <b>Edge</b> {@code Coord}
+     * @return the id of the edge, or {@code -1} if it is not on the map
+     */
+    public int edgeId(Coord coord) {
+        if (coord.getNodeType() != MapNode.EDGE) throw new IllegalArgumentException();
+        return lookup(edgeIds, coord);
+    }
+
+    /**
+     * Returns the number of hexagons on the map
+     *
+     * @return the number of hexagons on the map
+     */
+    public int hexCount() {
+        return hexes.length;
+    }
+
+    /**
+     * Returns the number of corners on the map
+     *
+     * @return the number of corners on the map
+     */
+    public int cornerCount() {
+        return corners.length;
+    }
+
+    /**
+     * Returns the number of edges on the map
+     *
+     * @return the number of edges on the map
+     */
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Returns the coordinate of a hexagon
+     *
+     * @param hexId the id of the hexagon
+     * @return the coordinate of the hexagon
+     */
+    public Coord hex(int hexId) {
+        return hexes[hexId];
+    }
+
+    /**
+     * Returns the coordinate of a corner
+     *
+     * @param cornerId the id of the corner
+     * @return the coordinate of the corner
+     */
+    public Coord corner(int cornerId) {
+        return corners[cornerId];
+    }
+
+    /**
+     * Returns the coordinate of an edge
+     *
+     * @param edgeId the id of the edge
+     * @return the coordinate of the edge
+     */
+    public Coord edge(int edgeId) {
+        return edges[edgeId];
+    }
+
+    /**
+     * Returns the ids of the hexagons next to a hexagon that are not in water
+     *
+     * @param hexId the id of the hexagon
+     * @return the ids of the neighbouring hexagons, must not be modified
+     */
+    public int[] hexNeighbours(int hexId) {
+        return hexNeighbours[hexId];
+    }
+
+    /**
+     * Returns the ids of the six corners of a hexagon
+     *
+     * @param hexId the id of the hexagon
+     * @return the ids of the corners, must not be modified
+     */
+    public int[] hexCorners(int hexId) {
+        return hexCorners[hexId];
+    }
+
+    /**
+     * Returns the ids of the corners next to a corner that are not in water
+     *
+     * @param cornerId the id of the corner
+     * @return the ids of the neighbouring corners, must not be modified
+     */
+    public int[] cornerNeighbours(int cornerId) {
+        return cornerNeighbours[cornerId];
+    }
+
+    /**
+     * Returns the ids of the hexagons a corner touches that are not in water
+     *
+     * @param cornerId the id of the corner
+     * @return the ids of the hexagons, must not be modified
+     */
+    public int[] cornerHexes(int cornerId) {
+        return cornerHexes[cornerId];
+    }
+
+    /**
+     * Returns the ids of the edges connected to a corner that are not in water
+     *
+     * @param cornerId the id of the corner
+     * @return the ids of the edges, must not be modified
+     */
+    public int[] cornerEdges(int cornerId) {
+        return cornerEdges[cornerId];
+    }
+
+    /**
+     * Returns the ids of the edges next to an edge that are not in water
+     *
+     * @param edgeId the id of the edge
+     * @return the ids of the neighbouring edges, must not be modified
+     */
+    public int[] edgeNeighbours(int edgeId) {
+        return edgeNeighbours[edgeId];
+    }
+
+    /**
+     * Returns the ids of the two corners of an edge
+     *
+     * @param edgeId the id of the edge
+     * @return the ids of the corners, must not be modified
+     */
+    public int[] edgeCorners(int edgeId) {
+        return edgeCorners[edgeId];
+    }
+
+    /**
+     * Returns the id of the corner two edges share
+     *
+     * @param firstEdgeId  the id of the first edge
+     * @param secondEdgeId the id of the second edge
+     * @return the id of the shared corner, or {@code -1} if the edges are not connected
+     */
+    public int cornerBetween(int firstEdgeId, int secondEdgeId) {
+        int[] first = edgeCorners[firstEdgeId];
+        int[] second = edgeCorners[secondEdgeId];
+        for (int corner : first) {
+            if (corner == second[0] || corner == second[1]) {
+                return corner;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,16 +1,16 @@
 package de.uol.swp.server.game.board;
 
 import de.uol.swp.common.game.board.Coord;
-import de.uol.swp.common.game.dto.MapNode;
 import de.uol.swp.server.game.Player;
-import de.uol.swp.server.game.mapnode.NodeOffsetHelper;
 import de.uol.swp.server.game.mapobject.CornerPiece;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * This class provides useful helper methods for the board class
+ * <p>
+ * The neighbours are looked up in the precomputed {@link BoardTopology} of the board, so the returned coordinates
+ * are the shared instances of the topology. Nodes that are not on the map have no neighbours.
  */
 public final class BoardUtils {
 
@@ -28,14 +28,17 @@ public final class BoardUtils {
      * @return an array with all hexes that are direct neighbours of a given hex but not in water
      */
     public static Coord[] getHexNeighboursWithoutWater(Board board, Coord coord) {
-        List<Coord> coords = new ArrayList<>();
-        for (Coord offset : NodeOffsetHelper.getHexagonNeighbourOffset()) {
-            Coord temp = Coord.add(coord, offset);
-            if (board.hexagonIsOnMap(temp)) {
-                coords.add(temp);
-            }
+        BoardTopology topology = board.getTopology();
+        int hex = topology.hexId(coord);
+        if (hex < 0) {
+            return new Coord[0];
+        }
+        int[] neighbours = topology.hexNeighbours(hex);
+        Coord[] coords = new Coord[neighbours.length];
+        for (int i = 0; i < neighbours.length; i++) {
+            coords[i] = topology.hex(neighbours[i]);
         }
-        return coords.toArray(new Coord[0]);
+        return coords;
     }
 
     /**
@@ -48,15 +51,17 @@ public final class BoardUtils {
      * @return an array with all hexagons that are connected to a given corner but are not in water
      */
     public static Coord[] getCornerHexagonsWithoutWater(Board board, Coord coord) {
-        List<Coord> coords = new ArrayList<>();
-        Coord hex = new Coord(coord.getX(), coord.getY());
-        for (Coord offset : NodeOffsetHelper.getHexagonOffsetFromCornerDirection(coord.getDir())) {
-            Coord temp = Coord.add(hex, offset);
-            if (board.hexagonIsOnMap(temp)) {
-                coords.add(temp);
-            }
+        BoardTopology topology = board.getTopology();
+        int corner = topology.cornerId(coord);
+        if (corner < 0) {
+            return new Coord[0];
         }
-        return coords.toArray(new Coord[0]);
+        int[] hexes = topology.cornerHexes(corner);
+        Coord[] coords = new Coord[hexes.length];
+        for (int i = 0; i < hexes.length; i++) {
+            coords[i] = topology.hex(hexes[i]);
+        }
+        return coords;
     }
 
     /**
@@ -69,14 +74,17 @@ public final class BoardUtils {
      * @return an array with all corners that are direct neighbours of a given corner but not in water
      */
     public static Coord[] getCornerNeighboursWithoutWater(Board board, Coord coord) {
-        List<Coord> coords = new ArrayList<>();
-        for (Coord offset : NodeOffsetHelper.getCornerNeighbourOffset(coord.getDir())) {
-            Coord temp = Coord.add(coord, offset);
-            if (board.cornerIsOnMap(temp)) {
-                coords.add(temp);
-            }
+        BoardTopology topology = board.getTopology();
+        int corner = topology.cornerId(coord);
+        if (corner < 0) {
+            return new Coord[0];
+        }
+        int[] neighbours = topology.cornerNeighbours(corner);
+        Coord[] coords = new Coord[neighbours.length];
+        for (int i = 0; i < neighbours.length; i++) {
+            coords[i] = topology.corner(neighbours[i]);
         }
-        return coords.toArray(new Coord[0]);
+        return coords;
     }
 
     /**
@@ -89,14 +97,17 @@ public final class BoardUtils {
      * @return an array with all edges that are direct neighbours of a given edge but not in water
      */
     public static Coord[] getEdgeNeighboursWithoutWater(Board board, Coord coord) {
-        List<Coord> coords = new ArrayList<>();
-        for (Coord offset : NodeOffsetHelper.getEdgeNeighbourOffset(coord.getDir())) {
-            Coord temp = Coord.add(coord, offset);
-            if (board.edgeIsOnMap(temp)) {
-                coords.add(temp);
-            }
+        BoardTopology topology = board.getTopology();
+        int edge = topology.edgeId(coord);
+        if (edge < 0) {
+            return new Coord[0];
+        }
+        int[] neighbours = topology.edgeNeighbours(edge);
+        Coord[] coords = new Coord[neighbours.length];
+        for (int i = 0; i < neighbours.length; i++) {
+            coords[i] = topology.edge(neighbours[i]);
         }
-        return coords.toArray(new Coord[0]);
+        return coords;
     }
 
     /**
@@ -108,9 +119,17 @@ public final class BoardUtils {
      * @return a {@code Set} containing the coordinates of all direct neighbour on which the player has a road
      */
     public static Set<Coord> getConnectedPlayerRoadsFromCorner(Board board, Coord coord, Player player) {
-        return getEdgeNeighboursFromCornerWithoutWater(board, coord).stream()
-                .filter(edgeCoord -> board.getRoadPiece(edgeCoord) != null && board.getRoadPiece(edgeCoord).getPlayer().equals(player))
-                .collect(Collectors.toSet());
+        BoardTopology topology = board.getTopology();
+        Set<Coord> roads = new HashSet<>();
+        int corner = topology.cornerId(coord.getX(), coord.getY(), coord.getDir());
+        if (corner >= 0) {
+            for (int edge : topology.cornerEdges(corner)) {
+                if (board.getRoadOwner(edge) == player.getPlayerId()) {
+                    roads.add(topology.edge(edge));
+                }
+            }
+        }
+        return roads;
     }
 
     /**
@@ -122,9 +141,7 @@ public final class BoardUtils {
      * @return a {@code Set} containing the coordinates of all direct neighbour on which the player has a road
      */
     public static Set<Coord> getConnectedPlayerRoadsFromEdge(Board board, Coord coord, int playerId) {
-        return Arrays.stream(getEdgeNeighboursWithoutWater(board, coord))
-                .filter(edgeCoord -> board.getRoadPiece(edgeCoord) != null && board.getRoadPiece(edgeCoord).getPlayerId() == playerId)
-                .collect(Collectors.toSet());
+        return getConnectedPlayerRoads(board, coord, playerId, false);
     }
 
     /**
@@ -137,10 +154,26 @@ public final class BoardUtils {
      * @return a {@code Set} containing the coordinates of all direct neighbour on which the player has a road and between which there is no other settlement
      */
     public static Set<Coord> getConnectedPlayerRoadsWithoutBreak(Board board, Coord coord, int playerId) {
-        return Arrays.stream(getEdgeNeighboursWithoutWater(board, coord))
-                .filter(edgeCoord -> board.getRoadPiece(edgeCoord) != null && board.getRoadPiece(edgeCoord).getPlayerId() == playerId &&
-                        !board.cornerHasOtherPlayerSettlement(Coord.getCornerFromEdges(coord, edgeCoord), playerId))
-                .collect(Collectors.toSet());
+        return getConnectedPlayerRoads(board, coord, playerId, true);
+    }
+
+    private static Set<Coord> getConnectedPlayerRoads(Board board, Coord coord, int playerId, boolean withoutBreak) {
+        BoardTopology topology = board.getTopology();
+        Set<Coord> roads = new HashSet<>();
+        int edge = topology.edgeId(coord);
+        if (edge < 0) {
+            return roads;
+        }
+        for (int neighbour : topology.edgeNeighbours(edge)) {
+            if (board.getRoadOwner(neighbour) != playerId) {
+                continue;
+            }
+            int cornerOwner = board.getCornerOwner(topology.cornerBetween(edge, neighbour));
+            if (!withoutBreak || cornerOwner == Board.NO_PLAYER || cornerOwner == playerId) {
+                roads.add(topology.edge(neighbour));
+            }
+        }
+        return roads;
     }
 
     /**
@@ -181,12 +214,12 @@ public final class BoardUtils {
      * @return a set with all edges on the board that are connected to the given corner
      */
     public static Set<Coord> getEdgeNeighboursFromCornerWithoutWater(Board board, Coord coord) {
+        BoardTopology topology = board.getTopology();
         Set<Coord> edges = new HashSet<>();
-        Coord[] offsets = NodeOffsetHelper.getEdgeOffsetFromCornerDirection(coord.getDir());
-        for (Coord offset : offsets) {
-            Coord edgeCoord = new Coord(coord.getX() + offset.getX(), coord.getY() + offset.getY(), offset.getDir(), MapNode.EDGE);
-            if (board.edgeIsOnMap(edgeCoord)) {
-                edges.add(edgeCoord);
+        int corner = topology.cornerId(coord.getX(), coord.getY(), coord.getDir());
+        if (corner >= 0) {
+            for (int edge : topology.cornerEdges(corner)) {
+                edges.add(topology.edge(edge));
             }
         }
         return edges;
@@ -199,9 +232,18 @@ public final class BoardUtils {
      * @param coord the coord of the edge
      */
     public static Set<Player> getPlayersFromEdge(Board board, Coord coord) {
-        var corners = Coord.getCornersFromEdge(coord);
-        return Arrays.stream(corners).filter(c -> board.getCornerPiece(c) != null).map(c -> board.getCornerPiece(c).getPlayer())
-                .collect(Collectors.toSet());
+        BoardTopology topology = board.getTopology();
+        Set<Player> players = new HashSet<>();
+        int edge = topology.edgeId(coord);
+        if (edge >= 0) {
+            for (int corner : topology.edgeCorners(edge)) {
+                CornerPiece piece = board.getCornerPiece(corner);
+                if (piece != null) {
+                    players.add(piece.getPlayer());
+                }
+            }
+        }
+        return players;
     }
 
     /**
@@ -211,9 +253,11 @@ public final class BoardUtils {
      * @param coord the coord of the hex
      */
     public static Set<Player> getPlayersAdjacentToHex(Board board, Coord coord) {
-        var corners = Coord.getCornersFromHex(coord);
-        return Arrays.stream(corners).filter(c -> board.getCornerPiece(c) != null).map(c -> board.getCornerPiece(c).getPlayer())
-                .collect(Collectors.toSet());
+        Set<Player> players = new HashSet<>();
+        for (CornerPiece piece : getCornerPiecesAdjacentToHex(board, coord)) {
+            players.add(piece.getPlayer());
+        }
+        return players;
     }
 
     /**
@@ -224,7 +268,17 @@ public final class BoardUtils {
      * @return a Set with all instances of CornerPiece that are adjacent to the given hex
      */
     public static Set<CornerPiece> getCornerPiecesAdjacentToHex(Board board, Coord coord) {
-        var corners = Coord.getCornersFromHex(coord);
-        return Arrays.stream(corners).map(board::getCornerPiece).filter(Objects::nonNull).collect(Collectors.toSet());
+        BoardTopology topology = board.getTopology();
+        Set<CornerPiece> pieces = new HashSet<>();
+        int hex = topology.hexId(coord);
+        if (hex >= 0) {
+            for (int corner : topology.hexCorners(hex)) {
+                CornerPiece piece = board.getCornerPiece(corner);
+                if (piece != null) {
+                    pieces.add(piece);
+                }
+            }
+        }
+        return pieces;
     }
 }
@@ -0,0 +1,210 @@
+package de.uol.swp.server.game.board;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the longest road of every player up to date while pieces are placed on a {@link Board}
+ * <p>
+ * The roads of a player are split into components of roads that are connected without a settlement of another
+ * player in between. Every component is labelled with a representative road and remembers its longest trail.
+ * A new road only relabels and recomputes the component it joins, and a new settlement only recomputes the
+ * components of the other players that have at least two roads at its corner, because only those can be split.
+ * <p>
+ * The longest trail of a component is found by a depth first search over the roads that marks the roads of the
+ * current trail in a bitset and backtracks, so the search itself does not allocate.
+ * <p>
+ * Like the board the tracker is not thread safe and must only be used from the mailbox of the game session.
+ */
+final class LongestRoadTracker {
+
+    private static final int NONE = -1;
+
+    private final BoardTopology topology;
+    private final int[] roadOwners;
+    private final int[] cornerOwners;
+
+    /*
+    component[edge] is the representative road of the component the road belongs to, or NONE for an empty edge.
+    Only representatives have a valid entry in componentLength and componentTrail.
+    */
+    private final int[] component;
+    private final int[] componentLength;
+    private final int[][] componentTrail;
+
+    private final int[] members;
+    private final int[] marks;
+    private int epoch;
+
+    private final long[] used;
+    private final int[] trail;
+    private int searchPlayer;
+    private int bestLength;
+    private int[] bestTrail;
+
+    /**
+     * Constructor
+     *
+     * @param topology     the layout of the board
+     * @param roadOwners   the owners of the roads, indexed by edge id
+     * @param cornerOwners the owners of the settlements and cities, indexed by corner id
+     */
+    LongestRoadTracker(BoardTopology topology, int[] roadOwners, int[] cornerOwners) {
+        this.topology = topology;
+        this.roadOwners = roadOwners;
+        this.cornerOwners = cornerOwners;
+        int edges = topology.edgeCount();
+        component = new int[edges];
+        Arrays.fill(component, NONE);
+        componentLength = new int[edges];
+        componentTrail = new int[edges][];
+        members = new int[edges];
+        marks = new int[edges];
+        used = new long[(edges + Long.SIZE - 1) / Long.SIZE];
+        trail = new int[edges];
+    }
+
+    /**
+     * Updates the component of a road that has just been placed
+     *
+     * @param edge the id of the edge the road was placed on
+     */
+    void roadPlaced(int edge) {
+        epoch++;
+        relabel(edge);
+    }
+
+    /**
+     * Splits the roads of other players that are broken by a settlement that has just been placed
+     *
+     * @param corner the id of the corner the settlement was placed on
+     */
+    void settlementPlaced(int corner) {
+        int owner = cornerOwners[corner];
+        int[] edges = topology.cornerEdges(corner);
+        epoch++;
+        for (int edge : edges) {
+            int roadOwner = roadOwners[edge];
+            if (roadOwner != Board.NO_PLAYER && roadOwner != owner && marks[edge] != epoch && roadsAt(corner, roadOwner) >= 2) {
+                relabel(edge);
+            }
+        }
+    }
+
+    /**
+     * Returns the length of the longest road of a player
+     *
+     * @param playerId the id of the player
+     * @return the length of the longest road, or {@code 0} if the player has no road
+     */
+    int longestRoad(int playerId) {
+        int longest = 0;
+        for (int edge = 0; edge < component.length; edge++) {
+            if (component[edge] == edge && roadOwners[edge] == playerId) {
+                longest = Math.max(longest, componentLength[edge]);
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Returns the roads of the longest road of a player in the order they are travelled
+     *
+     * @param playerId the id of the player
+     * @return the ids of the edges of the longest road, empty if the player has no road
+     */
+    int[] longestTrail(int playerId) {
+        int longest = 0;
+        int[] longestTrail = new int[0];
+        for (int edge = 0; edge < component.length; edge++) {
+            if (component[edge] == edge && roadOwners[edge] == playerId && componentLength[edge] > longest) {
+                longest = componentLength[edge];
+                longestTrail = componentTrail[edge];
+            }
+        }
+        return longestTrail.clone();
+    }
+
+    private int roadsAt(int corner, int playerId) {
+        int roads = 0;
+        for (int edge : topology.cornerEdges(corner)) {
+            if (roadOwners[edge] == playerId) {
+                roads++;
+            }
+        }
+        return roads;
+    }
+
+    private boolean blocks(int corner, int playerId) {
+        return cornerOwners[corner] != Board.NO_PLAYER && cornerOwners[corner] != playerId;
+    }
+
+    /**
+     * Labels every road connected to the given road with it as representative and computes the longest trail
+     */
+    private void relabel(int start) {
+        int playerId = roadOwners[start];
+        int count = 0;
+        members[count++] = start;
+        marks[start] = epoch;
+        for (int next = 0; next < count; next++) {
+            int edge = members[next];
+            component[edge] = start;
+            for (int neighbour : topology.edgeNeighbours(edge)) {
+                if (roadOwners[neighbour] == playerId && marks[neighbour] != epoch
+                        && !blocks(topology.cornerBetween(edge, neighbour), playerId)) {
+                    marks[neighbour] = epoch;
+                    members[count++] = neighbour;
+                }
+            }
+        }
+        searchPlayer = playerId;
+        bestLength = 0;
+        bestTrail = null;
+        for (int i = 0; i < count; i++) {
+            int edge = members[i];
+            for (int entry : topology.edgeCorners(edge)) {
+                setUsed(edge, true);
+                trail[0] = edge;
+                extend(edge, otherCorner(edge, entry), 1);
+                setUsed(edge, false);
+            }
+        }
+        componentLength[start] = bestLength;
+        componentTrail[start] = bestTrail;
+    }
+
+    private void extend(int edge, int exit, int length) {
+        if (length > bestLength) {
+            bestLength = length;
+            bestTrail = Arrays.copyOf(trail, length);
+        }
+        if (blocks(exit, searchPlayer)) {
+            return;
+        }
+        for (int neighbour : topology.edgeNeighbours(edge)) {
+            if (roadOwners[neighbour] == searchPlayer && !isUsed(neighbour) && topology.cornerBetween(edge, neighbour) == exit) {
+                setUsed(neighbour, true);
+                trail[length] = neighbour;
+                extend(neighbour, otherCorner(neighbour, exit), length + 1);
+                setUsed(neighbour, false);
+            }
+        }
+    }
+
+    private int otherCorner(int edge, int corner) {
+        int[] corners = topology.edgeCorners(edge);
+        return corners[0] == corner ? corners[1] : corners[0];
+    }
+
+    private boolean isUsed(int edge) {
+        return (used[edge / Long.SIZE] & (1L << edge)) != 0;
+    }
+
+    private void setUsed(int edge, boolean value) {
+        if (value) {
+            used[edge / Long.SIZE] |= 1L << edge;
+        } else {
+            used[edge / Long.SIZE] &= ~(1L << edge);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package de.uol.swp.server.game.board;
+
+import de.uol.swp.common.game.board.PieceType;
+import de.uol.swp.common.game.board.ResourceTile;
+import de.uol.swp.common.game.board.ResourceType;
+import de.uol.swp.server.game.mapobject.CornerPiece;
+
+import java.util.Arrays;
+
+/**
+ * Knows which player gets which resources for every dice result of a {@link Board}
+ * <p>
+ * For every dice result the table holds a flat row of {@code (player, resource, amount)} entries, sorted by player,
+ * with at most one entry per player and resource. The rows are rebuilt by the board whenever a settlement or city
+ * is placed next to a hexagon or the robber moves, so distributing the resources of a roll only walks one row and
+ * never looks at the hexagons or corners.
+ * <p>
+ * Like the board the table is not thread safe and must only be used from the mailbox of the game session.
+ */
+@SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+public final class ProductionTable {
+
+    /**
+     * The highest result of two dice
+     */
+    public static final int MAX_DICE_RESULT = 12;
+
+    private static final int ENTRY_SIZE = 3;
+    private static final int NO_NUMBER = 0;
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+    private static final int[] EMPTY_ROW = new int[0];
+
+    private final BoardTopology topology;
+    private final int[] hexNumbers;
+    private final ResourceTile[] hexTiles;
+    private final CornerPiece[] cornerPieces;
+    private final int[][] rows = new int[MAX_DICE_RESULT + 1][];
+    private int[] buffer = new int[ENTRY_SIZE * 8];
+    private int robberHex;
+
+    /**
+     * Constructor
+     *
+     * @param topology     the layout of the board
+     * @param hexNumbers   the number token of every hexagon, indexed by hexagon id, {@code 0} for the desert
+     * @param hexTiles     the resource of every hexagon, indexed by hexagon id
+     * @param cornerPieces the settlements and cities of the board, indexed by corner id
+     * @param robberHex    the id of the hexagon the robber is on
+     */
+    ProductionTable(BoardTopology topology, int[] hexNumbers, ResourceTile[] hexTiles, CornerPiece[] cornerPieces, int robberHex) {
+        this.topology = topology;
+        this.hexNumbers = hexNumbers;
+        this.hexTiles = hexTiles;
+        this.cornerPieces = cornerPieces;
+        this.robberHex = robberHex;
+        for (int diceResult = 0; diceResult <= MAX_DICE_RESULT; diceResult++) {
+            rows[diceResult] = EMPTY_ROW;
+        }
+    }
+
+    /**
+     * Returns the number of ways two dice can show the given result
+     *
+     * @param diceResult the sum of two dice
+     * @return the number of the 36 possible rolls that have the given result
+     */
+    public static int waysToRoll(int diceResult) {
+        if (diceResult < 2 || diceResult > MAX_DICE_RESULT) {
+            return 0;
+        }
+        return 6 - Math.abs(diceResult - 7);
+    }
+
+    /**
+     * Updates the rows of the hexagons next to a corner a settlement or city has been placed on
+     *
+     * @param cornerId the id of the corner
+     */
+    void cornerChanged(int cornerId) {
+        for (int hex : topology.cornerHexes(cornerId)) {
+            rebuild(hexNumbers[hex]);
+        }
+    }
+
+    /**
+     * Updates the rows of the hexagons the robber left and moved to
+     *
+     * @param hexId the id of the hexagon the robber has been moved to
+     */
+    void robberMoved(int hexId) {
+        int oldHex = robberHex;
+        robberHex = hexId;
+        if (oldHex >= 0) {
+            rebuild(hexNumbers[oldHex]);
+        }
+        if (hexId >= 0) {
+            rebuild(hexNumbers[hexId]);
+        }
+    }
+
+    /**
+     * Returns the number token of a hexagon
+     *
+     * @param hexId the id of the hexagon
+     * @return the number token of the hexagon, or {@code 0} if the hexagon has none
+     */
+    public int getNumber(int hexId) {
+        return hexNumbers[hexId];
+    }
+
+    /**
+     * Returns the number of entries a dice result produces
+     *
+     * @param diceResult the sum of two dice
+     * @return the number of {@code (player, resource, amount)} entries of the dice result
+     */
+    public int size(int diceResult) {
+        return diceResult < 0 || diceResult > MAX_DICE_RESULT ? 0 : rows[diceResult].length / ENTRY_SIZE;
+    }
+
+    /**
+     * Returns the player of an entry, entries of the same player are next to each other
+     *
+     * @param diceResult the sum of two dice
+     * @param entry      the index of the entry
+     * @return the id of the player who gets the resources of the entry
+     */
+    public int getPlayerId(int diceResult, int entry) {
+        return rows[diceResult][entry * ENTRY_SIZE];
+    }
+
+    /**
+     * Returns the resource of an entry
+     *
+     * @param diceResult the sum of two dice
+     * @param entry      the index of the entry
+     * @return the resource of the entry
+     */
+    public ResourceType getResource(int diceResult, int entry) {
+        return RESOURCES[rows[diceResult][entry * ENTRY_SIZE + 1]];
+    }
+
+    /**
+     * Returns the amount of an entry
+     *
+     * @param diceResult the sum of two dice
+     * @param entry      the index of the entry
+     * @return how many resources the player gets
+     */
+    public int getAmount(int diceResult, int entry) {
+        return rows[diceResult][entry * ENTRY_SIZE + 2];
+    }
+
+    /**
+     * Returns how many resources a player gets in 36 rolls on average
+     *
+     * @param playerId the id of the player
+     * @return the expected income of the player per 36 rolls
+     */
+    public int getExpectedIncome(int playerId) {
+        return getExpectedIncome(playerId, null);
+    }
+
+    /**
+     * Returns how many resources of a type a player gets in 36 rolls on average
+     *
+     * @param playerId the id of the player
+     * @param resource the resource to count, or {@code null} to count all resources
+     * @return the expected income of the player per 36 rolls
+     */
+    public int getExpectedIncome(int playerId, ResourceType resource) {
+        int income = 0;
+        for (int diceResult = 2; diceResult <= MAX_DICE_RESULT; diceResult++) {
+            int[] row = rows[diceResult];
+            for (int index = 0; index < row.length; index += ENTRY_SIZE) {
+                if (row[index] == playerId && (resource == null || row[index + 1] == resource.ordinal())) {
+                    income += waysToRoll(diceResult) * row[index + 2];
+                }
+            }
+        }
+        return income;
+    }
+
+    /**
+     * Collects the entries of all hexagons with the given number that the robber is not on
+     */
+    private void rebuild(int diceResult) {
+        if (diceResult == NO_NUMBER) {
+            return;
+        }
+        int size = 0;
+        for (int hex = 0; hex < hexNumbers.length; hex++) {
+            if (hexNumbers[hex] != diceResult || hex == robberHex) {
+                continue;
+            }
+            int resource = ResourceTile.toResourceType(hexTiles[hex]).ordinal();
+            for (int corner : topology.hexCorners(hex)) {
+                CornerPiece piece = cornerPieces[corner];
+                if (piece != null) {
+                    size = add(size, piece.getPlayerId(), resource, piece.getPieceType() == PieceType.CITY ? 2 : 1);
+                }
+            }
+        }
+        rows[diceResult] = Arrays.copyOf(buffer, size * ENTRY_SIZE);
+    }
+
+    /**
+     * Adds an amount to the entry of the player and resource in the buffer, or inserts a new entry at the position
+     * that keeps the entries sorted by player and resource
+     *
+     * @return the number of entries in the buffer
+     */
+    private int add(int size, int playerId, int resource, int amount) {
+        int position = 0;
+        for (; position < size; position++) {
+            int index = position * ENTRY_SIZE;
+            if (buffer[index] == playerId && buffer[index + 1] == resource) {
+                buffer[index + 2] += amount;
+                return size;
+            }
+            if (buffer[index] > playerId || buffer[index] == playerId && buffer[index + 1] > resource) {
+                break;
+            }
+        }
+        if (buffer.length < (size + 1) * ENTRY_SIZE) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int index = position * ENTRY_SIZE;
+        System.arraycopy(buffer, index, buffer, index + ENTRY_SIZE, (size - position) * ENTRY_SIZE);
+        buffer[index] = playerId;
+        buffer[index + 1] = resource;
+        buffer[index + 2] = amount;
+        return size + 1;
+    }
+}
@@ -8,8 +8,10 @@ import de.uol.swp.common.game.TradeOffer;
 import de.uol.swp.common.game.board.Coord;
 import de.uol.swp.common.game.board.DevCardEnumMap;
 import de.uol.swp.common.game.board.PieceType;
+import de.uol.swp.common.game.board.PieceTypeEnumMap;
 import de.uol.swp.common.game.board.ResourceEnumMap;
 import de.uol.swp.common.game.debug.StateMessage;
+import de.uol.swp.common.game.dto.GameSnapshot;
 import de.uol.swp.common.game.dto.PieceDTO;
 import de.uol.swp.common.game.dto.PlayerDTO;
 import de.uol.swp.common.game.message.*;
@@ -23,6 +25,8 @@ import de.uol.swp.common.message.Message;
 import de.uol.swp.common.message.RequestMessage;
 import de.uol.swp.common.user.Session;
 import de.uol.swp.common.user.User;
+import de.uol.swp.server.concurrent.GameScheduler;
+import de.uol.swp.server.concurrent.Mailbox;
 import de.uol.swp.server.exception.CanNotRejoinException;
 import de.uol.swp.server.exception.GameStateException;
 import de.uol.swp.server.exception.UserIsNotPartOfGameSessionException;
@@ -40,6 +44,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -50,10 +56,10 @@ import java.util.stream.Collectors;
 public class GameSession {
 
     private static final Logger LOG = LogManager.getLogger(GameSession.class);
-    private static final Random RANDOM = new Random();
+    private static final int JOURNAL_SIZE = 256;
     private final Board board;
     private final Player[] players;
-    private final Set<BotUser> bots = new HashSet<>();
+    private final Set<BotUser> bots = new LinkedHashSet<>();
     @SuppressWarnings("unused")
     private final UUID sessionID;
     private final String gameSessionName;
@@ -63,11 +69,23 @@ public class GameSession {
     private final GameSessionService gameSessionService;
     private final InventoryService inventoryService;
     private final GameLobby lobby;
-    private final BankInventory bankInventory = new BankInventory();
+    private final BankInventory bankInventory;
     private final Queue<Integer> turnQueue = new ArrayDeque<>();
     private final EventBus eventBus;
     private final Set<Player> readyPlayers = new HashSet<>();
     private final TurnTimer timer;
+    private final GameScheduler scheduler;
+    private final Mailbox mailbox;
+    private final long seed;
+    private final SessionRandom random;
+    private final SessionRandom dice;
+    private final SessionRandom rules;
+    private final AtomicLong stateVersion = new AtomicLong();
+    private final Deque<AbstractGameMessage> journal = new ArrayDeque<>();
+    private final Map<String, Long> privateVersions = new HashMap<>();
+    private boolean won;
+    private final int[] turnsPlayed;
+    private long startedAt;
     private boolean gameStarted = false;//TODO Wann game started?
     private GameState currentState;
     private int amountOfBots;
@@ -78,16 +96,22 @@ public class GameSession {
     /**
      * Constructs a new game session for the given lobby. Should be constructed with {@link GameSessionFactory} via guice
      * <p>
-     * The uuid of the session and the board will be instantiated here
+     * The uuid of the session and the board will be instantiated here. All random decisions of the game are made with
+     * random sources derived from the seed of the session, which is the {@link GameLobby#getSeed() seed} chosen in a
+     * debug lobby or otherwise a new one. The seed is logged, so any game can be replayed.
      *
      * @param lobby              the lobby that has started the game session
      * @param gameSessionService the instance of {@code GameSessionService} injected by guice
      * @param inventoryService   the instance of {@code InventoryService} injected by guice
      * @param eventBus           the EvenBus used throughout the server
+     * @param scheduler          the scheduler providing the mailbox all input of this session is processed in
      */
     @Inject
-    public GameSession(@Assisted GameLobby lobby, GameSessionService gameSessionService, InventoryService inventoryService, EventBus eventBus) {
+    public GameSession(@Assisted GameLobby lobby, GameSessionService gameSessionService, InventoryService inventoryService, EventBus eventBus,
+                       GameScheduler scheduler) {
         this.gameSessionService = gameSessionService;
+        this.scheduler = scheduler;
+        this.mailbox = scheduler.newMailbox(lobby.getName());
         this.eventBus = eventBus;
         this.inventoryService = inventoryService;
         debugEnabled = lobby.isDebugEnabled();
@@ -96,16 +120,23 @@ public class GameSession {
         this.lobby = lobby;
         gameSessionName = lobby.getName();
         sessionID = UUID.randomUUID();
-        board = new Board(2);
+        seed = debugEnabled && lobby.getSeed() != null ? lobby.getSeed() : ThreadLocalRandom.current().nextLong();
+        LOG.info("Game session {} uses the seed {}", gameSessionName, seed);
+        random = new SessionRandom(seed);
+        dice = random.split();
+        rules = random.split();
+        board = new Board(2, random.split());
+        bankInventory = new BankInventory(random.split());
 
         int userCount = lobby.getUsers().size();
 
         players = new Player[userCount + lobby.getNoOfBots()];
+        turnsPlayed = new int[players.length];
         List<User> tempUsers = new ArrayList<>(lobby.getUsers());
 
         for (int i = 0; i < userCount + lobby.getNoOfBots(); i++) {
             if (i < userCount) {
-                players[i] = new Player(this, tempUsers.get(i).getUsername(), i, false);
+                players[i] = new Player(this, tempUsers.get(i).getUsername(), i, false, random.split());
             } else {
                 createBot(i);
             }
@@ -113,7 +144,7 @@ public class GameSession {
         }
         assignColors();
         currentState = SetupState.INSTANCE;
-        timer = new TurnTimer(lobby.getTimerDuration(), TimeUnit.SECONDS);
+        timer = new TurnTimer(lobby.getTimerDuration(), TimeUnit.SECONDS, scheduler, mailbox);
 
         for (Player p : getPlayers()) {
             context.getSetupInfos().putIfAbsent(p, new StateContext.SetupInfo());
@@ -127,14 +158,14 @@ public class GameSession {
      * @param arr    the array that will be shuffled
      * @param length the length of the array
      */
-    private static void randomize(Player[] arr, int length) {
+    private void randomize(Player[] arr, int length) {
 
         // Start from the last element and swap one by one. We don't
         // need to run for the first element that's why i > 0
         for (int i = length - 1; i > 0; i--) {
 
             // Pick a random index from 0 to i
-            int ijk = RANDOM.nextInt(i + 1);
+            int ijk = rules.nextInt(i + 1);
 
             // Swap arr[i] with the element at random index
             Player temp = arr[i];
@@ -145,10 +176,8 @@ public class GameSession {
 
     private void createBot(int id) {
         amountOfBots++;
-        players[id] = new Player(this, "Bot" + id, id, true);
-        BotUser bot = new BotUser(this, players[id], eventBus);
-        bots.add(bot);
-        bot.start();
+        players[id] = new Player(this, "Bot" + id, id, true, random.split());
+        bots.add(new BotUser(this, players[id], eventBus, scheduler, random.split()));
     }
 
     private void createBotAfterLeave(int id) {
@@ -156,9 +185,7 @@ public class GameSession {
         String playerName = players[id].getPlayerName();
         players[id].setPlayerToBot("Bot" + id);
         overwritePlacedPiecesOwner(players[id], playerName);
-        BotUser bot = new BotUser(this, players[id], eventBus);
-        bots.add(bot);
-        bot.start();
+        bots.add(new BotUser(this, players[id], eventBus, scheduler, random.split()));
     }
 
     private void overwritePlacedPiecesOwner(Player newOwner, String oldOwner) {
@@ -216,25 +243,46 @@ public class GameSession {
         LOG.debug("{}: Set current state from {} to {}", gameSessionName, this.currentState.getClass().getSimpleName(),
                 currentState.getClass().getSimpleName());
         this.currentState = currentState;
-        context.getInputLock().lock();
         currentState.beginState(this, context);
-        context.getInputLock().unlock();
         gameSessionService.sendToAllInGameSession(gameSessionName, new StateMessage(gameSessionName, currentState.getClass().getSimpleName()));
     }
 
     /**
-     * This methods forwards the given {@code RequestMessage} to the current game state. Also locks
+     * This methods forwards the given {@code RequestMessage} to the current game state
+     * <p>
+     * Must only be called from within the {@link #execute(Runnable) mailbox} of this session. Input is ignored
+     * once a player has won.
      *
      * @param message the {@code RequestMessage} that should be used by the current game state
      */
     public void userInput(RequestMessage message) throws GameStateException {
-        context.getInputLock().lock();
-        try {
-            context.setLastRequest(message);
-            currentState.action(this, context);
-        } finally {
-            context.getInputLock().unlock();
+        if (won) {
+            LOG.debug("The game {} is over, ignoring {}", gameSessionName, message);
+            return;
         }
+        context.setLastRequest(message);
+        currentState.action(this, context);
+    }
+
+    /**
+     * Enqueues a task in the mailbox of this session
+     * <p>
+     * All requests, bot decisions and timer events of a session are run through its mailbox, one after another,
+     * so the game state is never modified by two threads at the same time.
+     *
+     * @param task the task to run
+     */
+    public void execute(Runnable task) {
+        mailbox.execute(task);
+    }
+
+    /**
+     * Returns the mailbox all input of this session is processed in
+     *
+     * @return the mailbox of this session
+     */
+    public Mailbox getMailbox() {
+        return mailbox;
     }
 
     /**
@@ -268,7 +316,6 @@ public class GameSession {
     public void leaveGameSession(Session userSession) throws UserIsNotPartOfGameSessionException {
         User user = userSession.getUser();
         if (users.contains(user)) {
-            context.getInputLock().lock();
             this.users.remove(user);
             for (int i = 0; i < players.length; i++) {
                 if (players[i].getPlayerName().equals(user.getUsername())) {
@@ -280,7 +327,6 @@ public class GameSession {
                     break;
                 }
             }
-            context.getInputLock().unlock();
         } else {
             throw new UserIsNotPartOfGameSessionException();
         }
@@ -310,7 +356,7 @@ public class GameSession {
      * <p>
      * if the user were never part of the lobby or the replacement of the user, who wants to join, is on, a CanNotRejoinException is thrown
      * else user is added to users, will replace the bot, who replaced them, is removed from map of the users who left
-     * and the amountOfBots is decremented
+     * and the amountOfBots is decremented. The bot is terminated, so its pending steps do not act for the user
      *
      * @param user the user who wants to rejoin
      * @throws CanNotRejoinException if the user is not part of the gameSession or his replacement is on
@@ -324,7 +370,10 @@ public class GameSession {
             this.users.add(user);
             int id = leftUsers.get(user).getPlayerId();
             String botName = players[id].getPlayerName();
-            bots.removeIf(botUser -> botUser.getPlayer().equals(players[id]));
+            List<BotUser> replaced = bots.stream().filter(botUser -> botUser.getPlayer().equals(players[id]))
+                    .collect(Collectors.toList());
+            replaced.forEach(BotUser::terminate);
+            bots.removeAll(replaced);
             players[id].setBotToPlayer(user.getUsername());
             overwritePlacedPiecesOwner(players[id], botName);
             leftUsers.remove(user);
@@ -418,17 +467,29 @@ public class GameSession {
     public void playerReady(String playerName) {
         readyPlayers.add(getPlayer(playerName));
         if (!gameStarted && readyPlayers.size() == lobby.getUsers().size()) {
-            gameSessionService.sendToAllInGameSession(gameSessionName, new NextTurnMessage(gameSessionName, getWhoseTurn().createDTO()));
-            gameStarted = true;
-            startNewFullTimer();
-            sendSetupLocation(getWhoseTurn(), PieceType.SETTLEMENT);
-            gameSessionService.sendToAllInGameSession(gameSessionName, new StateMessage(gameSessionName, "SetupState"));
+            start();
         } else if (gameStarted) {
             gameSessionService.sendToAllInGameSession(gameSessionName,
                     new StateMessage(gameSessionName, currentState.getClass().getSimpleName()));
         }
     }
 
+    /**
+     * Starts the setup phase with the first player and starts the game timer
+     * <p>
+     * Called once all players are {@link #playerReady(String) ready}. Games without users, like simulated games,
+     * call it directly.
+     */
+    public void start() {
+        gameSessionService.sendToAllInGameSession(gameSessionName, new NextTurnMessage(gameSessionName, getWhoseTurn().createDTO()));
+        gameStarted = true;
+        startedAt = System.currentTimeMillis();
+        turnsPlayed[getWhoseTurn().getPlayerId()]++;
+        startNewFullTimer();
+        sendSetupLocation(getWhoseTurn(), PieceType.SETTLEMENT);
+        gameSessionService.sendToAllInGameSession(gameSessionName, new StateMessage(gameSessionName, "SetupState"));
+    }
+
     /**
      * Sends a {@link SetupLocationMessage} message to the given player
      *
@@ -454,11 +515,9 @@ public class GameSession {
      * This method tells the current state to end the current turn
      */
     public void endTurn(Player player) {
-        context.getInputLock().lock();
         if (player.equals(getWhoseTurn())) {
             currentState.endTurn(this, context);
         }
-        context.getInputLock().unlock();
     }
 
     /**
@@ -493,32 +552,35 @@ public class GameSession {
 
     private void startNewTimer(long timerDuration, TimeUnit timeUnit) {
         gameSessionService.sendToAllInGameSession(gameSessionName, new TimerRestartMessage(gameSessionName, (int) timeUnit.toSeconds(timerDuration)));
-        timer.restartTimer(new TimerTask() {
-            @Override
-            public void run() {
-                endTurn(getWhoseTurn());
-            }
-        }, timerDuration, timeUnit);
+        timer.restartTimer(() -> endTurn(getWhoseTurn()), timerDuration, timeUnit);
     }
 
     /**
-     * Cancels the active timer and terminates all bots
+     * Cancels the active timer, terminates all bots and closes the mailbox of this session
      */
     public void stopGame() {
         timer.stop();
         timer.kill();
         bots.forEach(BotUser::terminate);
+        mailbox.close();
     }
 
     /**
      * Checks if someone won the game
      * <p>
-     * send an endGame Message if someone has reached the required amount of victory points
+     * send an endGame Message if someone has reached the required amount of victory points. The game is ended in
+     * the mailbox once the current input has been processed, so the messages of that input are still sent to the
+     * players of the session.
      */
     public void checkVictory() {
+        if (won) {
+            return;
+        }
         for (Player player : players) {
             if (player.getNumOfTotalVP() >= lobby.getNumVP()) {
-                gameSessionService.endGame(gameSessionName);
+                won = true;
+                execute(() -> gameSessionService.endGame(gameSessionName));
+                return;
             }
         }
     }
@@ -552,6 +614,7 @@ public class GameSession {
         }
         if (turnQueue.peek() != null) {
             Player player = getPlayer(turnQueue.peek());
+            turnsPlayed[player.getPlayerId()]++;
             player.setPlayedDevCardThisTurn(false);
             player.getInventory().updatePlayableDevCards();
             return player;
@@ -596,6 +659,35 @@ public class GameSession {
         return null;
     }
 
+    /**
+     * Returns the seed all random decisions of this game are derived from
+     *
+     * @return the seed of the game
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the random source for the random decisions the rules make, e.g. the order in which the robber
+     * chooses victims
+     *
+     * @return the random source of the rules
+     */
+    public Random getRandom() {
+        return rules;
+    }
+
+    /**
+     * Rolls two dice with the random source reserved for the dice, so the rolls only depend on the seed and
+     * the number of rolls before
+     *
+     * @return the sum of the two dice
+     */
+    public int rollDice() {
+        return dice.nextInt(6) + 1 + dice.nextInt(6) + 1;
+    }
+
     /**
      * Returns the bank inventory
      *
@@ -855,6 +947,93 @@ public class GameSession {
         return bankInventory.getAmountRemaining();
     }
 
+    /**
+     * Returns the state version of this session
+     * <p>
+     * The version is the sequence number of the last game message announced to all players of the session.
+     *
+     * @return the number of changes announced so far
+     */
+    public long getStateVersion() {
+        return stateVersion.get();
+    }
+
+    /**
+     * Assigns the next sequence number to a message announced to all players and keeps it in the journal
+     * <p>
+     * The journal holds the last {@value #JOURNAL_SIZE} messages, so a player who missed only a few of them can
+     * resume without a snapshot.
+     *
+     * @param message the message announced to all players
+     */
+    synchronized void announce(AbstractGameMessage message) {
+        message.setSequence(stateVersion.incrementAndGet());
+        journal.addLast(message);
+        if (journal.size() > JOURNAL_SIZE) {
+            journal.removeFirst();
+        }
+    }
+
+    /**
+     * Notes that a message was sent to a single player
+     * <p>
+     * Such messages are not kept in the journal, so a player who may have missed one is resumed with a snapshot.
+     *
+     * @param playerName the name of the player the message was sent to
+     */
+    synchronized void notePrivateMessage(String playerName) {
+        privateVersions.put(playerName, stateVersion.get());
+    }
+
+    /**
+     * Returns the messages announced after a version, if the journal still holds all of them
+     * <p>
+     * Nothing is returned if a message was sent to the player alone since the version, because the journal does not
+     * hold it.
+     *
+     * @param version    the sequence number of the last message a player has applied
+     * @param playerName the name of the player
+     * @return the messages in sequence order, empty if some of them are no longer in the journal
+     */
+    public synchronized Optional<List<AbstractGameMessage>> getUpdatesSince(long version, String playerName) {
+        long current = stateVersion.get();
+        if (version < 0 || version > current || current - version > journal.size()
+                || privateVersions.getOrDefault(playerName, -1L) >= version) {
+            return Optional.empty();
+        }
+        List<AbstractGameMessage> updates = new ArrayList<>(journal);
+        return Optional.of(new ArrayList<>(updates.subList(updates.size() - (int) (current - version), updates.size())));
+    }
+
+    /**
+     * Creates a snapshot of the complete state of this session as seen by a player
+     * <p>
+     * Must only be called from within the {@link #execute(Runnable) mailbox} of this session, so the snapshot is
+     * taken in one consistent read.
+     *
+     * @param playerName the name of the player the snapshot is created for
+     * @return the snapshot containing the public state and the private inventory of the player
+     */
+    public GameSnapshot createSnapshot(String playerName) {
+        List<GameSnapshot.PlayerState> playerStates = new ArrayList<>();
+        for (Player p : getPlayers()) {
+            int devCardCount = p.getInventory().getDevCards().values().stream().mapToInt(Integer::intValue).sum();
+            playerStates.add(new GameSnapshot.PlayerState(p.createDTO(), p.getInventory().getResources(), p.getNumOfPublicVP(),
+                    devCardCount));
+        }
+        Player player = getPlayer(playerName);
+        DevCardEnumMap devCards = new DevCardEnumMap();
+        devCards.putAll(player.getInventory().getDevCards());
+        PieceTypeEnumMap availablePieces = new PieceTypeEnumMap();
+        availablePieces.putAll(player.getInventory().getAvailablePieces());
+        Player largestArmy = context.getPlayerWithLargestArmy();
+        Player longestRoad = board.getPlayerWithLongestRoad();
+        return new GameSnapshot(getStateVersion(), board.getHexagonNumbers(), board.getResourceTileMap(), board.getPorts(),
+                board.getAllPlacedPieces(), board.getRobber().getCoord(), playerStates, devCards, availablePieces,
+                largestArmy == null ? null : largestArmy.createDTO(), longestRoad == null ? null : longestRoad.createDTO(),
+                getDevCardsRemaining());
+    }
+
     /**
      * Get Standings from the current game  including secret points
      *
@@ -871,6 +1050,25 @@ public class GameSession {
         return dtoList;
     }
 
+    /**
+     * Returns the number of turns the given player has started, including the turns of the setup phase
+     *
+     * @param player the player of this session
+     * @return the number of turns of the player
+     */
+    public int getTurnsPlayed(Player player) {
+        return turnsPlayed[player.getPlayerId()];
+    }
+
+    /**
+     * Returns the time this session has been running since it was {@link #start() started}
+     *
+     * @return the duration of the game in milliseconds, 0 if it has not been started
+     */
+    public long getDurationMillis() {
+        return gameStarted ? System.currentTimeMillis() - startedAt : 0;
+    }
+
     /**
      * Getter for the current StateContext
      *
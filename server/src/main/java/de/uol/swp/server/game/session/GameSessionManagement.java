@@ -6,9 +6,10 @@ import de.uol.swp.common.lobby.GameLobby;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles most interactions of GameSessions
@@ -16,7 +17,7 @@ import java.util.Optional;
 @Singleton
 public class GameSessionManagement {
     private static final Logger LOG = LogManager.getLogger(GameSessionManagement.class);
-    private final Map<String, GameSession> sessions = new HashMap<>();
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>(); // keyed by the lower case name
     private final GameSessionFactory gameSessionFactory;
 
     /**
@@ -34,39 +35,31 @@ public class GameSessionManagement {
      *
      * @param lobby the lobby that is started
      * @throws IllegalArgumentException name already taken
-     * @throws IllegalArgumentException name already taken
-     * @implNote the primary key of the session is the name therefore the name has
+     * @implNote the primary key of the session is the name ignoring its case, therefore the name has
      * to be unique
      * @see de.uol.swp.common.user.User
      */
-    public GameSession createGameSession(GameLobby lobby) {
-        if (sessions.containsKey(lobby.getName())) {
+    public synchronized GameSession createGameSession(GameLobby lobby) {
+        if (sessions.containsKey(key(lobby.getName()))) {
             throw new IllegalArgumentException("Session name " + lobby.getName() + " already started!");
         }
         GameSession session = gameSessionFactory.create(lobby);
         LOG.debug("New GameSession created, Session name {}", lobby.getName());
-        sessions.put(lobby.getName(), session);
+        sessions.put(key(lobby.getName()), session);
         return session;
     }
 
     /**
      * Searches for the session with the requested name
+     * <p>
+     * The case of the name is ignored. The lookup does not block and can be called from any thread.
      *
      * @param name String containing the name of the session to search for
      * @return either empty Optional or Optional containing the session
      * @see Optional
      */
     public Optional<GameSession> getGameSession(String name) {
-        GameSession session = null;
-        for (Map.Entry<String, GameSession> entry : sessions.entrySet()) {
-            if (entry.getKey().equalsIgnoreCase(name)) {
-                session = entry.getValue();
-            }
-        }
-        if (session != null) {
-            return Optional.of(session);
-        }
-        return Optional.empty();
+        return name == null ? Optional.empty() : Optional.ofNullable(sessions.get(key(name)));
     }
 
     /**
@@ -75,10 +68,13 @@ public class GameSessionManagement {
      * @param name String containing the name of the session to delete
      * @throws IllegalArgumentException there exists no session with the requested name
      */
-    public void dropGameSession(String name) {
-        if (!sessions.containsKey(name)) {
+    public synchronized void dropGameSession(String name) {
+        if (sessions.remove(key(name)) == null) {
             throw new IllegalArgumentException("Session name " + name + " not found!");
         }
-        sessions.remove(name);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 }
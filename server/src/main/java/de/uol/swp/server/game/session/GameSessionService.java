@@ -1,6 +1,7 @@
 package de.uol.swp.server.game.session;
 
 import com.google.common.collect.Multimap;
+import com.google.common.eventbus.AllowConcurrentEvents;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.google.inject.Inject;
@@ -13,10 +14,6 @@ import de.uol.swp.common.game.debug.SetStateRequest;
 import de.uol.swp.common.game.dto.GameDTO;
 import de.uol.swp.common.game.dto.PlayerDTO;
 import de.uol.swp.common.game.message.*;
-import de.uol.swp.common.game.message.inventory.BuildableObjectMessage;
-import de.uol.swp.common.game.message.inventory.DevCardCountMessage;
-import de.uol.swp.common.game.message.inventory.DevCardDetailedCountMessage;
-import de.uol.swp.common.game.message.inventory.ResourceCardCountMessage;
 import de.uol.swp.common.game.request.*;
 import de.uol.swp.common.game.request.build.CancelBuildRequest;
 import de.uol.swp.common.game.request.build.PlaceObjectRequest;
@@ -35,16 +32,17 @@ import de.uol.swp.common.message.ServerMessage;
 import de.uol.swp.common.user.Session;
 import de.uol.swp.common.user.User;
 import de.uol.swp.server.AbstractService;
+import de.uol.swp.server.communication.RoomRegistry;
 import de.uol.swp.server.exception.*;
 import de.uol.swp.server.game.Player;
-import de.uol.swp.server.game.ai.BotUser;
 import de.uol.swp.server.message.SendSystemMessage;
 import de.uol.swp.server.usermanagement.AuthenticationService;
+import de.uol.swp.server.usermanagement.statistics.GameResult;
+import de.uol.swp.server.usermanagement.statistics.StatisticsRecorder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 
 /**
@@ -56,27 +54,50 @@ public class GameSessionService extends AbstractService {
     private static final Logger LOG = LogManager.getLogger(GameSessionService.class);
     private final GameSessionManagement gameSessionManagement;
     private final AuthenticationService authenticationService;
+    private final RoomRegistry rooms;
+    private final StatisticsRecorder statisticsRecorder;
+
+    /**
+     * Constructor
+     * <p>
+     * The results of finished games are not recorded.
+     *
+     * @param bus   the EvenBus used throughout the server
+     * @param rooms the registry of the connections of the users in the game sessions
+     */
+    public GameSessionService(GameSessionManagement gameSessionManagement, EventBus bus, AuthenticationService authenticationService,
+                              RoomRegistry rooms) {
+        this(gameSessionManagement, bus, authenticationService, rooms, null);
+    }
 
     /**
      * Constructor
      *
-     * @param bus the EvenBus used throughout the server
+     * @param bus                the EvenBus used throughout the server
+     * @param rooms              the registry of the connections of the users in the game sessions
+     * @param statisticsRecorder the recorder the results of finished games are handed to
      */
     @Inject
-    public GameSessionService(GameSessionManagement gameSessionManagement, EventBus bus, AuthenticationService authenticationService) {
+    public GameSessionService(GameSessionManagement gameSessionManagement, EventBus bus, AuthenticationService authenticationService,
+                              RoomRegistry rooms, StatisticsRecorder statisticsRecorder) {
         super(bus);
         this.gameSessionManagement = gameSessionManagement;
         this.authenticationService = authenticationService;
+        this.rooms = rooms;
+        this.statisticsRecorder = statisticsRecorder;
     }
 
 
     /**
-     * Create a game session in SessionManagement
+     * Create a game session in SessionManagement and adds its users to the room of the game session
      *
      * @param lobby GameLobby used for GameSession
      */
     public GameSession createGameSession(GameLobby lobby) {
-        return gameSessionManagement.createGameSession(lobby);
+        GameSession gameSession = gameSessionManagement.createGameSession(lobby);
+        String room = RoomRegistry.game(gameSession.getGameSessionName());
+        gameSession.getUsers().forEach(user -> rooms.join(room, user));
+        return gameSession;
     }
 
     /**
@@ -87,6 +108,7 @@ public class GameSessionService extends AbstractService {
      * @param request the PlayerFinishedLoadingRequest found on the EventBus
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onPlayerFinishedLoadingRequest(PlayerFinishedLoadingRequest request) {
         Optional<Session> userSession = request.getSession();
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getGameSessionName());
@@ -103,6 +125,7 @@ public class GameSessionService extends AbstractService {
      * @param request the request
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onPlaceObjectRequest(PlaceObjectRequest request) {
         LOG.debug("onPlaceObjectRequest {}", request);
         Optional<Session> userSession = request.getSession();
@@ -158,6 +181,7 @@ public class GameSessionService extends AbstractService {
      * @see de.uol.swp.common.game.request.TurnEndRequest
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onTurnEndRequest(TurnEndRequest turnEndRequest) {
 
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(turnEndRequest.getGameSessionName());
@@ -172,14 +196,28 @@ public class GameSessionService extends AbstractService {
      * If the last real user has left the GameSession, it deletes the GameSession and cancels the timer.
      * if the user who leaves is on, the passTheMoveOn method is called
      * If there are still users left in the GameSession it instead sends a UserLeftGameSessionMessage to them
+     * <p>
+     * Requests posted outside the mailbox of the game session, e.g. on a logout or a disconnect, are handed to the
+     * mailbox, so the user never leaves in the middle of a turn.
      *
      * @param leaveGameRequest the GameLeaveUserRequest found on the eventbus
      * @see GameSession
      * @see LeaveGameRequest
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onGameLeaveUserRequest(LeaveGameRequest leaveGameRequest) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(leaveGameRequest.getGameSessionName());
+        if (gameSession.isPresent() && !gameSession.get().getMailbox().isCurrent()) {
+            GameSession game = gameSession.get();
+            game.execute(() -> leaveGameSession(leaveGameRequest, gameSessionManagement
+                    .getGameSession(leaveGameRequest.getGameSessionName()).filter(current -> current == game)));
+        } else {
+            leaveGameSession(leaveGameRequest, gameSession);
+        }
+    }
+
+    private void leaveGameSession(LeaveGameRequest leaveGameRequest, Optional<GameSession> gameSession) {
         Optional<Session> session = leaveGameRequest.getSession();
         if (gameSession.isPresent() && session.isPresent()) {
             GameSession game = gameSession.get();
@@ -191,6 +229,7 @@ public class GameSessionService extends AbstractService {
             } else {
                 try {
                     game.leaveGameSession(userSession);
+                    rooms.leave(RoomRegistry.game(gameName), userSession.getUser());
                     PlayerDTO[] playerDTOS = Arrays.stream(game.getPlayers()).map(Player::createDTO).toArray(PlayerDTO[]::new);
                     sendToAllInGameSession(gameName, new UpdateGameSessionMessage(gameName, new GameDTO(gameName, debugEnabled, playerDTOS)));
                 } catch (UserIsNotPartOfGameSessionException exception) {
@@ -216,6 +255,7 @@ public class GameSessionService extends AbstractService {
      * @param request the RejoinGameSessionRequest that is sent
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onRejoinGameSessionRequest(RejoinGameSessionRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getGameSessionName());
         Optional<Session> session = request.getSession();
@@ -226,6 +266,7 @@ public class GameSessionService extends AbstractService {
             String gameName = request.getGameSessionName();
             try {
                 gameSession.get().rejoinGameSession(session.get().getUser());
+                rooms.join(RoomRegistry.game(game.getGameSessionName()), session.get().getUser());
                 Player[] players = gameSession.get().getPlayers();
                 PlayerDTO[] playerDTOS = Arrays.stream(players).map(Player::createDTO).toArray(PlayerDTO[]::new);
                 boolean debugEnabled = gameSession.get().isDebugEnabled();
@@ -248,67 +289,74 @@ public class GameSessionService extends AbstractService {
         }
     }
 
+    /**
+     * Announces the rejoined user to all players and sends the state of the game to the user
+     * <p>
+     * The state is sent as one {@link GameSnapshotMessage} taken in a single read of the session,
+     * instead of a separate message for the board, the pieces and every player.
+     *
+     * @param game the game session the user rejoined
+     * @param user the rejoined user
+     */
     private void setGameSessionViewForRejoinedUser(GameSession game, User user) {
-        Player[] players = game.getPlayers();
-        PlayerDTO[] playerDTOS = Arrays.stream(players).map(Player::createDTO).toArray(PlayerDTO[]::new);
+        PlayerDTO[] playerDTOS = Arrays.stream(game.getPlayers()).map(Player::createDTO).toArray(PlayerDTO[]::new);
         String gameName = game.getGameSessionName();
-        String userName = user.getUsername();
-        Player player = game.getPlayer(user.getUsername());
-        boolean debugEnabled = game.isDebugEnabled();
-        sendToAllInGameSession(gameName, new UpdateGameSessionMessage(gameName, new GameDTO(gameName, debugEnabled, playerDTOS)));
-        sendInitialBoard(gameName, userName);
-        initPlacedObjects(gameName, userName);
-        for (Player p : game.getPlayers()) {
-            ResourceCardCountMessage message = new ResourceCardCountMessage(p.getGameSessionName(), p.createDTO(),
-                    p.getInventory().getResources());
-            sendToPlayerInGameSession(gameName, message, userName, false);
-            VPUpdateMessage vpUpdateMessage = new VPUpdateMessage(p.getGameSessionName(), p.createDTO(), p.getNumOfPublicVP());
-            sendToPlayerInGameSession(gameName, vpUpdateMessage, userName, false);
-            int count = 0;
-            for (Map.Entry<DevCard, Integer> entry : p.getInventory().getDevCards().entrySet()) {
-                count += entry.getValue();
-            }
-            DevCardCountMessage devCardCountMessage = new DevCardCountMessage(gameName, p.createDTO(), count);
-            sendToPlayerInGameSession(gameName, devCardCountMessage, userName, false);
-        }
-        DevCardDetailedCountMessage devCardDetailedCountMessage = new DevCardDetailedCountMessage(gameName, player.getInventory().getDevCards());
-        sendToPlayerInGameSession(gameName, devCardDetailedCountMessage, userName, false);
-        sendToPlayerInGameSession(gameName, new RobberPositionUpdateMessage(gameName, game.getBoard().getRobber().getCoord()), userName, false);
-        if (game.getContext().getPlayerWithLargestArmy() != null) {
-            KnightUpdateMessage knightUpdateMessage = new KnightUpdateMessage(gameName, game.getContext().getPlayerWithLargestArmy().createDTO());
-            sendToPlayerInGameSession(gameName, knightUpdateMessage, userName, false);
-        }
-        if (game.getBoard().getPlayerWithLongestRoad() != null) {
-            LongestRoadUpdateMessage longestRoadUpdateMessage = new LongestRoadUpdateMessage(gameName,
-                    game.getBoard().getPlayerWithLongestRoad().createDTO());
-            sendToPlayerInGameSession(gameName, longestRoadUpdateMessage, userName, false);
-        }
-        BuildableObjectMessage buildableObjectMessage = new BuildableObjectMessage(gameName, player.createDTO(),
-                player.getInventory().getAvailablePieces());
-        sendToPlayerInGameSession(gameName, buildableObjectMessage, userName, false);
-        DevCardRemainingMessage devCardRemainingMessage = new DevCardRemainingMessage(gameName, game.getDevCardsRemaining());
-        sendToPlayerInGameSession(gameName, devCardRemainingMessage, userName, false);
-
-
+        sendToAllInGameSession(gameName, new UpdateGameSessionMessage(gameName, new GameDTO(gameName, game.isDebugEnabled(), playerDTOS)));
+        GameSnapshotMessage snapshotMessage = new GameSnapshotMessage(gameName, game.createSnapshot(user.getUsername()));
+        sendToUser(game, snapshotMessage, user.getUsername());
     }
 
+
     /**
-     * initiates the placed objects for a rejoining user, to be displayed
+     * Handles ResumeGameRequests found on the EventBus
+     * <p>
+     * A player who is still part of the game session, e.g. after detecting a gap in the sequence numbers, rejoins
+     * the rooms of the game and its lobby. The player receives the missed messages as a {@link GameUpdatesMessage}
+     * if the session still has all of them and nothing was sent to the player alone since, otherwise a
+     * {@link GameSnapshotMessage}.
+     * <p>
+     * A player whose connection dropped was logged out and replaced by a bot. After joining the lobby again, the
+     * player takes the seat back from the bot like on a {@link RejoinGameSessionRequest} and receives a snapshot,
+     * because the bot may have changed the private inventory of the seat.
      *
-     * @param name of the gameSession
+     * @param request the ResumeGameRequest found on the EventBus
      */
-
-    private void initPlacedObjects(String name, String userName) {
-        Optional<GameSession> gameSession = gameSessionManagement.getGameSession(name);
-        if (gameSession.isPresent()) {
-            GameSession game = gameSession.get();
-
-            RejoinBoardMessage message = new RejoinBoardMessage(game.getGameSessionName(), game.getBoard().getAllPlacedPieces());
-            sendToPlayerInGameSession(game.getGameSessionName(), message, userName, false);
+    @Subscribe
+    @AllowConcurrentEvents
+    public void onResumeGameRequest(ResumeGameRequest request) {
+        Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getGameSessionName());
+        Optional<Session> session = request.getSession();
+        if (gameSession.isEmpty() || session.isEmpty()) {
+            LOG.debug("{} can not resume the game session {}", session.map(Session::getUser).orElse(null), request.getGameSessionName());
+            return;
+        }
+        GameSession game = gameSession.get();
+        String gameName = game.getGameSessionName();
+        User user = session.get().getUser();
+        boolean rejoined = !game.getUsers().contains(user);
+        if (rejoined) {
+            try {
+                game.rejoinGameSession(user);
+            } catch (CanNotRejoinException exception) {
+                LOG.debug("{} can not resume the game session {}: {}", user, gameName, exception.getReason());
+                sendResponseToPlayer(gameName, request, new CanNotRejoinGameResponse(gameName, exception.getReason()), false);
+                return;
+            }
         }
+        rooms.join(RoomRegistry.game(gameName), user);
+        if (game.getLobby().getUsers().contains(user)) {
+            rooms.join(RoomRegistry.lobby(game.getLobby().getName()), user);
+        }
+        if (rejoined) {
+            setGameSessionViewForRejoinedUser(game, user);
+            return;
+        }
+        Optional<List<AbstractGameMessage>> updates = game.getUpdatesSince(request.getKnownVersion(), user.getUsername());
+        AbstractGameMessage message = updates.isPresent() ? new GameUpdatesMessage(gameName, updates.get())
+                : new GameSnapshotMessage(gameName, game.createSnapshot(user.getUsername()));
+        sendToUser(game, message, user.getUsername());
     }
 
-
     /**
      * Handles GameEndedRequestGameSession found on the EventBus
      * <p>
@@ -320,6 +368,7 @@ public class GameSessionService extends AbstractService {
      * @see GameEndedRequestGameSession
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onGameEndedRequestGameSession(GameEndedRequestGameSession gameEndedRequestGameSession) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession((gameEndedRequestGameSession.getGameSessionName()));
         if (gameSession.isPresent() && gameSession.get().isDebugEnabled()) {
@@ -327,11 +376,15 @@ public class GameSessionService extends AbstractService {
             gameSessionManagement.dropGameSession(gameEndedRequestGameSession.getGameSessionName());
             sendToAllInGameSession(gameEndedRequestGameSession.getGameSessionName(),
                     new GameSessionDroppedMessage(gameEndedRequestGameSession.getGameSessionName()));
+            rooms.close(RoomRegistry.game(gameSession.get().getGameSessionName()));
         }
     }
 
     /**
      * Send the end game message to all players
+     * <p>
+     * The results of the players who are not bots are handed to the statistics recorder, the player leading the
+     * standings has won.
      */
     public void endGame(String lobbyName) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(lobbyName);
@@ -340,11 +393,27 @@ public class GameSessionService extends AbstractService {
             sendToAllInGameSession(lobbyName, new GameOverMessage(lobbyName, standings));
             gameSession.get().stopGame();
             gameSessionManagement.dropGameSession(lobbyName);
+            rooms.close(RoomRegistry.game(gameSession.get().getGameSessionName()));
+            if (statisticsRecorder != null) {
+                statisticsRecorder.record(createResults(gameSession.get(), standings));
+            }
         } else {
             LOG.error("Game not found {}", lobbyName);
         }
+    }
 
-//
+    private List<GameResult> createResults(GameSession gameSession, List<PlayerDTO> standings) {
+        long finishedAt = System.currentTimeMillis();
+        long duration = gameSession.getDurationMillis();
+        List<GameResult> results = new ArrayList<>(standings.size());
+        for (PlayerDTO playerDTO : standings) {
+            Player player = gameSession.getPlayer(playerDTO.getPlayerId());
+            if (!player.isBot()) {
+                results.add(new GameResult(player.getPlayerName(), playerDTO == standings.get(0),
+                        playerDTO.getVictoryPoints(), gameSession.getTurnsPlayed(player), duration, finishedAt));
+            }
+        }
+        return results;
     }
 
     /**
@@ -357,6 +426,7 @@ public class GameSessionService extends AbstractService {
      * @param request the BuyDevCardRequest found on the EventBus
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onBuyDevCardRequest(BuyDevCardRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (gameSession.isPresent()) {
@@ -381,6 +451,7 @@ public class GameSessionService extends AbstractService {
      * @param request the StartBuildRequest found on the EventBus
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onStartBuildRequest(StartBuildRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (gameSession.isPresent()) {
@@ -401,6 +472,7 @@ public class GameSessionService extends AbstractService {
      * @param request the CancelBuildRequest found on the EventBus
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onCancelBuildRequest(CancelBuildRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (gameSession.isPresent()) {
@@ -425,6 +497,7 @@ public class GameSessionService extends AbstractService {
      * @param request the subclass of AbstractTradeRequest found on the EventBus
      */
     @Subscribe
+    @AllowConcurrentEvents
     private void onTradeRequest(AbstractTradeRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (gameSession.isPresent()) {
@@ -450,6 +523,7 @@ public class GameSessionService extends AbstractService {
      * @param request the request
      */
     @Subscribe
+    @AllowConcurrentEvents
     private void onDiscardCardsRequest(DiscardCardsRequest request) {
         Optional<GameSession> optional = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (optional.isPresent()) {
@@ -473,6 +547,7 @@ public class GameSessionService extends AbstractService {
      * @param request the {@code SetStateRequest} found on the EventBus
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onSetStateRequest(SetStateRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getSessionName());
         gameSession.ifPresent(session -> session.debugSetState(request.getState()));
@@ -485,6 +560,7 @@ public class GameSessionService extends AbstractService {
      * @param request send by the Client with the new coordinations for the robber
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onRobberPlacingRequest(RobberPlacingRequest request) {
         Optional<GameSession> optional = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (optional.isPresent()) {
@@ -503,6 +579,7 @@ public class GameSessionService extends AbstractService {
      * @param request
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onPlayerPickerRequest(PlayerPickerRequest request) {
         Optional<GameSession> optional = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (optional.isPresent()) {
@@ -522,6 +599,7 @@ public class GameSessionService extends AbstractService {
      * @param request the RollDiceRequest send from the Client
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onRollDiceRequest(RollDiceRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (gameSession.isPresent()) {
@@ -538,6 +616,7 @@ public class GameSessionService extends AbstractService {
     }
 
     @Subscribe
+    @AllowConcurrentEvents
     public void onSetNextDiceRequest(SetNextDiceRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getSessionName());
         if (gameSession.isPresent()) {
@@ -553,6 +632,7 @@ public class GameSessionService extends AbstractService {
      * @param request the {@code SetResourcesRequest} found on the EventBus
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onSetResourcesRequest(SetResourcesRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getLobbyName());
         gameSession.ifPresent(session -> session.debugSetResources(request.getResourceMap(), request.getPlayerName()));
@@ -564,6 +644,7 @@ public class GameSessionService extends AbstractService {
      * @param request the {@code SetDevCardsRequest} found on the EventBus
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onSetDevCardsRequest(SetDevCardsRequest request) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(request.getSessionName());
         gameSession.ifPresent(session -> session.debugSetDevCards(request.getDevCards(), request.getPlayerName()));
@@ -576,6 +657,7 @@ public class GameSessionService extends AbstractService {
      * @since 2021-06-16
      */
     @Subscribe
+    @AllowConcurrentEvents
     public void onUseCardRequest(UseCardRequest request) {
         Optional<GameSession> optional = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (optional.isPresent()) {
@@ -589,6 +671,7 @@ public class GameSessionService extends AbstractService {
     }
 
     @Subscribe
+    @AllowConcurrentEvents
     public void onIsUsingCardAllowedRequest(IsUsingCardAllowedRequest request) {
         Optional<GameSession> optional = gameSessionManagement.getGameSession(request.getGameSessionName());
         if (optional.isPresent()) {
@@ -604,6 +687,8 @@ public class GameSessionService extends AbstractService {
     /**
      * Prepares a given ServerMessage to be send to a specific player in the game session and
      * posts it on the EventBus
+     * <p>
+     * The session notes the message, so a player who may have missed it is resumed with a snapshot.
      *
      * @param gameSessionName the name of the gameSession the player is in
      * @param message         the message to be sent to the player
@@ -615,20 +700,25 @@ public class GameSessionService extends AbstractService {
             if (bot) {
                 gameSession.get().sendMessageToBot(message, playerName);
             } else {
-                Set<User> receiver = new HashSet<>();
-                Set<User> users = gameSession.get().getLobby().getUsers();
-                for (User user : users) {
-                    if (user.getUsername().equals(playerName)) {
-                        receiver.add(user);
-                    }
-                }
-                if (receiver.isEmpty()) return;
-                message.setReceiver(authenticationService.getSessions(receiver));
-                post(message);
+                gameSession.get().notePrivateMessage(playerName);
+                sendToUser(gameSession.get(), message, playerName);
             }
         }
     }
 
+    private void sendToUser(GameSession gameSession, ServerMessage message, String playerName) {
+        Set<User> receiver = new HashSet<>();
+        Set<User> users = gameSession.getLobby().getUsers();
+        for (User user : users) {
+            if (user.getUsername().equals(playerName)) {
+                receiver.add(user);
+            }
+        }
+        if (receiver.isEmpty()) return;
+        message.setReceiver(authenticationService.getSessions(receiver));
+        post(message);
+    }
+
     /**
      * Prepares a given ResponseMessage to be send to a specific player in the game session and
      * posts it on the EventBus
@@ -651,18 +741,23 @@ public class GameSessionService extends AbstractService {
     /**
      * Prepares a given ServerMessage to be send to all players in the game session and
      * posts it on the EventBus
+     * <p>
+     * The message is addressed to the room of the game session, the bots receive it directly.
+     * Game messages get the next sequence number of the session.
      *
      * @param gameSessionName the name of the gameSession the players are in
      * @param message         the message to be sent to the users
      * @see de.uol.swp.common.message.ServerMessage
+     * @see RoomRegistry
      */
     public void sendToAllInGameSession(String gameSessionName, ServerMessage message) {
         Optional<GameSession> gameSession = gameSessionManagement.getGameSession(gameSessionName);
 
         if (gameSession.isPresent()) {
-            List<Session> usersAndBots = authenticationService.getSessions(gameSession.get().getUsers());
-            usersAndBots.addAll(gameSession.get().getBots().stream().map(BotUser::getSession).collect(Collectors.toSet()));
-            message.setReceiver(usersAndBots);
+            if (message instanceof AbstractGameMessage) {
+                gameSession.get().announce((AbstractGameMessage) message);
+            }
+            rooms.address(message, RoomRegistry.game(gameSession.get().getGameSessionName()));
             post(message);
             gameSession.get().sendMessageToBots(message);
         } else {
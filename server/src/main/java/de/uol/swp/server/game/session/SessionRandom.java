@@ -0,0 +1,78 @@
+package de.uol.swp.server.game.session;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * The seedable random source of a {@link GameSession}
+ * <p>
+ * The session creates one instance from its seed and {@link #split() splits} an independent stream off it for
+ * every part of the game that needs random numbers, e.g. the board, the dice, the development card deck and each
+ * bot. The streams depend only on the seed and the order of the splits, so a game can be replayed by creating a
+ * session with the same seed, and a bot that draws more numbers does not change the numbers the dice roll.
+ * <p>
+ * It extends {@link Random}, so it can be passed to {@link java.util.Collections#shuffle(java.util.List, Random)}
+ * and every other method taking a {@code Random}. Unlike {@code Random} it is not thread safe, which is fine as
+ * all input of a session is processed in its mailbox.
+ */
+@SuppressWarnings("java:S2160")
+final class SessionRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressWarnings("java:S1948")
+    private final SplittableRandom source;
+
+    /**
+     * Constructor
+     *
+     * @param seed the seed of the game
+     */
+    SessionRandom(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SessionRandom(SplittableRandom source) {
+        super(0L);
+        this.source = source;
+    }
+
+    /**
+     * Creates a new random source whose numbers are independent of the numbers of this one
+     *
+     * @return the new random source
+     */
+    SessionRandom split() {
+        return new SessionRandom(source.split());
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (source.nextLong() >>> (Long.SIZE - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return source.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return source.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return source.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return source.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return source.nextBoolean();
+    }
+}
@@ -1,14 +1,23 @@
 package de.uol.swp.server.game.session;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import de.uol.swp.server.concurrent.GameScheduler;
+import io.netty.util.Timeout;
+
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * A custom Timer that can be restarted
+ * <p>
+ * The timer does not own a thread. It waits on the timeout wheel of the {@link GameScheduler} and runs its task
+ * in the mailbox of the game session. A timeout that fires after the timer has been restarted or stopped is
+ * ignored, so a stale timeout can never end a turn. The timer must only be used from within the mailbox.
  */
 public class TurnTimer {
-    private Timer timer = new Timer();
+    private final GameScheduler scheduler;
+    private final Executor mailbox;
+    private Timeout timeout;
+    private long generation;
     private long timerDuration;
     private boolean alive = true;
 
@@ -17,41 +26,58 @@ public class TurnTimer {
      *
      * @param timerDuration the default duration of the timer
      * @param timeUnit      the time unit of the timerDuration parameter
+     * @param scheduler     the scheduler providing the timeout wheel
+     * @param mailbox       the mailbox the task of the timer is run in
      */
-    public TurnTimer(int timerDuration, TimeUnit timeUnit) {
+    public TurnTimer(int timerDuration, TimeUnit timeUnit, GameScheduler scheduler, Executor mailbox) {
         this.timerDuration = timeUnit.toMillis(timerDuration);
+        this.scheduler = scheduler;
+        this.mailbox = mailbox;
     }
 
     /**
-     * Restart this timer with the given TimerTask
+     * Restart this timer with the given task
      *
-     * @param task the TimerTask that should be started
+     * @param task the task that should be started
      */
-    public void restartTimer(TimerTask task) {
+    public void restartTimer(Runnable task) {
         restartTimer(task, timerDuration, TimeUnit.MILLISECONDS);
     }
 
     /**
-     * Restart this timer with the given TimerTask and the given duration
+     * Restart this timer with the given task and the given duration
+     * <p>
+     * The task is repeated with the given duration until the timer is restarted or stopped.
      *
-     * @param task          the TimerTask that should be started
+     * @param task          the task that should be started
      * @param timerDuration the duration of the timer
      * @param timeUnit      the time unit of the timerDuration parameter
      */
-    public void restartTimer(TimerTask task, long timerDuration, TimeUnit timeUnit) {
-        timer.cancel();
+    public void restartTimer(Runnable task, long timerDuration, TimeUnit timeUnit) {
+        stop();
         if (alive) {
-            timer = new Timer();
-            timer.scheduleAtFixedRate(task, timeUnit.toMillis(timerDuration), timeUnit.toMillis(timerDuration));
+            schedule(task, timeUnit.toMillis(timerDuration), generation);
         }
     }
 
+    private void schedule(Runnable task, long millis, long scheduledGeneration) {
+        timeout = scheduler.newTimeout(mailbox, () -> {
+            if (alive && scheduledGeneration == generation) {
+                schedule(task, millis, scheduledGeneration);
+                task.run();
+            }
+        }, millis, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Stops this timer
      */
     public void stop() {
-        timer.cancel();
-        timer.purge();
+        generation++;
+        if (timeout != null) {
+            timeout.cancel();
+            timeout = null;
+        }
     }
 
     /**
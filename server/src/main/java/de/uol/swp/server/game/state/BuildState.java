@@ -15,11 +15,9 @@ import de.uol.swp.server.exception.GameStateException;
 import de.uol.swp.server.exception.OverDrawException;
 import de.uol.swp.server.game.InventoryService;
 import de.uol.swp.server.game.Player;
-import de.uol.swp.server.game.board.BoardUtils;
 import de.uol.swp.server.game.mapobject.BuildablePiece;
 import de.uol.swp.server.game.session.GameSession;
 
-import java.util.ArrayList;
 import java.util.Set;
 
 /**
@@ -164,26 +162,16 @@ public enum BuildState implements GameState {
                 gameSession.sendLogMessage(player.getPlayerName() + " hat eine Straße gebaut.");
                 break;
             }
-            case SETTLEMENT:
-                for (Player otherPlayer : gameSession.getPlayers()) {
-                    if (!otherPlayer.equals(player)) {
-                        var roadCoords = new ArrayList<>(BoardUtils.getConnectedPlayerRoadsFromCorner(gameSession.getBoard(), coord, otherPlayer));
-                        var longestPath = gameSession.getBoard().getLongestPlayerRoad(otherPlayer).getVisited();
-                        int count = 0;
-                        for (Coord roadCoord : roadCoords) {
-                            if (longestPath.contains(roadCoord)) count++;
-                        }
-                        if (count >= 2) {
-                            Player oldPlayerWithLongestRoad = gameSession.getPlayerWithLongestRoad();
-                            gameSession.getBoard().findLongestRoadAfterBreak(otherPlayer);
-                            updateLongestRoad(gameSession, oldPlayerWithLongestRoad);
-                        }
-                    }
-                }
+            case SETTLEMENT: {
+                //The board already split the roads the settlement breaks
+                Player oldPlayerWithLongestRoad = gameSession.getPlayerWithLongestRoad();
+                gameSession.getBoard().updateLongestRoad();
+                updateLongestRoad(gameSession, oldPlayerWithLongestRoad);
                 gameSession.sendLogMessage(player.getPlayerName() + " hat eine Siedlung gebaut.");
                 player.updateBuildingVictoryPoints(1);
                 gameSession.sendVPUpdateMessage(player);
                 break;
+            }
             case CITY:
                 gameSession.sendLogMessage(player.getPlayerName() + " hat eine Stadt gebaut.");
                 player.updateBuildingVictoryPoints(1);
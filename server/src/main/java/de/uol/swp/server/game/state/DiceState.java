@@ -1,18 +1,16 @@
 package de.uol.swp.server.game.state;
 
-import de.uol.swp.common.game.board.*;
+import de.uol.swp.common.game.board.ResourceEnumMap;
 import de.uol.swp.common.game.request.IsUsingCardAllowedRequest;
 import de.uol.swp.common.game.request.RollDiceRequest;
 import de.uol.swp.common.game.request.UseCardRequest;
 import de.uol.swp.server.exception.GameStateException;
 import de.uol.swp.server.exception.InvalidGameStateException;
 import de.uol.swp.server.game.Player;
-import de.uol.swp.server.game.board.Board;
-import de.uol.swp.server.game.board.BoardUtils;
-import de.uol.swp.server.game.mapobject.CornerPiece;
+import de.uol.swp.server.game.board.ProductionTable;
 import de.uol.swp.server.game.session.GameSession;
 
-import java.util.*;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -22,8 +20,6 @@ public enum DiceState implements GameState {
 
     INSTANCE;
 
-    private static final Random RANDOM = new Random();
-
     @Override
     public void next(GameSession gameSession, StateContext context) {
         gameSession.setCurrentState(PlayState.INSTANCE);
@@ -38,7 +34,7 @@ public enum DiceState implements GameState {
             }
             int diceResult = context.getNextDiceResult();
             if (diceResult == -1) {
-                diceResult = RANDOM.nextInt(6) + 1 + RANDOM.nextInt(6) + 1;
+                diceResult = gameSession.rollDice();
             }
             processDiceResult(gameSession, context, diceResult);
         } else if (context.getLastRequest() instanceof IsUsingCardAllowedRequest) {
@@ -60,7 +56,7 @@ public enum DiceState implements GameState {
 
     @Override
     public void endTurn(GameSession gameSession, StateContext context) {
-        processDiceResult(gameSession, context, RANDOM.nextInt(6) + 1 + RANDOM.nextInt(6) + 1);
+        processDiceResult(gameSession, context, gameSession.rollDice());
     }
 
     @Override
@@ -104,24 +100,22 @@ public enum DiceState implements GameState {
         gameSession.sendLogMessage(gameSession.getWhoseTurn().getPlayerName() + " hat eine " + diceResult + " gewürfelt!");
     }
 
-    private void distributeResources(GameSession gameSession, int diceResult) {
-        Board board = gameSession.getBoard();
-        Collection<Coord> hexagonCoords = board.getHexagonNumbers().get(diceResult);
-        Map<Player, ResourceEnumMap> playerResources = new HashMap<>();
-        for (Coord coord : hexagonCoords) {
-            if (coord.equals(board.getRobber().getCoord())) {
-                continue;
-            }
-            ResourceType resource = ResourceTile.toResourceType(board.getResourceTileFromCoord(coord));
-            Set<CornerPiece> pieces = BoardUtils.getCornerPiecesAdjacentToHex(board, coord);
-            for (CornerPiece piece : pieces) {
-                playerResources.putIfAbsent(piece.getPlayer(), new ResourceEnumMap());
-                int amount = (piece.getPieceType() == PieceType.SETTLEMENT) ? 1 : 2;
-                playerResources.get(piece.getPlayer()).computeIfPresent(resource, (resourceType, integer) -> integer += amount);
+    /**
+     * Gives every player the resources of the dice result by walking the production table of the board, which is
+     * sorted by player, so every player gets a single inventory update
+     */
+    void distributeResources(GameSession gameSession, int diceResult) {
+        ProductionTable production = gameSession.getBoard().getProduction();
+        Player[] players = gameSession.getPlayers();
+        int size = production.size(diceResult);
+        int entry = 0;
+        while (entry < size) {
+            int playerId = production.getPlayerId(diceResult, entry);
+            ResourceEnumMap resources = new ResourceEnumMap();
+            for (; entry < size && production.getPlayerId(diceResult, entry) == playerId; entry++) {
+                resources.put(production.getResource(diceResult, entry), production.getAmount(diceResult, entry));
             }
-        }
-        for (Map.Entry<Player, ResourceEnumMap> entry : playerResources.entrySet()) {
-            gameSession.getInventoryService().increaseResources(entry.getKey(), entry.getValue());
+            gameSession.getInventoryService().increaseResources(players[playerId], resources);
         }
     }
 }
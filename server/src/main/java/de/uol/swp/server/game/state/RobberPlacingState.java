@@ -147,7 +147,7 @@ public enum RobberPlacingState implements GameState {
     private List<Player> getPossibleVictims(GameSession gameSession, Player player, Coord pos) {
         Set<Player> playersAdjacentToHex = BoardUtils.getPlayersAdjacentToHex(gameSession.getBoard(), pos);
         var uniqueList = playersAdjacentToHex.stream().filter(p -> !p.equals(player)).collect(Collectors.toList());
-        Collections.shuffle(uniqueList);
+        Collections.shuffle(uniqueList, gameSession.getRandom());
         return uniqueList;
     }
 }
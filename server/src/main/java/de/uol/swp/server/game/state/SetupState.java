@@ -16,7 +16,6 @@ import de.uol.swp.server.game.session.GameSession;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Random;
 
 /**
  * This is the setup phase of the game.
@@ -26,7 +25,6 @@ public enum SetupState implements GameState {
 
     INSTANCE;
 
-    private static final Random RANDOM = new Random();
     private static final int MAX_AMOUNT_OF_PLACEMENTS = 4;
     private static final Logger LOG = LogManager.getLogger(SetupState.class);
 
@@ -79,7 +77,7 @@ public enum SetupState implements GameState {
                 }
             } else if (setupInfo.nextPiece() == PieceType.ROAD) {
                 var roads = setupInfo.getRoads(gameSession.getBoard());
-                Coord randomRoad = roads.get(RANDOM.nextInt(roads.size()));
+                Coord randomRoad = roads.get(player.getRandom().nextInt(roads.size()));
                 try {
                     processSetup(gameSession, context, player, PieceType.ROAD, randomRoad);
                 } catch (SetupException e) {
@@ -8,14 +8,12 @@ import de.uol.swp.server.game.board.Board;
 import de.uol.swp.server.game.board.BoardUtils;
 
 import java.util.*;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Stores import context for the current state like the last request sent by a player
  */
 public class StateContext {
     private final Map<Player, Boolean> discardedBefore = new HashMap<>();
-    private final ReentrantLock inputLock = new ReentrantLock();
     /*
     Gehört hier nicht wirklich rein weil dass ja eher TurnContext ist.
     Sollten später noch mehr Sachen dazu kommen die über mehrere States hinweg
@@ -31,15 +29,6 @@ public class StateContext {
     private int setupPhase = 0;
     private int nextDiceResult = -1;
 
-    /**
-     * Returns the lock that is being used to prevent user input from breaking the game state
-     *
-     * @return the lock that is being used to prevent user input from breaking the game state
-     */
-    public ReentrantLock getInputLock() {
-        return inputLock;
-    }
-
     /**
      * Clears the hasDiscardedMap for use in the next discard Phase
      */
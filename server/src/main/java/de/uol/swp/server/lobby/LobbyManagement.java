@@ -6,14 +6,17 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
  * Manages creation, deletion and storing of lobbies
+ * <p>
+ * Lobbies are found by their name ignoring its case. Lookups do not block and can be called from any thread,
+ * creating, dropping and toggling the privacy of a lobby are serialized.
  *
  * @author Marco Grawunder
  * @see de.uol.swp.common.lobby.Lobby
@@ -23,8 +26,10 @@ import java.util.regex.Pattern;
 public class LobbyManagement {
 
     private static final Logger LOG = LogManager.getLogger(LobbyManagement.class);
-    private final Map<String, GameLobby> lobbies = new HashMap<>();
-    private final Map<String, GameLobby> privateLobbies = new HashMap<>();
+    private static final Pattern LOBBY_NAME = Pattern.compile("[a-z0-9 ]{1,10}", Pattern.CASE_INSENSITIVE);
+    private final Map<String, GameLobby> lobbiesByKey = new ConcurrentHashMap<>(); // keyed by the lower case name
+    private final Map<String, GameLobby> lobbies = new ConcurrentHashMap<>();
+    private final Map<String, GameLobby> privateLobbies = new ConcurrentHashMap<>();
 
     /**
      * Creates a new lobby and adds it to the list.
@@ -36,31 +41,31 @@ public class LobbyManagement {
      * @param privateLobby boolean to create a private lobby
      * @throws IllegalArgumentException name already taken
      * @throws IllegalArgumentException name is illegal
-     * @implNote the primary key of the lobbies is the name therefore the name has
+     * @implNote the primary key of the lobbies is the name ignoring its case, therefore the name has
      * to be unique
      * @see de.uol.swp.common.user.User
      * @since 2019-10-08
      */
-    public void createLobby(String name, User owner, boolean privateLobby) {
-        Pattern pattern = Pattern.compile("[a-z0-9 ]{1,10}", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(name);
-        if (lobbies.containsKey(name) || privateLobbies.containsKey(name)) {
+    public synchronized void createLobby(String name, User owner, boolean privateLobby) {
+        if (lobbiesByKey.containsKey(key(name))) {
             throw new IllegalArgumentException("Lobby name " + name + " already exists!");
         }
-        if (!matcher.matches()) {
+        if (!LOBBY_NAME.matcher(name).matches()) {
             throw new IllegalArgumentException("Lobby name " + name + " is illegal!");
         }
         GameLobby lobby = new GameLobby(name, owner, privateLobby);
+        lobbiesByKey.put(key(name), lobby);
         if (privateLobby) {
             privateLobbies.put(name, lobby);
         } else {
             lobbies.put(name, lobby);
         }
-
     }
 
     /**
      * Searches for the lobby with the requested name
+     * <p>
+     * The case of the name is ignored. The lookup does not block and can be called from any thread.
      *
      * @param name String containing the name of the lobby to search for
      * @return either empty Optional or Optional containing the lobby
@@ -68,23 +73,7 @@ public class LobbyManagement {
      * @since 2019-10-08
      */
     public Optional<GameLobby> getLobby(String name) {
-        GameLobby lobby = null;
-        for (Map.Entry<String, GameLobby> entry : lobbies.entrySet()) {
-            if (entry.getKey().equalsIgnoreCase(name)) {
-                lobby = entry.getValue();
-            }
-        }
-        if (lobby == null) {
-            for (Map.Entry<String, GameLobby> entry : privateLobbies.entrySet()) {
-                if (entry.getKey().equalsIgnoreCase(name)) {
-                    lobby = entry.getValue();
-                }
-            }
-        }
-        if (lobby != null) {
-            return Optional.of(lobby);
-        }
-        return Optional.empty();
+        return name == null ? Optional.empty() : Optional.ofNullable(lobbiesByKey.get(key(name)));
     }
 
     /**
@@ -94,14 +83,13 @@ public class LobbyManagement {
      * @throws IllegalArgumentException there exists no lobby with the requested name
      * @since 2019-10-08
      */
-    public void dropLobby(String name) {
-        if (lobbies.containsKey(name)) {
-            lobbies.remove(name);
-        } else if (privateLobbies.containsKey(name)) {
-            privateLobbies.remove(name);
-        } else {
+    public synchronized void dropLobby(String name) {
+        GameLobby lobby = lobbiesByKey.remove(key(name));
+        if (lobby == null) {
             throw new IllegalArgumentException("Lobby name " + name + " not found!");
         }
+        lobbies.remove(lobby.getName());
+        privateLobbies.remove(lobby.getName());
     }
 
     /**
@@ -110,16 +98,20 @@ public class LobbyManagement {
      * @param lobbyName the name of the lobby
      * @return {@code true} if the lobby was in one of the maps, otherwise {@code false}
      */
-    public boolean toggleLobbyPrivacy(String lobbyName) {
-        LOG.debug("{} is private: {}", lobbyName, lobbies.containsKey(lobbyName));
-        if (lobbies.containsKey(lobbyName)) {
-            privateLobbies.put(lobbyName, lobbies.remove(lobbyName));
-            return true;
-        } else if (privateLobbies.containsKey(lobbyName)) {
-            lobbies.put(lobbyName, privateLobbies.remove(lobbyName));
-            return true;
+    public synchronized boolean toggleLobbyPrivacy(String lobbyName) {
+        GameLobby lobby = lobbiesByKey.get(key(lobbyName));
+        if (lobby == null) {
+            return false;
+        }
+        String name = lobby.getName();
+        LOG.debug("{} is private: {}", name, privateLobbies.containsKey(name));
+        if (lobbies.remove(name) != null) {
+            privateLobbies.put(name, lobby);
+        } else {
+            privateLobbies.remove(name);
+            lobbies.put(name, lobby);
         }
-        return false;
+        return true;
     }
 
     /**
@@ -139,4 +131,8 @@ public class LobbyManagement {
     public Map<String, GameLobby> getPrivateLobbies() {
         return Collections.unmodifiableMap(privateLobbies);
     }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
 }
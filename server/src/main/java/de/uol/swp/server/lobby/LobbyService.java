@@ -19,6 +19,7 @@ import de.uol.swp.common.message.ServerMessage;
 import de.uol.swp.common.user.Session;
 import de.uol.swp.common.user.User;
 import de.uol.swp.server.AbstractService;
+import de.uol.swp.server.communication.RoomRegistry;
 import de.uol.swp.server.game.Player;
 import de.uol.swp.server.game.session.GameSession;
 import de.uol.swp.server.game.session.GameSessionService;
@@ -48,6 +49,7 @@ public class LobbyService extends AbstractService {
     private final LobbyManagement lobbyManagement;
     private final AuthenticationService authenticationService;
     private final GameSessionService gameSessionService;
+    private final RoomRegistry rooms;
 
     /**
      * Constructor
@@ -55,16 +57,18 @@ public class LobbyService extends AbstractService {
      * @param lobbyManagement       the management class for creating, storing and deleting
      *                              lobbies
      * @param authenticationService the user management
+     * @param rooms                 the registry of the connections of the users in the lobbies
      * @param eventBus              the server-wide EventBus
      * @since 2019-10-08
      */
     @Inject
     public LobbyService(LobbyManagement lobbyManagement, AuthenticationService authenticationService, GameSessionService gameSessionService,
-                        EventBus eventBus) {
+                        RoomRegistry rooms, EventBus eventBus) {
         super(eventBus);
         this.lobbyManagement = lobbyManagement;
         this.authenticationService = authenticationService;
         this.gameSessionService = gameSessionService;
+        this.rooms = rooms;
     }
 
     /**
@@ -119,6 +123,7 @@ public class LobbyService extends AbstractService {
                     sendToAll(new LobbyCreatedMessage(request.getLobbyName(), LobbyDTO.create(lobby.get())));
                 }
                 lobby.get().joinUser(request.getOwner());
+                rooms.join(RoomRegistry.lobby(lobby.get().getName()), request.getOwner());
                 updateSessionLobbyListForUser(request.getOwner(), lobby.get().getName(), false);
                 response = new LobbyJoinSuccessfulResponse(LobbyDTO.create(lobby.get()));
                 response.initWithMessage(request);
@@ -159,6 +164,7 @@ public class LobbyService extends AbstractService {
         } else {
             sendToAllInLobby(request.getLobbyName(), new UserJoinedLobbyMessage(request.getLobbyName(), UserDTO.create(session.get().getUser())));
             lobby.get().joinUser(session.get().getUser());
+            rooms.join(RoomRegistry.lobby(lobby.get().getName()), session.get().getUser());
             updateSessionLobbyListForUser(session.get().getUser(), request.getLobbyName(), false);
             response = new LobbyJoinSuccessfulResponse(LobbyDTO.create(lobby.get()));
             sendPlayerJoinedLobby(lobby.get().getName(), session.get().getUser().getUsername());
@@ -195,10 +201,12 @@ public class LobbyService extends AbstractService {
         if (lobby.isPresent() && session.isPresent()) {
             if (lobby.get().getUsers().size() == 1) {
                 lobbyManagement.dropLobby(request.getLobbyName());
+                rooms.close(RoomRegistry.lobby(lobby.get().getName()));
                 sendToAll(new LobbyDroppedMessage(request.getLobbyName(), LobbyDTO.create(lobby.get())));
             } else {
                 User user = session.get().getUser();
                 lobby.get().leaveUser(user);
+                rooms.leave(RoomRegistry.lobby(lobby.get().getName()), user);
                 updateSessionLobbyListForUser(user, request.getLobbyName(), false);
                 sendToAllInLobby(request.getLobbyName(), new UserLeftLobbyMessage(request.getLobbyName(), UserDTO.create(user)));
                 sendPlayerLeftLobby(lobby.get().getName(), user.getUsername());
@@ -224,14 +232,18 @@ public class LobbyService extends AbstractService {
      * <p>
      * updated users are added and old ones deleted.
      * If the user to be deleted is the owner, the right is transferred to the updated user
+     * The user is renamed in the rooms of the lobbies and their game sessions as well.
      *
      * @param messageUser the ChangedUserInLobby found of the EventBus
      */
     @Subscribe
     public void addUpdatedUser(ClientChangedUserInfoMessage messageUser) {
+        User oldUser = new UserDTO(messageUser.getOldUsername(), "", "");
         for (int i = 0; i < messageUser.getLobbies().size(); i++) {
             Optional<GameLobby> lobby = lobbyManagement.getLobby(messageUser.getLobbies().get(i));
             if (lobby.isPresent()) {
+                rooms.rename(RoomRegistry.lobby(lobby.get().getName()), oldUser, messageUser.getUser());
+                rooms.rename(RoomRegistry.game(lobby.get().getName()), oldUser, messageUser.getUser());
                 if (lobby.get().getOwner().getUsername().equals(messageUser.getOldUsername())) {
                     lobby.get().updateUser(messageUser.getUser(), messageUser.getOldUsername());
                     lobby.get().updateOwner(messageUser.getUser());
@@ -263,6 +275,7 @@ public class LobbyService extends AbstractService {
             sendToAllInLobby(request.getLobbyName(), new GameEndedMessage(request.getLobbyName()));
             sendToAll(new LobbyDroppedMessage(request.getLobbyName(), LobbyDTO.create(lobby.get())));
             lobbyManagement.dropLobby(request.getLobbyName());
+            rooms.close(RoomRegistry.lobby(lobby.get().getName()));
         }
     }
 
@@ -307,6 +320,7 @@ public class LobbyService extends AbstractService {
         Optional<Session> owner = request.getSession();
         if (lobby.isPresent() && kicked.isPresent() && owner.isPresent() && lobby.get().getOwner().equals(owner.get().getUser())) {
             lobby.get().leaveUser(request.getKickUser());
+            rooms.leave(RoomRegistry.lobby(lobby.get().getName()), request.getKickUser());
             sendToAllInLobby(request.getLobbyName(), new UserLeftLobbyMessage(request.getLobbyName(), request.getKickUser()));
             sendPlayerKickedLobby(request.getLobbyName(), request.getKickUser().getUsername());
             KickedFromLobbyMessage message = new KickedFromLobbyMessage(request.getLobbyName());
@@ -421,17 +435,20 @@ public class LobbyService extends AbstractService {
     /**
      * Prepares a given ServerMessage to be send to all players in the lobby and
      * posts it on the EventBus
+     * <p>
+     * The message is addressed to the room of the lobby, so the receivers do not have to be looked up.
      *
      * @param lobbyName the name of the lobby the players are in
      * @param message   the message to be send to the users
      * @see de.uol.swp.common.message.ServerMessage
+     * @see RoomRegistry
      * @since 2019-10-08
      */
     public void sendToAllInLobby(String lobbyName, ServerMessage message) {
         Optional<GameLobby> lobby = lobbyManagement.getLobby(lobbyName);
 
         if (lobby.isPresent()) {
-            message.setReceiver(authenticationService.getSessions(lobby.get().getUsers()));
+            rooms.address(message, RoomRegistry.lobby(lobby.get().getName()));
             post(message);
         } else {
             LOG.error("{} does not exist", lobbyName);
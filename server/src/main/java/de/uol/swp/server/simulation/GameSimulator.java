@@ -0,0 +1,168 @@
+package de.uol.swp.server.simulation;
+
+import de.uol.swp.server.usermanagement.store.DataBaseUserStore;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * Plays many {@link SimulatedGame simulated games} between bots in parallel and reports the throughput
+ * <p>
+ * Every game runs on one thread of a {@link ForkJoinPool}, so the number of games played at the same time is the
+ * parallelism of the pool. The seeds of the games are derived from the seed of the simulator, so a run with the same
+ * seed plays the same games, and a single game can be replayed with the seed in its result. The report contains the games per second and the wall clock time spent in each state,
+ * which makes the simulator the throughput regression benchmark of the game logic and the base for testing bots.
+ * <p>
+ * Run the main method to print a report, e.g. with
+ * {@code mvn -pl server exec:java -Dexec.mainClass=de.uol.swp.server.simulation.GameSimulator -Dexec.args="1000 8 42"}
+ */
+@SuppressWarnings({"PMD.SystemPrintln", "java:S106"})
+public class GameSimulator {
+
+    /**
+     * The game time after which a game is stopped, a real game between bots takes about an hour
+     */
+    public static final long DEFAULT_LIMIT_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private static final Logger LOG = LogManager.getLogger(GameSimulator.class);
+    private static final int DEFAULT_GAMES = 100;
+    private static final int PLAYERS = 4;
+
+    private final int parallelism;
+    private final long limitMillis;
+    private final long seed;
+    private final UserStore userStore;
+
+    /**
+     * Constructor
+     *
+     * @param parallelism the number of games played at the same time
+     * @param limitMillis the game time after which a game is stopped
+     * @param seed        the seed the seeds of the games are derived from
+     * @param userStore   the store of the users the games are created with
+     */
+    public GameSimulator(int parallelism, long limitMillis, long seed, UserStore userStore) {
+        this.parallelism = parallelism;
+        this.limitMillis = limitMillis;
+        this.seed = seed;
+        this.userStore = userStore;
+    }
+
+    /**
+     * Plays the given number of games and waits until all of them are over
+     *
+     * @param games   the number of games to play
+     * @param players the number of bots in every game
+     * @return the report of the games
+     * @throws InterruptedException if the thread was interrupted while waiting for the games
+     */
+    public Report run(int games, int players) throws InterruptedException {
+        List<Callable<SimulatedGame.Result>> tasks = new ArrayList<>(games);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < games; i++) {
+            String name = "simulation-" + i;
+            long gameSeed = seeds.nextLong();
+            tasks.add(() -> new SimulatedGame(name, players, gameSeed, userStore).play(limitMillis));
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long start = System.nanoTime();
+            List<SimulatedGame.Result> results = new ArrayList<>(games);
+            for (Future<SimulatedGame.Result> future : pool.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    LOG.error("Simulated game failed", e.getCause());
+                }
+            }
+            return new Report(results, games, System.nanoTime() - start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays games between bots and prints the report
+     *
+     * @param args the number of games, the parallelism and the seed, defaults to 100 games, one game per processor
+     *             and a new seed
+     * @throws InterruptedException if the main thread was interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : ThreadLocalRandom.current().nextLong();
+        //Only bots play, so the database is never connected to
+        UserStore userStore = new DataBaseUserStore(true);
+        //Warm up the JIT, so the report does not measure the interpreter
+        new GameSimulator(parallelism, DEFAULT_LIMIT_MILLIS, ~seed, userStore).run(parallelism, PLAYERS);
+        System.out.println("seed " + seed);
+        System.out.println(new GameSimulator(parallelism, DEFAULT_LIMIT_MILLIS, seed, userStore).run(games, PLAYERS));
+    }
+
+    /**
+     * The results of a run of the simulator
+     */
+    public static final class Report {
+        private final List<SimulatedGame.Result> results;
+        private final int games;
+        private final long wallNanos;
+
+        private Report(List<SimulatedGame.Result> results, int games, long wallNanos) {
+            this.results = results;
+            this.games = games;
+            this.wallNanos = wallNanos;
+        }
+
+        /**
+         * Returns the results of all games that did not fail
+         *
+         * @return the results of the games
+         */
+        public List<SimulatedGame.Result> getResults() {
+            return results;
+        }
+
+        /**
+         * Returns the number of games that ended with a winner
+         *
+         * @return the number of finished games
+         */
+        public long getFinished() {
+            return results.stream().filter(SimulatedGame.Result::isFinished).count();
+        }
+
+        /**
+         * Returns how many games were played per second of wall clock time
+         *
+         * @return the games per second
+         */
+        public double getGamesPerSecond() {
+            return games / (wallNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("%d games, %d finished, %d failed, %d errors in %.2f s: %.1f games/s%n", games, getFinished(),
+                    games - results.size(), results.stream().mapToInt(SimulatedGame.Result::getErrors).sum(), wallNanos / 1e9,
+                    getGamesPerSecond()));
+            report.append(String.format("per game: %.1f turns, %.1f min of game time, %.2f ms of cpu time%n",
+                    results.stream().mapToInt(SimulatedGame.Result::getTurns).average().orElse(0),
+                    results.stream().mapToLong(SimulatedGame.Result::getVirtualMillis).average().orElse(0) / 60_000,
+                    results.stream().mapToLong(SimulatedGame.Result::getWallNanos).average().orElse(0) / 1e6));
+            Map<String, SimulatedGame.PhaseTime> phases = SimulatedGame.PhaseTime.sum(results);
+            long total = phases.values().stream().mapToLong(SimulatedGame.PhaseTime::getNanos).sum();
+            report.append(String.format("%-20s %10s %12s %8s%n", "state", "entered", "us/entry", "share"));
+            phases.forEach((state, time) -> report.append(String.format("%-20s %10d %12.1f %7.1f%%%n", state, time.getEntered(),
+                    time.getNanos() / 1e3 / Math.max(1, time.getEntered()), 100.0 * time.getNanos() / Math.max(1, total))));
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package de.uol.swp.server.simulation;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import de.uol.swp.common.game.debug.StateMessage;
+import de.uol.swp.common.game.dto.PlayerDTO;
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.game.message.GameOverMessage;
+import de.uol.swp.common.game.message.NextTurnMessage;
+import de.uol.swp.common.lobby.GameLobby;
+import de.uol.swp.common.lobby.dto.LobbyOptions;
+import de.uol.swp.common.user.User;
+import de.uol.swp.server.communication.RoomRegistry;
+import de.uol.swp.server.communication.SessionRegistry;
+import de.uol.swp.server.communication.UUIDSession;
+import de.uol.swp.server.exception.UserIsNotPartOfGameSessionException;
+import de.uol.swp.server.game.InventoryService;
+import de.uol.swp.server.game.session.GameSession;
+import de.uol.swp.server.game.session.GameSessionManagement;
+import de.uol.swp.server.game.session.GameSessionService;
+import de.uol.swp.server.usermanagement.AuthenticationService;
+import de.uol.swp.server.usermanagement.UserManagement;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A game between bots that runs without a network, Guice or real time
+ * <p>
+ * Every simulated game wires its own {@link EventBus}, services and {@link SimulatedScheduler}, exactly like the
+ * server does for a real game, so the bots play through the same requests, states and messages. The thinking time
+ * of the bots and the turn timers only advance the virtual clock of the scheduler. The user who creates the lobby
+ * leaves right away and is replaced by a bot, so only bots are left when the game starts. The lobby is a debug lobby
+ * with the seed of the game, so playing the same seed again plays exactly the same game.
+ * <p>
+ * A game must be {@link #play(long) played} on a single thread, different games can be played in parallel.
+ *
+ * @see GameSimulator
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class SimulatedGame {
+
+    private static final Logger LOG = LogManager.getLogger(SimulatedGame.class);
+
+    private final String name;
+    private final long seed;
+    private final SimulatedScheduler scheduler = new SimulatedScheduler();
+    private final GameSession gameSession;
+    private final Map<String, PhaseTime> phases = new TreeMap<>();
+    private String phase;
+    private long phaseStart;
+    private int turns;
+    private int errors;
+    private List<PlayerDTO> standings = Collections.emptyList();
+    private boolean over;
+
+    /**
+     * Constructor
+     *
+     * @param name      the name of the game, must be unique among the games played in parallel
+     * @param players   the number of bots that play the game
+     * @param seed      the seed of the game, the same seed plays the same game again
+     * @param userStore the store of the users, the bots of the game never log in
+     */
+    public SimulatedGame(String name, int players, long seed, UserStore userStore) {
+        this.name = name;
+        this.seed = seed;
+        EventBus bus = new EventBus((exception, context) -> {
+            errors++;
+            LOG.error("{}: {} failed to handle {}", name, context.getSubscriberMethod().getName(), context.getEvent(), exception);
+        });
+        var gameSessionHolder = new GameSession[1];
+        var management = new GameSessionManagement(lobby -> gameSessionHolder[0]);
+        var sessions = new SessionRegistry();
+        var authenticationService = new AuthenticationService(bus, new UserManagement(userStore), sessions);
+        var gameSessionService = new GameSessionService(management, bus, authenticationService, new RoomRegistry(sessions));
+        var inventoryService = new InventoryService(bus, gameSessionService);
+
+        User owner = new UserDTO(name, "", "");
+        GameLobby lobby = new GameLobby(name, owner, false);
+        lobby.updateLobby(LobbyOptions.DEBUG, true);
+        lobby.updateLobby(LobbyOptions.SEED, seed);
+        for (int i = 1; i < players; i++) {
+            lobby.addBot();
+        }
+        gameSessionHolder[0] = new GameSession(lobby, gameSessionService, inventoryService, bus, scheduler);
+        gameSession = gameSessionService.createGameSession(lobby);
+        try {
+            gameSession.leaveGameSession(UUIDSession.create(owner));
+        } catch (UserIsNotPartOfGameSessionException e) {
+            throw new IllegalStateException("The owner of " + name + " is not part of the game", e);
+        }
+        bus.register(new Observer());
+    }
+
+    /**
+     * Plays the game until somebody has won or the virtual time limit is reached
+     *
+     * @param limitMillis the virtual time after which an unfinished game is stopped
+     * @return the result of the game
+     */
+    public Result play(long limitMillis) {
+        long start = System.nanoTime();
+        phaseStart = start;
+        gameSession.execute(gameSession::start);
+        scheduler.runUntil(() -> over, limitMillis);
+        long end = System.nanoTime();
+        enterPhase(null, end);
+        if (!over) {
+            gameSession.stopGame();
+            LOG.warn("{} did not finish within {} ms of game time", name, limitMillis);
+        }
+        scheduler.shutdown();
+        return new Result(name, seed, over, standings, turns, errors, scheduler.getNow(), end - start, phases);
+    }
+
+    private void enterPhase(String newPhase, long timestamp) {
+        if (phase != null) {
+            phases.computeIfAbsent(phase, key -> new PhaseTime()).add(timestamp - phaseStart);
+        }
+        phase = newPhase;
+        phaseStart = timestamp;
+    }
+
+    /**
+     * Receives the messages the server would send to the clients of the game
+     */
+    private final class Observer {
+
+        @Subscribe
+        public void onStateMessage(StateMessage message) {
+            if (!message.getState().equals(phase)) {
+                enterPhase(message.getState(), System.nanoTime());
+            }
+        }
+
+        @Subscribe
+        public void onNextTurnMessage(NextTurnMessage message) {
+            turns++;
+        }
+
+        @Subscribe
+        public void onGameOverMessage(GameOverMessage message) {
+            standings = message.getStandings();
+            over = true;
+        }
+    }
+
+    /**
+     * The wall clock time a game spent in one of its states
+     */
+    public static final class PhaseTime {
+        private long nanos;
+        private int entered;
+
+        private void add(long phaseNanos) {
+            nanos += phaseNanos;
+            entered++;
+        }
+
+        private void add(PhaseTime other) {
+            nanos += other.nanos;
+            entered += other.entered;
+        }
+
+        /**
+         * Returns the total time spent in the state
+         *
+         * @return the time in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns how often the state was entered
+         *
+         * @return the number of times the state was entered
+         */
+        public int getEntered() {
+            return entered;
+        }
+
+        /**
+         * Adds up the times of a state over many games
+         *
+         * @param results the results of the games
+         * @return the time spent in each state by all games
+         */
+        public static Map<String, PhaseTime> sum(List<Result> results) {
+            Map<String, PhaseTime> sum = new TreeMap<>();
+            for (Result result : results) {
+                result.getPhases().forEach((state, time) -> sum.computeIfAbsent(state, key -> new PhaseTime()).add(time));
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * The outcome of a simulated game
+     */
+    public static final class Result {
+        private final String name;
+        private final long seed;
+        private final boolean finished;
+        private final List<PlayerDTO> standings;
+        private final int turns;
+        private final int errors;
+        private final long virtualMillis;
+        private final long wallNanos;
+        private final Map<String, PhaseTime> phases;
+
+        private Result(String name, long seed, boolean finished, List<PlayerDTO> standings, int turns, int errors, long virtualMillis,
+                       long wallNanos, Map<String, PhaseTime> phases) {
+            this.name = name;
+            this.seed = seed;
+            this.finished = finished;
+            this.standings = standings;
+            this.turns = turns;
+            this.errors = errors;
+            this.virtualMillis = virtualMillis;
+            this.wallNanos = wallNanos;
+            this.phases = phases;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the seed the game was played with
+         *
+         * @return the seed to replay the game with
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Returns whether a player has won the game
+         *
+         * @return {@code true} if the game ended with a winner, {@code false} if it hit the time limit
+         */
+        public boolean isFinished() {
+            return finished;
+        }
+
+        /**
+         * Returns the players sorted by their victory points
+         *
+         * @return the final standings, empty if the game did not finish
+         */
+        public List<PlayerDTO> getStandings() {
+            return standings;
+        }
+
+        public int getTurns() {
+            return turns;
+        }
+
+        /**
+         * Returns the number of exceptions thrown while handling requests and messages
+         *
+         * @return the number of exceptions
+         */
+        public int getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns how long the game would have taken with real thinking times and timers
+         *
+         * @return the game time in milliseconds
+         */
+        public long getVirtualMillis() {
+            return virtualMillis;
+        }
+
+        /**
+         * Returns how long it took to play the game
+         *
+         * @return the wall clock time in nanoseconds
+         */
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        /**
+         * Returns the wall clock time the game spent in each of its states
+         *
+         * @return the time per state, keyed by the simple name of the state
+         */
+        public Map<String, PhaseTime> getPhases() {
+            return phases;
+        }
+    }
+}
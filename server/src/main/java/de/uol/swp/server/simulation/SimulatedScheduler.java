@@ -0,0 +1,206 @@
+package de.uol.swp.server.simulation;
+
+import de.uol.swp.server.concurrent.GameScheduler;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A {@link GameScheduler} with a virtual clock for headless games
+ * <p>
+ * Mailboxes are drained on the thread that calls {@link #runUntil(BooleanSupplier, long)} instead of worker threads,
+ * and delayed tasks and timeouts do not wait: once no mailbox has work left, the clock jumps to the next due task.
+ * A game therefore runs as fast as the CPU allows, but the order of all events is the same as with real delays,
+ * e.g. a bot thinking for two seconds still acts before a turn timer of a minute runs out. Tasks that are due at
+ * the same time run in the order they were scheduled, so a run does not depend on thread timing.
+ * <p>
+ * The scheduler is not thread safe. Every simulated game gets its own scheduler and runs on a single thread.
+ */
+public class SimulatedScheduler extends GameScheduler {
+
+    private final Queue<Runnable> ready;
+    private final PriorityQueue<VirtualTask> due = new PriorityQueue<>();
+    private long now;
+    private long sequence;
+
+    /**
+     * Constructor
+     */
+    public SimulatedScheduler() {
+        this(new ArrayDeque<>());
+    }
+
+    private SimulatedScheduler(Queue<Runnable> ready) {
+        super(ready::add, new AtomicLong());
+        this.ready = ready;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Executor mailbox, Runnable task, long delay, TimeUnit unit) {
+        return enqueue(mailbox, task, unit.toMillis(delay));
+    }
+
+    @Override
+    public Timeout newTimeout(Executor mailbox, Runnable task, long delay, TimeUnit unit) {
+        return enqueue(mailbox, task, unit.toMillis(delay));
+    }
+
+    private VirtualTask enqueue(Executor mailbox, Runnable task, long delayMillis) {
+        VirtualTask virtualTask = new VirtualTask(now + Math.max(0, delayMillis), sequence++, () -> mailbox.execute(task));
+        due.add(virtualTask);
+        return virtualTask;
+    }
+
+    /**
+     * Runs the mailboxes and advances the clock until the condition is met, nothing is left to do or the time limit
+     * has been reached
+     *
+     * @param done        the condition that ends the run, checked whenever the mailboxes are empty
+     * @param limitMillis the virtual time after which the run is stopped
+     * @return {@code true} if the condition has been met, otherwise {@code false}
+     */
+    public boolean runUntil(BooleanSupplier done, long limitMillis) {
+        while (true) {
+            Runnable task;
+            while ((task = ready.poll()) != null) {
+                task.run();
+            }
+            if (done.getAsBoolean()) {
+                return true;
+            }
+            VirtualTask next = due.poll();
+            while (next != null && next.isCancelled()) {
+                next = due.poll();
+            }
+            if (next == null || next.dueMillis > limitMillis) {
+                return false;
+            }
+            now = Math.max(now, next.dueMillis);
+            next.fire();
+        }
+    }
+
+    /**
+     * Returns the virtual time that has passed since the scheduler was created
+     *
+     * @return the virtual time in milliseconds
+     */
+    public long getNow() {
+        return now;
+    }
+
+    /**
+     * Returns the number of delayed tasks and timeouts that are not due yet
+     *
+     * @return the number of pending delayed tasks and timeouts, including cancelled ones
+     */
+    public int getPendingDelayed() {
+        return due.size();
+    }
+
+    @Override
+    public void shutdown() {
+        due.clear();
+        ready.clear();
+    }
+
+    /**
+     * A delayed task or timeout waiting for the virtual clock
+     */
+    private final class VirtualTask implements ScheduledFuture<Object>, Timeout {
+        private final long dueMillis;
+        private final long order;
+        private final Runnable action;
+        private boolean cancelled;
+        private boolean fired;
+
+        private VirtualTask(long dueMillis, long order, Runnable action) {
+            this.dueMillis = dueMillis;
+            this.order = order;
+            this.action = action;
+        }
+
+        private void fire() {
+            fired = true;
+            action.run();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueMillis - now, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            VirtualTask task = (VirtualTask) other;
+            int compare = Long.compare(dueMillis, task.dueMillis);
+            return compare == 0 ? Long.compare(order, task.order) : compare;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return cancel();
+        }
+
+        @Override
+        public boolean cancel() {
+            if (fired || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return fired || cancelled;
+        }
+
+        @Override
+        public Object get() {
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) {
+            return null;
+        }
+
+        @Override
+        public Timer timer() {
+            return null;
+        }
+
+        @Override
+        public TimerTask task() {
+            return timeout -> action.run();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return fired;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(order);
+        }
+    }
+}
@@ -18,13 +18,18 @@ import de.uol.swp.common.user.response.ChangeUserInfoSuccessfulResponse;
 import de.uol.swp.common.user.response.EditPasswordResponse;
 import de.uol.swp.common.user.response.InvalidPasswordResponse;
 import de.uol.swp.server.AbstractService;
+import de.uol.swp.server.communication.SessionRegistry;
 import de.uol.swp.server.communication.UUIDSession;
 import de.uol.swp.server.message.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.security.auth.login.LoginException;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Mapping authentication event bus calls to user management calls
@@ -39,24 +44,44 @@ public class AuthenticationService extends AbstractService {
     private static final Logger LOG = LogManager.getLogger(AuthenticationService.class);
 
     /**
-     * The list of current logged in users
+     * The current logged in users
      */
-    private final Map<Session, User> userSessions = new HashMap<>();
+    private final SessionRegistry userSessions;
 
     private final UserManagement userManagement;
 
+    private final PasswordHashingPool hashingPool;
+
     /**
      * Constructor
+     * <p>
+     * Passwords are hashed synchronously on the thread posting the request.
      *
      * @param bus            the EventBus used throughout the entire server
      * @param userManagement object of the UserManagement to use
+     * @param userSessions   the registry the sessions of the logged in users are stored in
      * @see de.uol.swp.server.usermanagement.UserManagement
      * @since 2019-08-30
      */
+    public AuthenticationService(EventBus bus, UserManagement userManagement, SessionRegistry userSessions) {
+        this(bus, userManagement, userSessions, PasswordHashingPool.direct());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param bus            the EventBus used throughout the entire server
+     * @param userManagement object of the UserManagement to use
+     * @param userSessions   the registry the sessions of the logged in users are stored in
+     * @param hashingPool    the pool the passwords of logins are hashed on
+     */
     @Inject
-    public AuthenticationService(EventBus bus, UserManagement userManagement) {
+    public AuthenticationService(EventBus bus, UserManagement userManagement, SessionRegistry userSessions,
+                                 PasswordHashingPool hashingPool) {
         super(bus);
         this.userManagement = userManagement;
+        this.userSessions = userSessions;
+        this.hashingPool = hashingPool;
     }
 
     /**
@@ -65,7 +90,7 @@ public class AuthenticationService extends AbstractService {
      */
     public void createSessionForTest(User user){
         Session newSession = UUIDSession.create(user);
-        userSessions.put(newSession, user);
+        userSessions.login(newSession, user);
     }
 
     /**
@@ -78,8 +103,7 @@ public class AuthenticationService extends AbstractService {
      * @since 2019-09-04
      */
     public Optional<Session> getSession(User user) {
-        Optional<Map.Entry<Session, User>> entry = userSessions.entrySet().stream().filter(e -> e.getValue().equals(user)).findFirst();
-        return entry.map(Map.Entry::getKey);
+        return userSessions.getSession(user);
     }
 
     /**
@@ -92,11 +116,10 @@ public class AuthenticationService extends AbstractService {
      * @since 2019-10-08
      */
     public List<Session> getSessions(Set<User> users) {
-        List<Session> sessions = new ArrayList<>();
-        users.forEach(u -> {
-            Optional<Session> session = getSession(u);
-            session.ifPresent(sessions::add);
-        });
+        List<Session> sessions = new ArrayList<>(users.size());
+        for (User user : users) {
+            getSession(user).ifPresent(sessions::add);
+        }
         return sessions;
     }
 
@@ -104,10 +127,11 @@ public class AuthenticationService extends AbstractService {
      * Handles LoginRequests found on the EventBus
      * <p>
      * If a LoginRequest is detected on the EventBus, this method is called. It
-     * tries to login a user via the UserManagement. If this succeeds the user and
-     * his Session are stored in the userSessions Map and a ClientAuthorizedMessage
-     * is posted on the EventBus otherwise a ServerExceptionMessage gets posted
-     * there.
+     * tries to login a user via the UserManagement. The password is hashed in the
+     * {@link PasswordHashingPool}, so this method returns right away. If the login
+     * succeeds the user and his Session are stored in the userSessions Map and a
+     * ClientAuthorizedMessage is posted on the EventBus otherwise a
+     * ServerExceptionMessage gets posted there.
      *
      * @param msg the LoginRequest
      * @see de.uol.swp.common.user.request.LoginRequest
@@ -120,25 +144,28 @@ public class AuthenticationService extends AbstractService {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Got new auth message with User: {}, Pass: {}", msg.getUsername(), msg.getPassword());
         }
-        ServerInternalMessage returnMessage;
-        try {
-            User newUser = userManagement.login(msg.getUsername(), msg.getPassword());
-            returnMessage = new ClientAuthorizedMessage(newUser);
-            Session newSession = UUIDSession.create(newUser);
-            userSessions.put(newSession, newUser);
-            returnMessage.setSession(newSession);
-        } catch (SecurityException e) {
-            LOG.error(e);
-            returnMessage = new ServerExceptionMessage(new LoginException("Cannot auth user " + msg.getUsername()));
-        } catch (UserManagementException e) {
-            LOG.error(e);
-            returnMessage = new ServerExceptionMessage(new LoginException("User already logged in " + msg.getUsername()));
-        }
-        Optional<MessageContext> ctx = msg.getMessageContext();
-        if (ctx.isPresent()) {
-            returnMessage.setMessageContext(ctx.get());
-        }
-        post(returnMessage);
+        hashingPool.execute(() -> userManagement.login(msg.getUsername(), msg.getPassword()), (newUser, failure) -> {
+            ServerInternalMessage returnMessage;
+            if (failure == null) {
+                returnMessage = new ClientAuthorizedMessage(newUser);
+                Session newSession = UUIDSession.create(newUser);
+                userSessions.login(newSession, newUser);
+                returnMessage.setSession(newSession);
+            } else if (failure instanceof UserManagementException) {
+                LOG.error(failure);
+                returnMessage = new ServerExceptionMessage(new LoginException("User already logged in " + msg.getUsername()));
+            } else if (failure instanceof RejectedExecutionException) {
+                returnMessage = new ServerExceptionMessage(new LoginException("Server busy, please try again " + msg.getUsername()));
+            } else {
+                LOG.error(failure);
+                returnMessage = new ServerExceptionMessage(new LoginException("Cannot auth user " + msg.getUsername()));
+            }
+            Optional<MessageContext> ctx = msg.getMessageContext();
+            if (ctx.isPresent()) {
+                returnMessage.setMessageContext(ctx.get());
+            }
+            post(returnMessage);
+        });
     }
 
     /**
@@ -158,7 +185,7 @@ public class AuthenticationService extends AbstractService {
     public void onLogoutRequest(LogoutRequest msg) {
         Optional<Session> session = msg.getSession();
         if (session.isPresent()) {
-            User userToLogOut = userSessions.get(session.get());
+            User userToLogOut = userSessions.getUser(session.get()).orElse(null);
 
             // Could be already logged out
             if (userToLogOut != null) {
@@ -168,7 +195,7 @@ public class AuthenticationService extends AbstractService {
                 }
 
                 userManagement.logout(userToLogOut);
-                userSessions.remove(session.get());
+                userSessions.logout(session.get());
                 Session sessionToLogOutOf = session.get();
                 for (String lobby : sessionToLogOutOf.getLobbies()) {
                     LeaveLobbyRequest leaveLobbyRequest = new LeaveLobbyRequest(lobby);
@@ -204,7 +231,7 @@ public class AuthenticationService extends AbstractService {
     public void onDropUserAccountRequest(DropAccountUserRequest msg) {
         Optional<Session> session = msg.getSession();
         if (session.isPresent()) {
-            User userToDrop = userSessions.get(session.get());
+            User userToDrop = userSessions.getUser(session.get()).orElse(null);
 
             //Could be already deleted
             if (userToDrop != null) {
@@ -217,7 +244,7 @@ public class AuthenticationService extends AbstractService {
 
                 if (isValidateUser) {
                     userManagement.dropUser(userToDrop);
-                    userSessions.remove(session.get());
+                    userSessions.logout(session.get());
                     Optional<MessageContext> ctx = msg.getMessageContext();
 
                     ServerInternalMessage response = new ClientDroppedMessage(userToDrop);
@@ -262,7 +289,7 @@ public class AuthenticationService extends AbstractService {
             Optional<MessageContext> ctx = changeUserInfoRequest.getMessageContext();
 
             session.get().updateUser(updatedUser);
-            userSessions.put(session.get(), updatedUser);
+            userSessions.updateUser(session.get(), updatedUser);
             ServerInternalMessage response = new ClientChangedUserInfoMessage(oldUserName, UserDTO.create(updatedUser), session.get().getLobbies());
 
             if (ctx.isPresent()) {
@@ -276,7 +303,7 @@ public class AuthenticationService extends AbstractService {
             session.get().updateUser(userToUpdate);
 
             User updatedUser = userManagement.updateUserEmail(userToUpdate, changeUserInfoRequest.getNewValue());
-            userSessions.put(session.get(), updatedUser);
+            userSessions.updateUser(session.get(), updatedUser);
             ChangeUserInfoSuccessfulResponse response = new ChangeUserInfoSuccessfulResponse(UserDTO.create(updatedUser));
             response.initWithMessage(changeUserInfoRequest);
             post(response);
@@ -308,7 +335,7 @@ public class AuthenticationService extends AbstractService {
      */
     @Subscribe
     public void onRetrieveAllOnlineUsersRequest(RetrieveAllOnlineUsersRequest msg) {
-        AllOnlineUsersResponse response = new AllOnlineUsersResponse(userSessions.values());
+        AllOnlineUsersResponse response = new AllOnlineUsersResponse(userSessions.getOnlineUsers());
         response.initWithMessage(msg);
         post(response);
     }
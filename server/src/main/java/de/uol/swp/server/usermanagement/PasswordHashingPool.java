@@ -0,0 +1,136 @@
+package de.uol.swp.server.usermanagement;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import de.uol.swp.common.metrics.Counter;
+import de.uol.swp.common.metrics.Histogram;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.server.concurrent.GameScheduler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of threads the password hashing of logins and registrations runs on
+ * <p>
+ * Hashing a password with PBKDF2 is deliberately slow. Running it in the server mailbox would hold up every lobby and
+ * user request behind a burst of logins, so the work is done here and only its result is handed back to the server
+ * mailbox, where the state of the user management is changed and the answer is posted. At most
+ * {@value #PROPERTY_QUEUE} tasks wait for a thread, further tasks are rejected right away so an overloaded server
+ * answers instead of queueing without bound. The number of threads can be configured with {@value #PROPERTY_THREADS}.
+ * <p>
+ * The time a task waited for a thread and the time it ran are recorded in microseconds in the histograms
+ * {@code auth.hashWaitMicros} and {@code auth.hashMicros}. Rejected tasks are counted in {@code auth.hashRejected}
+ * and the gauge {@code auth.hashQueue} shows the waiting tasks.
+ *
+ * @see AuthenticationService
+ * @see UserService
+ */
+@Singleton
+public class PasswordHashingPool {
+
+    /**
+     * Name of the system property configuring the number of hashing threads, the number of cores by default
+     */
+    public static final String PROPERTY_THREADS = "swp.hashingThreads";
+
+    /**
+     * Name of the system property configuring the number of tasks waiting for a hashing thread, 256 by default
+     */
+    public static final String PROPERTY_QUEUE = "swp.hashingQueue";
+
+    private static final Logger LOG = LogManager.getLogger(PasswordHashingPool.class);
+
+    private final Executor hashing;
+    private final Executor completion;
+    private final Histogram waitTimes = MetricsRegistry.getDefault().histogram("auth.hashWaitMicros");
+    private final Histogram hashTimes = MetricsRegistry.getDefault().histogram("auth.hashMicros");
+    private final Counter rejected = MetricsRegistry.getDefault().counter("auth.hashRejected");
+
+    /**
+     * Constructor
+     * <p>
+     * Creates the daemon hashing threads and hands the results back to the server mailbox.
+     *
+     * @param scheduler the scheduler providing the server mailbox
+     */
+    @Inject
+    public PasswordHashingPool(GameScheduler scheduler) {
+        this(createExecutor(Integer.getInteger(PROPERTY_THREADS, Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger(PROPERTY_QUEUE, 256)), scheduler.getServerMailbox());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param hashing    the threads the hashing runs on, must reject tasks it cannot queue
+     * @param completion the executor the results are handed to
+     */
+    public PasswordHashingPool(Executor hashing, Executor completion) {
+        this.hashing = hashing;
+        this.completion = completion;
+    }
+
+    /**
+     * Creates a pool that runs everything on the calling thread
+     *
+     * @return a pool running the hashing and the completion synchronously
+     */
+    public static PasswordHashingPool direct() {
+        return new PasswordHashingPool(MoreExecutors.directExecutor(), MoreExecutors.directExecutor());
+    }
+
+    private static ThreadPoolExecutor createExecutor(int threads, int queue) {
+        BlockingQueue<Runnable> tasks = new ArrayBlockingQueue<>(queue);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, tasks,
+                new ThreadFactoryBuilder().setNameFormat("password-hashing-%d").setDaemon(true).build());
+        MetricsRegistry.getDefault().gauge("auth.hashQueue", tasks::size);
+        return executor;
+    }
+
+    /**
+     * Runs the work on a hashing thread and hands its result or exception to the callback
+     * <p>
+     * The callback runs on the completion executor. If the pool is overloaded the callback gets a
+     * {@link RejectedExecutionException} right away on the calling thread. If the completion executor has been shut
+     * down, the callback is not run.
+     *
+     * @param work     the work hashing a password
+     * @param callback the callback receiving the result, or {@code null} and the exception thrown by the work
+     * @param <T>      the type of the result
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public <T> void execute(Supplier<T> work, BiConsumer<T, RuntimeException> callback) {
+        long submitted = System.nanoTime();
+        try {
+            hashing.execute(() -> {
+                long started = System.nanoTime();
+                waitTimes.record(TimeUnit.NANOSECONDS.toMicros(started - submitted));
+                T result = null;
+                RuntimeException failure = null;
+                try {
+                    result = work.get();
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+                hashTimes.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+                T finalResult = result;
+                RuntimeException finalFailure = failure;
+                try {
+                    completion.execute(() -> callback.accept(finalResult, finalFailure));
+                } catch (RejectedExecutionException e) {
+                    LOG.warn("Dropping a hashed password, the completion executor is shut down");
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            LOG.warn("Too many passwords waiting to be hashed, rejecting the request");
+            callback.accept(null, e);
+        }
+    }
+}
@@ -3,16 +3,22 @@ package de.uol.swp.server.usermanagement;
 import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.user.User;
 import de.uol.swp.common.user.player.PlayerProfile;
+import de.uol.swp.server.usermanagement.statistics.Leaderboard;
 import de.uol.swp.server.usermanagement.store.UserStore;
 
 import javax.inject.Inject;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Handles most user related issues e.g. login/logout
+ * <p>
+ * Logins and registrations run on the threads of the {@link PasswordHashingPool}, so the logged in users are kept in
+ * a concurrent map and usernames being registered are reserved until their registration has finished.
  *
  * @author Marco Grawunder
  * @see de.uol.swp.server.usermanagement.AbstractUserManagement
@@ -21,7 +27,9 @@ import java.util.TreeMap;
 public class UserManagement extends AbstractUserManagement {
 
     private final UserStore userStore;
-    private final SortedMap<String, User> loggedInUsers = new TreeMap<>();
+    private final Leaderboard leaderboard;
+    private final SortedMap<String, User> loggedInUsers = new ConcurrentSkipListMap<>();
+    private final Set<String> registering = ConcurrentHashMap.newKeySet();
 
     /**
      * Constructor
@@ -30,17 +38,28 @@ public class UserManagement extends AbstractUserManagement {
      * @see de.uol.swp.server.usermanagement.store.UserStore
      * @since 2019-08-05
      */
-    @Inject
     public UserManagement(UserStore userStore) {
+        this(userStore, new Leaderboard(userStore));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param userStore   object of the UserStore to be used
+     * @param leaderboard the ranking of the players kept up to date with the users
+     * @see de.uol.swp.server.usermanagement.store.UserStore
+     */
+    @Inject
+    public UserManagement(UserStore userStore, Leaderboard leaderboard) {
         this.userStore = userStore;
+        this.leaderboard = leaderboard;
     }
 
     @Override
     public User login(String username, String password) {
         Optional<User> user = userStore.findUser(username, password);
         if (user.isPresent()) {
-            if (!loggedInUsers.containsKey(username)) {
-                this.loggedInUsers.put(username, user.get());
+            if (loggedInUsers.putIfAbsent(username, user.get()) == null) {
                 return user.get();
             } else {
                 throw new UserManagementException("User already logged in " + username);
@@ -62,11 +81,23 @@ public class UserManagement extends AbstractUserManagement {
 
     @Override
     public User createUser(User userToCreate) {
-        Optional<User> user = userStore.findUser(userToCreate.getUsername());
-        if (user.isPresent()) {
+        String username = userToCreate.getUsername();
+        if (!registering.add(username)) {
             throw new UserManagementException("Username already used!");
         }
-        return userStore.createUser(userToCreate.getUsername(), userToCreate.getPlainPassword(), userToCreate.getEMail());
+        try {
+            Optional<User> user = userStore.findUser(username);
+            if (user.isPresent()) {
+                throw new UserManagementException("Username already used!");
+            }
+            User created = userStore.createUser(username, userToCreate.getPlainPassword(), userToCreate.getEMail());
+            if (created != null) {
+                leaderboard.userCreated(created.getUsername());
+            }
+            return created;
+        } finally {
+            registering.remove(username);
+        }
     }
 
     @Override
@@ -77,6 +108,7 @@ public class UserManagement extends AbstractUserManagement {
         }
         logout(userToDrop);
         userStore.removeUser(userToDrop.getUsername());
+        leaderboard.userRemoved(userToDrop.getUsername());
     }
 
     @Override
@@ -88,6 +120,7 @@ public class UserManagement extends AbstractUserManagement {
         //Update only if new username is available
         String username = userToUpdate.get().getUsername();
         String updatedUserName = userStore.updateUserName(username, newUserName);
+        leaderboard.userRenamed(username, updatedUserName);
         return UserDTO.createWithoutPassword(userToUpdate.get().getUserId(), updatedUserName, userToUpdate.get().getEMail());
 
     }
@@ -141,6 +174,37 @@ public class UserManagement extends AbstractUserManagement {
         return userStore.getAllPlayerStatistics();
     }
 
+    /**
+     * Returns a page of the players ranked by their wins
+     *
+     * @param offset the number of players ranked before the page
+     * @param limit  the maximum number of players on the page
+     * @return list with the playerStatistics of the page, best first
+     * @see Leaderboard
+     */
+    public List<PlayerProfile> getPlayerStatistics(int offset, int limit) {
+        return leaderboard.getPage(offset, limit);
+    }
+
+    /**
+     * Returns the number of ranked players
+     *
+     * @return the number of players with statistics
+     */
+    public int getNoOfRankedPlayers() {
+        return leaderboard.size();
+    }
+
+    /**
+     * Returns the rank of the user
+     *
+     * @param user the user whose rank is looked up
+     * @return the rank of the user starting at 1, or 0 if the user is not ranked
+     */
+    public int getRank(User user) {
+        return leaderboard.getRank(user.getUsername());
+    }
+
     /**
      * This method returns the info of player
      *
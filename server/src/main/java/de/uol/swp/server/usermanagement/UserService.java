@@ -4,8 +4,6 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import de.uol.swp.common.game.dto.PlayerDTO;
-import de.uol.swp.common.game.message.GameOverMessage;
 import de.uol.swp.common.message.MessageContext;
 import de.uol.swp.common.message.ResponseMessage;
 import de.uol.swp.common.user.Session;
@@ -42,25 +40,42 @@ public class UserService extends AbstractService {
 
     private final UserManagement userManagement;
 
+    private final PasswordHashingPool hashingPool;
+
     /**
      * Constructor
+     * <p>
+     * Passwords are hashed synchronously on the thread posting the request.
      *
      * @param eventBus       the EventBus used throughout the entire server (injected)
      * @param userManagement object of the UserManagement to use
      * @see de.uol.swp.server.usermanagement.UserManagement
      * @since 2019-08-05
      */
-    @Inject
     public UserService(EventBus eventBus, UserManagement userManagement) {
+        this(eventBus, userManagement, PasswordHashingPool.direct());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param eventBus       the EventBus used throughout the entire server (injected)
+     * @param userManagement object of the UserManagement to use
+     * @param hashingPool    the pool the passwords of registrations are hashed on
+     */
+    @Inject
+    public UserService(EventBus eventBus, UserManagement userManagement, PasswordHashingPool hashingPool) {
         super(eventBus);
         this.userManagement = userManagement;
+        this.hashingPool = hashingPool;
     }
 
     /**
      * Handles RegisterUserRequests found on the EventBus
      * <p>
      * If a RegisterUserRequest is detected on the EventBus, this method is called.
-     * It tries to create a new user via the UserManagement. If this succeeds a
+     * It tries to create a new user via the UserManagement. The password is hashed in the
+     * {@link PasswordHashingPool}, so this method returns right away. If this succeeds a
      * RegistrationSuccessfulResponse is posted on the EventBus otherwise a RegistrationExceptionMessage
      * gets posted there.
      *
@@ -76,19 +91,20 @@ public class UserService extends AbstractService {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Got new registration message with {}", msg.getUser());
         }
-        ResponseMessage returnMessage;
-        try {
-            userManagement.createUser(msg.getUser());
-            returnMessage = new RegistrationSuccessfulResponse();
-        } catch (Exception e) {
-            LOG.error(e);
-            returnMessage = new RegistrationExceptionMessage("Cannot create user " + msg.getUser() + " " + e.getMessage());
-        }
-        Optional<MessageContext> ctx = msg.getMessageContext();
-        if (ctx.isPresent()) {
-            returnMessage.setMessageContext(ctx.get());
-        }
-        post(returnMessage);
+        hashingPool.execute(() -> userManagement.createUser(msg.getUser()), (user, failure) -> {
+            ResponseMessage returnMessage;
+            if (failure == null) {
+                returnMessage = new RegistrationSuccessfulResponse();
+            } else {
+                LOG.error(failure);
+                returnMessage = new RegistrationExceptionMessage("Cannot create user " + msg.getUser() + " " + failure.getMessage());
+            }
+            Optional<MessageContext> ctx = msg.getMessageContext();
+            if (ctx.isPresent()) {
+                returnMessage.setMessageContext(ctx.get());
+            }
+            post(returnMessage);
+        });
     }
 
 
@@ -116,20 +132,20 @@ public class UserService extends AbstractService {
 
     /**
      * If the Request "PlayerStatistic" is called,
-     * the method delivers a list of all wins and losses from a player
-     * to the client on the eventBus
+     * the method delivers the requested page of the players ranked by their wins and losses
+     * and the rank of the requesting user to the client on the eventBus
      *
-     * @param statistics
+     * @param statistics the StatisticRequest found on the EventBus
+     * @see de.uol.swp.server.usermanagement.statistics.Leaderboard
      */
     @Subscribe
     public void onStatisticRequest(StatisticRequest statistics) {
-        List<PlayerProfile> list = userManagement.getAllPlayerStatistics();
-        if (list != null) {
-            StatisticResponseMessage response;
-            response = new StatisticResponseMessage(list);
-            response.initWithMessage(statistics);
-            post(response);
-        }
+        List<PlayerProfile> list = userManagement.getPlayerStatistics(statistics.getOffset(), statistics.getLimit());
+        int rank = statistics.getSession().map(session -> userManagement.getRank(session.getUser())).orElse(0);
+        StatisticResponseMessage response = new StatisticResponseMessage(list, statistics.getOffset(),
+                userManagement.getNoOfRankedPlayers(), rank);
+        response.initWithMessage(statistics);
+        post(response);
     }
 
     /**
@@ -153,30 +169,4 @@ public class UserService extends AbstractService {
             }
         }
     }
-
-    /**
-     * Handles GameOverMessage found on the EventBus.
-     * <p>
-     * If GameOverMessage the EventBus is found, game winners and player losers
-     * are stored in the database via userManagement
-     *
-     * @param message contains the list of players
-     * @see GameOverMessage
-     */
-    @Subscribe
-    public void onGameOverMessage(GameOverMessage message) {
-        String playerWon;
-        List<PlayerDTO> list = message.getStandings();
-        if (list != null) {
-            playerWon = list.get(0).getPlayerName();
-            userManagement.gameWon(playerWon);
-            if (list.size() > 1) {
-                for (PlayerDTO playerDTO : list) {
-                    if (!playerWon.equals(playerDTO.getPlayerName())) {
-                        userManagement.gameLoss(playerDTO.getPlayerName());
-                    }
-                }
-            }
-        }
-    }
-}
\ No newline at end of file
+}
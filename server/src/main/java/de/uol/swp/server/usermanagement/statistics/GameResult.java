@@ -0,0 +1,89 @@
+package de.uol.swp.server.usermanagement.statistics;
+
+import java.util.Objects;
+
+/**
+ * The result of one player in a finished game
+ * <p>
+ * Results are created by the {@link de.uol.swp.server.game.session.GameSessionService} when a game ends and written
+ * to the user store by the {@link StatisticsRecorder}.
+ *
+ * @see StatisticsRecorder
+ */
+public final class GameResult {
+
+    private final String playerName;
+    private final boolean won;
+    private final int victoryPoints;
+    private final int turnsPlayed;
+    private final long durationMillis;
+    private final long finishedAt;
+
+    /**
+     * Constructor
+     *
+     * @param playerName     the name of the player
+     * @param won            whether the player has won the game
+     * @param victoryPoints  the victory points of the player at the end of the game, including secret points
+     * @param turnsPlayed    the number of turns the player has played
+     * @param durationMillis the duration of the game in milliseconds
+     * @param finishedAt     the time the game ended at in milliseconds since the epoch
+     */
+    public GameResult(String playerName, boolean won, int victoryPoints, int turnsPlayed, long durationMillis, long finishedAt) {
+        this.playerName = Objects.requireNonNull(playerName);
+        this.won = won;
+        this.victoryPoints = victoryPoints;
+        this.turnsPlayed = turnsPlayed;
+        this.durationMillis = durationMillis;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    public int getVictoryPoints() {
+        return victoryPoints;
+    }
+
+    public int getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GameResult)) {
+            return false;
+        }
+        GameResult that = (GameResult) o;
+        return won == that.won && victoryPoints == that.victoryPoints && turnsPlayed == that.turnsPlayed
+                && durationMillis == that.durationMillis && finishedAt == that.finishedAt
+                && playerName.equals(that.playerName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(playerName, won, victoryPoints, turnsPlayed, durationMillis, finishedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult{" + playerName + (won ? " won" : " lost") + " with " + victoryPoints + " VP after "
+                + turnsPlayed + " turns in " + durationMillis + " ms}";
+    }
+}
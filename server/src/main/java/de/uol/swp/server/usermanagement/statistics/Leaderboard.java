@@ -0,0 +1,230 @@
+package de.uol.swp.server.usermanagement.statistics;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import de.uol.swp.common.user.player.PlayerProfile;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+
+/**
+ * In-memory ranking of all players by their wins and losses
+ * <p>
+ * The statistics of all players are read from the user store once and kept in an {@link OrderStatisticTree}, so a
+ * page of the ranking and the rank of a player are found in logarithmic time instead of reading the whole user table
+ * on every request. Players are ranked by their wins, then by their losses and then by their name. The ranking is
+ * updated with every result the {@link StatisticsRecorder} has recorded and with every registration, renaming and
+ * removal of a user.
+ * <p>
+ * The ranking is read again on the next request, if a result was being recorded or a user was changed while it was
+ * read, so no result is counted twice, and if a result belongs to a player that is not ranked. Until the store returns
+ * any players, the ranking is read on every request.
+ *
+ * @see StatisticsRecorder
+ */
+@Singleton
+public class Leaderboard {
+
+    private static final Logger LOG = LogManager.getLogger(Leaderboard.class);
+    private static final Comparator<Entry> RANKING = Comparator.comparingInt((Entry entry) -> entry.won).reversed()
+            .thenComparingInt(entry -> entry.lost).thenComparing(entry -> entry.name);
+
+    private final UserStore store;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final OrderStatisticTree<Entry> ranking = new OrderStatisticTree<>(RANKING);
+    private boolean loaded;
+    private long writes;
+    private int writing;
+
+    /**
+     * Constructor
+     *
+     * @param store the store the statistics are read from
+     */
+    @Inject
+    public Leaderboard(UserStore store) {
+        this.store = store;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void load() {
+        long writesBefore;
+        synchronized (this) {
+            if (loaded || writing > 0) {
+                return;
+            }
+            writesBefore = writes;
+        }
+        List<PlayerProfile> profiles;
+        try {
+            profiles = store.getAllPlayerStatistics();
+        } catch (RuntimeException e) {
+            LOG.debug("The user store cannot list the player statistics: {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            if (loaded || writing > 0 || writes != writesBefore || profiles.isEmpty()) {
+                return;
+            }
+            entries.clear();
+            ranking.clear();
+            for (PlayerProfile profile : profiles) {
+                put(new Entry(profile.getPlayerName(), Integer.parseInt(profile.getWon()),
+                        Integer.parseInt(profile.getLoss())));
+            }
+            loaded = true;
+            LOG.info("Loaded the statistics of {} players into the leaderboard", entries.size());
+        }
+    }
+
+    private void put(Entry entry) {
+        Entry old = entries.put(entry.name, entry);
+        if (old != null) {
+            ranking.remove(old);
+        }
+        ranking.add(entry);
+    }
+
+    private void delete(String name) {
+        Entry old = entries.remove(name);
+        if (old != null) {
+            ranking.remove(old);
+        }
+    }
+
+    /**
+     * Returns a page of the ranking
+     *
+     * @param offset the number of players ranked before the page
+     * @param limit  the maximum number of players on the page
+     * @return the statistics of the players on the page, best first
+     */
+    public List<PlayerProfile> getPage(int offset, int limit) {
+        load();
+        synchronized (this) {
+            int from = Math.max(offset, 0);
+            int to = Math.min(from + Math.max(limit, 0), ranking.size());
+            List<PlayerProfile> page = new ArrayList<>(Math.max(to - from, 0));
+            for (int i = from; i < to; i++) {
+                Entry entry = ranking.get(i);
+                page.add(new PlayerProfile(entry.name, "", Integer.toString(entry.won), Integer.toString(entry.lost)));
+            }
+            return page;
+        }
+    }
+
+    /**
+     * Returns the rank of a player
+     *
+     * @param playerName the name of the player
+     * @return the rank of the player starting at 1, or 0 if the player is not ranked
+     */
+    public int getRank(String playerName) {
+        load();
+        synchronized (this) {
+            Entry entry = entries.get(playerName);
+            return entry == null ? 0 : ranking.indexOf(entry) + 1;
+        }
+    }
+
+    /**
+     * Returns the number of ranked players
+     *
+     * @return the number of players in the ranking
+     */
+    public int size() {
+        load();
+        synchronized (this) {
+            return ranking.size();
+        }
+    }
+
+    /**
+     * Marks the start of recording game results in the user store
+     * <p>
+     * Must be followed by a call of {@link #endWrite(List, boolean)}.
+     */
+    synchronized void beginWrite() {
+        writing++;
+        writes++;
+    }
+
+    /**
+     * Marks the end of recording game results and adds the recorded results to the ranking
+     * <p>
+     * If a player of the results is not ranked, e.g. because they were renamed or removed while the game was running,
+     * nothing is added and the ranking is read again on the next request instead.
+     *
+     * @param results the results that were being recorded
+     * @param written whether the results were recorded
+     */
+    synchronized void endWrite(List<GameResult> results, boolean written) {
+        writing--;
+        if (!written || !loaded) {
+            return;
+        }
+        for (GameResult result : results) {
+            if (!entries.containsKey(result.getPlayerName())) {
+                LOG.debug("{} is not ranked, reading the ranking again", result.getPlayerName());
+                loaded = false;
+                return;
+            }
+        }
+        for (GameResult result : results) {
+            Entry entry = entries.get(result.getPlayerName());
+            put(result.isWon() ? new Entry(entry.name, entry.won + 1, entry.lost)
+                    : new Entry(entry.name, entry.won, entry.lost + 1));
+        }
+    }
+
+    /**
+     * Adds a newly registered user without any games to the ranking
+     *
+     * @param username the name of the user
+     */
+    public synchronized void userCreated(String username) {
+        writes++;
+        if (loaded && username != null && !entries.containsKey(username)) {
+            put(new Entry(username, 0, 0));
+        }
+    }
+
+    /**
+     * Moves the statistics of a renamed user to their new name
+     *
+     * @param username    the old name of the user
+     * @param newUsername the new name of the user
+     */
+    public synchronized void userRenamed(String username, String newUsername) {
+        writes++;
+        Entry entry = entries.get(username);
+        if (entry != null && newUsername != null) {
+            delete(username);
+            put(new Entry(newUsername, entry.won, entry.lost));
+        }
+    }
+
+    /**
+     * Removes a deleted user from the ranking
+     *
+     * @param username the name of the user
+     */
+    public synchronized void userRemoved(String username) {
+        writes++;
+        delete(username);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final int won;
+        private final int lost;
+
+        private Entry(String name, int won, int lost) {
+            this.name = name;
+            this.won = won;
+            this.lost = lost;
+        }
+    }
+}
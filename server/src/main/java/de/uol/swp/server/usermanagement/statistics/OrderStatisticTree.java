@@ -0,0 +1,209 @@
+package de.uol.swp.server.usermanagement.statistics;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+/**
+ * Sorted set that finds the rank of an element and the element at a rank in logarithmic time
+ * <p>
+ * A treap, a binary search tree balanced by random priorities, whose nodes know the size of their subtree. Not thread
+ * safe.
+ *
+ * @param <E> the type of the elements
+ * @see Leaderboard
+ */
+class OrderStatisticTree<E> {
+
+    private final Comparator<? super E> comparator;
+    private final SplittableRandom random = new SplittableRandom(0);
+    private Node<E> root;
+
+    /**
+     * Constructor
+     *
+     * @param comparator the order of the elements, must be consistent with equals
+     */
+    OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Returns the number of elements
+     *
+     * @return the number of elements in this set
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Removes all elements
+     */
+    void clear() {
+        root = null;
+    }
+
+    /**
+     * Adds the element unless an equal element is already contained
+     *
+     * @param element the element to add
+     * @return true, if the element was added
+     */
+    boolean add(E element) {
+        if (indexOf(element) >= 0) {
+            return false;
+        }
+        root = insert(root, new Node<>(element, random.nextInt()));
+        return true;
+    }
+
+    /**
+     * Removes the element
+     *
+     * @param element the element to remove
+     * @return true, if the element was contained
+     */
+    boolean remove(E element) {
+        int size = size();
+        root = delete(root, element);
+        return size() < size;
+    }
+
+    /**
+     * Returns the index of the element in the sorted order
+     *
+     * @param element the element to find
+     * @return the number of smaller elements, or -1 if the element is not contained
+     */
+    int indexOf(E element) {
+        Node<E> node = root;
+        int smaller = 0;
+        while (node != null) {
+            int comparison = comparator.compare(element, node.element);
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison > 0) {
+                smaller += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return smaller + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the element at the index of the sorted order
+     *
+     * @param index the index of the element, between 0 and the size of this set
+     * @return the element with the given number of smaller elements
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Node<E> node = root;
+        int remaining = index;
+        while (true) {
+            int left = size(node.left);
+            if (remaining < left) {
+                node = node.left;
+            } else if (remaining > left) {
+                remaining -= left + 1;
+                node = node.right;
+            } else {
+                return node.element;
+            }
+        }
+    }
+
+    private Node<E> insert(Node<E> node, Node<E> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (comparator.compare(inserted.element, node.element) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<E> delete(Node<E> node, E element) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = comparator.compare(element, node.element);
+        if (comparison < 0) {
+            node.left = delete(node.left, element);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, element);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> left = node.left;
+        node.left = left.right;
+        node.update();
+        left.right = node;
+        return left;
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> right = node.right;
+        node.right = right.left;
+        node.update();
+        right.left = node;
+        return right;
+    }
+
+    private static final class Node<E> {
+        private final E element;
+        private final int priority;
+        private Node<E> left;
+        private Node<E> right;
+        private int size = 1;
+
+        private Node(E element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = size(left) + size(right) + 1;
+        }
+    }
+}
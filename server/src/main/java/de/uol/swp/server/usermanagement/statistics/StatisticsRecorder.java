@@ -0,0 +1,309 @@
+package de.uol.swp.server.usermanagement.statistics;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import de.uol.swp.common.metrics.Counter;
+import de.uol.swp.common.metrics.Histogram;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind recorder of the results of finished games
+ * <p>
+ * Ending a game only appends its results to a local buffer file and returns, the results are written to the user store
+ * on a background thread. Every {@value #PROPERTY_FLUSH_INTERVAL} milliseconds, or as soon as
+ * {@value #PROPERTY_BATCH_SIZE} results are waiting, the waiting results are handed to
+ * {@link UserStore#recordResults(List)} in batches, which the database store writes in one transaction. Once a batch
+ * is recorded it is removed from the buffer file. If the store cannot be reached, the results stay in the buffer and
+ * the batch is retried after an exponentially growing pause of at most a minute. Results still in the buffer file,
+ * which is configured with {@value #PROPERTY_BUFFER}, when the server stops are recorded after the next start.
+ * Recorded results are added to the {@link Leaderboard}.
+ * <p>
+ * The recorded results are counted in {@code stats.recorded}, failed writes in {@code stats.flushFailures} and results
+ * the store rejected for good in {@code stats.discarded}. The time a batch took is recorded in microseconds in the
+ * histogram {@code stats.flushMicros} and the gauge {@code stats.pending} shows the waiting results.
+ *
+ * @see GameResult
+ * @see UserStore#recordResults(List)
+ */
+@Singleton
+public class StatisticsRecorder implements AutoCloseable {
+
+    /**
+     * Name of the system property configuring the path of the buffer file, {@code statistics.buffer} by default
+     */
+    public static final String PROPERTY_BUFFER = "swp.statsBuffer";
+
+    /**
+     * Name of the system property configuring the maximum number of results written at once, 500 by default
+     */
+    public static final String PROPERTY_BATCH_SIZE = "swp.statsBatchSize";
+
+    /**
+     * Name of the system property configuring the milliseconds between two writes, 1000 by default
+     */
+    public static final String PROPERTY_FLUSH_INTERVAL = "swp.statsFlushInterval";
+
+    private static final Logger LOG = LogManager.getLogger(StatisticsRecorder.class);
+    private static final long MAX_BACKOFF = TimeUnit.MINUTES.toNanos(1);
+    private static final String SEPARATOR = "\t";
+
+    private final UserStore store;
+    private final Leaderboard leaderboard;
+    private final Path buffer;
+    private final int batchSize;
+    private final long flushInterval;
+    private final ScheduledExecutorService executor;
+    private final Ticker ticker;
+    private final Deque<GameResult> pending = new ArrayDeque<>();
+    private final Counter recorded = MetricsRegistry.getDefault().counter("stats.recorded");
+    private final Counter flushFailures = MetricsRegistry.getDefault().counter("stats.flushFailures");
+    private final Counter discarded = MetricsRegistry.getDefault().counter("stats.discarded");
+    private final Histogram flushTimes = MetricsRegistry.getDefault().histogram("stats.flushMicros");
+    private long backoff;
+    private long retryAt;
+
+    /**
+     * Constructor
+     * <p>
+     * Configured with the {@value #PROPERTY_BUFFER}, {@value #PROPERTY_BATCH_SIZE} and
+     * {@value #PROPERTY_FLUSH_INTERVAL} system properties, the results are written on a daemon thread.
+     *
+     * @param store       the store the results are recorded in
+     * @param leaderboard the ranking the recorded results are added to
+     */
+    @Inject
+    public StatisticsRecorder(UserStore store, Leaderboard leaderboard) {
+        this(store, leaderboard, Paths.get(System.getProperty(PROPERTY_BUFFER, "statistics.buffer")),
+                Integer.getInteger(PROPERTY_BATCH_SIZE, 500), Long.getLong(PROPERTY_FLUSH_INTERVAL, 1000),
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder().setNameFormat("statistics-recorder-%d").setDaemon(true).build()),
+                Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor
+     * <p>
+     * Results left in the buffer file are taken up again.
+     *
+     * @param store         the store the results are recorded in
+     * @param leaderboard   the ranking the recorded results are added to
+     * @param buffer        the file the results are buffered in until they are recorded
+     * @param batchSize     the maximum number of results written at once
+     * @param flushInterval the milliseconds between two writes
+     * @param executor      the thread the results are written on
+     * @param ticker        the source of the time
+     */
+    public StatisticsRecorder(UserStore store, Leaderboard leaderboard, Path buffer, int batchSize, long flushInterval,
+                              ScheduledExecutorService executor, Ticker ticker) {
+        this.store = store;
+        this.leaderboard = leaderboard;
+        this.buffer = buffer;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.executor = executor;
+        this.ticker = ticker;
+        replay();
+        MetricsRegistry.getDefault().gauge("stats.pending", this::getPendingCount);
+        executor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private static String format(GameResult result) {
+        return String.join(SEPARATOR, URLEncoder.encode(result.getPlayerName(), StandardCharsets.UTF_8),
+                result.isWon() ? "1" : "0", Integer.toString(result.getVictoryPoints()),
+                Integer.toString(result.getTurnsPlayed()), Long.toString(result.getDurationMillis()),
+                Long.toString(result.getFinishedAt()));
+    }
+
+    private static GameResult parse(String line) {
+        String[] fields = line.split(SEPARATOR);
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Expected 6 fields but found " + fields.length);
+        }
+        return new GameResult(URLDecoder.decode(fields[0], StandardCharsets.UTF_8), "1".equals(fields[1]),
+                Integer.parseInt(fields[2]), Integer.parseInt(fields[3]), Long.parseLong(fields[4]),
+                Long.parseLong(fields[5]));
+    }
+
+    private synchronized void replay() {
+        if (!Files.exists(buffer)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(buffer, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    pending.add(parse(line));
+                } catch (IllegalArgumentException e) {
+                    LOG.warn("Skipping the unreadable game result \"{}\" in {}: {}", line, buffer, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Could not read the buffered game results from {}: {}", buffer, e.getMessage());
+        }
+        if (!pending.isEmpty()) {
+            LOG.info("Recording {} game results left in {}", pending.size(), buffer);
+        }
+    }
+
+    /**
+     * Returns the number of results waiting to be recorded
+     *
+     * @return the number of results that were not yet recorded in the store
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Buffers the results of a finished game to be recorded in the background
+     * <p>
+     * The results are appended to the buffer file before this method returns. A write is started right away once a
+     * full batch is waiting.
+     *
+     * @param results the results of all players of the game
+     */
+    public void record(List<GameResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        boolean fullBatch;
+        synchronized (this) {
+            StringBuilder lines = new StringBuilder();
+            results.forEach(result -> lines.append(format(result)).append(System.lineSeparator()));
+            try {
+                Files.writeString(buffer, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                LOG.error("Could not buffer game results in {}, they are only kept in memory: {}", buffer, e.getMessage());
+            }
+            pending.addAll(results);
+            fullBatch = pending.size() >= batchSize;
+        }
+        if (fullBatch) {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Writes the waiting results to the store in batches
+     * <p>
+     * Does nothing while waiting to retry a failed write. Runs on the thread of the recorder.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    void flush() {
+        if (backoff > 0 && ticker.read() - retryAt < 0) {
+            return;
+        }
+        List<GameResult> batch = nextBatch();
+        while (!batch.isEmpty()) {
+            long started = ticker.read();
+            boolean written;
+            try {
+                written = write(batch);
+            } catch (RuntimeException e) {
+                LOG.error("Discarding {} game results the store cannot record: {}", batch.size(), e.getMessage());
+                discarded.add(batch.size());
+                removeBatch(batch.size());
+                batch = nextBatch();
+                continue;
+            }
+            flushTimes.record(TimeUnit.NANOSECONDS.toMicros(ticker.read() - started));
+            if (!written) {
+                flushFailures.increment();
+                backoff = backoff == 0 ? TimeUnit.MILLISECONDS.toNanos(flushInterval) : Math.min(backoff * 2, MAX_BACKOFF);
+                retryAt = ticker.read() + backoff;
+                LOG.warn("Could not record {} game results, retrying in {} ms", getPendingCount(),
+                        TimeUnit.NANOSECONDS.toMillis(backoff));
+                return;
+            }
+            backoff = 0;
+            recorded.add(batch.size());
+            removeBatch(batch.size());
+            batch = nextBatch();
+        }
+    }
+
+    private boolean write(List<GameResult> batch) {
+        boolean written = false;
+        leaderboard.beginWrite();
+        try {
+            written = store.recordResults(batch);
+            return written;
+        } finally {
+            leaderboard.endWrite(batch, written);
+        }
+    }
+
+    private synchronized List<GameResult> nextBatch() {
+        List<GameResult> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (GameResult result : pending) {
+            if (batch.size() == batchSize) {
+                break;
+            }
+            batch.add(result);
+        }
+        return batch;
+    }
+
+    private synchronized void removeBatch(int size) {
+        for (int i = 0; i < size; i++) {
+            pending.remove();
+        }
+        try {
+            if (pending.isEmpty()) {
+                Files.deleteIfExists(buffer);
+            } else {
+                Path temporary = buffer.resolveSibling(buffer.getFileName() + ".tmp");
+                List<String> lines = new ArrayList<>(pending.size());
+                pending.forEach(result -> lines.add(format(result)));
+                Files.write(temporary, lines, StandardCharsets.UTF_8);
+                Files.move(temporary, buffer, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            LOG.error("Could not remove recorded game results from {}: {}", buffer, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the background thread after a last attempt to record the waiting results
+     * <p>
+     * Results that could not be recorded stay in the buffer file.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOG.warn("The statistics recorder did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        backoff = 0;
+        flush();
+    }
+}
@@ -0,0 +1,236 @@
+package de.uol.swp.server.usermanagement.store;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.common.user.User;
+import de.uol.swp.common.user.player.PlayerProfile;
+import de.uol.swp.server.usermanagement.statistics.GameResult;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache in front of another user store
+ * <p>
+ * Users looked up by name and the player profiles are kept for {@value #PROPERTY_TTL} seconds, at most
+ * {@value #PROPERTY_SIZE} of each, so the store behind this one, usually the database, is only asked once for a user
+ * that keeps playing. Unknown users are cached as well, which spares the lookup before every registration. Entries are
+ * keyed by the lower case name, because the database compares names case-insensitively, so every write through this
+ * store invalidates the entries of the user regardless of case. A lookup that overlapped with a write is not cached,
+ * so it cannot bring back the old record: the check for a write and the caching of the result are atomic with respect
+ * to the invalidation. Logins are always passed on, so passwords are checked by the store behind this one.
+ * <p>
+ * Hits, misses and evictions of both caches are exported as the gauges {@code userCache.hits},
+ * {@code userCache.misses} and {@code userCache.evictions}, the number of cached entries as {@code userCache.size}.
+ *
+ * @see UserStore
+ */
+public class CachingUserStore implements UserStore {
+
+    /**
+     * Name of the system property configuring the maximum number of cached users and profiles, 1000 by default
+     */
+    public static final String PROPERTY_SIZE = "swp.userCacheSize";
+
+    /**
+     * Name of the system property configuring the seconds an entry is cached, 300 by default
+     */
+    public static final String PROPERTY_TTL = "swp.userCacheTtl";
+
+    private final UserStore store;
+    private final Cache<String, Optional<User>> users;
+    private final Cache<String, Optional<PlayerProfile>> profiles;
+    private final AtomicLong writes = new AtomicLong();
+
+    /**
+     * Constructor
+     * <p>
+     * Configured with the {@value #PROPERTY_SIZE} and {@value #PROPERTY_TTL} system properties.
+     *
+     * @param store the store the users are read from and written to
+     */
+    public CachingUserStore(UserStore store) {
+        this(store, Long.getLong(PROPERTY_SIZE, 1000), Long.getLong(PROPERTY_TTL, 300), TimeUnit.SECONDS, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param store   the store the users are read from and written to
+     * @param maxSize the maximum number of cached users and of cached profiles
+     * @param ttl     the time an entry is cached
+     * @param unit    the unit of the time an entry is cached
+     * @param ticker  the source of the time
+     */
+    public CachingUserStore(UserStore store, long maxSize, long ttl, TimeUnit unit, Ticker ticker) {
+        this.store = store;
+        this.users = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl, unit).ticker(ticker)
+                .recordStats().build();
+        this.profiles = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl, unit).ticker(ticker)
+                .recordStats().build();
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        metrics.gauge("userCache.hits", () -> stats().hitCount());
+        metrics.gauge("userCache.misses", () -> stats().missCount());
+        metrics.gauge("userCache.evictions", () -> stats().evictionCount());
+        metrics.gauge("userCache.size", () -> users.size() + profiles.size());
+    }
+
+    /**
+     * Returns the statistics of both caches combined
+     *
+     * @return the hits, misses and evictions of the cached users and profiles
+     */
+    public CacheStats stats() {
+        return users.stats().plus(profiles.stats());
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private synchronized void invalidate(String username) {
+        writes.incrementAndGet();
+        if (username != null) {
+            users.invalidate(key(username));
+            profiles.invalidate(key(username));
+        }
+    }
+
+    private synchronized <V> void putUnlessWritten(Cache<String, V> cache, String key, V value, long writesBefore) {
+        if (writes.get() == writesBefore) {
+            cache.put(key, value);
+        }
+    }
+
+    @Override
+    public Optional<User> findUser(String username, String password) {
+        return store.findUser(username, password);
+    }
+
+    @Override
+    public Optional<User> findUser(String username) {
+        if (username == null) {
+            return store.findUser(null);
+        }
+        Optional<User> user = users.getIfPresent(key(username));
+        if (user == null) {
+            long writesBefore = writes.get();
+            user = store.findUser(username);
+            putUnlessWritten(users, key(username), user, writesBefore);
+        }
+        return user;
+    }
+
+    @Override
+    public User createUser(String username, String password, String eMail) {
+        try {
+            return store.createUser(username, password, eMail);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public String updateUserName(String username, String newUserName) {
+        try {
+            return store.updateUserName(username, newUserName);
+        } finally {
+            invalidate(username);
+            invalidate(newUserName);
+        }
+    }
+
+    @Override
+    public String updateUserEmail(String username, String eMail) {
+        try {
+            return store.updateUserEmail(username, eMail);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public boolean updateUserPassword(String username, String newPassword) {
+        try {
+            return store.updateUserPassword(username, newPassword);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public void removeUser(String username) {
+        try {
+            store.removeUser(username);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        return store.getAllUsers();
+    }
+
+    @Override
+    public List<PlayerProfile> getAllPlayerStatistics() {
+        return store.getAllPlayerStatistics();
+    }
+
+    @Override
+    public PlayerProfile getPlayerInfoData(String username) {
+        if (username == null) {
+            return store.getPlayerInfoData(null);
+        }
+        Optional<PlayerProfile> profile = profiles.getIfPresent(key(username));
+        if (profile == null) {
+            long writesBefore = writes.get();
+            profile = Optional.ofNullable(store.getPlayerInfoData(username));
+            putUnlessWritten(profiles, key(username), profile, writesBefore);
+        }
+        return profile.orElse(null);
+    }
+
+    @Override
+    public boolean updateGamesWon(String username) {
+        try {
+            return store.updateGamesWon(username);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public boolean updateGamesLost(String username) {
+        try {
+            return store.updateGamesLost(username);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public boolean recordResults(List<GameResult> results) {
+        try {
+            return store.recordResults(results);
+        } finally {
+            results.forEach(result -> invalidate(result.getPlayerName()));
+        }
+    }
+
+    @Override
+    public int getNoOfGamesWon(String playerName) {
+        return store.getNoOfGamesWon(playerName);
+    }
+
+    @Override
+    public int getNoOfGamesLost(String playerName) {
+        return store.getNoOfGamesLost(playerName);
+    }
+}
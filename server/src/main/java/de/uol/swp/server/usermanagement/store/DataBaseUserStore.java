@@ -5,12 +5,15 @@ import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.user.User;
 import de.uol.swp.common.user.player.PlayerProfile;
 import de.uol.swp.server.database.DataBaseConnection;
+import de.uol.swp.server.usermanagement.statistics.GameResult;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -31,6 +34,8 @@ public class DataBaseUserStore extends AbstractUserStore implements UserStore {
     private static final Logger LOG = LogManager.getLogger(DataBaseUserStore.class);
     private final DataBaseConnection dataBaseConnection;
     private String tableName = "user";
+    private String resultTableName = "game_result";
+    private volatile boolean resultTableCreated;
 
     /**
      * Constructor for initialize
@@ -38,10 +43,22 @@ public class DataBaseUserStore extends AbstractUserStore implements UserStore {
      * @see DataBaseConnection
      */
     public DataBaseUserStore(boolean testDataBase) {
+        this(testDataBase, new DataBaseConnection());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param testDataBase       whether the test table is used
+     * @param dataBaseConnection the pool the connections are taken from
+     * @see DataBaseConnection
+     */
+    public DataBaseUserStore(boolean testDataBase, DataBaseConnection dataBaseConnection) {
         if (testDataBase) {
             tableName = "test";
+            resultTableName = "test_game_result";
         }
-        this.dataBaseConnection = new DataBaseConnection();
+        this.dataBaseConnection = dataBaseConnection;
     }
 
     @Override
@@ -286,6 +303,71 @@ public class DataBaseUserStore extends AbstractUserStore implements UserStore {
         return false;
     }
 
+    /**
+     * Records the results of finished games in one transaction
+     * <p>
+     * The wins and losses are summed up per player, so each player is updated once, and every result is inserted into
+     * the game result table, which is created if it does not exist yet. Both are sent as batches, which the driver
+     * rewrites into multi-row statements.
+     *
+     * @param results the results to record
+     * @return true, if the transaction was committed, false if the database could not be reached
+     */
+    @Override
+    public boolean recordResults(List<GameResult> results) {
+        Map<String, int[]> gamesByPlayer = new LinkedHashMap<>();
+        for (GameResult result : results) {
+            gamesByPlayer.computeIfAbsent(result.getPlayerName(), name -> new int[2])[result.isWon() ? 0 : 1]++;
+        }
+        String update = "UPDATE " + tableName + " SET games_won = games_won + ?, games_lost = games_lost + ? WHERE name = ?";
+        String insert = "INSERT INTO " + resultTableName
+                + " (name, won, victory_points, turns_played, duration_ms, finished_at) VALUES (?, ?, ?, ?, ?, ?)";
+        try (Connection connection = dataBaseConnection.getConnection()) {
+            createResultTable(connection);
+            connection.setAutoCommit(false);
+            try (PreparedStatement updateStatement = connection.prepareStatement(update);
+                 PreparedStatement insertStatement = connection.prepareStatement(insert)) {
+                for (Map.Entry<String, int[]> games : gamesByPlayer.entrySet()) {
+                    updateStatement.setInt(1, games.getValue()[0]);
+                    updateStatement.setInt(2, games.getValue()[1]);
+                    updateStatement.setString(3, games.getKey());
+                    updateStatement.addBatch();
+                }
+                for (GameResult result : results) {
+                    insertStatement.setString(1, result.getPlayerName());
+                    insertStatement.setBoolean(2, result.isWon());
+                    insertStatement.setInt(3, result.getVictoryPoints());
+                    insertStatement.setInt(4, result.getTurnsPlayed());
+                    insertStatement.setLong(5, result.getDurationMillis());
+                    insertStatement.setTimestamp(6, new Timestamp(result.getFinishedAt()));
+                    insertStatement.addBatch();
+                }
+                updateStatement.executeBatch();
+                insertStatement.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOG.warn("Could not record {} game results: {}", results.size(), e.getMessage());
+        }
+        return false;
+    }
+
+    private void createResultTable(Connection connection) throws SQLException {
+        if (!resultTableCreated) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS " + resultTableName + " (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                        + "name VARCHAR(255) NOT NULL, won BOOLEAN NOT NULL, victory_points INT NOT NULL, "
+                        + "turns_played INT NOT NULL, duration_ms BIGINT NOT NULL, finished_at TIMESTAMP NOT NULL, "
+                        + "INDEX (name))");
+            }
+            resultTableCreated = true;
+        }
+    }
+
     @Override
     public int getNoOfGamesWon(String playerName) {
         String valid = "Select games_won FROM " + tableName + " where name = ?";
@@ -2,6 +2,7 @@ package de.uol.swp.server.usermanagement.store;
 
 import de.uol.swp.common.user.User;
 import de.uol.swp.common.user.player.PlayerProfile;
+import de.uol.swp.server.usermanagement.statistics.GameResult;
 
 import java.util.List;
 import java.util.Optional;
@@ -134,4 +135,26 @@ public interface UserStore {
      * @return Result of loss
      */
     int getNoOfGamesLost(String playerName);
+
+    /**
+     * Records the results of finished games
+     * <p>
+     * Stores able to do so write all results at once and keep the victory points, turns and durations as well. By
+     * default only the wins and losses are counted up one by one.
+     *
+     * @param results the results to record
+     * @return true, if all results were recorded, false if they should be recorded again later
+     * @see de.uol.swp.server.usermanagement.statistics.StatisticsRecorder
+     */
+    default boolean recordResults(List<GameResult> results) {
+        boolean recorded = true;
+        for (GameResult result : results) {
+            if (result.isWon()) {
+                recorded &= updateGamesWon(result.getPlayerName());
+            } else {
+                recorded &= updateGamesLost(result.getPlayerName());
+            }
+        }
+        return recorded;
+    }
 }
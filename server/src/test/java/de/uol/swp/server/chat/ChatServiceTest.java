@@ -7,6 +7,8 @@ import de.uol.swp.common.chat.ChatMessage;
 import de.uol.swp.common.chat.SendChatMessageRequest;
 import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.user.Session;
+import de.uol.swp.server.communication.RoomRegistry;
+import de.uol.swp.server.communication.SessionRegistry;
 import de.uol.swp.server.game.session.GameSessionFactory;
 import de.uol.swp.server.game.session.GameSessionManagement;
 import de.uol.swp.server.game.session.GameSessionService;
@@ -48,12 +50,14 @@ class ChatServiceTest {
     final EventBus bus = new EventBus();
     final UserStore userStore = new MainMemoryBasedUserStore();
     final UserManagement userManagement = new UserManagement(userStore);
-    final AuthenticationService authService = new AuthenticationService(bus, userManagement);
+    final SessionRegistry sessions = new SessionRegistry();
+    final AuthenticationService authService = new AuthenticationService(bus, userManagement, sessions);
+    final RoomRegistry rooms = new RoomRegistry(sessions);
     final LobbyManagement lobbyManagement = new LobbyManagement();
     final GameSessionFactory gameSessionFactory = mock(GameSessionFactory.class);
     final GameSessionManagement gameSessionManagement = new GameSessionManagement(gameSessionFactory);
-    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, authService);
-    final LobbyService lobbyService = new LobbyService(lobbyManagement, authService, gameSessionService, bus);
+    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, authService, rooms);
+    final LobbyService lobbyService = new LobbyService(lobbyManagement, authService, gameSessionService, rooms, bus);
     final ChatService chatService = new ChatService(bus, lobbyService);
     final CountDownLatch lock = new CountDownLatch(1);
     Object event;
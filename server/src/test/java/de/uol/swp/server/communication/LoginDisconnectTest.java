@@ -0,0 +1,88 @@
+package de.uol.swp.server.communication;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.MoreExecutors;
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.message.MessageContext;
+import de.uol.swp.common.user.User;
+import de.uol.swp.common.user.request.LoginRequest;
+import de.uol.swp.common.user.response.LoginSuccessfulResponse;
+import de.uol.swp.server.concurrent.GameScheduler;
+import de.uol.swp.server.game.session.GameSessionFactory;
+import de.uol.swp.server.game.session.GameSessionManagement;
+import de.uol.swp.server.lobby.LobbyManagement;
+import de.uol.swp.server.usermanagement.AuthenticationService;
+import de.uol.swp.server.usermanagement.PasswordHashingPool;
+import de.uol.swp.server.usermanagement.UserManagement;
+import de.uol.swp.server.usermanagement.UserService;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.*;
+
+/**
+ * A user whose client disconnects while the password is hashed must not stay logged in.
+ */
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class LoginDisconnectTest {
+
+    final EventBus bus = new EventBus();
+    final SessionRegistry sessions = new SessionRegistry();
+    final UserStore store = mock(UserStore.class);
+    final UserManagement userManagement = new UserManagement(store);
+    final List<Runnable> hashing = new ArrayList<>();
+    final User user = new UserDTO("alice", "secret", "");
+    ServerHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        when(store.findUser("alice", "secret")).thenReturn(Optional.of(user));
+        new AuthenticationService(bus, userManagement, sessions,
+                new PasswordHashingPool(hashing::add, MoreExecutors.directExecutor()));
+        new UserService(bus, userManagement);
+        handler = new ServerHandler(bus, new GameSessionManagement(mock(GameSessionFactory.class)),
+                new LobbyManagement(), new GameScheduler(MoreExecutors.directExecutor()), sessions,
+                new RoomRegistry(sessions));
+    }
+
+    void login(MessageContext ctx) {
+        LoginRequest request = new LoginRequest("alice", "secret");
+        request.setMessageContext(ctx);
+        handler.process(request);
+    }
+
+    void finishHashing() {
+        List<Runnable> tasks = new ArrayList<>(hashing);
+        hashing.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void disconnectWhileHashingLogsOut() {
+        MessageContext ctx = mock(MessageContext.class);
+        handler.newClientConnected(ctx);
+        login(ctx);
+
+        handler.clientDisconnected(ctx);
+        finishHashing();
+
+        assertFalse(userManagement.isLoggedIn(user));
+        assertFalse(sessions.isBound(ctx));
+        verify(ctx, never()).writeAndFlush(isA(LoginSuccessfulResponse.class));
+
+        MessageContext reconnected = mock(MessageContext.class);
+        handler.newClientConnected(reconnected);
+        login(reconnected);
+        finishHashing();
+
+        assertTrue(userManagement.isLoggedIn(user));
+        verify(reconnected).writeAndFlush(isA(LoginSuccessfulResponse.class));
+    }
+}
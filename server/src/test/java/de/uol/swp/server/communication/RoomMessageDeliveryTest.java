@@ -0,0 +1,93 @@
+package de.uol.swp.server.communication;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.MoreExecutors;
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.game.message.GameOverMessage;
+import de.uol.swp.common.lobby.GameLobby;
+import de.uol.swp.common.lobby.message.GameEndedMessage;
+import de.uol.swp.common.lobby.request.GameEndedRequestLobby;
+import de.uol.swp.common.message.MessageContext;
+import de.uol.swp.common.user.Session;
+import de.uol.swp.common.user.User;
+import de.uol.swp.server.concurrent.GameScheduler;
+import de.uol.swp.server.game.InventoryService;
+import de.uol.swp.server.game.session.GameSession;
+import de.uol.swp.server.game.session.GameSessionFactory;
+import de.uol.swp.server.game.session.GameSessionManagement;
+import de.uol.swp.server.game.session.GameSessionService;
+import de.uol.swp.server.lobby.LobbyManagement;
+import de.uol.swp.server.lobby.LobbyService;
+import de.uol.swp.server.usermanagement.AuthenticationService;
+import de.uol.swp.server.usermanagement.UserManagement;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.*;
+
+/**
+ * Messages to a room must reach its members even if the room is closed right after the message was posted, because
+ * the bus delivers messages posted by a subscriber only after the subscriber has returned.
+ */
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class RoomMessageDeliveryTest {
+
+    final EventBus bus = new EventBus();
+    final SessionRegistry sessions = new SessionRegistry();
+    final RoomRegistry rooms = new RoomRegistry(sessions);
+    final AuthenticationService authenticationService = new AuthenticationService(bus,
+            new UserManagement(mock(UserStore.class)), sessions);
+    final GameSessionFactory gameSessionFactory = mock(GameSessionFactory.class);
+    final GameSessionManagement gameSessionManagement = new GameSessionManagement(gameSessionFactory);
+    final LobbyManagement lobbyManagement = new LobbyManagement();
+    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus,
+            authenticationService, rooms);
+    final LobbyService lobbyService = new LobbyService(lobbyManagement, authenticationService, gameSessionService,
+            rooms, bus);
+    final User user = new UserDTO("alice", "", "");
+    final MessageContext ctx = mock(MessageContext.class);
+    final GameLobby gameLobby = new GameLobby("test", user, false);
+
+    @BeforeEach
+    void connect() {
+        new ServerHandler(bus, gameSessionManagement, lobbyManagement,
+                new GameScheduler(MoreExecutors.directExecutor()), sessions, rooms);
+        Session session = UUIDSession.create(user);
+        sessions.login(session, user);
+        sessions.bind(ctx, session);
+    }
+
+    @Subscribe
+    void endGame(String gameSessionName) {
+        gameSessionService.endGame(gameSessionName);
+    }
+
+    @Test
+    void gameOverReachesPlayersOfClosedGame() {
+        when(gameSessionFactory.create(gameLobby)).thenReturn(new GameSession(gameLobby, gameSessionService,
+                new InventoryService(bus, gameSessionService), bus,
+                new GameScheduler(MoreExecutors.directExecutor())));
+        gameSessionService.createGameSession(gameLobby);
+        rooms.join(RoomRegistry.game(gameLobby.getName()), user);
+        bus.register(this);
+
+        bus.post(gameLobby.getName());
+
+        verify(ctx).writeAndFlush(isA(GameOverMessage.class), any());
+    }
+
+    @Test
+    void gameEndedReachesMembersOfDroppedLobby() {
+        lobbyManagement.createLobby(gameLobby.getName(), user, false);
+        lobbyManagement.getLobby(gameLobby.getName()).orElseThrow().setDebugEnabled(true);
+        rooms.join(RoomRegistry.lobby(gameLobby.getName()), user);
+
+        bus.post(new GameEndedRequestLobby(gameLobby.getName()));
+
+        verify(ctx).writeAndFlush(isA(GameEndedMessage.class), any());
+    }
+}
@@ -0,0 +1,94 @@
+package de.uol.swp.server.communication;
+
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.message.MessageContext;
+import de.uol.swp.common.user.Session;
+import de.uol.swp.common.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class RoomRegistryTest {
+
+    final SessionRegistry sessions = new SessionRegistry();
+    final RoomRegistry rooms = new RoomRegistry(sessions);
+    final User alice = new UserDTO("alice", "", "");
+    final User bob = new UserDTO("bob", "", "");
+    final MessageContext aliceCtx = mock(MessageContext.class);
+    final MessageContext bobCtx = mock(MessageContext.class);
+    final String lobby = RoomRegistry.lobby("test");
+    final String game = RoomRegistry.game("test");
+
+    @BeforeEach
+    void login() {
+        connect(alice, aliceCtx);
+        connect(bob, bobCtx);
+    }
+
+    private void connect(User user, MessageContext ctx) {
+        Session session = UUIDSession.create(user);
+        sessions.login(session, user);
+        sessions.bind(ctx, session);
+    }
+
+    @Test
+    void membersAreReachedThroughTheirChannels() {
+        rooms.join(lobby, alice);
+        rooms.join(lobby, bob);
+        rooms.join(game, alice);
+
+        assertEquals(Set.of(aliceCtx, bobCtx), Set.copyOf(rooms.getChannels(lobby)));
+        assertEquals(List.of(aliceCtx), List.copyOf(rooms.getChannels(game)));
+
+        rooms.leave(lobby, bob);
+        assertEquals(List.of(aliceCtx), List.copyOf(rooms.getChannels(lobby)));
+    }
+
+    @Test
+    void usersWithoutConnectionAreIgnored() {
+        rooms.join(lobby, new UserDTO("carol", "", ""));
+
+        assertTrue(rooms.getChannels(lobby).isEmpty());
+    }
+
+    @Test
+    void disconnectLeavesAllRooms() {
+        rooms.join(lobby, alice);
+        rooms.join(game, alice);
+        rooms.join(game, bob);
+
+        rooms.leaveAll(aliceCtx);
+
+        assertTrue(rooms.getChannels(lobby).isEmpty());
+        assertEquals(List.of(bobCtx), List.copyOf(rooms.getChannels(game)));
+    }
+
+    @Test
+    void renamedUserCanLeave() {
+        User renamed = new UserDTO("alicia", "", "");
+        rooms.join(lobby, alice);
+        rooms.rename(lobby, alice, renamed);
+
+        rooms.leave(lobby, alice);
+        assertEquals(List.of(aliceCtx), List.copyOf(rooms.getChannels(lobby)));
+        rooms.leave(lobby, renamed);
+        assertTrue(rooms.getChannels(lobby).isEmpty());
+    }
+
+    @Test
+    void closedRoomHasNoChannels() {
+        rooms.join(lobby, alice);
+        rooms.join(lobby, bob);
+
+        rooms.close(lobby);
+        rooms.leaveAll(bobCtx);
+
+        assertTrue(rooms.getChannels(lobby).isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package de.uol.swp.server.communication;
+
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.message.MessageContext;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.common.user.Session;
+import de.uol.swp.common.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class SessionRegistryTest {
+
+    final SessionRegistry registry = new SessionRegistry();
+    final User user = new UserDTO("alice", "", "");
+    final Session session = UUIDSession.create(user);
+    final MessageContext ctx = mock(MessageContext.class);
+
+    @Test
+    void lookupsWorkInBothDirections() {
+        registry.login(session, user);
+        registry.bind(ctx, session);
+
+        assertEquals(Optional.of(session), registry.getSession(user));
+        assertEquals(Optional.of(user), registry.getUser(session));
+        assertEquals(Optional.of(session), registry.getSession(ctx));
+        assertEquals(Optional.of(ctx), registry.getContext(session));
+        assertTrue(registry.isBound(ctx));
+    }
+
+    @Test
+    void logoutAndUnbindRemoveBothDirections() {
+        registry.login(session, user);
+        registry.bind(ctx, session);
+
+        assertEquals(Optional.of(user), registry.logout(session));
+        assertEquals(Optional.empty(), registry.logout(session));
+        assertTrue(registry.getSession(user).isEmpty());
+        assertTrue(registry.getOnlineUsers().isEmpty());
+        assertEquals(Optional.of(ctx), registry.getContext(session));
+
+        registry.unbind(ctx);
+        assertTrue(registry.getContext(session).isEmpty());
+        assertFalse(registry.isBound(ctx));
+    }
+
+    @Test
+    void updatedUserIsFoundByTheNewName() {
+        registry.login(session, user);
+        User renamed = new UserDTO("bob", "", "");
+        registry.updateUser(session, renamed);
+
+        assertTrue(registry.getSession(user).isEmpty());
+        assertEquals(Optional.of(session), registry.getSession(renamed));
+        assertEquals(List.of(renamed), List.copyOf(registry.getOnlineUsers()));
+    }
+
+    @Test
+    void rebindingReplacesTheOldBinding() {
+        Session other = UUIDSession.create(new UserDTO("bob", "", ""));
+        MessageContext otherCtx = mock(MessageContext.class);
+        registry.bind(ctx, session);
+        registry.bind(ctx, other);
+        registry.bind(otherCtx, other);
+
+        assertTrue(registry.getContext(session).isEmpty());
+        assertEquals(Optional.of(otherCtx), registry.getContext(other));
+        assertFalse(registry.isBound(ctx));
+    }
+
+    @Test
+    void onlineUsersAreCounted() {
+        registry.login(session, user);
+        registry.login(UUIDSession.create(new UserDTO("bob", "", "")), new UserDTO("bob", "", ""));
+
+        assertEquals(2, registry.getOnlineUserCount());
+        assertEquals(2L, MetricsRegistry.getDefault().snapshot().get("users.online"));
+    }
+}
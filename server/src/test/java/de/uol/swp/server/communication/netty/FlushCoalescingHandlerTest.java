@@ -0,0 +1,54 @@
+package de.uol.swp.server.communication.netty;
+
+import de.uol.swp.common.metrics.MetricsRegistry;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class FlushCoalescingHandlerTest {
+
+    // the embedded event loop runs its tasks after every write, so the flush is delayed to hold it back
+    static final long MAX_DELAY = 200;
+
+    final EmbeddedChannel channel = new EmbeddedChannel(new FlushCoalescingHandler(MAX_DELAY), new ChannelInboundHandlerAdapter());
+    final ChannelHandlerContext ctx = channel.pipeline().lastContext();
+
+    @Test
+    void flushesOnceAfterTheDelay() throws InterruptedException {
+        long saved = MetricsRegistry.getDefault().counter("net.flushesSaved").get();
+        ctx.writeAndFlush("dice");
+        ctx.writeAndFlush("state");
+        ctx.writeAndFlush("timer");
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+
+        Thread.sleep(MAX_DELAY + 50);
+        channel.runPendingTasks();
+        assertEquals("dice", channel.readOutbound());
+        assertEquals("state", channel.readOutbound());
+        assertEquals("timer", channel.readOutbound());
+        assertEquals(saved + 2, MetricsRegistry.getDefault().counter("net.flushesSaved").get());
+    }
+
+    @Test
+    void fullBatchIsFlushedAtOnce() {
+        for (int i = 0; i < FlushCoalescingHandler.MAX_BATCH; i++) {
+            ctx.writeAndFlush(i);
+        }
+
+        assertEquals(0, (int) channel.readOutbound());
+        assertEquals(FlushCoalescingHandler.MAX_BATCH, channel.outboundMessages().size() + 1);
+    }
+
+    @Test
+    void closeFlushesPendingMessages() {
+        ctx.writeAndFlush("log");
+        channel.close();
+
+        assertEquals("log", channel.readOutbound());
+    }
+}
@@ -0,0 +1,70 @@
+package de.uol.swp.server.communication.netty;
+
+import de.uol.swp.common.codec.SharedFrames;
+import de.uol.swp.common.codec.WireFormat;
+import de.uol.swp.common.user.message.UserLoggedInMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class NettyMessageContextTest {
+
+    static EmbeddedChannel channel(WireFormat format) {
+        var channel = new EmbeddedChannel();
+        format.addLast(channel.pipeline());
+        channel.pipeline().addLast(new ChannelInboundHandlerAdapter());
+        return channel;
+    }
+
+    static NettyMessageContext context(EmbeddedChannel channel) {
+        return new NettyMessageContext(channel.pipeline().lastContext());
+    }
+
+    static UserLoggedInMessage decode(WireFormat format, ByteBuf frame) {
+        var decoder = channel(format);
+        decoder.writeInbound(frame);
+        return decoder.readInbound();
+    }
+
+    @Test
+    void broadcastIsEncodedOncePerFormat() {
+        var message = new UserLoggedInMessage("marco");
+        var java1 = channel(WireFormat.JAVA);
+        var java2 = channel(WireFormat.JAVA);
+        var compact = channel(WireFormat.COMPACT);
+
+        try (var frames = new SharedFrames(message)) {
+            context(java1).writeAndFlush(message, frames);
+            context(java2).writeAndFlush(message, frames);
+            context(compact).writeAndFlush(message, frames);
+
+            ByteBuf frame1 = java1.readOutbound();
+            ByteBuf frame2 = java2.readOutbound();
+            ByteBuf frame3 = compact.readOutbound();
+            assertEquals(frame1, frame2);
+            assertEquals(frames.getBytesEncoded(), frame1.readableBytes() + frame3.readableBytes());
+            assertEquals(frames.getBytesSent(), 2L * frame1.readableBytes() + frame3.readableBytes());
+            assertEquals(3, frames.getReceivers());
+
+            assertEquals("marco", decode(WireFormat.JAVA, frame1).getUsername());
+            assertEquals("marco", decode(WireFormat.JAVA, frame2).getUsername());
+            assertEquals("marco", decode(WireFormat.COMPACT, frame3).getUsername());
+        }
+    }
+
+    @Test
+    void notNegotiatedChannelGetsTheMessage() {
+        var message = new UserLoggedInMessage("marco");
+        var channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+
+        try (var frames = new SharedFrames(message)) {
+            context(channel).writeAndFlush(message, frames);
+            assertEquals(0, frames.getBytesEncoded());
+        }
+        assertSame(message, channel.readOutbound());
+    }
+}
@@ -0,0 +1,74 @@
+package de.uol.swp.server.communication.netty;
+
+import de.uol.swp.common.game.debug.StateMessage;
+import de.uol.swp.common.game.message.TimerRestartMessage;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class OutboundQueueHandlerTest {
+
+    EmbeddedChannel channel;
+    ChannelHandlerContext ctx;
+
+    void connect(int maxQueue, long maxStallMillis) {
+        channel = new EmbeddedChannel(new OutboundQueueHandler(maxQueue, maxStallMillis), new ChannelInboundHandlerAdapter());
+        ctx = channel.pipeline().lastContext();
+    }
+
+    void setWritable(boolean writable) {
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, writable);
+        channel.runPendingTasks();
+    }
+
+    Object metric(String name) {
+        return MetricsRegistry.getDefault().snapshot().get(name + "." + channel.id().asShortText());
+    }
+
+    @Test
+    void supersededStateIsConflated() {
+        connect(16, 60_000);
+        setWritable(false);
+        ctx.writeAndFlush(new StateMessage("game", "DiceState"));
+        ctx.writeAndFlush(new TimerRestartMessage("game", 60));
+        ctx.writeAndFlush(new StateMessage("game", "BuildState"));
+
+        assertNull(channel.readOutbound());
+        assertEquals(2L, metric("net.queueDepth"));
+        assertEquals(1L, metric("net.dropped"));
+
+        setWritable(true);
+        assertEquals(new TimerRestartMessage("game", 60), channel.readOutbound());
+        assertEquals(new StateMessage("game", "BuildState"), channel.readOutbound());
+        assertEquals(0L, metric("net.queueDepth"));
+    }
+
+    @Test
+    void overflowingClientIsDisconnected() {
+        connect(2, 60_000);
+        setWritable(false);
+        ctx.writeAndFlush("first");
+        ctx.writeAndFlush("second");
+        assertTrue(channel.isOpen());
+
+        ctx.writeAndFlush("third");
+        assertFalse(channel.isOpen());
+        assertNull(metric("net.queueDepth"));
+    }
+
+    @Test
+    void stalledClientIsDisconnected() throws InterruptedException {
+        connect(16, 10);
+        setWritable(false);
+        ctx.writeAndFlush("message");
+
+        Thread.sleep(50);
+        channel.runPendingTasks();
+        assertFalse(channel.isOpen());
+    }
+}
@@ -0,0 +1,129 @@
+package de.uol.swp.server.communication.netty;
+
+import de.uol.swp.common.codec.WireFormat;
+import de.uol.swp.common.metrics.Histogram;
+import de.uol.swp.common.user.message.UserLoggedInMessage;
+import de.uol.swp.common.user.request.LoginRequest;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.*;
+import io.netty.channel.socket.SocketChannel;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares connection setup time, round trip latency and throughput of the transports of the server
+ * <p>
+ * Every connection sends a request as soon as the answer to its previous request has arrived, so all connections
+ * are busy at the same time. The server runs its real pipeline with a handler answering every request.
+ * <p>
+ * Not a unit test, run the main method manually, e.g. with
+ * {@code mvn -pl server test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=de.uol.swp.server.communication.netty.TransportBenchmark}
+ */
+@SuppressWarnings({"PMD.CommentRequired", "PMD.SystemPrintln", "java:S106"})
+public class TransportBenchmark {
+
+    private static final int[] CONNECTIONS = {100, 500, 2000};
+    private static final int REQUESTS = 200;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%-6s %12s %12s %10s %10s %10s %12s%n", "", "connections", "connect ms", "p50 us", "p99 us",
+                "max us", "requests/s");
+        for (Transport transport : Transport.values()) {
+            if (!transport.isAvailable()) {
+                System.out.printf("%-6s not available%n", transport);
+                continue;
+            }
+            measure(transport, CONNECTIONS[0]); // warm up
+            for (int connections : CONNECTIONS) {
+                measure(transport, connections);
+            }
+        }
+    }
+
+    private static void measure(Transport transport, int connections) throws InterruptedException {
+        Server server = new Server(new AnsweringHandler(), transport);
+        EventLoopGroup group = transport.newEventLoopGroup(0);
+        try {
+            int port = ((InetSocketAddress) server.bind(0).localAddress()).getPort();
+            Histogram latencies = new Histogram();
+            CountDownLatch done = new CountDownLatch(connections);
+            Bootstrap bootstrap = new Bootstrap().group(group).channel(transport.getChannelClass())
+                    .option(ChannelOption.TCP_NODELAY, true).remoteAddress("localhost", port)
+                    .handler(new ChannelInitializer<SocketChannel>() {
+                        @Override
+                        protected void initChannel(SocketChannel channel) {
+                            WireFormat.JAVA.addLast(channel.pipeline());
+                            channel.pipeline().addLast(new RequestingHandler(latencies, done));
+                        }
+                    });
+
+            long start = System.nanoTime();
+            List<ChannelFuture> futures = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                futures.add(bootstrap.connect());
+            }
+            for (ChannelFuture future : futures) {
+                future.sync();
+            }
+            long connected = System.nanoTime();
+            for (ChannelFuture future : futures) {
+                future.channel().pipeline().get(RequestingHandler.class).request(future.channel());
+            }
+            if (!done.await(5, TimeUnit.MINUTES)) {
+                System.out.printf("%-6s %12d timed out%n", transport, connections);
+                return;
+            }
+            long finished = System.nanoTime();
+            System.out.printf("%-6s %12d %12d %10d %10d %10d %12d%n", transport, connections,
+                    TimeUnit.NANOSECONDS.toMillis(connected - start), latencies.getPercentile(50),
+                    latencies.getPercentile(99), latencies.getMax(),
+                    latencies.getCount() * TimeUnit.SECONDS.toNanos(1) / (finished - connected));
+        } finally {
+            group.shutdownGracefully().sync();
+            server.shutdown();
+        }
+    }
+
+    @ChannelHandler.Sharable
+    private static class AnsweringHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ctx.writeAndFlush(new UserLoggedInMessage(((LoginRequest) msg).getUsername()));
+        }
+    }
+
+    private static class RequestingHandler extends ChannelInboundHandlerAdapter {
+
+        private final Histogram latencies;
+        private final CountDownLatch done;
+        private int sent;
+        private long sentAt;
+
+        RequestingHandler(Histogram latencies, CountDownLatch done) {
+            this.latencies = latencies;
+            this.done = done;
+        }
+
+        void request(Channel channel) {
+            sent++;
+            sentAt = System.nanoTime();
+            channel.writeAndFlush(new LoginRequest("bench", "bench"));
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt));
+            if (sent < REQUESTS) {
+                request(ctx.channel());
+            } else {
+                done.countDown();
+                ctx.close();
+            }
+        }
+    }
+}
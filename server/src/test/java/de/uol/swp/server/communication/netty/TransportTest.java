@@ -0,0 +1,36 @@
+package de.uol.swp.server.communication.netty;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class TransportTest {
+
+    final Transport defaultTransport = Transport.EPOLL.isAvailable() ? Transport.EPOLL : Transport.NIO;
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(Transport.PROPERTY);
+    }
+
+    @Test
+    void configuredTransportIsUsed() {
+        System.setProperty(Transport.PROPERTY, " nio ");
+
+        assertEquals(Transport.NIO, Transport.configured());
+    }
+
+    @Test
+    void unknownTransportFallsBackToDefault() {
+        System.setProperty(Transport.PROPERTY, "epol");
+
+        assertEquals(defaultTransport, Transport.configured());
+    }
+
+    @Test
+    void nothingConfiguredUsesDefault() {
+        assertEquals(defaultTransport, Transport.configured());
+    }
+}
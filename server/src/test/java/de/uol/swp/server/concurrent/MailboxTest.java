@@ -0,0 +1,120 @@
+package de.uol.swp.server.concurrent;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class MailboxTest {
+
+    final GameScheduler scheduler = new GameScheduler(Executors.newFixedThreadPool(4));
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void tasksRunInSubmissionOrderAndNeverConcurrently() throws InterruptedException {
+        Mailbox mailbox = scheduler.newMailbox("order");
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1000);
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            mailbox.execute(() -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                executed.add(value);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, executed.get(i));
+        }
+        assertEquals(0, mailbox.getPending());
+    }
+
+    @Test
+    void onlyTasksOfTheMailboxAreCurrent() throws InterruptedException {
+        Mailbox mailbox = scheduler.newMailbox("current");
+        Mailbox other = scheduler.newMailbox("other");
+        List<Boolean> current = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        mailbox.execute(() -> {
+            current.add(mailbox.isCurrent());
+            current.add(other.isCurrent());
+            done.countDown();
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(true, false), current);
+        assertFalse(mailbox.isCurrent());
+    }
+
+    @Test
+    void differentMailboxesRunInParallel() throws InterruptedException {
+        Mailbox first = scheduler.newMailbox("first");
+        Mailbox second = scheduler.newMailbox("second");
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+        Runnable task = () -> {
+            bothStarted.countDown();
+            try {
+                if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                    done.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        first.execute(task);
+        second.execute(task);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failingTaskDoesNotStopMailbox() {
+        Mailbox mailbox = new GameScheduler(MoreExecutors.directExecutor()).newMailbox("failing");
+        AtomicInteger executed = new AtomicInteger();
+        mailbox.execute(() -> {
+            throw new IllegalStateException("expected");
+        });
+        mailbox.execute(executed::incrementAndGet);
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    void tasksSubmittedFromWithinMailboxRunAfterCurrentTask() {
+        Mailbox mailbox = new GameScheduler(MoreExecutors.directExecutor()).newMailbox("nested");
+        List<String> executed = new ArrayList<>();
+        mailbox.execute(() -> {
+            mailbox.execute(() -> executed.add("inner"));
+            executed.add("outer");
+        });
+        assertEquals(List.of("outer", "inner"), executed);
+    }
+
+    @Test
+    void closedMailboxDropsNewTasks() {
+        Mailbox mailbox = new GameScheduler(MoreExecutors.directExecutor()).newMailbox("closed");
+        AtomicInteger executed = new AtomicInteger();
+        mailbox.close();
+        mailbox.execute(executed::incrementAndGet);
+        assertEquals(0, executed.get());
+    }
+}
@@ -0,0 +1,130 @@
+package de.uol.swp.server.database;
+
+import de.uol.swp.common.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class ConnectionPoolTest {
+
+    final DataSource dataSource = mock(DataSource.class);
+    final List<Connection> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            Connection connection = mock(Connection.class);
+            when(connection.getAutoCommit()).thenReturn(true);
+            when(connection.isValid(anyInt())).thenReturn(true);
+            opened.add(connection);
+            return connection;
+        });
+    }
+
+    @Test
+    void returnedConnectionsAreReused() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(dataSource, 2, 100, 60_000);
+
+        try (Connection connection = pool.getConnection()) {
+            connection.createStatement();
+        }
+        try (Connection connection = pool.getConnection()) {
+            connection.createStatement();
+        }
+
+        assertEquals(1, opened.size());
+        verify(opened.get(0), times(2)).createStatement();
+        verify(opened.get(0), never()).close();
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void poolIsBounded() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(dataSource, 2, 50, 60_000);
+        long timeouts = MetricsRegistry.getDefault().counter("db.acquireTimeouts").get();
+
+        Connection first = pool.getConnection();
+        pool.getConnection();
+        assertEquals(2, pool.getActiveCount());
+        assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+        assertEquals(timeouts + 1, MetricsRegistry.getDefault().counter("db.acquireTimeouts").get());
+
+        first.close();
+        assertNotNull(pool.getConnection());
+        assertEquals(2, opened.size());
+    }
+
+    @Test
+    void returnedConnectionCannotBeUsed() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(dataSource, 1, 50, 60_000);
+        Connection connection = pool.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertTrue(connection.isClosed());
+        assertThrows(SQLException.class, connection::createStatement);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void brokenIdleConnectionIsReplaced() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(dataSource, 1, 50, 0);
+        long failures = MetricsRegistry.getDefault().counter("db.healthCheckFailures").get();
+        pool.getConnection().close();
+        when(opened.get(0).isValid(anyInt())).thenReturn(false);
+
+        pool.getConnection().createStatement();
+
+        assertEquals(2, opened.size());
+        verify(opened.get(0)).close();
+        verify(opened.get(1)).createStatement();
+        assertEquals(failures + 1, MetricsRegistry.getDefault().counter("db.healthCheckFailures").get());
+    }
+
+    @Test
+    void recentlyUsedConnectionIsNotValidated() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(dataSource, 1, 50, 60_000);
+        pool.getConnection().close();
+
+        pool.getConnection();
+
+        verify(opened.get(0), never()).isValid(anyInt());
+    }
+
+    @Test
+    void uncommittedTransactionIsRolledBack() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(dataSource, 1, 50, 60_000);
+        Connection connection = pool.getConnection();
+        when(opened.get(0).getAutoCommit()).thenReturn(false);
+
+        connection.close();
+
+        verify(opened.get(0)).rollback();
+        verify(opened.get(0)).setAutoCommit(true);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void closingThePoolClosesIdleConnections() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(dataSource, 1, 50, 60_000);
+        pool.getConnection().close();
+
+        pool.close();
+
+        verify(opened.get(0)).close();
+        assertEquals(0, pool.getIdleCount());
+        assertThrows(SQLException.class, pool::getConnection);
+    }
+}
@@ -1,6 +1,7 @@
 package de.uol.swp.server.game;
 
 import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.MoreExecutors;
 import de.uol.swp.common.game.board.Coord;
 import de.uol.swp.common.game.board.Direction;
 import de.uol.swp.common.game.board.PieceType;
@@ -10,6 +11,9 @@ import de.uol.swp.common.game.dto.PieceDTO;
 import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.lobby.GameLobby;
 import de.uol.swp.common.user.User;
+import de.uol.swp.server.communication.RoomRegistry;
+import de.uol.swp.server.communication.SessionRegistry;
+import de.uol.swp.server.concurrent.GameScheduler;
 import de.uol.swp.server.game.board.Board;
 import de.uol.swp.server.game.mapobject.CityPiece;
 import de.uol.swp.server.game.mapobject.RoadPiece;
@@ -42,7 +46,8 @@ class BoardTest {
     final User test1 = new UserDTO("test1", "test", "test@test.com");
     final EventBus bus = new EventBus();
     final GameSessionManagement gameSessionManagement = new GameSessionManagement(gameSessionFactory);
-    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, mock(AuthenticationService.class));
+    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, mock(AuthenticationService.class),
+            new RoomRegistry(new SessionRegistry()));
     final InventoryService inventoryService = new InventoryService(bus, gameSessionService);
     final GameSession fullGameSession = createFullGameSession();
 
@@ -57,7 +62,7 @@ class BoardTest {
         gameLobby.joinUser(test2);
         gameLobby.joinUser(test3);
         gameLobby.joinUser(test4);
-        when(gameSessionFactory.create(gameLobby)).thenReturn(new GameSession(gameLobby, gameSessionService, inventoryService, bus));
+        when(gameSessionFactory.create(gameLobby)).thenReturn(new GameSession(gameLobby, gameSessionService, inventoryService, bus, new GameScheduler(MoreExecutors.directExecutor())));
         GameSession gameSession = gameSessionService.createGameSession(gameLobby);
         gameSession.playerReady(test1.getUsername());
         gameSession.playerReady(test2.getUsername());
@@ -0,0 +1,116 @@
+package de.uol.swp.server.game;
+
+import de.uol.swp.common.game.board.Coord;
+import de.uol.swp.common.game.board.Direction;
+import de.uol.swp.server.game.board.BoardTopology;
+import de.uol.swp.server.game.mapnode.NodeOffsetHelper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class BoardTopologyTest {
+
+    final BoardTopology topology = BoardTopology.forRadius(2);
+
+    private Set<Coord> onMap(Coord[] coords) {
+        return Arrays.stream(coords).filter(coord -> {
+            switch (coord.getNodeType()) {
+                case HEX:
+                    return topology.hexId(coord) >= 0;
+                case CORNER:
+                    return topology.cornerId(coord) >= 0;
+                default:
+                    return topology.edgeId(coord) >= 0;
+            }
+        }).collect(Collectors.toSet());
+    }
+
+    private Set<Coord> added(Coord origin, Coord[] offsets) {
+        return onMap(Arrays.stream(offsets).map(offset -> Coord.add(origin, offset)).toArray(Coord[]::new));
+    }
+
+    @Test
+    void standardBoardHasExpectedNodeCounts() {
+        assertEquals(19, topology.hexCount());
+        assertEquals(54, topology.cornerCount());
+        assertEquals(72, topology.edgeCount());
+        assertSame(topology, BoardTopology.forRadius(2));
+    }
+
+    @Test
+    void idsRoundTrip() {
+        for (int id = 0; id < topology.hexCount(); id++) {
+            assertEquals(id, topology.hexId(topology.hex(id)));
+            assertEquals(id, topology.hexId(new Coord(topology.hex(id).getX(), topology.hex(id).getY())));
+        }
+        for (int id = 0; id < topology.cornerCount(); id++) {
+            assertEquals(id, topology.cornerId(topology.corner(id)));
+        }
+        for (int id = 0; id < topology.edgeCount(); id++) {
+            assertEquals(id, topology.edgeId(topology.edge(id)));
+        }
+    }
+
+    @Test
+    void nodesInWaterHaveNoId() {
+        assertEquals(-1, topology.hexId(new Coord(3, 0)));
+        assertEquals(-1, topology.cornerId(Coord.newCorner(4, 4, Direction.NORTH)));
+        assertEquals(-1, topology.edgeId(Coord.newEdge(-9, 9, Direction.WEST)));
+        assertThrows(IllegalArgumentException.class, () -> topology.cornerId(new Coord(0, 0)));
+    }
+
+    @Test
+    void adjacencyMatchesOffsets() {
+        for (int id = 0; id < topology.hexCount(); id++) {
+            Coord hex = topology.hex(id);
+            assertEquals(added(hex, NodeOffsetHelper.getHexagonNeighbourOffset()), hexes(topology.hexNeighbours(id)));
+            assertEquals(onMap(Coord.getCornersFromHex(hex)), corners(topology.hexCorners(id)));
+            assertEquals(6, topology.hexCorners(id).length);
+        }
+        for (int id = 0; id < topology.cornerCount(); id++) {
+            Coord corner = topology.corner(id);
+            assertEquals(added(corner, NodeOffsetHelper.getCornerNeighbourOffset(corner.getDir())), corners(topology.cornerNeighbours(id)));
+            assertEquals(added(new Coord(corner.getX(), corner.getY()), NodeOffsetHelper.getHexagonOffsetFromCornerDirection(corner.getDir())),
+                    hexes(topology.cornerHexes(id)));
+            Set<Coord> expectedEdges = onMap(Arrays.stream(NodeOffsetHelper.getEdgeOffsetFromCornerDirection(corner.getDir()))
+                    .map(offset -> Coord.newEdge(corner.getX() + offset.getX(), corner.getY() + offset.getY(), offset.getDir()))
+                    .toArray(Coord[]::new));
+            assertEquals(expectedEdges, edges(topology.cornerEdges(id)));
+        }
+        for (int id = 0; id < topology.edgeCount(); id++) {
+            Coord edge = topology.edge(id);
+            assertEquals(added(edge, NodeOffsetHelper.getEdgeNeighbourOffset(edge.getDir())), edges(topology.edgeNeighbours(id)));
+            assertEquals(Set.of(Coord.getCornersFromEdge(edge)), corners(topology.edgeCorners(id)));
+        }
+    }
+
+    @Test
+    void cornerBetweenEdges() {
+        for (int id = 0; id < topology.edgeCount(); id++) {
+            for (int neighbour : topology.edgeNeighbours(id)) {
+                Coord expected = Coord.getCornerFromEdges(topology.edge(id), topology.edge(neighbour));
+                assertEquals(expected, topology.corner(topology.cornerBetween(id, neighbour)));
+            }
+        }
+        int edge = topology.edgeId(Coord.newEdge(0, 0, Direction.NORTH));
+        int farEdge = topology.edgeId(Coord.newEdge(2, 0, Direction.SOUTH));
+        assertEquals(-1, topology.cornerBetween(edge, farEdge));
+    }
+
+    private Set<Coord> hexes(int[] ids) {
+        return Arrays.stream(ids).mapToObj(topology::hex).collect(Collectors.toSet());
+    }
+
+    private Set<Coord> corners(int[] ids) {
+        return Arrays.stream(ids).mapToObj(topology::corner).collect(Collectors.toSet());
+    }
+
+    private Set<Coord> edges(int[] ids) {
+        return Arrays.stream(ids).mapToObj(topology::edge).collect(Collectors.toSet());
+    }
+}
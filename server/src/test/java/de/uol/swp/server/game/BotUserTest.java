@@ -0,0 +1,178 @@
+package de.uol.swp.server.game;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.MoreExecutors;
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.game.message.DiscardNotificationMessage;
+import de.uol.swp.common.game.request.DiscardCardsRequest;
+import de.uol.swp.common.game.request.TurnEndRequest;
+import de.uol.swp.common.game.request.build.PlaceObjectRequest;
+import de.uol.swp.common.game.response.RoadBuildingCardResponse;
+import de.uol.swp.common.lobby.GameLobby;
+import de.uol.swp.common.message.RequestMessage;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.common.user.User;
+import de.uol.swp.server.communication.RoomRegistry;
+import de.uol.swp.server.communication.SessionRegistry;
+import de.uol.swp.server.communication.UUIDSession;
+import de.uol.swp.server.concurrent.GameScheduler;
+import de.uol.swp.server.game.ai.BotUser;
+import de.uol.swp.server.game.session.GameSession;
+import de.uol.swp.server.game.session.GameSessionFactory;
+import de.uol.swp.server.game.session.GameSessionManagement;
+import de.uol.swp.server.game.session.GameSessionService;
+import de.uol.swp.server.usermanagement.AuthenticationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"UnstableApiUsage", "PMD.CommentRequired", "PMD.DefaultPackage"})
+class BotUserTest {
+
+    static final User OWNER = new UserDTO("botOwner", "test", "test@test.com");
+    final EventBus bus = new EventBus();
+    final EventBus botBus = new EventBus();
+    final GameSessionService gameSessionService = new GameSessionService(new GameSessionManagement(mock(GameSessionFactory.class)), bus,
+            mock(AuthenticationService.class), new RoomRegistry(new SessionRegistry()));
+    final InventoryService inventoryService = new InventoryService(bus, gameSessionService);
+    final ScheduledExecutorService delays = mock(ScheduledExecutorService.class);
+    final List<Runnable> delayedTasks = new ArrayList<>();
+    final List<Long> delaysMillis = new ArrayList<>();
+    final List<RequestMessage> posted = new ArrayList<>();
+    GameSession gameSession;
+    BotUser bot;
+
+    @Subscribe
+    void onRequest(RequestMessage request) {
+        posted.add(request);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(delays.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(invocation -> {
+            delayedTasks.add(invocation.getArgument(0));
+            delaysMillis.add(invocation.getArgument(1));
+            return mock(ScheduledFuture.class);
+        });
+        GameLobby lobby = new GameLobby("botLobby", OWNER, false);
+        lobby.addBot();
+        gameSession = new GameSession(lobby, gameSessionService, inventoryService, botBus,
+                new GameScheduler(MoreExecutors.directExecutor(), delays));
+        bot = gameSession.getBots().iterator().next();
+        botBus.register(this);
+    }
+
+    private void runNextDelayedTask() {
+        assertEquals(1, delayedTasks.size());
+        delayedTasks.remove(0).run();
+    }
+
+    @Test
+    void thinkingTimeIsScheduledInsteadOfSlept() {
+        var message = new DiscardNotificationMessage("botLobby", 0);
+        message.setReceiver(List.of(bot.getSession()));
+
+        bot.sendMessage(message);
+
+        assertTrue(posted.isEmpty());
+        assertEquals(List.of(1000L), delaysMillis);
+        runNextDelayedTask();
+        assertEquals(1, posted.size());
+        assertTrue(posted.get(0) instanceof DiscardCardsRequest);
+        assertEquals(bot.getSession(), posted.get(0).getSession().orElseThrow());
+    }
+
+    @Test
+    void delayedStepsRunInOrder() {
+        var response = new RoadBuildingCardResponse("botLobby", 2);
+        response.setSession(bot.getSession());
+
+        bot.sendMessage(response);
+
+        runNextDelayedTask();
+        runNextDelayedTask();
+        assertEquals(2, posted.size());
+        assertTrue(posted.stream().allMatch(PlaceObjectRequest.class::isInstance));
+        runNextDelayedTask();
+        assertEquals(3, posted.size());
+        assertTrue(posted.get(2) instanceof TurnEndRequest);
+        assertTrue(delayedTasks.isEmpty());
+    }
+
+    @Test
+    void nextMessageWaitsForCurrentOne() {
+        var response = new RoadBuildingCardResponse("botLobby", 1);
+        response.setSession(bot.getSession());
+        var message = new DiscardNotificationMessage("botLobby", 0);
+        message.setReceiver(List.of(bot.getSession()));
+
+        bot.sendMessage(response);
+        bot.sendMessage(message);
+
+        runNextDelayedTask();
+        runNextDelayedTask();
+        assertTrue(posted.get(1) instanceof TurnEndRequest);
+        runNextDelayedTask();
+        assertTrue(posted.get(2) instanceof DiscardCardsRequest);
+    }
+
+    @Test
+    void terminatedBotDoesNotAct() {
+        var message = new DiscardNotificationMessage("botLobby", 0);
+        message.setReceiver(List.of(bot.getSession()));
+
+        bot.sendMessage(message);
+        bot.terminate();
+        delayedTasks.forEach(Runnable::run);
+        bot.sendMessage(message);
+
+        assertTrue(posted.isEmpty());
+    }
+
+    @Test
+    void botOfRejoiningUserIsTerminated() throws Exception {
+        User guest = new UserDTO("botGuest", "test", "guest@test.com");
+        GameLobby lobby = new GameLobby("rejoinLobby", OWNER, false);
+        lobby.joinUser(guest);
+        var gameSession = new GameSession(lobby, gameSessionService, inventoryService, botBus,
+                new GameScheduler(MoreExecutors.directExecutor(), delays));
+        User leaving = gameSession.getWhoseTurn().getPlayerName().equals(OWNER.getUsername()) ? guest : OWNER;
+        gameSession.leaveGameSession(UUIDSession.create(leaving));
+        BotUser replacement = gameSession.getBots().iterator().next();
+        var message = new DiscardNotificationMessage("rejoinLobby", 0);
+        message.setReceiver(List.of(replacement.getSession()));
+        replacement.sendMessage(message);
+        long queued = (long) MetricsRegistry.getDefault().snapshot().get("bot.queueDepth");
+        replacement.sendMessage(message);
+
+        gameSession.rejoinGameSession(leaving);
+        delayedTasks.forEach(Runnable::run);
+
+        assertTrue(gameSession.getBots().isEmpty());
+        assertTrue(posted.isEmpty());
+        assertEquals(queued, MetricsRegistry.getDefault().snapshot().get("bot.queueDepth"));
+    }
+
+    @Test
+    void messagesDroppedByTheMailboxAreNotQueued() {
+        var message = new DiscardNotificationMessage("botLobby", 0);
+        message.setReceiver(List.of(bot.getSession()));
+        long queued = (long) MetricsRegistry.getDefault().snapshot().get("bot.queueDepth");
+        gameSession.getMailbox().close();
+
+        bot.sendMessage(message);
+
+        assertEquals(queued, MetricsRegistry.getDefault().snapshot().get("bot.queueDepth"));
+    }
+}
@@ -3,6 +3,7 @@ package de.uol.swp.server.game;
 import com.google.common.eventbus.DeadEvent;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.MoreExecutors;
 import de.uol.swp.common.game.board.Coord;
 import de.uol.swp.common.game.board.Direction;
 import de.uol.swp.common.game.dto.MapNode;
@@ -11,6 +12,9 @@ import de.uol.swp.common.game.request.AbstractGameRequest;
 import de.uol.swp.common.lobby.GameLobby;
 import de.uol.swp.common.user.Session;
 import de.uol.swp.common.user.User;
+import de.uol.swp.server.communication.RoomRegistry;
+import de.uol.swp.server.communication.SessionRegistry;
+import de.uol.swp.server.concurrent.GameScheduler;
 import de.uol.swp.server.game.board.Board;
 import de.uol.swp.server.game.session.GameSession;
 import de.uol.swp.server.game.session.GameSessionFactory;
@@ -34,7 +38,8 @@ public class BuildTest {
     final GameSessionFactory gameSessionFactory = mock(GameSessionFactory.class);
     final EventBus bus = new EventBus();
     final GameSessionManagement gameSessionManagement = new GameSessionManagement(gameSessionFactory);
-    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, mock(AuthenticationService.class));
+    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, mock(AuthenticationService.class),
+            new RoomRegistry(new SessionRegistry()));
     final InventoryService inventoryService = new InventoryService(bus, gameSessionService);
     final GameSession fullGameSession = createFullGameSession();
 
@@ -89,7 +94,7 @@ public class BuildTest {
         GAME_LOBBY.joinUser(test2);
         GAME_LOBBY.joinUser(test3);
         GAME_LOBBY.joinUser(test4);
-        when(gameSessionFactory.create(GAME_LOBBY)).thenReturn(new GameSession(GAME_LOBBY, gameSessionService, inventoryService, bus));
+        when(gameSessionFactory.create(GAME_LOBBY)).thenReturn(new GameSession(GAME_LOBBY, gameSessionService, inventoryService, bus, new GameScheduler(MoreExecutors.directExecutor())));
         GameSession gameSession = gameSessionService.createGameSession(GAME_LOBBY);
         gameSession.playerReady(test1.getUsername());
         gameSession.playerReady(test2.getUsername());
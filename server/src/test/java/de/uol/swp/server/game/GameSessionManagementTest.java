@@ -1,8 +1,10 @@
 package de.uol.swp.server.game;
 
 import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.MoreExecutors;
 import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.lobby.GameLobby;
+import de.uol.swp.server.concurrent.GameScheduler;
 import de.uol.swp.server.game.session.GameSession;
 import de.uol.swp.server.game.session.GameSessionFactory;
 import de.uol.swp.server.game.session.GameSessionManagement;
@@ -28,7 +30,8 @@ class GameSessionManagementTest {
 
     private void createGameSession(GameLobby lobby) {
         when(gameSessionFactory.create(lobby)).thenReturn(
-                new GameSession(lobby, mock(GameSessionService.class), mock(InventoryService.class), mock(EventBus.class)));
+                new GameSession(lobby, mock(GameSessionService.class), mock(InventoryService.class), mock(EventBus.class),
+                        new GameScheduler(MoreExecutors.directExecutor())));
         gameSessionManagement.createGameSession(lobby);
     }
 
@@ -56,4 +59,15 @@ class GameSessionManagementTest {
         assertTrue(gameSessionManagement.getGameSession(GAME_LOBBY.getName()).isPresent());
 
     }
+
+    @Test
+    void namesIgnoreCase() {
+        createGameSession(GAME_LOBBY);
+
+        assertTrue(gameSessionManagement.getGameSession("TESTLOBBY").isPresent());
+        assertThrows(IllegalArgumentException.class, () -> createGameSession(new GameLobby("TestLobby", USER_DTO, false)));
+
+        gameSessionManagement.dropGameSession("testlobby");
+        assertFalse(gameSessionManagement.getGameSession(GAME_LOBBY.getName()).isPresent());
+    }
 }
@@ -3,15 +3,28 @@ package de.uol.swp.server.game;
 import com.google.common.eventbus.DeadEvent;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.MoreExecutors;
+import de.uol.swp.common.game.dto.GameSnapshot;
 import de.uol.swp.common.game.dto.PlayerDTO;
 import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.game.message.AbstractGameMessage;
+import de.uol.swp.common.game.message.DevCardRemainingMessage;
+import de.uol.swp.common.game.message.GameSnapshotMessage;
+import de.uol.swp.common.game.message.GameUpdatesMessage;
 import de.uol.swp.common.game.message.NextTurnMessage;
+import de.uol.swp.common.game.message.RejoinBoardMessage;
 import de.uol.swp.common.game.request.GameEndedRequestGameSession;
 import de.uol.swp.common.game.request.LeaveGameRequest;
+import de.uol.swp.common.game.request.RejoinGameSessionRequest;
+import de.uol.swp.common.game.request.ResumeGameRequest;
 import de.uol.swp.common.lobby.GameLobby;
 import de.uol.swp.common.user.Session;
 import de.uol.swp.common.user.User;
+import de.uol.swp.common.user.request.LogoutRequest;
+import de.uol.swp.server.communication.RoomRegistry;
+import de.uol.swp.server.communication.SessionRegistry;
+import de.uol.swp.server.communication.UUIDSession;
+import de.uol.swp.server.concurrent.GameScheduler;
 import de.uol.swp.server.exception.CanNotRejoinException;
 import de.uol.swp.server.exception.UserIsNotPartOfGameSessionException;
 import de.uol.swp.server.game.session.GameSession;
@@ -21,15 +34,25 @@ import de.uol.swp.server.game.session.GameSessionService;
 import de.uol.swp.server.game.state.PlayState;
 import de.uol.swp.server.usermanagement.AuthenticationService;
 import de.uol.swp.server.usermanagement.UserManagement;
+import de.uol.swp.server.usermanagement.statistics.GameResult;
+import de.uol.swp.server.usermanagement.statistics.StatisticsRecorder;
 import de.uol.swp.server.usermanagement.store.DataBaseUserStore;
 import de.uol.swp.server.usermanagement.store.UserStore;
 import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -44,10 +67,12 @@ class GameSessionServiceTest {
     final UserStore userStore = new DataBaseUserStore(true);
     final EventBus bus = new EventBus();
     final UserManagement userManagement = new UserManagement(userStore);
-    final AuthenticationService authenticationService = new AuthenticationService(bus, userManagement);
+    final SessionRegistry sessions = new SessionRegistry();
+    final AuthenticationService authenticationService = new AuthenticationService(bus, userManagement, sessions);
     final GameSessionFactory gameSessionFactory = mock(GameSessionFactory.class);
     final GameSessionManagement gameSessionManagement = new GameSessionManagement(gameSessionFactory);
-    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, authenticationService);
+    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, authenticationService,
+            new RoomRegistry(sessions));
     final InventoryService inventoryService = new InventoryService(bus, gameSessionService);
     final GameLobby gameLobby = new GameLobby("name", USER, false);
     final CountDownLatch lock = new CountDownLatch(1);
@@ -91,7 +116,7 @@ class GameSessionServiceTest {
     }
 
     private void createGameSession(GameLobby lobby) {
-        when(gameSessionFactory.create(lobby)).thenReturn(new GameSession(lobby, gameSessionService, inventoryService, bus));
+        when(gameSessionFactory.create(lobby)).thenReturn(new GameSession(lobby, gameSessionService, inventoryService, bus, new GameScheduler(MoreExecutors.directExecutor())));
         gameSessionService.createGameSession(gameLobby);
     }
 
@@ -115,6 +140,110 @@ class GameSessionServiceTest {
         //TODO: Wird nicht benötigt weil private Methode die von anderen verwendet wird?
     }
 
+    @Test
+    void broadcastsAreSequencedAndJournaled() {
+        createGameSession(gameLobby);
+        GameSession gameSession = gameSessionManagement.getGameSession(gameLobby.getName()).get();
+        PlayerDTO player = PlayerDTO.create(gameLobby.getOwner());
+        for (int i = 0; i < 3; i++) {
+            gameSessionService.sendToAllInGameSession(gameLobby.getName(), new NextTurnMessage(gameLobby.getName(), player));
+        }
+
+        long version = gameSession.getStateVersion();
+        assertEquals(version, ((AbstractGameMessage) event).getSequence());
+        List<AbstractGameMessage> updates = gameSession.getUpdatesSince(version - 2, USER.getUsername()).get();
+        assertEquals(List.of(version - 1, version), updates.stream().map(AbstractGameMessage::getSequence).collect(Collectors.toList()));
+        assertTrue(gameSession.getUpdatesSince(version, USER.getUsername()).get().isEmpty());
+        assertTrue(gameSession.getUpdatesSince(ResumeGameRequest.SNAPSHOT, USER.getUsername()).isEmpty());
+        assertTrue(gameSession.getUpdatesSince(version + 1, USER.getUsername()).isEmpty());
+    }
+
+    @Test
+    void resumeSendsMissedMessagesOrSnapshot() {
+        createGameSession(gameLobby);
+        GameSession gameSession = gameSessionManagement.getGameSession(gameLobby.getName()).get();
+        gameSessionService.sendToAllInGameSession(gameLobby.getName(), new NextTurnMessage(gameLobby.getName(), PlayerDTO.create(USER)));
+        Session session = mock(Session.class);
+        when(session.getUser()).thenReturn(USER);
+
+        ResumeGameRequest request = new ResumeGameRequest(gameLobby.getName(), gameSession.getStateVersion() - 1);
+        request.setSession(session);
+        bus.post(request);
+        assertTrue(event instanceof GameUpdatesMessage);
+        assertEquals(1, ((GameUpdatesMessage) event).getUpdates().size());
+
+        request = new ResumeGameRequest(gameLobby.getName(), ResumeGameRequest.SNAPSHOT);
+        request.setSession(session);
+        bus.post(request);
+        assertTrue(event instanceof GameSnapshotMessage);
+        assertEquals(gameSession.getStateVersion(), ((GameSnapshotMessage) event).getSnapshot().getVersion());
+    }
+
+    @Test
+    void privateMessageSinceKnownVersionForcesSnapshot() {
+        createGameSession(gameLobby);
+        GameSession gameSession = gameSessionManagement.getGameSession(gameLobby.getName()).get();
+        gameSessionService.sendToPlayerInGameSession(gameLobby.getName(), new DevCardRemainingMessage(gameLobby.getName(), 20),
+                USER.getUsername(), false);
+        gameSessionService.sendToAllInGameSession(gameLobby.getName(), new NextTurnMessage(gameLobby.getName(), PlayerDTO.create(USER)));
+        Session session = mock(Session.class);
+        when(session.getUser()).thenReturn(USER);
+
+        ResumeGameRequest request = new ResumeGameRequest(gameLobby.getName(), gameSession.getStateVersion());
+        request.setSession(session);
+        bus.post(request);
+        assertTrue(event instanceof GameUpdatesMessage);
+
+        gameSessionService.sendToPlayerInGameSession(gameLobby.getName(), new DevCardRemainingMessage(gameLobby.getName(), 19),
+                USER.getUsername(), false);
+        bus.post(request);
+        assertTrue(event instanceof GameSnapshotMessage);
+    }
+
+    @Test
+    void disconnectedUserResumesFromSnapshot() {
+        gameLobby.joinUser(USER2);
+        createGameSession(gameLobby);
+        GameSession gameSession = gameSessionManagement.getGameSession(gameLobby.getName()).get();
+        gameSession.setCurrentState(PlayState.INSTANCE);
+        gameSessionService.sendToAllInGameSession(gameLobby.getName(), new NextTurnMessage(gameLobby.getName(), PlayerDTO.create(USER)));
+        long knownVersion = gameSession.getStateVersion();
+        Session session = UUIDSession.create(USER2);
+        sessions.login(session, USER2);
+        session.addLobby(gameLobby.getName());
+
+        LogoutRequest logout = new LogoutRequest();
+        logout.setSession(session);
+        bus.post(logout);
+        assertFalse(gameSession.getUsers().contains(USER2));
+        assertEquals(1, gameSession.getAmountOfBots());
+        gameSessionService.sendToAllInGameSession(gameLobby.getName(), new NextTurnMessage(gameLobby.getName(), PlayerDTO.create(USER)));
+
+        Session resumed = UUIDSession.create(USER2);
+        sessions.login(resumed, USER2);
+        gameLobby.joinUser(USER2);
+        List<Object> posted = new ArrayList<>();
+        Object collector = new Object() {
+            @Subscribe
+            void onDeadEvent(DeadEvent deadEvent) {
+                posted.add(deadEvent.getEvent());
+            }
+        };
+        bus.register(collector);
+        ResumeGameRequest request = new ResumeGameRequest(gameLobby.getName(), knownVersion);
+        request.setSession(resumed);
+        bus.post(request);
+        bus.unregister(collector);
+
+        assertTrue(gameSession.getUsers().contains(USER2));
+        assertEquals(0, gameSession.getAmountOfBots());
+        List<GameSnapshotMessage> snapshots = posted.stream().filter(GameSnapshotMessage.class::isInstance)
+                .map(GameSnapshotMessage.class::cast).collect(Collectors.toList());
+        assertEquals(1, snapshots.size());
+        assertEquals(List.of(resumed), snapshots.get(0).getReceiver());
+        assertEquals(gameSession.getStateVersion(), snapshots.get(0).getSnapshot().getVersion());
+    }
+
     @Test
     void gameHasEnded_ShouldDropGameSession() {
         gameLobby.setDebugEnabled(true);
@@ -123,6 +252,30 @@ class GameSessionServiceTest {
         assertTrue(gameSessionManagement.getGameSession(gameLobby.getName()).isEmpty());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void endGame_ShouldRecordResultsOfUsers() {
+        StatisticsRecorder recorder = mock(StatisticsRecorder.class);
+        GameSessionService service = new GameSessionService(gameSessionManagement, bus, authenticationService,
+                new RoomRegistry(sessions), recorder);
+        gameLobby.addBot();
+        GameSession gameSession = new GameSession(gameLobby, service, inventoryService, bus, new GameScheduler(MoreExecutors.directExecutor()));
+        when(gameSessionFactory.create(gameLobby)).thenReturn(gameSession);
+        service.createGameSession(gameLobby);
+        gameSession.start();
+
+        service.endGame(gameLobby.getName());
+
+        ArgumentCaptor<List<GameResult>> results = ArgumentCaptor.forClass(List.class);
+        verify(recorder).record(results.capture());
+        assertEquals(1, results.getValue().size());
+        GameResult result = results.getValue().get(0);
+        assertEquals(USER.getUsername(), result.getPlayerName());
+        assertTrue(result.isWon());
+        assertEquals(1, result.getTurnsPlayed());
+        assertTrue(gameSessionManagement.getGameSession(gameLobby.getName()).isEmpty());
+    }
+
     @Test
     void rejoinGameTest_ShouldBeAbleToRejoin() throws UserIsNotPartOfGameSessionException, CanNotRejoinException {
         gameLobby.joinUser(USER2);
@@ -143,6 +296,40 @@ class GameSessionServiceTest {
         Assertions.assertThrows(CanNotRejoinException.class, () -> gameSession.get().rejoinGameSession(USER2));
     }
 
+    @Test
+    void rejoinedUserReceivesOneSnapshot() throws UserIsNotPartOfGameSessionException {
+        gameLobby.joinUser(USER2);
+        createGameSession(gameLobby);
+        GameSession gameSession = gameSessionManagement.getGameSession(gameLobby.getName()).get();
+        Session session = mock(Session.class);
+        when(session.getUser()).thenReturn(USER2);
+        gameSession.leaveGameSession(session);
+        List<Object> posted = new ArrayList<>();
+        Object collector = new Object() {
+            @Subscribe
+            void onDeadEvent(DeadEvent deadEvent) {
+                posted.add(deadEvent.getEvent());
+            }
+        };
+        bus.register(collector);
+
+        RejoinGameSessionRequest request = new RejoinGameSessionRequest(gameLobby.getName());
+        request.setSession(session);
+        bus.post(request);
+        bus.unregister(collector);
+
+        List<GameSnapshot> snapshots = posted.stream().filter(GameSnapshotMessage.class::isInstance)
+                .map(message -> ((GameSnapshotMessage) message).getSnapshot()).collect(Collectors.toList());
+        assertEquals(1, snapshots.size());
+        assertTrue(posted.stream().noneMatch(RejoinBoardMessage.class::isInstance));
+        GameSnapshot snapshot = snapshots.get(0);
+        assertEquals(gameSession.getStateVersion(), snapshot.getVersion());
+        assertEquals(2, snapshot.getPlayers().size());
+        assertEquals(gameSession.getBoard().getRobber().getCoord(), snapshot.getRobber());
+        assertEquals(gameSession.getBoard().getResourceTileMap(), snapshot.getResourceTiles());
+        assertEquals(gameSession.getDevCardsRemaining(), snapshot.getDevCardsRemaining());
+    }
+
     @Nested
     class LeaveGameTests {
         @Test
@@ -175,5 +362,43 @@ class GameSessionServiceTest {
             assertTrue(gameSessionManagement.getGameSession(gameLobby.getName()).isPresent());
             assertFalse(gameSessionManagement.getGameSession(gameLobby.getName()).get().getUsers().contains(USER2));
         }
+
+        @Test
+        void leaveDuringTurn_ShouldWaitForTheTurn() throws InterruptedException {
+            GameScheduler scheduler = new GameScheduler(Executors.newFixedThreadPool(2));
+            gameLobby.joinUser(USER2);
+            GameSession gameSession = new GameSession(gameLobby, gameSessionService, inventoryService, bus, scheduler);
+            when(gameSessionFactory.create(gameLobby)).thenReturn(gameSession);
+            gameSessionService.createGameSession(gameLobby);
+            gameSession.setCurrentState(PlayState.INSTANCE);
+            CountDownLatch turnStarted = new CountDownLatch(1);
+            CountDownLatch turnReleased = new CountDownLatch(1);
+            List<Boolean> seatedDuringTurn = new CopyOnWriteArrayList<>();
+            gameSession.execute(() -> {
+                turnStarted.countDown();
+                try {
+                    turnReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                seatedDuringTurn.add(gameSession.getUsers().contains(USER2));
+            });
+            assertTrue(turnStarted.await(5, TimeUnit.SECONDS));
+
+            LeaveGameRequest request = new LeaveGameRequest(gameLobby.getName());
+            Session session = mock(Session.class);
+            when(session.getUser()).thenReturn(USER2);
+            request.setSession(session);
+            bus.post(request);
+            assertTrue(gameSession.getUsers().contains(USER2));
+            turnReleased.countDown();
+            CountDownLatch drained = new CountDownLatch(1);
+            gameSession.execute(drained::countDown);
+
+            assertTrue(drained.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(true), seatedDuringTurn);
+            assertFalse(gameSession.getUsers().contains(USER2));
+            scheduler.shutdown();
+        }
     }
 }
@@ -3,6 +3,7 @@ package de.uol.swp.server.game;
 import com.google.common.eventbus.DeadEvent;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.MoreExecutors;
 import de.uol.swp.common.game.PlayerColor;
 import de.uol.swp.common.game.board.Coord;
 import de.uol.swp.common.game.board.DevCard;
@@ -10,6 +11,7 @@ import de.uol.swp.common.game.board.Direction;
 import de.uol.swp.common.game.board.ResourceEnumMap;
 import de.uol.swp.common.game.dto.MapNode;
 import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.game.message.DevCardRemainingMessage;
 import de.uol.swp.common.game.message.GameOverMessage;
 import de.uol.swp.common.game.request.AbstractGameRequest;
 import de.uol.swp.common.game.request.RollDiceRequest;
@@ -17,6 +19,9 @@ import de.uol.swp.common.game.request.UseCardRequest;
 import de.uol.swp.common.lobby.GameLobby;
 import de.uol.swp.common.user.Session;
 import de.uol.swp.common.user.User;
+import de.uol.swp.server.communication.RoomRegistry;
+import de.uol.swp.server.communication.SessionRegistry;
+import de.uol.swp.server.concurrent.GameScheduler;
 import de.uol.swp.server.exception.CanNotRejoinException;
 import de.uol.swp.server.exception.GameStateException;
 import de.uol.swp.server.exception.OverDrawException;
@@ -33,7 +38,9 @@ import de.uol.swp.server.game.state.PlayState;
 import de.uol.swp.server.usermanagement.AuthenticationService;
 import org.junit.jupiter.api.*;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -52,7 +59,8 @@ class GameSessionTest {
     final GameSessionFactory gameSessionFactory = mock(GameSessionFactory.class);
     final EventBus bus = new EventBus();
     final GameSessionManagement gameSessionManagement = new GameSessionManagement(gameSessionFactory);
-    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, mock(AuthenticationService.class));
+    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, mock(AuthenticationService.class),
+            new RoomRegistry(new SessionRegistry()));
     final InventoryService inventoryService = new InventoryService(bus, gameSessionService);
     final GameSession fullGameSession = createFullGameSession();
 
@@ -107,7 +115,7 @@ class GameSessionTest {
         GAME_LOBBY.joinUser(test2);
         GAME_LOBBY.joinUser(test3);
         GAME_LOBBY.joinUser(test4);
-        when(gameSessionFactory.create(GAME_LOBBY)).thenReturn(new GameSession(GAME_LOBBY, gameSessionService, inventoryService, bus));
+        when(gameSessionFactory.create(GAME_LOBBY)).thenReturn(new GameSession(GAME_LOBBY, gameSessionService, inventoryService, bus, new GameScheduler(MoreExecutors.directExecutor())));
         GameSession gameSession = gameSessionService.createGameSession(GAME_LOBBY);
         gameSession.playerReady(test1.getUsername());
         gameSession.playerReady(test2.getUsername());
@@ -245,6 +253,28 @@ class GameSessionTest {
             assertTrue(event instanceof GameOverMessage);
         }
 
+        @Test
+        void winningInputIsCompletedBeforeTheGameEnds() {
+            List<Object> posted = new ArrayList<>();
+            Object collector = new Object() {
+                @Subscribe
+                void onDeadEvent(DeadEvent deadEvent) {
+                    posted.add(deadEvent.getEvent());
+                }
+            };
+            bus.register(collector);
+            fullGameSession.execute(() -> {
+                players[0].updateBuildingVictoryPoints(10);
+                gameSessionService.sendDevCardUpdateMessage(GAME_LOBBY.getName(), 20);
+            });
+            bus.unregister(collector);
+
+            assertTrue(posted.get(posted.size() - 2) instanceof DevCardRemainingMessage);
+            assertTrue(posted.get(posted.size() - 1) instanceof GameOverMessage);
+            assertEquals(1, posted.stream().filter(GameOverMessage.class::isInstance).count());
+            assertTrue(gameSessionManagement.getGameSession(GAME_LOBBY.getName()).isEmpty());
+        }
+
         @Test
         void addLongestRoadPointTest() {
             players[0].updateBuildingVictoryPoints(4);
@@ -1,11 +1,15 @@
 package de.uol.swp.server.game;
 
 import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.MoreExecutors;
 import de.uol.swp.common.game.Inventory;
 import de.uol.swp.common.game.board.*;
 import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.lobby.GameLobby;
 import de.uol.swp.common.user.User;
+import de.uol.swp.server.communication.RoomRegistry;
+import de.uol.swp.server.communication.SessionRegistry;
+import de.uol.swp.server.concurrent.GameScheduler;
 import de.uol.swp.server.exception.OverDrawException;
 import de.uol.swp.server.game.session.GameSession;
 import de.uol.swp.server.game.session.GameSessionFactory;
@@ -24,9 +28,10 @@ class InventoryServiceTest {
     final GameSessionFactory gameSessionFactory = mock(GameSessionFactory.class);
     final EventBus bus = new EventBus();
     final GameSessionManagement gameSessionManagement = new GameSessionManagement(gameSessionFactory);
-    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, mock(AuthenticationService.class));
+    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, mock(AuthenticationService.class),
+            new RoomRegistry(new SessionRegistry()));
     final InventoryService inventoryService = new InventoryService(bus, gameSessionService);
-    final GameSession gameSession = new GameSession(GAME_LOBBY, gameSessionService, inventoryService, bus);
+    final GameSession gameSession = new GameSession(GAME_LOBBY, gameSessionService, inventoryService, bus, new GameScheduler(MoreExecutors.directExecutor()));
 
     final Player[] players = gameSession.getPlayers();
     final Player playerOne = players[0];
@@ -0,0 +1,291 @@
+package de.uol.swp.server.game;
+
+import de.uol.swp.common.game.board.Coord;
+import de.uol.swp.common.game.dto.MapNode;
+import de.uol.swp.server.game.board.Board;
+import de.uol.swp.server.game.board.BoardTopology;
+import de.uol.swp.server.game.board.BoardUtils;
+import de.uol.swp.server.game.mapobject.RoadPiece;
+import de.uol.swp.server.game.mapobject.SettlementPiece;
+import de.uol.swp.server.game.session.GameSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class LongestRoadTest {
+
+    static final int BOARDS = 100;
+    static final int PLAYERS = 4;
+    static final int MAX_ROADS = 15;
+
+    @Test
+    void longestRoadMatchesExhaustiveSearchOnRandomBoards() {
+        for (int seed = 0; seed < BOARDS; seed++) {
+            Random random = new Random(seed);
+            Board board = new Board(2, random);
+            Player[] players = players(board);
+            for (int move = 0; move < 80; move++) {
+                placeRandomPiece(board, players, random, 4);
+                for (Player player : players) {
+                    assertEquals(ExhaustiveSearch.longestRoad(board, player), board.getLongestPlayerRoad(player).getPathLength(),
+                            "seed " + seed + ", move " + move + ", player " + player.getPlayerId());
+                }
+            }
+        }
+    }
+
+    @Test
+    void longestRoadIsNeverShorterThanFullSearch() {
+        for (int seed = 0; seed < BOARDS; seed++) {
+            Random random = new Random(seed);
+            Board board = new Board(2, random);
+            Player[] players = players(board);
+            for (int move = 0; move < 80; move++) {
+                placeRandomPiece(board, players, random, 4);
+                for (Player player : players) {
+                    int fullSearch = FullSearch.longestRoad(board, player);
+                    int longestRoad = board.getLongestPlayerRoad(player).getPathLength();
+                    assertTrue(longestRoad >= fullSearch, "seed " + seed + ", move " + move + ", player " + player.getPlayerId());
+                    if (!branches(board, player)) {
+                        assertEquals(fullSearch, longestRoad, "seed " + seed + ", move " + move + ", player " + player.getPlayerId());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void longestRoadDoesNotDependOnPlacementOrder() {
+        for (int seed = 0; seed < BOARDS; seed++) {
+            Random random = new Random(seed);
+            Board board = new Board(2, random);
+            Player[] players = players(board);
+            List<Coord> placed = new ArrayList<>();
+            for (int move = 0; move < 80; move++) {
+                Coord coord = placeRandomPiece(board, players, random, 4);
+                if (coord != null) {
+                    placed.add(coord);
+                }
+            }
+            Collections.shuffle(placed, random);
+            Board shuffled = new Board(2, new Random(seed));
+            Player[] shuffledPlayers = players(shuffled);
+            for (Coord coord : placed) {
+                int owner = board.getRoadPiece(coord) == null ? board.getCornerPiece(coord).getPlayerId() : board.getRoadPiece(coord).getPlayerId();
+                shuffled.addPiece(coord, coord.getNodeType() == MapNode.EDGE ? new RoadPiece(shuffledPlayers[owner])
+                        : new SettlementPiece(shuffledPlayers[owner]));
+            }
+            for (int i = 0; i < PLAYERS; i++) {
+                assertEquals(board.getLongestPlayerRoad(players[i]).getPathLength(),
+                        shuffled.getLongestPlayerRoad(shuffledPlayers[i]).getPathLength(), "seed " + seed + ", player " + i);
+            }
+        }
+    }
+
+    @Test
+    void longestRoadIsAValidTrail() {
+        for (int seed = 0; seed < BOARDS; seed++) {
+            Random random = new Random(seed);
+            Board board = new Board(2, random);
+            Player player = players(board)[0];
+            BoardTopology topology = board.getTopology();
+            for (int roads = 0; roads < MAX_ROADS; ) {
+                int edge = random.nextInt(topology.edgeCount());
+                if (board.getRoadOwner(edge) == Board.NO_PLAYER) {
+                    board.addPiece(topology.edge(edge), new RoadPiece(player));
+                    roads++;
+                }
+            }
+            List<Coord> trail = new ArrayList<>(board.getLongestPlayerRoad(player).getVisited());
+            assertEquals(board.getLongestPlayerRoad(player).getPathLength(), trail.size());
+            for (int i = 1; i < trail.size(); i++) {
+                assertEquals(player, board.getRoadPiece(trail.get(i)).getPlayer());
+                assertTrue(Set.of(BoardUtils.getEdgeNeighboursWithoutWater(board, trail.get(i - 1))).contains(trail.get(i)));
+                if (i > 1) {
+                    Coord entry = Coord.getCornerFromEdges(trail.get(i - 2), trail.get(i - 1));
+                    Coord exit = Coord.getCornerFromEdges(trail.get(i - 1), trail.get(i));
+                    assertNotEquals(entry, exit, "trail turns back at " + exit);
+                }
+            }
+        }
+    }
+
+    /**
+     * Places a road or, with a probability of one in settlementOdds, a settlement of a random player on a random free node
+     */
+    private Coord placeRandomPiece(Board board, Player[] players, Random random, int settlementOdds) {
+        BoardTopology topology = board.getTopology();
+        Player player = players[random.nextInt(PLAYERS)];
+        if (random.nextInt(settlementOdds) == 0) {
+            int corner = random.nextInt(topology.cornerCount());
+            if (board.getCornerOwner(corner) == Board.NO_PLAYER) {
+                board.addPiece(topology.corner(corner), new SettlementPiece(player));
+                return topology.corner(corner);
+            }
+        } else {
+            int edge = random.nextInt(topology.edgeCount());
+            if (board.getRoadOwner(edge) == Board.NO_PLAYER) {
+                board.addPiece(topology.edge(edge), new RoadPiece(player));
+                return topology.edge(edge);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the roads of the player fork at a corner or touch a settlement of another player
+     */
+    private boolean branches(Board board, Player player) {
+        BoardTopology topology = board.getTopology();
+        for (int corner = 0; corner < topology.cornerCount(); corner++) {
+            int roads = 0;
+            for (int edge : topology.cornerEdges(corner)) {
+                if (board.getRoadOwner(edge) == player.getPlayerId()) {
+                    roads++;
+                }
+            }
+            if (roads > 2 || roads > 0 && board.cornerHasOtherPlayerSettlement(topology.corner(corner), player.getPlayerId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Player[] players(Board board) {
+        GameSession gameSession = mock(GameSession.class);
+        when(gameSession.getBoard()).thenReturn(board);
+        Player[] players = new Player[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new Player(gameSession, "player" + i, i, false, new Random(i));
+        }
+        return players;
+    }
+
+    /**
+     * Tries every trail of roads that does not pass a settlement of another player
+     */
+    private static final class ExhaustiveSearch {
+
+        static int longestRoad(Board board, Player player) {
+            Set<Coord> roads = new HashSet<>();
+            for (Coord hex : board.getAllHexagonCoords()) {
+                roads.addAll(Arrays.asList(Coord.getEdgesFromHex(hex)));
+            }
+            int longest = 0;
+            for (Coord road : roads) {
+                if (board.getRoadPiece(road) != null && board.getRoadPiece(road).getPlayer().equals(player)) {
+                    for (Coord corner : Coord.getCornersFromEdge(road)) {
+                        Set<Coord> used = new HashSet<>();
+                        used.add(road);
+                        longest = Math.max(longest, extend(board, player, used, otherCorner(road, corner)));
+                    }
+                }
+            }
+            return longest;
+        }
+
+        private static int extend(Board board, Player player, Set<Coord> used, Coord corner) {
+            int longest = used.size();
+            if (board.cornerHasOtherPlayerSettlement(corner, player.getPlayerId())) {
+                return longest;
+            }
+            for (Coord road : BoardUtils.getEdgeNeighboursFromCornerWithoutWater(board, corner)) {
+                if (!used.contains(road) && board.getRoadPiece(road) != null && board.getRoadPiece(road).getPlayer().equals(player)) {
+                    used.add(road);
+                    longest = Math.max(longest, extend(board, player, used, otherCorner(road, corner)));
+                    used.remove(road);
+                }
+            }
+            return longest;
+        }
+
+        private static Coord otherCorner(Coord road, Coord corner) {
+            Coord[] corners = Coord.getCornersFromEdge(road);
+            return corners[0].equals(corner) ? corners[1] : corners[0];
+        }
+    }
+
+    /**
+     * The full search the board used before the longest roads were tracked incrementally: it collects the road
+     * networks of a player and runs a depth first search from every road end that copies the visited roads
+     */
+    private static final class FullSearch {
+
+        static int longestRoad(Board board, Player player) {
+            int playerId = player.getPlayerId();
+            BoardTopology topology = board.getTopology();
+            Set<Coord> allPlayerRoads = new HashSet<>();
+            for (int edge = 0; edge < topology.edgeCount(); edge++) {
+                if (board.getRoadOwner(edge) == playerId) {
+                    allPlayerRoads.add(topology.edge(edge));
+                }
+            }
+            Set<Set<Coord>> roadSets = new HashSet<>();
+            for (Coord roadCoord : allPlayerRoads) {
+                if (roadSets.stream().noneMatch(roadSet -> roadSet.contains(roadCoord))) {
+                    roadSets.add(BoardUtils.getAllConnectedPlayerRoads(board, roadCoord, playerId));
+                }
+            }
+            int longest = 0;
+            for (Set<Coord> roadSet : roadSets) {
+                Set<Coord> allRoadEnds = new HashSet<>();
+                for (Coord coord : roadSet) {
+                    if (BoardUtils.getConnectedPlayerRoadsWithoutBreak(board, coord, playerId).size() == 1) {
+                        allRoadEnds.add(coord);
+                    }
+                }
+                if (allRoadEnds.isEmpty()) {
+                    allRoadEnds.add(roadSet.iterator().next());
+                }
+                for (Coord endCoord : allRoadEnds) {
+                    longest = Math.max(longest, fromCoord(board, endCoord, playerId));
+                }
+            }
+            return longest;
+        }
+
+        private static int fromCoord(Board board, Coord startCoord, int playerId) {
+            int longest = 0;
+            Deque<Board.Path> stack = new ArrayDeque<>();
+            Map<List<Coord>, Coord[]> splitPaths = new HashMap<>();
+            stack.push(new Board.Path(startCoord, null, 1, new LinkedHashSet<>()));
+            while (!stack.isEmpty()) {
+                Board.Path curPath = stack.pop();
+                Coord curCoord = curPath.getCurCoord();
+                Coord lastCoord = curPath.getLastCoord();
+                int curPathLength = curPath.getPathLength();
+                Set<Coord> visited = curPath.getVisited();
+
+                Set<Coord> directlyConnectedRoads = BoardUtils.getConnectedPlayerRoadsFromEdge(board, curCoord, playerId);
+                directlyConnectedRoads.removeAll(visited);
+                List<Coord> splitLookup = Arrays.asList(curCoord, lastCoord);
+                if (splitPaths.get(splitLookup) != null) {
+                    directlyConnectedRoads.removeAll(Arrays.asList(splitPaths.get(splitLookup)));
+                }
+
+                visited.add(curCoord);
+                for (Coord neighbour : directlyConnectedRoads) {
+                    Coord cornerCoord = Coord.getCornerFromEdges(curCoord, neighbour);
+                    if (board.cornerHasOtherPlayerSettlement(cornerCoord, playerId)) {
+                        continue;
+                    }
+                    if (directlyConnectedRoads.size() >= 2) {
+                        splitPaths.put(Arrays.asList(neighbour, curCoord), directlyConnectedRoads.toArray(new Coord[0]));
+                    }
+                    stack.push(new Board.Path(neighbour, curCoord, curPathLength + 1, new LinkedHashSet<>(visited)));
+                }
+                splitPaths.remove(splitLookup);
+
+                if (directlyConnectedRoads.isEmpty()) {
+                    longest = Math.max(longest, curPathLength);
+                }
+            }
+            return longest;
+        }
+    }
+}
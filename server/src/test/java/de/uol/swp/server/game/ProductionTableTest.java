@@ -0,0 +1,133 @@
+package de.uol.swp.server.game;
+
+import de.uol.swp.common.game.board.*;
+import de.uol.swp.server.game.board.Board;
+import de.uol.swp.server.game.board.BoardTopology;
+import de.uol.swp.server.game.board.BoardUtils;
+import de.uol.swp.server.game.board.ProductionTable;
+import de.uol.swp.server.game.mapobject.CityPiece;
+import de.uol.swp.server.game.mapobject.CornerPiece;
+import de.uol.swp.server.game.mapobject.SettlementPiece;
+import de.uol.swp.server.game.session.GameSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class ProductionTableTest {
+
+    static final int BOARDS = 50;
+    static final int PLAYERS = 4;
+
+    @Test
+    void productionMatchesAdjacentPiecesOnRandomBoards() {
+        for (int seed = 0; seed < BOARDS; seed++) {
+            Random random = new Random(seed);
+            Board board = new Board(2, random);
+            Player[] players = players(board);
+            BoardTopology topology = board.getTopology();
+            for (int move = 0; move < 40; move++) {
+                int corner = random.nextInt(topology.cornerCount());
+                if (random.nextInt(4) == 0) {
+                    board.updateRobberPos(topology.hex(random.nextInt(topology.hexCount())));
+                } else if (board.getCornerOwner(corner) == Board.NO_PLAYER) {
+                    board.addPiece(topology.corner(corner), new SettlementPiece(players[random.nextInt(PLAYERS)]));
+                } else if (board.getCornerPiece(corner).getPieceType() == PieceType.SETTLEMENT) {
+                    board.addPiece(topology.corner(corner), new CityPiece(board.getCornerPiece(corner).getPlayer()));
+                }
+                for (int diceResult = 2; diceResult <= ProductionTable.MAX_DICE_RESULT; diceResult++) {
+                    assertEquals(expectedProduction(board, players, diceResult), production(board, players, diceResult),
+                            "seed " + seed + ", move " + move + ", dice " + diceResult);
+                }
+            }
+        }
+    }
+
+    @Test
+    void entriesAreGroupedByPlayer() {
+        Random random = new Random(42);
+        Board board = new Board(2, random);
+        Player[] players = players(board);
+        BoardTopology topology = board.getTopology();
+        for (int i = 0; i < 30; i++) {
+            int corner = random.nextInt(topology.cornerCount());
+            if (board.getCornerOwner(corner) == Board.NO_PLAYER) {
+                board.addPiece(topology.corner(corner), new SettlementPiece(players[random.nextInt(PLAYERS)]));
+            }
+        }
+        ProductionTable production = board.getProduction();
+        for (int diceResult = 2; diceResult <= ProductionTable.MAX_DICE_RESULT; diceResult++) {
+            for (int entry = 1; entry < production.size(diceResult); entry++) {
+                assertTrue(production.getPlayerId(diceResult, entry - 1) <= production.getPlayerId(diceResult, entry));
+            }
+        }
+    }
+
+    @Test
+    void expectedIncomeWeightsByDiceProbability() {
+        Board board = new Board(2, new Random(7));
+        Player player = players(board)[0];
+        Coord hex = board.getHexagonNumbers().get(6).iterator().next();
+        Coord corner = Coord.getCornersFromHex(hex)[0];
+        board.addPiece(corner, new SettlementPiece(player));
+        int expected = 0;
+        for (int hexId : board.getTopology().cornerHexes(board.getTopology().cornerId(corner))) {
+            expected += ProductionTable.waysToRoll(board.getProduction().getNumber(hexId));
+        }
+        assertEquals(expected, board.getProduction().getExpectedIncome(player.getPlayerId()));
+        assertTrue(expected >= 5);
+
+        board.addPiece(corner, new CityPiece(player));
+        assertEquals(2 * expected, board.getProduction().getExpectedIncome(player.getPlayerId()));
+
+        ResourceType resource = ResourceTile.toResourceType(board.getResourceTileFromCoord(hex));
+        int withRobber = board.getProduction().getExpectedIncome(player.getPlayerId(), resource);
+        board.updateRobberPos(hex);
+        assertEquals(withRobber - 2 * 5, board.getProduction().getExpectedIncome(player.getPlayerId(), resource));
+    }
+
+    private Map<Player, ResourceEnumMap> production(Board board, Player[] players, int diceResult) {
+        ProductionTable production = board.getProduction();
+        Map<Player, ResourceEnumMap> resources = new HashMap<>();
+        for (int entry = 0; entry < production.size(diceResult); entry++) {
+            ResourceEnumMap playerResources = resources.computeIfAbsent(players[production.getPlayerId(diceResult, entry)],
+                    player -> new ResourceEnumMap());
+            playerResources.merge(production.getResource(diceResult, entry), production.getAmount(diceResult, entry), Integer::sum);
+        }
+        return resources;
+    }
+
+    /**
+     * The resources of a roll the way the dice state collected them before the production table existed
+     */
+    private Map<Player, ResourceEnumMap> expectedProduction(Board board, Player[] players, int diceResult) {
+        Map<Player, ResourceEnumMap> resources = new HashMap<>();
+        for (Coord hex : board.getHexagonNumbers().get(diceResult)) {
+            if (hex.equals(board.getRobber().getCoord())) {
+                continue;
+            }
+            ResourceType resource = ResourceTile.toResourceType(board.getResourceTileFromCoord(hex));
+            for (CornerPiece piece : BoardUtils.getCornerPiecesAdjacentToHex(board, hex)) {
+                int amount = piece.getPieceType() == PieceType.SETTLEMENT ? 1 : 2;
+                resources.computeIfAbsent(players[piece.getPlayerId()], player -> new ResourceEnumMap())
+                        .merge(resource, amount, Integer::sum);
+            }
+        }
+        return resources;
+    }
+
+    private Player[] players(Board board) {
+        GameSession gameSession = mock(GameSession.class);
+        when(gameSession.getBoard()).thenReturn(board);
+        Player[] players = new Player[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new Player(gameSession, "player" + i, i, false, new Random(i));
+        }
+        return players;
+    }
+}
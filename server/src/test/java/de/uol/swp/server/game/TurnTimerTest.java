@@ -0,0 +1,90 @@
+package de.uol.swp.server.game;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import de.uol.swp.server.concurrent.GameScheduler;
+import de.uol.swp.server.game.session.TurnTimer;
+import io.netty.util.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class TurnTimerTest {
+
+    final HashedWheelTimer wheel = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+    final GameScheduler scheduler = new GameScheduler(MoreExecutors.directExecutor(), mock(ScheduledExecutorService.class), wheel);
+    final BlockingQueue<Runnable> mailbox = new LinkedBlockingQueue<>();
+    final TurnTimer timer = new TurnTimer(1, TimeUnit.SECONDS, scheduler, mailbox::add);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private Runnable nextFired() throws InterruptedException {
+        Runnable fired = mailbox.poll(2, TimeUnit.SECONDS);
+        assertNotNull(fired);
+        return fired;
+    }
+
+    private void awaitNoPendingTimeouts() throws InterruptedException {
+        for (int i = 0; i < 100 && wheel.pendingTimeouts() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    void timeoutRunsInMailboxAndRepeats() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        timer.restartTimer(count::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+
+        assertEquals(0, count.get());
+        nextFired().run();
+        nextFired().run();
+
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    void staleTimeoutIsIgnoredAfterRestart() throws InterruptedException {
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        timer.restartTimer(first::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        Runnable fired = nextFired();
+
+        timer.restartTimer(second::incrementAndGet, 1, TimeUnit.HOURS);
+        fired.run();
+
+        assertEquals(0, first.get());
+        assertEquals(0, second.get());
+        assertEquals(1, wheel.pendingTimeouts());
+    }
+
+    @Test
+    void stopCancelsPendingTimeout() throws InterruptedException {
+        timer.restartTimer(() -> fail("timer was stopped"));
+        assertEquals(1, wheel.pendingTimeouts());
+
+        timer.stop();
+
+        awaitNoPendingTimeouts();
+        assertTrue(mailbox.isEmpty());
+    }
+
+    @Test
+    void killedTimerCanNotBeRestarted() {
+        timer.kill();
+        timer.restartTimer(() -> fail("timer was killed"), 20, TimeUnit.MILLISECONDS);
+
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+}
@@ -73,4 +73,19 @@ class LobbyManagementTest {
         containsLobby = lobbyManagement.toggleLobbyPrivacy("lobby2");
         assertFalse(containsLobby);
     }
+
+    @Test
+    void namesIgnoreCase() {
+        lobbyManagement.createLobby("Lobby", userDTO, false);
+
+        assertEquals("Lobby", lobbyManagement.getLobby("LOBBY").orElseThrow().getName());
+        assertThrows(IllegalArgumentException.class, () -> lobbyManagement.createLobby("lobby", userDTO, true));
+
+        assertTrue(lobbyManagement.toggleLobbyPrivacy("lobby"));
+        assertTrue(lobbyManagement.getPrivateLobbies().containsKey("Lobby"));
+
+        lobbyManagement.dropLobby("LoBBy");
+        assertTrue(lobbyManagement.getLobby("Lobby").isEmpty());
+        assertTrue(lobbyManagement.getPrivateLobbies().isEmpty());
+    }
 }
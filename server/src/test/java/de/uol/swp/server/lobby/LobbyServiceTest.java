@@ -3,6 +3,7 @@ package de.uol.swp.server.lobby;
 import com.google.common.eventbus.DeadEvent;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.MoreExecutors;
 import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.game.message.InitialBoardMessage;
 import de.uol.swp.common.lobby.GameLobby;
@@ -14,7 +15,10 @@ import de.uol.swp.common.lobby.request.*;
 import de.uol.swp.common.lobby.response.*;
 import de.uol.swp.common.user.Session;
 import de.uol.swp.common.user.User;
+import de.uol.swp.server.communication.RoomRegistry;
+import de.uol.swp.server.communication.SessionRegistry;
 import de.uol.swp.server.communication.UUIDSession;
+import de.uol.swp.server.concurrent.GameScheduler;
 import de.uol.swp.server.game.InventoryService;
 import de.uol.swp.server.game.session.GameSession;
 import de.uol.swp.server.game.session.GameSessionFactory;
@@ -47,13 +51,15 @@ class LobbyServiceTest {
     final UserStore userStore = new MainMemoryBasedUserStore();
     final EventBus bus = new EventBus();
     final UserManagement userManagement = new UserManagement(userStore);
-    final AuthenticationService authService = new AuthenticationService(bus, userManagement);
+    final SessionRegistry sessions = new SessionRegistry();
+    final AuthenticationService authService = new AuthenticationService(bus, userManagement, sessions);
+    final RoomRegistry rooms = new RoomRegistry(sessions);
     final LobbyManagement lobbyManagement = new LobbyManagement();
     final GameSessionFactory gameSessionFactory = mock(GameSessionFactory.class);
     final GameSessionManagement gameSessionManagement = new GameSessionManagement(gameSessionFactory);
-    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, authService);
+    final GameSessionService gameSessionService = new GameSessionService(gameSessionManagement, bus, authService, rooms);
     final InventoryService inventoryService = new InventoryService(bus, gameSessionService);
-    final LobbyService lobbyService = new LobbyService(lobbyManagement, authService, gameSessionService, bus);
+    final LobbyService lobbyService = new LobbyService(lobbyManagement, authService, gameSessionService, rooms, bus);
     final CountDownLatch lock = new CountDownLatch(1);
     Object event;
 
@@ -356,7 +362,7 @@ class LobbyServiceTest {
         void lobbyCanBeStarted_ShouldStartGameSession() throws InterruptedException {
             lobbyManagement.createLobby("name", USER, false);
             GameLobby gameLobby = lobbyManagement.getLobby("name").get();
-            when(gameSessionFactory.create(gameLobby)).thenReturn(new GameSession(gameLobby, gameSessionService, inventoryService, bus));
+            when(gameSessionFactory.create(gameLobby)).thenReturn(new GameSession(gameLobby, gameSessionService, inventoryService, bus, new GameScheduler(MoreExecutors.directExecutor())));
             gameLobby.setUserReady(USER, true);
             gameLobby.joinUser(USER2);
             gameLobby.setUserReady(USER2, true);
@@ -391,7 +397,7 @@ class LobbyServiceTest {
         void senderNotOwner_ShouldNotStartGameSession() {
             lobbyManagement.createLobby("name", USER, false);
             GameLobby gameLobby = lobbyManagement.getLobby("name").get();
-            when(gameSessionFactory.create(gameLobby)).thenReturn(new GameSession(gameLobby, gameSessionService, inventoryService, bus));
+            when(gameSessionFactory.create(gameLobby)).thenReturn(new GameSession(gameLobby, gameSessionService, inventoryService, bus, new GameScheduler(MoreExecutors.directExecutor())));
             gameLobby.setUserReady(USER, true);
             gameLobby.joinUser(USER2);
             gameLobby.setUserReady(USER2, true);
@@ -0,0 +1,94 @@
+package de.uol.swp.server.simulation;
+
+import de.uol.swp.common.lobby.dto.LobbyOptions;
+import de.uol.swp.server.concurrent.Mailbox;
+import de.uol.swp.server.game.session.TurnTimer;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class SimulationTest {
+
+    final SimulatedScheduler scheduler = new SimulatedScheduler();
+    final Mailbox mailbox = scheduler.newMailbox("test");
+    final List<String> events = new ArrayList<>();
+    final UserStore userStore = mock(UserStore.class);
+
+    @Test
+    void delayedTasksRunInVirtualTimeOrder() {
+        scheduler.schedule(mailbox, () -> events.add("second " + scheduler.getNow()), 2, TimeUnit.SECONDS);
+        scheduler.schedule(mailbox, () -> events.add("first " + scheduler.getNow()), 1, TimeUnit.SECONDS);
+        scheduler.schedule(mailbox, () -> events.add("cancelled"), 1, TimeUnit.SECONDS).cancel(false);
+        scheduler.newTimeout(mailbox, () -> events.add("same time " + scheduler.getNow()), 1, TimeUnit.SECONDS);
+        mailbox.execute(() -> events.add("now " + scheduler.getNow()));
+
+        assertFalse(scheduler.runUntil(() -> false, TimeUnit.HOURS.toMillis(1)));
+
+        assertEquals(List.of("now 0", "first 1000", "same time 1000", "second 2000"), events);
+    }
+
+    @Test
+    void runStopsAtConditionAndTimeLimit() {
+        scheduler.schedule(mailbox, () -> events.add("done"), 1, TimeUnit.SECONDS);
+        scheduler.schedule(mailbox, () -> events.add("after done"), 2, TimeUnit.SECONDS);
+        scheduler.schedule(mailbox, () -> events.add("after limit"), 2, TimeUnit.HOURS);
+
+        assertTrue(scheduler.runUntil(() -> events.contains("done"), TimeUnit.HOURS.toMillis(1)));
+        assertEquals(List.of("done"), events);
+        assertFalse(scheduler.runUntil(() -> false, TimeUnit.HOURS.toMillis(1)));
+        assertEquals(List.of("done", "after done"), events);
+    }
+
+    @Test
+    void turnTimerRepeatsInVirtualTime() {
+        TurnTimer timer = new TurnTimer(1, TimeUnit.MINUTES, scheduler, mailbox);
+        timer.restartTimer(() -> events.add("timeout " + scheduler.getNow()));
+
+        scheduler.runUntil(() -> events.size() == 3, TimeUnit.HOURS.toMillis(1));
+        timer.stop();
+
+        assertEquals(List.of("timeout 60000", "timeout 120000", "timeout 180000"), events);
+        assertFalse(scheduler.runUntil(() -> false, TimeUnit.HOURS.toMillis(1)));
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    void botsPlayGamesToTheEnd() throws InterruptedException {
+        GameSimulator.Report report = new GameSimulator(2, GameSimulator.DEFAULT_LIMIT_MILLIS, 42, userStore).run(2, 4);
+
+        assertEquals(2, report.getResults().size());
+        for (SimulatedGame.Result result : report.getResults()) {
+            assertTrue(result.isFinished(), result.getName());
+            assertEquals(4, result.getStandings().size());
+            assertTrue(result.getStandings().get(0).getVictoryPoints() >= LobbyOptions.NUM_VICTORY_POINTS.getDefaultValue());
+            assertTrue(result.getPhases().containsKey("DiceState"));
+        }
+        assertTrue(report.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    void sameSeedReplaysTheSameGame() {
+        SimulatedGame.Result first = new SimulatedGame("first", 4, 7, userStore).play(GameSimulator.DEFAULT_LIMIT_MILLIS);
+        SimulatedGame.Result replay = new SimulatedGame("replay", 4, 7, userStore).play(GameSimulator.DEFAULT_LIMIT_MILLIS);
+        SimulatedGame.Result other = new SimulatedGame("other", 4, 8, userStore).play(GameSimulator.DEFAULT_LIMIT_MILLIS);
+
+        assertEquals(7, replay.getSeed());
+        assertEquals(first.getTurns(), replay.getTurns());
+        assertEquals(first.getVirtualMillis(), replay.getVirtualMillis());
+        assertEquals(standings(first), standings(replay));
+        assertNotEquals(first.getVirtualMillis(), other.getVirtualMillis());
+    }
+
+    private List<String> standings(SimulatedGame.Result result) {
+        List<String> standings = new ArrayList<>();
+        result.getStandings().forEach(player -> standings.add(player.getPlayerName() + ":" + player.getVictoryPoints()));
+        return standings;
+    }
+}
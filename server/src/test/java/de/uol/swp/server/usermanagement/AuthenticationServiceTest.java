@@ -13,6 +13,7 @@ import de.uol.swp.common.user.request.LoginRequest;
 import de.uol.swp.common.user.request.LogoutRequest;
 import de.uol.swp.common.user.request.RetrieveAllOnlineUsersRequest;
 import de.uol.swp.common.user.response.AllOnlineUsersResponse;
+import de.uol.swp.server.communication.SessionRegistry;
 import de.uol.swp.server.message.ClientAuthorizedMessage;
 import de.uol.swp.server.message.ClientDroppedMessage;
 import de.uol.swp.server.message.ServerExceptionMessage;
@@ -43,7 +44,7 @@ class AuthenticationServiceTest {
     final UserStore userStore = new MainMemoryBasedUserStore();
     final EventBus bus = new EventBus();
     final UserManagement userManagement = new UserManagement(userStore);
-    final AuthenticationService authService = new AuthenticationService(bus, userManagement);
+    final AuthenticationService authService = new AuthenticationService(bus, userManagement, new SessionRegistry());
     final CountDownLatch lock = new CountDownLatch(1);
     Object event;
 
@@ -0,0 +1,145 @@
+package de.uol.swp.server.usermanagement;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.MoreExecutors;
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.common.user.User;
+import de.uol.swp.common.user.request.LoginRequest;
+import de.uol.swp.server.communication.SessionRegistry;
+import de.uol.swp.server.message.ClientAuthorizedMessage;
+import de.uol.swp.server.message.ServerExceptionMessage;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings({"UnstableApiUsage", "PMD.CommentRequired", "PMD.DefaultPackage"})
+class PasswordHashingPoolTest {
+
+    final ThreadPoolExecutor hashing = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    final ExecutorService completion = Executors.newSingleThreadExecutor(r -> new Thread(r, "completion"));
+    final PasswordHashingPool pool = new PasswordHashingPool(hashing, completion);
+
+    @AfterEach
+    void tearDown() {
+        hashing.shutdownNow();
+        completion.shutdownNow();
+    }
+
+    @Test
+    void resultIsHandedToTheCompletionExecutor() throws InterruptedException {
+        long count = MetricsRegistry.getDefault().histogram("auth.hashMicros").getCount();
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> thread = new AtomicReference<>();
+        AtomicReference<String> result = new AtomicReference<>();
+
+        pool.execute(() -> "hash", (value, failure) -> {
+            thread.set(Thread.currentThread().getName());
+            result.set(value);
+            done.countDown();
+        });
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals("completion", thread.get());
+        assertEquals("hash", result.get());
+        assertEquals(count + 1, MetricsRegistry.getDefault().histogram("auth.hashMicros").getCount());
+    }
+
+    @Test
+    void exceptionIsHandedToTheCallback() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<RuntimeException> exception = new AtomicReference<>();
+
+        pool.execute(() -> {
+            throw new SecurityException("wrong password");
+        }, (value, failure) -> {
+            exception.set(failure);
+            done.countDown();
+        });
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertTrue(exception.get() instanceof SecurityException);
+    }
+
+    @Test
+    void fullQueueIsRejected() throws InterruptedException {
+        long rejected = MetricsRegistry.getDefault().counter("auth.hashRejected").get();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(2);
+        pool.execute(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }, (value, failure) -> completed.countDown());
+        assertTrue(blocked.await(1, TimeUnit.SECONDS));
+        pool.execute(() -> null, (value, failure) -> completed.countDown());
+
+        AtomicReference<RuntimeException> exception = new AtomicReference<>();
+        pool.execute(() -> null, (value, failure) -> exception.set(failure));
+
+        assertTrue(exception.get() instanceof RejectedExecutionException);
+        assertEquals(rejected + 1, MetricsRegistry.getDefault().counter("auth.hashRejected").get());
+        release.countDown();
+        assertTrue(completed.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void resultIsDroppedAfterShutdown() {
+        completion.shutdown();
+        AtomicReference<String> result = new AtomicReference<>();
+        AtomicReference<RuntimeException> exception = new AtomicReference<>();
+
+        new PasswordHashingPool(MoreExecutors.directExecutor(), completion).execute(() -> "hash", (value, failure) -> {
+            result.set(value);
+            exception.set(failure);
+        });
+
+        assertNull(result.get());
+        assertNull(exception.get());
+    }
+
+    @Test
+    void loginsAreAnsweredAsynchronously() throws InterruptedException {
+        EventBus bus = new EventBus();
+        UserStore store = mock(UserStore.class);
+        UserManagement userManagement = new UserManagement(store);
+        new AuthenticationService(bus, userManagement, new SessionRegistry(), pool);
+        User user = new UserDTO("name", "password", "email@test.de");
+        when(store.findUser(user.getUsername(), user.getPlainPassword())).thenReturn(Optional.of(user.getWithoutPassword()));
+        List<Object> events = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch answered = new CountDownLatch(2);
+        bus.register(new Object() {
+            @Subscribe
+            void handle(DeadEvent event) {
+                events.add(event.getEvent());
+                answered.countDown();
+            }
+        });
+
+        bus.post(new LoginRequest(user.getUsername(), user.getPlainPassword()));
+        bus.post(new LoginRequest(user.getUsername(), user.getPlainPassword()));
+
+        assertTrue(answered.await(5, TimeUnit.SECONDS));
+        assertTrue(userManagement.isLoggedIn(user));
+        assertEquals(1, events.stream().filter(ClientAuthorizedMessage.class::isInstance).count());
+        assertEquals(1, events.stream().filter(ServerExceptionMessage.class::isInstance).count());
+    }
+}
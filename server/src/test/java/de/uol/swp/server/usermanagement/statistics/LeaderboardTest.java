@@ -0,0 +1,110 @@
+package de.uol.swp.server.usermanagement.statistics;
+
+import de.uol.swp.common.user.player.PlayerProfile;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class LeaderboardTest {
+
+    final UserStore store = mock(UserStore.class);
+    final Leaderboard leaderboard = new Leaderboard(store);
+
+    static List<String> names(List<PlayerProfile> profiles) {
+        return profiles.stream().map(PlayerProfile::getPlayerName).collect(Collectors.toList());
+    }
+
+    void givenPlayers(PlayerProfile... profiles) {
+        when(store.getAllPlayerStatistics()).thenReturn(List.of(profiles));
+    }
+
+    @Test
+    void playersAreRankedByWinsThenLossesThenName() {
+        givenPlayers(new PlayerProfile("carl", "", "2", "5"), new PlayerProfile("anna", "", "3", "9"),
+                new PlayerProfile("bert", "", "2", "1"), new PlayerProfile("dora", "", "2", "1"));
+
+        assertEquals(List.of("anna", "bert", "dora", "carl"), names(leaderboard.getPage(0, 10)));
+        assertEquals(List.of("dora", "carl"), names(leaderboard.getPage(2, 2)));
+        assertEquals(List.of(), leaderboard.getPage(4, 2));
+        assertEquals(3, leaderboard.getRank("dora"));
+        assertEquals(0, leaderboard.getRank("nobody"));
+        assertEquals(4, leaderboard.size());
+        verify(store, times(1)).getAllPlayerStatistics();
+    }
+
+    @Test
+    void recordedResultsMovePlayers() {
+        givenPlayers(new PlayerProfile("anna", "", "1", "0"), new PlayerProfile("bert", "", "0", "0"));
+        leaderboard.size();
+
+        leaderboard.beginWrite();
+        leaderboard.endWrite(List.of(new GameResult("bert", true, 10, 5, 1000, 0),
+                new GameResult("anna", false, 4, 5, 1000, 0)), true);
+        leaderboard.beginWrite();
+        leaderboard.endWrite(List.of(new GameResult("anna", true, 10, 5, 1000, 0)), false);
+
+        assertEquals(List.of("bert", "anna"), names(leaderboard.getPage(0, 10)));
+        PlayerProfile anna = leaderboard.getPage(1, 1).get(0);
+        assertEquals("1", anna.getWon());
+        assertEquals("1", anna.getLoss());
+    }
+
+    @Test
+    void rankingReadDuringWriteIsReadAgain() {
+        when(store.getAllPlayerStatistics()).thenAnswer(invocation -> {
+            leaderboard.beginWrite();
+            leaderboard.endWrite(List.of(new GameResult("anna", true, 10, 5, 1000, 0)), true);
+            return List.of(new PlayerProfile("anna", "", "0", "0"));
+        }).thenReturn(List.of(new PlayerProfile("anna", "", "1", "0")));
+
+        assertEquals(List.of(), leaderboard.getPage(0, 10));
+        assertEquals("1", leaderboard.getPage(0, 10).get(0).getWon());
+        verify(store, times(2)).getAllPlayerStatistics();
+    }
+
+    @Test
+    void emptyRankingIsReadAgain() {
+        givenPlayers();
+        assertEquals(0, leaderboard.size());
+
+        givenPlayers(new PlayerProfile("anna", "", "0", "0"));
+        assertEquals(1, leaderboard.size());
+    }
+
+    @Test
+    void userChangesAreApplied() {
+        givenPlayers(new PlayerProfile("anna", "", "2", "0"), new PlayerProfile("bert", "", "1", "0"));
+        leaderboard.size();
+
+        leaderboard.userCreated("carl");
+        leaderboard.userRenamed("anna", "anne");
+        leaderboard.userRemoved("bert");
+
+        assertEquals(List.of("anne", "carl"), names(leaderboard.getPage(0, 10)));
+        assertEquals(0, leaderboard.getRank("anna"));
+    }
+
+    @Test
+    void resultOfUnrankedPlayerReadsTheRankingAgain() {
+        when(store.getAllPlayerStatistics()).thenReturn(List.of(new PlayerProfile("anna", "", "0", "0"),
+                new PlayerProfile("bert", "", "0", "0"))).thenReturn(List.of(new PlayerProfile("anne", "", "1", "0")));
+        leaderboard.size();
+
+        leaderboard.beginWrite();
+        leaderboard.userRenamed("anna", "anne");
+        leaderboard.userRemoved("bert");
+        leaderboard.endWrite(List.of(new GameResult("anna", true, 10, 5, 1000, 0),
+                new GameResult("bert", false, 4, 5, 1000, 0)), true);
+
+        assertEquals(List.of("anne"), names(leaderboard.getPage(0, 10)));
+        assertEquals("1", leaderboard.getPage(0, 1).get(0).getWon());
+        assertEquals(0, leaderboard.getRank("bert"));
+        verify(store, times(2)).getAllPlayerStatistics();
+    }
+}
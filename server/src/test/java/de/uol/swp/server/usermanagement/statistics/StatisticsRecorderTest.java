@@ -0,0 +1,150 @@
+package de.uol.swp.server.usermanagement.statistics;
+
+import com.google.common.base.Ticker;
+import de.uol.swp.common.metrics.MetricsRegistry;
+import de.uol.swp.common.user.player.PlayerProfile;
+import de.uol.swp.server.usermanagement.store.UserStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class StatisticsRecorderTest {
+
+    final GameResult won = new GameResult("marco", true, 10, 12, 600_000, 1_000);
+    final GameResult lost = new GameResult("grawunder\tmit Ümlaut", false, 7, 11, 600_000, 1_000);
+    final UserStore store = mock(UserStore.class);
+    final Leaderboard leaderboard = new Leaderboard(store);
+    final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    final AtomicLong nanos = new AtomicLong();
+    final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    @TempDir
+    Path directory;
+
+    StatisticsRecorder createRecorder(int batchSize) {
+        return new StatisticsRecorder(store, leaderboard, directory.resolve("statistics.buffer"), batchSize, 1000, executor, ticker);
+    }
+
+    @Test
+    void resultsAreBufferedUntilFlushed() throws IOException {
+        when(store.recordResults(anyList())).thenReturn(true);
+        StatisticsRecorder recorder = createRecorder(10);
+
+        recorder.record(List.of(won, lost));
+
+        verifyNoInteractions(store);
+        assertEquals(2, Files.readAllLines(directory.resolve("statistics.buffer")).size());
+
+        recorder.flush();
+
+        verify(store).recordResults(List.of(won, lost));
+        assertEquals(0, recorder.getPendingCount());
+        assertFalse(Files.exists(directory.resolve("statistics.buffer")));
+    }
+
+    @Test
+    void resultsAreWrittenInBatches() {
+        when(store.recordResults(anyList())).thenReturn(true);
+        StatisticsRecorder recorder = createRecorder(2);
+
+        recorder.record(List.of(won));
+        verify(executor, never()).execute(any());
+        recorder.record(List.of(lost, won));
+        verify(executor).execute(any());
+
+        recorder.flush();
+
+        verify(store).recordResults(List.of(won, lost));
+        verify(store).recordResults(List.of(won));
+    }
+
+    @Test
+    void failedWriteIsRetriedAfterBackoff() throws IOException {
+        long failures = MetricsRegistry.getDefault().counter("stats.flushFailures").get();
+        when(store.recordResults(anyList())).thenReturn(false, false, true);
+        StatisticsRecorder recorder = createRecorder(10);
+        recorder.record(List.of(won, lost));
+
+        recorder.flush();
+        recorder.flush();
+        verify(store, times(1)).recordResults(anyList());
+        assertEquals(2, Files.readAllLines(directory.resolve("statistics.buffer")).size());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        recorder.flush();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        recorder.flush();
+        verify(store, times(2)).recordResults(anyList());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        recorder.flush();
+        verify(store, times(3)).recordResults(anyList());
+        assertEquals(0, recorder.getPendingCount());
+        assertEquals(failures + 2, MetricsRegistry.getDefault().counter("stats.flushFailures").get());
+    }
+
+    @Test
+    void bufferedResultsAreRecordedAfterRestart() {
+        when(store.recordResults(anyList())).thenReturn(false);
+        createRecorder(10).record(List.of(won, lost));
+
+        reset(store);
+        when(store.recordResults(anyList())).thenReturn(true);
+        StatisticsRecorder recorder = createRecorder(10);
+        assertEquals(2, recorder.getPendingCount());
+
+        recorder.flush();
+
+        verify(store).recordResults(List.of(won, lost));
+    }
+
+    @Test
+    void recordedResultsAreRanked() {
+        when(store.getAllPlayerStatistics()).thenReturn(List.of(new PlayerProfile("marco", "", "1", "0"),
+                new PlayerProfile("grawunder", "", "0", "0")));
+        when(store.recordResults(anyList())).thenReturn(false, true);
+        StatisticsRecorder recorder = createRecorder(10);
+        recorder.record(List.of(new GameResult("grawunder", true, 10, 12, 600_000, 1_000),
+                new GameResult("marco", false, 7, 11, 600_000, 1_000)));
+        assertEquals(1, leaderboard.getRank("marco"));
+
+        recorder.flush();
+        assertEquals(2, leaderboard.getRank("grawunder"));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        recorder.flush();
+
+        assertEquals(1, leaderboard.getRank("grawunder"));
+        assertEquals(2, leaderboard.getRank("marco"));
+        verify(store, times(1)).getAllPlayerStatistics();
+    }
+
+    @Test
+    void rejectedResultsAreDiscarded() {
+        long discarded = MetricsRegistry.getDefault().counter("stats.discarded").get();
+        when(store.recordResults(anyList())).thenThrow(new UnsupportedOperationException("not supported"));
+        StatisticsRecorder recorder = createRecorder(10);
+        recorder.record(List.of(won, lost));
+
+        recorder.flush();
+
+        assertEquals(0, recorder.getPendingCount());
+        assertEquals(discarded + 2, MetricsRegistry.getDefault().counter("stats.discarded").get());
+        assertFalse(Files.exists(directory.resolve("statistics.buffer")));
+    }
+}
@@ -0,0 +1,160 @@
+package de.uol.swp.server.usermanagement.store;
+
+import com.google.common.base.Ticker;
+import de.uol.swp.common.game.dto.UserDTO;
+import de.uol.swp.common.user.User;
+import de.uol.swp.common.user.player.PlayerProfile;
+import de.uol.swp.server.usermanagement.statistics.GameResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({"PMD.CommentRequired", "PMD.DefaultPackage"})
+class CachingUserStoreTest {
+
+    final User user = UserDTO.createWithoutPassword("1", "marco", "marco@grawunder.de");
+    final UserStore store = mock(UserStore.class);
+    final AtomicLong nanos = new AtomicLong();
+    final CachingUserStore cache = new CachingUserStore(store, 2, 1, TimeUnit.MINUTES, new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    });
+
+    @Test
+    void userIsReadOnce() {
+        when(store.findUser("marco")).thenReturn(Optional.of(user));
+
+        assertEquals(Optional.of(user), cache.findUser("marco"));
+        assertEquals(Optional.of(user), cache.findUser("marco"));
+
+        verify(store, times(1)).findUser("marco");
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void unknownUserIsCached() {
+        when(store.findUser("nobody")).thenReturn(Optional.empty());
+
+        assertTrue(cache.findUser("nobody").isEmpty());
+        assertTrue(cache.findUser("nobody").isEmpty());
+
+        verify(store, times(1)).findUser("nobody");
+    }
+
+    @Test
+    void entriesExpire() {
+        when(store.findUser("marco")).thenReturn(Optional.of(user));
+        cache.findUser("marco");
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        cache.findUser("marco");
+
+        verify(store, times(2)).findUser("marco");
+    }
+
+    @Test
+    void sizeIsBounded() {
+        when(store.findUser(anyString())).thenReturn(Optional.empty());
+
+        cache.findUser("a");
+        cache.findUser("b");
+        cache.findUser("c");
+
+        assertEquals(1, cache.stats().evictionCount());
+    }
+
+    @Test
+    void writesInvalidateRegardlessOfCase() {
+        when(store.findUser(anyString())).thenReturn(Optional.empty());
+        cache.findUser("Marco");
+
+        cache.createUser("marco", "secret", "marco@grawunder.de");
+        cache.findUser("Marco");
+
+        verify(store, times(2)).findUser("Marco");
+    }
+
+    @Test
+    void namesDifferingInCaseShareAnEntry() {
+        when(store.findUser(anyString())).thenReturn(Optional.of(user));
+
+        cache.findUser("marco");
+        assertEquals(Optional.of(user), cache.findUser("MARCO"));
+
+        verify(store, never()).findUser("MARCO");
+    }
+
+    @Test
+    void lookupOverlappingAWriteIsNotCached() {
+        when(store.findUser("marco")).thenAnswer(invocation -> {
+            cache.updateUserEmail("marco", "grawunder@uol.de");
+            return Optional.of(user);
+        }).thenReturn(Optional.empty());
+
+        cache.findUser("marco");
+
+        assertTrue(cache.findUser("marco").isEmpty());
+        verify(store, times(2)).findUser("marco");
+    }
+
+    @Test
+    void renameInvalidatesBothNames() {
+        when(store.findUser(anyString())).thenReturn(Optional.empty());
+        cache.findUser("marco");
+        cache.findUser("grawunder");
+
+        cache.updateUserName("marco", "grawunder");
+        cache.findUser("marco");
+        cache.findUser("grawunder");
+
+        verify(store, times(2)).findUser("marco");
+        verify(store, times(2)).findUser("grawunder");
+    }
+
+    @Test
+    void profileIsInvalidatedByGameResults() {
+        PlayerProfile profile = new PlayerProfile("marco", "marco@grawunder.de", "0", "0");
+        when(store.getPlayerInfoData("marco")).thenReturn(profile);
+
+        assertSame(profile, cache.getPlayerInfoData("marco"));
+        assertSame(profile, cache.getPlayerInfoData("marco"));
+        verify(store, times(1)).getPlayerInfoData("marco");
+
+        cache.updateGamesWon("marco");
+        cache.getPlayerInfoData("marco");
+        verify(store, times(2)).getPlayerInfoData("marco");
+    }
+
+    @Test
+    void recordedResultsInvalidateProfiles() {
+        PlayerProfile profile = new PlayerProfile("marco", "marco@grawunder.de", "0", "0");
+        when(store.getPlayerInfoData("marco")).thenReturn(profile);
+        List<GameResult> results = List.of(new GameResult("marco", true, 10, 12, 600_000, 1_000));
+        when(store.recordResults(results)).thenReturn(true);
+        cache.getPlayerInfoData("marco");
+
+        assertTrue(cache.recordResults(results));
+        cache.getPlayerInfoData("marco");
+
+        verify(store, times(2)).getPlayerInfoData("marco");
+    }
+
+    @Test
+    void loginsArePassedOn() {
+        when(store.findUser("marco", "secret")).thenReturn(Optional.of(user));
+
+        cache.findUser("marco", "secret");
+        cache.findUser("marco", "secret");
+
+        verify(store, times(2)).findUser("marco", "secret");
+    }
+}
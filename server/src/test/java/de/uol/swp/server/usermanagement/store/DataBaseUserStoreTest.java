@@ -4,6 +4,7 @@ package de.uol.swp.server.usermanagement.store;
 import de.uol.swp.common.game.dto.UserDTO;
 import de.uol.swp.common.user.User;
 import de.uol.swp.common.user.player.PlayerProfile;
+import de.uol.swp.server.database.DataBaseConnection;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -18,10 +19,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Tests for DataBaseUserStory
+ * <p>
+ * Run against the local database by default, another one can be chosen with the system property
+ * {@code swp.testDataBaseUrl}. All stores share one connection pool.
  */
 @Tag("database")
 class DataBaseUserStoreTest {
 
+    static final DataBaseConnection CONNECTION = new DataBaseConnection(System.getProperty("swp.testDataBaseUrl",
+            "jdbc:mysql://localhost:50090/catan?useLegacyDatetimeCode=false&serverTimezone=UTC"));
     static final List<UserDTO> USERS;
 
     static {
@@ -38,7 +44,7 @@ class DataBaseUserStoreTest {
     }
 
     DataBaseUserStore getDefaultStore() {
-        return new DataBaseUserStore(true);
+        return new DataBaseUserStore(true, CONNECTION);
     }
 
     @BeforeEach